@@ -26,32 +26,32 @@
  */
 package org.sopeco.webui.client;
 
-import java.util.HashMap;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.sopeco.persistence.entities.definition.ScenarioDefinition;
 import org.sopeco.persistence.metadata.entities.DatabaseInstance;
 import org.sopeco.webui.client.event.EventControl;
 import org.sopeco.webui.client.extensions.Extensions;
+import org.sopeco.webui.client.helper.ClientMetrics;
 import org.sopeco.webui.client.helper.SystemDetails;
-import org.sopeco.webui.client.helper.callback.CallbackBatch;
-import org.sopeco.webui.client.helper.callback.ParallelCallback;
 import org.sopeco.webui.client.helper.push.ServerPush;
 import org.sopeco.webui.client.layout.MainLayoutPanel;
 import org.sopeco.webui.client.layout.login.LoginPanel;
 import org.sopeco.webui.client.log.LogHandler;
 import org.sopeco.webui.client.manager.Manager;
 import org.sopeco.webui.client.manager.ScenarioManager;
+import org.sopeco.webui.client.mec.ControllerStatusCache;
 import org.sopeco.webui.client.resources.R;
 import org.sopeco.webui.client.widget.ExceptionDialog;
-import org.sopeco.webui.shared.helper.ExtensionContainer;
+import org.sopeco.webui.shared.entities.BootstrapData;
 import org.sopeco.webui.shared.rpc.RPC;
 
 import com.google.gwt.core.client.EntryPoint;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.GWT.UncaughtExceptionHandler;
 import com.google.gwt.user.client.Cookies;
+import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.gwt.user.client.ui.RootLayoutPanel;
 
 /**
@@ -85,8 +85,6 @@ public class SoPeCoUI implements EntryPoint, UncaughtExceptionHandler {
 	private DatabaseInstance connectedDatabase;
 	private String connectedAccountName;
 
-	private CallbackBatch loadingBatch;
-
 	/**
 	 * This method will be executed at the start of the application. The
 	 * {@link EntryPoint} method {@link #onModuleLoad()}, called automatically
@@ -101,6 +99,7 @@ public class SoPeCoUI implements EntryPoint, UncaughtExceptionHandler {
 		RootLayoutPanel.get().addStyleName("rootPanel");
 
 		configLogger();
+		ClientMetrics.install();
 		rpcLoad();
 	}
 
@@ -136,27 +135,36 @@ public class SoPeCoUI implements EntryPoint, UncaughtExceptionHandler {
 	 * exploration extensions, database-host,...).
 	 */
 	private void rpcLoad() {
-		ParallelCallback<ExtensionContainer> loadExtensions = Extensions.getLoadingCallback();
-		ParallelCallback<HashMap<String, String>> loadSystemDetails = SystemDetails.getLoadingCallback();
+		bootstrap();
+	}
 
-		loadingBatch = new CallbackBatch(loadExtensions, loadSystemDetails) {
+	/**
+	 * Loads everything the first screen needs with a single request. If the
+	 * session is already logged in, the main view is shown with the selected
+	 * scenario, otherwise the login.
+	 */
+	public void bootstrap() {
+		RPC.getBootstrapRPC().getBootstrapData(Extensions.getCachedVersion(), new AsyncCallback<BootstrapData>() {
 			@Override
-			protected void onFailure(List<Throwable> exceptionList) {
-				for (Throwable t : exceptionList) {
-					onUncaughtException(t);
-				}
+			public void onFailure(Throwable caught) {
+				onUncaughtException(caught);
 			}
 
 			@Override
-			protected void onSuccess() {
-				// All stuff was loaded
-				changeDatabase();
+			public void onSuccess(BootstrapData result) {
+				Extensions.setContainer(result.getExtensions());
+				SystemDetails.setMetaDatabaseDetails(result.getMetaDatabaseDetails());
+
+				if (result.getAccountDetails() == null) {
+					changeDatabase();
+				} else {
+					Manager.get().setAccountDetails(result.getAccountDetails());
+					initializeMainView(result.getSelectedScenario());
+				}
+
 				ServerPush.start();
 			}
-		};
-
-		RPC.getExtensionRPC().getExtensions(loadExtensions);
-		RPC.getSystemDetailsRPC().getMetaDatabaseDetails(loadSystemDetails);
+		});
 	}
 
 	/**
@@ -179,6 +187,7 @@ public class SoPeCoUI implements EntryPoint, UncaughtExceptionHandler {
 		
 		ServerPush.stop();
 		ServerPush.clear();
+		ControllerStatusCache.clear();
 		
 		changeDatabase();
 	}
@@ -190,7 +199,20 @@ public class SoPeCoUI implements EntryPoint, UncaughtExceptionHandler {
 	 *            the database of the current connection.
 	 */
 	public void initializeMainView() {
+		initializeMainView(null);
+	}
+
+	/**
+	 * Initialize/reset the main view of the application. The given definition
+	 * of the selected scenario is used instead of requesting it again.
+	 * 
+	 * @param selectedScenario
+	 *            the already loaded definition of the selected scenario,
+	 *            <code>null</code> if not loaded
+	 */
+	public void initializeMainView(ScenarioDefinition selectedScenario) {
 		ScenarioManager.clear();
+		ScenarioManager.get().setPreloadedScenario(selectedScenario);
 		MainLayoutPanel.destroy();
 
 		RootLayoutPanel rootLayoutPanel = RootLayoutPanel.get();
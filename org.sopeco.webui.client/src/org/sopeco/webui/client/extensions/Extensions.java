@@ -32,8 +32,16 @@ import java.util.Map;
 import org.sopeco.webui.client.helper.callback.ParallelCallback;
 import org.sopeco.webui.shared.helper.ExtensionContainer;
 import org.sopeco.webui.shared.helper.ExtensionTypes;
+import org.sopeco.webui.shared.rpc.RPC;
 
 import com.google.gwt.core.shared.GWT;
+import com.google.gwt.json.client.JSONNull;
+import com.google.gwt.json.client.JSONObject;
+import com.google.gwt.json.client.JSONParser;
+import com.google.gwt.json.client.JSONString;
+import com.google.gwt.json.client.JSONValue;
+import com.google.gwt.storage.client.Storage;
+import com.google.gwt.user.client.rpc.AsyncCallback;
 
 /**
  * 
@@ -42,6 +50,13 @@ import com.google.gwt.core.shared.GWT;
  */
 public final class Extensions {
 
+	/**
+	 * Key of the cached extensions in the local storage of the browser.
+	 */
+	private static final String STORAGE_KEY = "sopeco.extensions";
+
+	private static final String STORAGE_VERSION_KEY = "sopeco.extensions.version";
+
 	private static Extensions instance;
 
 	private ExtensionContainer extensionContainer;
@@ -62,7 +77,19 @@ public final class Extensions {
 	}
 
 	/**
-	 * Loads all Extensions from the server.
+	 * Loads all Extensions from the server. If the browser has a cached copy,
+	 * only its version is sent and the extensions are only transferred, if
+	 * they have changed.
+	 * 
+	 * @param callback
+	 *            the callback created by {@link #getLoadingCallback()}
+	 */
+	public static void load(ParallelCallback<ExtensionContainer> callback) {
+		RPC.getExtensionRPC().getExtensionsIfChanged(getCachedVersion(), callback);
+	}
+
+	/**
+	 * Returns the callback which stores the loaded extensions.
 	 */
 	public static ParallelCallback<ExtensionContainer> getLoadingCallback() {
 		return new ParallelCallback<ExtensionContainer>() {
@@ -74,12 +101,35 @@ public final class Extensions {
 
 			@Override
 			public void onSuccess(ExtensionContainer result) {
-				get().extensionContainer = result;
-				super.onSuccess(result);
+				setContainer(result);
+				super.onSuccess(get().extensionContainer);
 			}
 		};
 	}
 
+	/**
+	 * Sets the loaded extensions. <code>null</code> means, that the cached
+	 * extensions are still valid. If the cache can't be read, it is cleared and
+	 * the extensions are loaded again from the server.
+	 * 
+	 * @param result
+	 *            the loaded extensions or <code>null</code>
+	 */
+	public static void setContainer(ExtensionContainer result) {
+		if (result == null) {
+			if (get().extensionContainer == null) {
+				get().extensionContainer = readCache();
+			}
+			if (get().extensionContainer == null) {
+				get().extensionContainer = new ExtensionContainer();
+				reload();
+			}
+		} else {
+			get().extensionContainer = result;
+			writeCache(result);
+		}
+	}
+
 	/**
 	 * Return all extensions of the given type/class.
 	 * 
@@ -93,4 +143,114 @@ public final class Extensions {
 
 		return extensionContainer.getExtensions(type);
 	}
+
+	/**
+	 * Returns the version of the cached extensions, <code>null</code> if
+	 * nothing is cached.
+	 * 
+	 * @return the cached version
+	 */
+	public static String getCachedVersion() {
+		Storage storage = Storage.getLocalStorageIfSupported();
+		if (storage == null || storage.getItem(STORAGE_KEY) == null) {
+			return null;
+		}
+		return storage.getItem(STORAGE_VERSION_KEY);
+	}
+
+	/**
+	 * Loads the complete extensions from the server, without sending the
+	 * version of the cached copy.
+	 */
+	private static void reload() {
+		RPC.getExtensionRPC().getExtensionsIfChanged(null, new AsyncCallback<ExtensionContainer>() {
+			@Override
+			public void onFailure(Throwable caught) {
+				GWT.log("Exception", caught);
+			}
+
+			@Override
+			public void onSuccess(ExtensionContainer result) {
+				if (result != null) {
+					setContainer(result);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Reads the cached extensions from the local storage. A cache which can't
+	 * be read is removed.
+	 * 
+	 * @return the cached extensions, <code>null</code> if the cache is invalid
+	 */
+	private static ExtensionContainer readCache() {
+		Storage storage = Storage.getLocalStorageIfSupported();
+
+		if (storage == null || storage.getItem(STORAGE_KEY) == null) {
+			return new ExtensionContainer();
+		}
+
+		try {
+			return parseCache(storage);
+		} catch (RuntimeException e) {
+			GWT.log("Invalid extension cache", e);
+			storage.removeItem(STORAGE_KEY);
+			storage.removeItem(STORAGE_VERSION_KEY);
+			return null;
+		}
+	}
+
+	private static ExtensionContainer parseCache(Storage storage) {
+		ExtensionContainer container = new ExtensionContainer();
+
+		JSONObject types = JSONParser.parseStrict(storage.getItem(STORAGE_KEY)).isObject();
+		for (String type : types.keySet()) {
+			Map<String, Map<String, String>> extensions = new HashMap<String, Map<String, String>>();
+
+			JSONObject jsonExtensions = types.get(type).isObject();
+			for (String name : jsonExtensions.keySet()) {
+				Map<String, String> config = new HashMap<String, String>();
+
+				JSONObject jsonConfig = jsonExtensions.get(name).isObject();
+				for (String key : jsonConfig.keySet()) {
+					JSONValue value = jsonConfig.get(key);
+					config.put(key, value.isString() == null ? null : value.isString().stringValue());
+				}
+				extensions.put(name, config);
+			}
+			container.getMap().put(ExtensionTypes.valueOf(type), extensions);
+		}
+
+		container.setVersion(storage.getItem(STORAGE_VERSION_KEY));
+		return container;
+	}
+
+	private static void writeCache(ExtensionContainer container) {
+		Storage storage = Storage.getLocalStorageIfSupported();
+		if (storage == null || container.getVersion() == null) {
+			return;
+		}
+
+		JSONObject types = new JSONObject();
+		for (Map.Entry<ExtensionTypes, Map<String, Map<String, String>>> type : container.getMap().entrySet()) {
+			JSONObject jsonExtensions = new JSONObject();
+
+			for (Map.Entry<String, Map<String, String>> extension : type.getValue().entrySet()) {
+				JSONObject jsonConfig = new JSONObject();
+				for (Map.Entry<String, String> config : extension.getValue().entrySet()) {
+					if (config.getValue() == null) {
+						jsonConfig.put(config.getKey(), JSONNull.getInstance());
+					} else {
+						jsonConfig.put(config.getKey(), new JSONString(config.getValue()));
+					}
+				}
+				jsonExtensions.put(extension.getKey(), jsonConfig);
+			}
+			types.put(type.getKey().name(), jsonExtensions);
+		}
+
+		storage.setItem(STORAGE_KEY, types.toString());
+		storage.setItem(STORAGE_VERSION_KEY, container.getVersion());
+	}
 }
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.client.helper;
+
+import java.util.logging.Logger;
+
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.MetricsBackend;
+import org.sopeco.webui.shared.metrics.MetricsBatch;
+import org.sopeco.webui.shared.rpc.RPC;
+
+import com.google.gwt.user.client.Timer;
+import com.google.gwt.user.client.rpc.AsyncCallback;
+
+/**
+ * Backend of the {@link Metrics} facade in the browser. The values are
+ * collected in a {@link MetricsBatch}, which is sent to the server every
+ * {@link #REPORT_INTERVAL} milliseconds or as soon as it contains
+ * {@link #MAX_BATCH_SIZE} values. If a report fails, e.g. because the session
+ * is not logged in yet, its values are dropped.
+ * The time is taken from <code>performance.now()</code>, which is monotonic,
+ * if the browser offers it.
+ *
+ * @author agent
+ *
+ */
+public final class ClientMetrics implements MetricsBackend {
+
+	private static final Logger LOGGER = Logger.getLogger(ClientMetrics.class.getName());
+
+	/** Time in milliseconds between two reports to the server. */
+	public static final int REPORT_INTERVAL = 60000;
+
+	/** Number of values, after which the batch is reported immediately. */
+	public static final int MAX_BATCH_SIZE = 200;
+
+	private static ClientMetrics singleton;
+
+	private MetricsBatch batch = new MetricsBatch();
+
+	private Timer reportTimer;
+
+	private ClientMetrics() {
+	}
+
+	/**
+	 * Installs the client backend and starts the periodic report.
+	 */
+	public static void install() {
+		if (singleton == null) {
+			singleton = new ClientMetrics();
+			singleton.reportTimer = new Timer() {
+				@Override
+				public void run() {
+					singleton.report();
+				}
+			};
+			singleton.reportTimer.scheduleRepeating(REPORT_INTERVAL);
+		}
+		Metrics.setBackend(singleton);
+	}
+
+	@Override
+	public native double now() /*-{
+		if ($wnd.performance && $wnd.performance.now) {
+			return $wnd.performance.now();
+		}
+		return new Date().getTime();
+	}-*/;
+
+	@Override
+	public void record(String name, double millis) {
+		batch.addTiming(name, millis);
+		reportIfFull();
+	}
+
+	@Override
+	public void increment(String name, long delta) {
+		batch.addCount(name, delta);
+		reportIfFull();
+	}
+
+	private void reportIfFull() {
+		if (batch.size() >= MAX_BATCH_SIZE) {
+			report();
+		}
+	}
+
+	/**
+	 * Sends the collected values to the server and starts a new batch.
+	 */
+	public void report() {
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		MetricsBatch sending = batch;
+		batch = new MetricsBatch();
+
+		RPC.getMetricsRPC().report(sending, new AsyncCallback<Void>() {
+			@Override
+			public void onSuccess(Void result) {
+			}
+
+			@Override
+			public void onFailure(Throwable caught) {
+				LOGGER.fine("Reporting the client metrics failed: " + caught.getMessage());
+			}
+		});
+	}
+}
@@ -29,7 +29,8 @@ package org.sopeco.webui.client.helper;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 
 import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.Style.Unit;
@@ -77,7 +78,7 @@ public class ElementPropertyAligner {
 	 * (largest width in the list).
 	 */
 	public void alignWith() {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("ElementPropertyAligner.alignWith");
 
 		int widestHTML = 0;
 		for (Element element : elementList) {
@@ -92,7 +93,7 @@ public class ElementPropertyAligner {
 			element.getStyle().setWidth(widestHTML, Unit.PX);
 		}
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	/**
@@ -100,7 +101,7 @@ public class ElementPropertyAligner {
 	 * same overall width.
 	 */
 	public void offsetWidth() {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("ElementPropertyAligner.offsetWidth");
 
 		int widestHTML = 0;
 		for (int i = 0; i < elementList.size(); i++) {
@@ -125,6 +126,6 @@ public class ElementPropertyAligner {
 			elementList.get(i).getStyle().setWidth(widthToSet, Unit.PX);
 		}
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 }
@@ -30,7 +30,8 @@ import org.sopeco.persistence.entities.definition.MeasurementEnvironmentDefiniti
 import org.sopeco.persistence.entities.definition.ParameterDefinition;
 import org.sopeco.persistence.entities.definition.ParameterNamespace;
 import org.sopeco.persistence.entities.definition.ParameterRole;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 
 /**
  * 
@@ -85,14 +86,14 @@ public class EnvironmentFilter {
 	 * @return
 	 */
 	public MeasurementEnvironmentDefinition filter(MeasurementEnvironmentDefinition source) {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("EnvironmentFilter.filter");
 
 		ParameterNamespace root = recursive(source.getRoot());
 
 		MeasurementEnvironmentDefinition filteredDefinition = new MeasurementEnvironmentDefinition();
 		filteredDefinition.setRoot(root);
 
-		Metering.stop(metering);
+		metering.stop();
 		return filteredDefinition;
 	}
 
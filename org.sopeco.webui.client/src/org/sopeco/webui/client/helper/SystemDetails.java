@@ -27,6 +27,7 @@
 package org.sopeco.webui.client.helper;
 
 import java.util.HashMap;
+import java.util.Map;
 
 import org.sopeco.webui.client.helper.callback.ParallelCallback;
 
@@ -51,9 +52,7 @@ public final class SystemDetails {
 		return new ParallelCallback<HashMap<String, String>>() {
 			@Override
 			public void onSuccess(HashMap<String, String> result) {
-				metaHost = result.get("host");
-				metaPort = result.get("port");
-				metaDatabaseDetailsAvailable = true;
+				setMetaDatabaseDetails(result);
 				super.onSuccess(result);
 			}
 
@@ -65,6 +64,18 @@ public final class SystemDetails {
 		};
 	}
 
+	/**
+	 * Sets host and port of the meta database.
+	 * 
+	 * @param details
+	 *            map with the keys <code>host</code> and <code>port</code>
+	 */
+	public static void setMetaDatabaseDetails(Map<String, String> details) {
+		metaHost = details.get("host");
+		metaPort = details.get("port");
+		metaDatabaseDetailsAvailable = true;
+	}
+
 	/**
 	 * 
 	 * @return
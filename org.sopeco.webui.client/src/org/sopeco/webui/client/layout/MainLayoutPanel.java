@@ -39,10 +39,15 @@ import org.sopeco.webui.client.layout.navigation.NaviController;
 import org.sopeco.webui.client.layout.navigation.NaviItem;
 import org.sopeco.webui.client.manager.Manager;
 import org.sopeco.webui.client.manager.ScenarioManager;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.client.resources.R;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.RunAsyncCallback;
 import com.google.gwt.dom.client.Style.Overflow;
 import com.google.gwt.dom.client.Style.Unit;
+import com.google.gwt.user.client.Window;
 import com.google.gwt.user.client.ui.DockLayoutPanel;
 import com.google.gwt.user.client.ui.Widget;
 
@@ -212,7 +217,7 @@ public final class MainLayoutPanel extends DockLayoutPanel {
 	 * the main view will be refreshed.
 	 */
 	public void reloadPanels() {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("MainLayoutPanel.reloadPanels");
 
 		for (ICenterController controller : controllerMap.values()) {
 			controller.reload();
@@ -220,7 +225,7 @@ public final class MainLayoutPanel extends DockLayoutPanel {
 		refreshNavigation();
 		refreshView();
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	/**
@@ -274,6 +279,11 @@ public final class MainLayoutPanel extends DockLayoutPanel {
 	 *            of the instance which provides the next widget
 	 */
 	public <T extends ICenterController> void switchView(Class<T> targetClass) {
+		if (targetClass != null && !controllerMap.containsKey(targetClass)) {
+			loadCenterController(targetClass);
+			return;
+		}
+
 		currentCenterClass = targetClass;
 		if (targetClass != null) {
 			controllerMap.get(targetClass).onSwitchTo();
@@ -295,8 +305,7 @@ public final class MainLayoutPanel extends DockLayoutPanel {
 
 		registerCenterController(new SpecificationController());
 		registerCenterController(new ExperimentController());
-		registerCenterController(new ExecuteController());
-		registerCenterController(new ResultController());
+		// ExecuteController and ResultController are loaded on demand, see loadCenterController()
 		
 		refreshView();
 
@@ -349,4 +358,65 @@ public final class MainLayoutPanel extends DockLayoutPanel {
 
 		controllerMap.put(clazz, controller);
 	}
+
+	/**
+	 * Downloads the code of a rarely used {@link ICenterController}, registers
+	 * it and switches to its view. Every controller has its own split point, so
+	 * its code is not part of the initial download.
+	 * 
+	 * @param targetClass
+	 *            class of the {@link ICenterController}
+	 */
+	private void loadCenterController(Class<? extends ICenterController> targetClass) {
+		if (targetClass == ExecuteController.class) {
+			GWT.runAsync(ExecuteController.class, new CenterControllerLoader(targetClass) {
+				@Override
+				protected ICenterController create() {
+					return new ExecuteController();
+				}
+			});
+		} else if (targetClass == ResultController.class) {
+			GWT.runAsync(ResultController.class, new CenterControllerLoader(targetClass) {
+				@Override
+				protected ICenterController create() {
+					return new ResultController();
+				}
+			});
+		} else {
+			throw new IllegalStateException("No ICenterController of class " + targetClass.getName()
+					+ " registered.");
+		}
+	}
+
+	/**
+	 * Registers the {@link ICenterController} after its code was downloaded and
+	 * switches to its view.
+	 */
+	private abstract class CenterControllerLoader implements RunAsyncCallback {
+
+		private Class<? extends ICenterController> targetClass;
+
+		CenterControllerLoader(Class<? extends ICenterController> pTargetClass) {
+			targetClass = pTargetClass;
+		}
+
+		/**
+		 * @return a new instance of the {@link ICenterController}
+		 */
+		protected abstract ICenterController create();
+
+		@Override
+		public void onFailure(Throwable reason) {
+			Window.alert(R.lang.codeDownloadFailed());
+		}
+
+		@Override
+		public void onSuccess() {
+			// the controller may have been loaded by an earlier click
+			if (!controllerMap.containsKey(targetClass)) {
+				registerCenterController(create());
+			}
+			switchView(targetClass);
+		}
+	}
 }
@@ -34,7 +34,6 @@ import org.sopeco.webui.client.layout.center.execute.tabOne.ExecuteTab;
 import org.sopeco.webui.client.layout.center.execute.tabOne.TabControllerOne;
 import org.sopeco.webui.client.layout.center.execute.tabThree.TabControllerThree;
 import org.sopeco.webui.client.layout.center.execute.tabTwo.TabControllerTwo;
-import org.sopeco.webui.client.manager.Manager;
 import org.sopeco.webui.client.resources.R;
 
 import com.google.gwt.event.dom.client.ClickEvent;
@@ -124,7 +123,7 @@ public class ExecuteController implements ICenterController, ClickHandler, Selec
 		((ExecuteTab) tabControllerOne.getView()).generateTree();
 		getTabControllerTwo().loadScheduledExperiments();
 
-		((ExecuteTab) tabControllerOne.getView()).getEditController().setValue(Manager.get().getControllerUrl());
+		tabControllerOne.updateControllerURL();
 
 		selectedTab(view.getTabBar().getSelectedTab());
 	}
@@ -143,10 +142,10 @@ public class ExecuteController implements ICenterController, ClickHandler, Selec
 		tabControllerFour = new TabControllerFour(this);
 
 		view = new ExecuteTabPanel();
-		view.add(tabControllerOne.getView(), R.lang.ExecuteExperiment());
-		view.add(tabControllerTwo.getView(), R.lang.ScheduledExperiments());
-		view.add(tabControllerThree.getView(), R.lang.controllerQueue());
-		view.add(tabControllerFour.getView(), R.lang.history());
+		view.add(tabControllerOne.getView(), R.Execute.lang.ExecuteExperiment());
+		view.add(tabControllerTwo.getView(), R.Execute.lang.ScheduledExperiments());
+		view.add(tabControllerThree.getView(), R.Execute.lang.controllerQueue());
+		view.add(tabControllerFour.getView(), R.Execute.lang.history());
 		view.selectTab(0);
 
 		view.getTabBar().addSelectionHandler(this);
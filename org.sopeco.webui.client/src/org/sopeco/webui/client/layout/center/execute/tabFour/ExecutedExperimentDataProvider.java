@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.client.layout.center.execute.tabFour;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.sopeco.service.persistence.entities.ExecutedExperimentDetails;
+import org.sopeco.webui.client.layout.popups.Message;
+import org.sopeco.webui.shared.entities.ExecutedExperimentPage;
+import org.sopeco.webui.shared.entities.ExecutedExperimentSort;
+import org.sopeco.webui.shared.rpc.RPC;
+
+import com.google.gwt.user.cellview.client.AbstractCellTable;
+import com.google.gwt.user.cellview.client.Column;
+import com.google.gwt.user.cellview.client.ColumnSortList;
+import com.google.gwt.user.cellview.client.ColumnSortList.ColumnSortInfo;
+import com.google.gwt.user.client.rpc.AsyncCallback;
+import com.google.gwt.view.client.AsyncDataProvider;
+import com.google.gwt.view.client.HasData;
+import com.google.gwt.view.client.Range;
+
+/**
+ * Provides the executed experiment history page by page. Sorting and
+ * filtering is done on the server, so only the visible page is transferred.
+ * 
+ * @author agent
+ * 
+ */
+public class ExecutedExperimentDataProvider extends AsyncDataProvider<ExecutedExperimentDetails> {
+
+	private Map<Column<ExecutedExperimentDetails, ?>, ExecutedExperimentSort> sortColumns = new HashMap<Column<ExecutedExperimentDetails, ?>, ExecutedExperimentSort>();
+
+	private String filter = "";
+
+	/**
+	 * Counts the requests, so responses of outdated requests are ignored.
+	 */
+	private int requestCounter = 0;
+
+	/**
+	 * Registers a column, which sorts the history by the given property.
+	 * 
+	 * @param column
+	 *            the sortable column
+	 * @param sort
+	 *            the property
+	 */
+	public void addSortColumn(Column<ExecutedExperimentDetails, ?> column, ExecutedExperimentSort sort) {
+		column.setSortable(true);
+		sortColumns.put(column, sort);
+	}
+
+	/**
+	 * Sets the filter text and reloads the first page.
+	 * 
+	 * @param pFilter
+	 *            only experiments whose name or controller contains this text
+	 */
+	public void setFilter(String pFilter) {
+		filter = pFilter;
+		reload();
+	}
+
+	/**
+	 * Reloads the current page of all displays.
+	 */
+	public void reload() {
+		for (HasData<ExecutedExperimentDetails> display : getDataDisplays()) {
+			display.setVisibleRangeAndClearData(new Range(0, display.getVisibleRange().getLength()), true);
+		}
+	}
+
+	@Override
+	protected void onRangeChanged(HasData<ExecutedExperimentDetails> display) {
+		final Range range = display.getVisibleRange();
+
+		ExecutedExperimentSort sort = ExecutedExperimentSort.TIME_STARTED;
+		boolean ascending = false;
+
+		if (display instanceof AbstractCellTable) {
+			ColumnSortList sortList = ((AbstractCellTable<ExecutedExperimentDetails>) display).getColumnSortList();
+			if (sortList.size() > 0) {
+				ColumnSortInfo info = sortList.get(0);
+				if (sortColumns.containsKey(info.getColumn())) {
+					sort = sortColumns.get(info.getColumn());
+					ascending = info.isAscending();
+				}
+			}
+		}
+
+		final int myRequest = ++requestCounter;
+
+		RPC.getExecuteRPC().getExecutedExperimentPage(range.getStart(), range.getLength(), sort, ascending, filter,
+				new AsyncCallback<ExecutedExperimentPage>() {
+					@Override
+					public void onSuccess(ExecutedExperimentPage result) {
+						if (myRequest != requestCounter) {
+							return;
+						}
+
+						updateRowCount(result.getTotalCount(), true);
+						updateRowData(result.getOffset(), result.getDetails());
+					}
+
+					@Override
+					public void onFailure(Throwable caught) {
+						Message.error(caught.getLocalizedMessage());
+					}
+				});
+	}
+}
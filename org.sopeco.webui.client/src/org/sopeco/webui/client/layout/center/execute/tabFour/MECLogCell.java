@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.client.layout.center.execute.tabFour;
+
+import java.util.Date;
+
+import org.sopeco.service.execute.MECLogEntry;
+
+import com.google.gwt.cell.client.AbstractCell;
+import com.google.gwt.i18n.client.DateTimeFormat;
+import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
+
+/**
+ * Renders a single {@link MECLogEntry} of the history log.
+ * 
+ * @author agent
+ * 
+ */
+public class MECLogCell extends AbstractCell<MECLogEntry> {
+
+	private DateTimeFormat dtf = DateTimeFormat.getFormat("dd.MM.yyyy hh:mm aa");
+
+	@Override
+	public void render(Context context, MECLogEntry log, SafeHtmlBuilder sb) {
+		if (log == null) {
+			return;
+		}
+
+		String text = dtf.format(new Date(log.getTime())) + ": " + log.getMessage();
+
+		if (log.isException()) {
+			sb.appendHtmlConstant("<div class=\"logEntry errorMessage\"><b>");
+			sb.appendEscaped(text);
+			sb.appendHtmlConstant("</b><br>");
+			sb.appendEscaped(log.getErrorMessage());
+			sb.appendHtmlConstant("</div>");
+		} else if (log.isError()) {
+			sb.appendHtmlConstant("<div class=\"logEntry errorMessage\">");
+			sb.appendEscaped(text);
+			sb.appendHtmlConstant("</div>");
+		} else {
+			sb.appendHtmlConstant("<div class=\"logEntry\">");
+			sb.appendEscaped(text);
+			sb.appendHtmlConstant("</div>");
+		}
+	}
+}
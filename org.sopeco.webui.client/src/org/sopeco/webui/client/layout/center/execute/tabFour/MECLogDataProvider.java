@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.client.layout.center.execute.tabFour;
+
+import org.sopeco.service.execute.MECLogEntry;
+import org.sopeco.webui.client.layout.popups.Message;
+import org.sopeco.webui.shared.entities.MECLogPage;
+import org.sopeco.webui.shared.entities.MECLogSeverity;
+import org.sopeco.webui.shared.rpc.RPC;
+
+import com.google.gwt.user.client.rpc.AsyncCallback;
+import com.google.gwt.view.client.AsyncDataProvider;
+import com.google.gwt.view.client.HasData;
+import com.google.gwt.view.client.Range;
+
+/**
+ * Provides the MEC log of an executed experiment page by page. Only the
+ * visible range of the display is requested, so the client never holds more
+ * than the rendered window of the log.
+ * 
+ * @author agent
+ * 
+ */
+public class MECLogDataProvider extends AsyncDataProvider<MECLogEntry> {
+
+	private long experimentId = -1;
+	private MECLogSeverity minSeverity = MECLogSeverity.INFO;
+
+	/**
+	 * Counts the requests, so responses of outdated requests are ignored.
+	 */
+	private int requestCounter = 0;
+
+	/**
+	 * Shows the log of the given experiment with the given filter. The visible
+	 * range of every display is moved back to the start.
+	 * 
+	 * @param pExperimentId
+	 *            the ID of the executed experiment
+	 * @param pMinSeverity
+	 *            the minimum severity of the shown entries
+	 */
+	public void setLog(long pExperimentId, MECLogSeverity pMinSeverity) {
+		experimentId = pExperimentId;
+		minSeverity = pMinSeverity;
+		requestCounter++;
+
+		for (HasData<MECLogEntry> display : getDataDisplays()) {
+			display.setVisibleRangeAndClearData(new Range(0, display.getVisibleRange().getLength()), true);
+		}
+	}
+
+	/**
+	 * Changes the filter of the current log.
+	 * 
+	 * @param pMinSeverity
+	 *            the minimum severity of the shown entries
+	 */
+	public void setMinSeverity(MECLogSeverity pMinSeverity) {
+		setLog(experimentId, pMinSeverity);
+	}
+
+	@Override
+	protected void onRangeChanged(HasData<MECLogEntry> display) {
+		if (experimentId < 0) {
+			return;
+		}
+
+		Range range = display.getVisibleRange();
+		final int myRequest = ++requestCounter;
+
+		RPC.getExecuteRPC().getMECLogPage(experimentId, range.getStart(), range.getLength(), minSeverity, 0, 0,
+				new AsyncCallback<MECLogPage>() {
+					@Override
+					public void onSuccess(MECLogPage result) {
+						if (myRequest != requestCounter) {
+							return;
+						}
+
+						updateRowCount(result.getTotalCount(), true);
+						updateRowData(result.getOffset(), result.getEntries());
+					}
+
+					@Override
+					public void onFailure(Throwable caught) {
+						Message.error(caught.getLocalizedMessage());
+					}
+				});
+	}
+}
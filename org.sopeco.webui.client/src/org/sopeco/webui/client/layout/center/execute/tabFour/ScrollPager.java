@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.client.layout.center.execute.tabFour;
+
+import com.google.gwt.event.dom.client.ScrollEvent;
+import com.google.gwt.event.dom.client.ScrollHandler;
+import com.google.gwt.user.cellview.client.AbstractPager;
+import com.google.gwt.user.client.ui.ScrollPanel;
+import com.google.gwt.user.client.ui.Widget;
+import com.google.gwt.view.client.HasRows;
+import com.google.gwt.view.client.Range;
+
+/**
+ * Pager, which shows its display in a scroll panel and renders only a window
+ * of two pages. As soon as the user scrolls near the bottom, the window is
+ * moved one page forward, near the top one page back. The scroll position is
+ * corrected by the height of the moved page, so the shown rows stay in place.
+ * 
+ * @author agent
+ * 
+ */
+public class ScrollPager extends AbstractPager {
+
+	/**
+	 * Distance in pixels to the top or bottom, at which the window is moved.
+	 */
+	private static final int THRESHOLD = 50;
+
+	private final int pageSize;
+
+	private final ScrollPanel scrollPanel = new ScrollPanel();
+
+	public ScrollPager(int pPageSize) {
+		pageSize = pPageSize;
+
+		initWidget(scrollPanel);
+		scrollPanel.setHeight("100%");
+
+		scrollPanel.addScrollHandler(new ScrollHandler() {
+			@Override
+			public void onScroll(ScrollEvent event) {
+				HasRows display = getDisplay();
+				if (display == null) {
+					return;
+				}
+
+				Range range = display.getVisibleRange();
+				int renderedRows = Math.min(range.getLength(), display.getRowCount() - range.getStart());
+				if (renderedRows <= 0) {
+					return;
+				}
+
+				int contentHeight = scrollPanel.getWidget().getOffsetHeight();
+				int maxScrollTop = contentHeight - scrollPanel.getOffsetHeight();
+				int position = scrollPanel.getVerticalScrollPosition();
+				double rowHeight = (double) contentHeight / renderedRows;
+
+				if (position >= maxScrollTop - THRESHOLD
+						&& range.getStart() + range.getLength() < display.getRowCount()) {
+					display.setVisibleRange(range.getStart() + pageSize, getWindowSize());
+					scrollPanel.setVerticalScrollPosition(position - (int) (pageSize * rowHeight));
+				} else if (position <= THRESHOLD && range.getStart() > 0) {
+					int start = Math.max(range.getStart() - pageSize, 0);
+					display.setVisibleRange(start, getWindowSize());
+					scrollPanel.setVerticalScrollPosition(position + (int) ((range.getStart() - start) * rowHeight));
+				}
+			}
+		});
+	}
+
+	@Override
+	public void setDisplay(HasRows display) {
+		scrollPanel.setWidget(display == null ? null : (Widget) display);
+		super.setDisplay(display);
+
+		if (display != null) {
+			display.setVisibleRange(0, getWindowSize());
+		}
+	}
+
+	/**
+	 * Returns the number of rows rendered at once.
+	 * 
+	 * @return the size of the window
+	 */
+	public int getWindowSize() {
+		return 2 * pageSize;
+	}
+
+	/**
+	 * Scrolls back to the top.
+	 */
+	public void scrollToTop() {
+		scrollPanel.scrollToTop();
+	}
+
+	@Override
+	protected void onRangeOrRowCountChanged() {
+	}
+}
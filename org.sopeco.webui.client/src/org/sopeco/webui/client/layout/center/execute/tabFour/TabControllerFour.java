@@ -26,28 +26,28 @@
  */
 package org.sopeco.webui.client.layout.center.execute.tabFour;
 
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
-import java.util.ListIterator;
 
-import org.sopeco.service.execute.MECLogEntry;
 import org.sopeco.service.persistence.entities.ExecutedExperimentDetails;
-import org.sopeco.service.persistence.entities.MECLog;
 import org.sopeco.webui.client.layout.center.execute.ExecuteController;
 import org.sopeco.webui.client.layout.center.execute.TabController;
-import org.sopeco.webui.client.layout.popups.Message;
 import org.sopeco.webui.client.manager.Manager;
 import org.sopeco.webui.client.resources.R;
-import org.sopeco.webui.shared.rpc.RPC;
+import org.sopeco.webui.shared.entities.ExecutedExperimentSort;
+import org.sopeco.webui.shared.entities.MECLogSeverity;
 
+import com.google.gwt.event.dom.client.ChangeEvent;
+import com.google.gwt.event.dom.client.ChangeHandler;
+import com.google.gwt.event.logical.shared.ValueChangeEvent;
+import com.google.gwt.event.logical.shared.ValueChangeHandler;
 import com.google.gwt.i18n.client.DateTimeFormat;
 import com.google.gwt.user.cellview.client.Column;
+import com.google.gwt.user.cellview.client.ColumnSortEvent;
+import com.google.gwt.user.cellview.client.ColumnSortList.ColumnSortInfo;
 import com.google.gwt.user.cellview.client.DataGrid;
 import com.google.gwt.user.cellview.client.TextColumn;
-import com.google.gwt.user.client.rpc.AsyncCallback;
-import com.google.gwt.user.client.ui.HTML;
 import com.google.gwt.user.client.ui.Image;
+import com.google.gwt.user.client.ui.ListBox;
 import com.google.gwt.user.client.ui.Panel;
 import com.google.gwt.view.client.SelectionChangeEvent;
 import com.google.gwt.view.client.SingleSelectionModel;
@@ -61,6 +61,8 @@ public class TabControllerFour extends TabController {
 
 	private TabView tabView;
 	private DateTimeFormat dtf = DateTimeFormat.getFormat("dd.MM.yyyy hh:mm aa");
+	private MECLogDataProvider logProvider;
+	private ExecutedExperimentDataProvider historyProvider;
 
 	public TabControllerFour(ExecuteController parentController) {
 		super(parentController);
@@ -70,6 +72,21 @@ public class TabControllerFour extends TabController {
 	private void initialize() {
 		tabView = new TabView();
 
+		logProvider = new MECLogDataProvider();
+		logProvider.addDataDisplay(tabView.getLogList());
+
+		final ListBox severityBox = tabView.getSeverityBox();
+		for (MECLogSeverity severity : MECLogSeverity.values()) {
+			severityBox.addItem(severity.name());
+		}
+		severityBox.addChangeHandler(new ChangeHandler() {
+			@Override
+			public void onChange(ChangeEvent event) {
+				tabView.getLogPager().scrollToTop();
+				logProvider.setMinSeverity(MECLogSeverity.values()[severityBox.getSelectedIndex()]);
+			}
+		});
+
 		buildTable();
 	}
 
@@ -137,6 +154,16 @@ public class TabControllerFour extends TabController {
 		dataGrid.setColumnWidth(timeStartColumn, "180px");
 		dataGrid.setColumnWidth(timeEndColumn, "180px");
 
+		historyProvider = new ExecutedExperimentDataProvider();
+		historyProvider.addSortColumn(nameColumn, ExecutedExperimentSort.NAME);
+		historyProvider.addSortColumn(timeStartColumn, ExecutedExperimentSort.TIME_STARTED);
+		historyProvider.addSortColumn(timeEndColumn, ExecutedExperimentSort.TIME_FINISHED);
+		historyProvider.addSortColumn(controllerColumn, ExecutedExperimentSort.CONTROLLER);
+
+		// newest executions first
+		dataGrid.getColumnSortList().push(new ColumnSortInfo(timeStartColumn, false));
+		dataGrid.addColumnSortHandler(new ColumnSortEvent.AsyncHandler(dataGrid));
+
 		final SingleSelectionModel<ExecutedExperimentDetails> selectionModel = new SingleSelectionModel<ExecutedExperimentDetails>();
 		dataGrid.setSelectionModel(selectionModel);
 		selectionModel.addSelectionChangeHandler(new SelectionChangeEvent.Handler() {
@@ -150,34 +177,25 @@ public class TabControllerFour extends TabController {
 
 		tabView.setDataGrid(dataGrid);
 
-		updateGrid(dataGrid);
+		tabView.getFilterBox().addValueChangeHandler(new ValueChangeHandler<String>() {
+			@Override
+			public void onValueChange(ValueChangeEvent<String> event) {
+				historyProvider.setFilter(event.getValue());
+			}
+		});
+
+		historyProvider.addDataDisplay(dataGrid);
 	}
 
-	public void updateGrid(final DataGrid<ExecutedExperimentDetails> dataGrid) {
-		if (dataGrid == null) {
+	/**
+	 * Reloads the visible page of the history.
+	 */
+	public void updateGrid() {
+		if (historyProvider == null) {
 			return;
 		}
 
-		RPC.getExecuteRPC().getExecutedExperimentDetails(new AsyncCallback<List<ExecutedExperimentDetails>>() {
-			@Override
-			public void onSuccess(List<ExecutedExperimentDetails> result) {
-				List<ExecutedExperimentDetails> reverse = new ArrayList<ExecutedExperimentDetails>();
-
-				for (ListIterator<ExecutedExperimentDetails> iterator = result.listIterator(result.size()); iterator
-						.hasPrevious();) {
-					reverse.add(iterator.previous());
-				}
-
-				dataGrid.setRowCount(reverse.size(), true);
-				dataGrid.setRowData(0, reverse);
-				dataGrid.redraw();
-			}
-
-			@Override
-			public void onFailure(Throwable caught) {
-				Message.error(caught.getLocalizedMessage());
-			}
-		});
+		historyProvider.reload();
 	}
 
 	@Override
@@ -190,36 +208,20 @@ public class TabControllerFour extends TabController {
 		if (tabView.getDataGrid() == null) {
 			buildTable();
 		} else {
-			updateGrid(tabView.getDataGrid());
+			updateGrid();
 		}
 	}
 
-	private void setDetailLog(long logList) {
-		RPC.getExecuteRPC().getMECLog(logList, new AsyncCallback<MECLog>() {
-			@Override
-			public void onFailure(Throwable caught) {
-				// TODO
-				Message.error(caught.getLocalizedMessage());
-			}
-
-			public void onSuccess(MECLog result) {
-				if (result == null) {
-					return;
-				}
-				tabView.getDetailPanel().clear();
-
-				for (MECLogEntry log : result.getEntries()) {
-					HTML html = new HTML(dtf.format(new Date(log.getTime())) + ": " + log.getMessage());
-					if (log.isException()) {
-						html.addStyleName("errorMessage");
-						html.setHTML("<b>" + html.getHTML() + "</b><br>" + log.getErrorMessage());
-					} else if (log.isError()) {
-						html.addStyleName("errorMessage");
-					}
-					tabView.getDetailPanel().add(html);
-				}
-			};
-		});
+	/**
+	 * Shows the log of the given executed experiment. The log is loaded page by
+	 * page while scrolling.
+	 * 
+	 * @param experimentId
+	 *            the ID of the executed experiment
+	 */
+	private void setDetailLog(long experimentId) {
+		tabView.getLogPager().scrollToTop();
+		logProvider.setLog(experimentId, MECLogSeverity.values()[tabView.getSeverityBox().getSelectedIndex()]);
 	}
 
 }
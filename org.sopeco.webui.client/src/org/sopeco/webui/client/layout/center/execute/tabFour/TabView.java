@@ -26,11 +26,18 @@
  */
 package org.sopeco.webui.client.layout.center.execute.tabFour;
 
+import org.sopeco.service.execute.MECLogEntry;
 import org.sopeco.service.persistence.entities.ExecutedExperimentDetails;
 
+import com.google.gwt.dom.client.Style.Unit;
+import com.google.gwt.user.cellview.client.CellList;
 import com.google.gwt.user.cellview.client.DataGrid;
+import com.google.gwt.user.cellview.client.SimplePager;
+import com.google.gwt.user.client.ui.DockLayoutPanel;
 import com.google.gwt.user.client.ui.FlowPanel;
+import com.google.gwt.user.client.ui.ListBox;
 import com.google.gwt.user.client.ui.SplitLayoutPanel;
+import com.google.gwt.user.client.ui.TextBox;
 
 /**
  * 
@@ -39,14 +46,35 @@ import com.google.gwt.user.client.ui.SplitLayoutPanel;
  */
 public class TabView extends FlowPanel {
 
+	/**
+	 * Number of log entries the log window is moved by.
+	 */
+	private static final int LOG_PAGE_SIZE = 100;
+
 	private DataGrid<ExecutedExperimentDetails> dataGrid;
-	private FlowPanel detailPanel;
+	private DockLayoutPanel gridPanel;
+	private SimplePager gridPager;
+	private TextBox filterBox;
+	private DockLayoutPanel detailPanel;
+	private CellList<MECLogEntry> logList;
+	private ScrollPager logPager;
+	private ListBox severityBox;
 
 	private SplitLayoutPanel splitLayout;
 
 	public TabView() {
-		detailPanel = new FlowPanel();
+		severityBox = new ListBox();
+		severityBox.addStyleName("logFilter");
+
+		logList = new CellList<MECLogEntry>(new MECLogCell());
+
+		logPager = new ScrollPager(LOG_PAGE_SIZE);
+		logPager.setDisplay(logList);
+
+		detailPanel = new DockLayoutPanel(Unit.PX);
 		detailPanel.addStyleName("historyDetails");
+		detailPanel.addNorth(severityBox, 30);
+		detailPanel.add(logPager);
 
 		splitLayout = new SplitLayoutPanel() {
 			@Override
@@ -64,8 +92,22 @@ public class TabView extends FlowPanel {
 	public void setDataGrid(DataGrid<ExecutedExperimentDetails> pDataGrid) {
 		dataGrid = pDataGrid;
 
+		gridPager = new SimplePager();
+		gridPager.setDisplay(dataGrid);
+
+		filterBox = new TextBox();
+		filterBox.addStyleName("logFilter");
+
+		FlowPanel gridFooter = new FlowPanel();
+		gridFooter.add(filterBox);
+		gridFooter.add(gridPager);
+
+		gridPanel = new DockLayoutPanel(Unit.PX);
+		gridPanel.addSouth(gridFooter, 32);
+		gridPanel.add(dataGrid);
+
 		splitLayout.clear();
-		splitLayout.addNorth(dataGrid, 200);
+		splitLayout.addNorth(gridPanel, 230);
 		splitLayout.add(detailPanel);
 	}
 
@@ -73,7 +115,19 @@ public class TabView extends FlowPanel {
 		return dataGrid;
 	}
 
-	public FlowPanel getDetailPanel() {
-		return detailPanel;
+	public TextBox getFilterBox() {
+		return filterBox;
+	}
+
+	public CellList<MECLogEntry> getLogList() {
+		return logList;
+	}
+
+	public ScrollPager getLogPager() {
+		return logPager;
+	}
+
+	public ListBox getSeverityBox() {
+		return severityBox;
 	}
 }
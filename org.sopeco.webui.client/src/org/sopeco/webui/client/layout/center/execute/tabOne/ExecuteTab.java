@@ -31,6 +31,7 @@ import org.sopeco.gwt.widgets.Headline;
 import org.sopeco.webui.client.manager.Manager;
 import org.sopeco.webui.client.resources.LanguageConstants;
 import org.sopeco.webui.client.resources.R;
+import org.sopeco.webui.shared.rpc.MEControllerRPC;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.dom.client.Style.Overflow;
@@ -42,6 +43,7 @@ import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.HTML;
 import com.google.gwt.user.client.ui.HasHorizontalAlignment;
 import com.google.gwt.user.client.ui.HorizontalPanel;
+import com.google.gwt.user.client.ui.Image;
 import com.google.gwt.user.client.ui.RadioButton;
 
 /**
@@ -59,6 +61,7 @@ public class ExecuteTab extends FlowPanel implements ValueChangeHandler<Boolean>
 	private EditableText editController, editLabel;
 	private RadioButton rdioOnReady, rdioSchedule;
 	private HorizontalPanel hPanelExecution;
+	private Image imgControllerStatus;
 
 	private ScheduleConfigTable scheduleConfTable;
 	private RepeatPanel repeatTable;
@@ -76,14 +79,14 @@ public class ExecuteTab extends FlowPanel implements ValueChangeHandler<Boolean>
 		configTable = new FlexTable();
 		configTable.addStyleName(CONFIG_TABLE_CLASS);
 
-		htmlController = new HTML(R.lang.Controller() + ":");
-		htmlLabel = new HTML(R.lang.Label() + ":");
-		htmlExecution = new HTML(R.lang.Execution() + ":");
-		htmlRdioOnReady = new HTML(R.lang.execOnReady());
-		htmlRdioSchedule = new HTML(R.lang.execSchedule());
+		htmlController = new HTML(R.Execute.lang.Controller() + ":");
+		htmlLabel = new HTML(R.Execute.lang.Label() + ":");
+		htmlExecution = new HTML(R.Execute.lang.Execution() + ":");
+		htmlRdioOnReady = new HTML(R.Execute.lang.execOnReady());
+		htmlRdioSchedule = new HTML(R.Execute.lang.execSchedule());
 
 		editLabel = new EditableText("My Scheduling");
-		btnExecute = new Button(R.lang.executeExperiment());
+		btnExecute = new Button(R.Execute.lang.executeExperiment());
 
 		editController = new EditableText(Manager.get().getControllerUrl());
 		editController.setEditable(false);
@@ -92,6 +95,9 @@ public class ExecuteTab extends FlowPanel implements ValueChangeHandler<Boolean>
 				.setBackgroundColor("white");
 		editController.getElement().getFirstChildElement().getNextSiblingElement().getStyle().setBorderColor("white");
 
+		imgControllerStatus = new Image();
+		setControllerStatus(null);
+
 		rdioOnReady = new RadioButton("execution");
 		rdioSchedule = new RadioButton("execution");
 		// rdioSchedule.setEnabled(false);
@@ -124,6 +130,7 @@ public class ExecuteTab extends FlowPanel implements ValueChangeHandler<Boolean>
 		configTable.setWidget(0, 1, editLabel);
 		configTable.setWidget(1, 0, htmlController);
 		configTable.setWidget(1, 1, editController);
+		configTable.setWidget(1, 2, imgControllerStatus);
 		configTable.setWidget(2, 2, btnExecute);
 		configTable.setWidget(2, 0, htmlExecution);
 		configTable.setWidget(2, 1, hPanelExecution);
@@ -131,7 +138,7 @@ public class ExecuteTab extends FlowPanel implements ValueChangeHandler<Boolean>
 		configTable.getColumnFormatter().setWidth(0, "130px");
 
 		configTable.getFlexCellFormatter().setColSpan(0, 1, 2);
-		configTable.getFlexCellFormatter().setColSpan(1, 1, 2);
+		configTable.getCellFormatter().setHorizontalAlignment(1, 2, HasHorizontalAlignment.ALIGN_RIGHT);
 		configTable.getCellFormatter().setHorizontalAlignment(2, 2, HasHorizontalAlignment.ALIGN_RIGHT);
 
 		add(new Headline("Execution Settings"));
@@ -147,15 +154,38 @@ public class ExecuteTab extends FlowPanel implements ValueChangeHandler<Boolean>
 			scheduleConfTable.setVisible(rdioSchedule.getValue());
 			repeatTable.setVisible(rdioSchedule.getValue() && scheduleConfTable.getCbRepeat().getValue());
 			if (rdioOnReady.getValue()) {
-				btnExecute.setText(R.lang.executeExperiment());
+				btnExecute.setText(R.Execute.lang.executeExperiment());
 			} else {
-				btnExecute.setText(R.lang.scheduleExperiment());
+				btnExecute.setText(R.Execute.lang.scheduleExperiment());
 			}
 		} else if (event.getSource() == scheduleConfTable.getCbRepeat()) {
 			repeatTable.setVisible(scheduleConfTable.getCbRepeat().getValue());
 		}
 	}
 
+	/**
+	 * Shows the status of the controller as colored dot.
+	 * 
+	 * @param status
+	 *            one of the status constants of {@link MEControllerRPC},
+	 *            <code>null</code> if the status is unknown
+	 */
+	public void setControllerStatus(Integer status) {
+		if (status == null) {
+			imgControllerStatus.setResource(R.img.icoDotGray());
+			imgControllerStatus.setTitle(R.lang.unknown());
+		} else if (status == MEControllerRPC.STATUS_ONLINE) {
+			imgControllerStatus.setResource(R.img.icoDotGreen());
+			imgControllerStatus.setTitle(R.lang.online());
+		} else if (status == MEControllerRPC.STATUS_ONLINE_NO_META) {
+			imgControllerStatus.setResource(R.img.icoDotYellow());
+			imgControllerStatus.setTitle(R.lang.online());
+		} else {
+			imgControllerStatus.setResource(R.img.icoDotRed());
+			imgControllerStatus.setTitle(R.lang.offline());
+		}
+	}
+
 	public boolean isExecutingImmediately() {
 		return rdioOnReady.getValue();
 	}
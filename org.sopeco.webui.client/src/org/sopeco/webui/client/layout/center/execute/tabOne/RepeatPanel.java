@@ -78,7 +78,7 @@ public class RepeatPanel extends SimplePanel implements ValueChangeHandler {
 		table.addStyleName(REPEAT_CLASS);
 
 		htmlTimes = new HTML("Hours / Minutes:");
-		htmlWeekdays = new HTML(R.lang.Weekdays() + ":");
+		htmlWeekdays = new HTML(R.Execute.lang.Weekdays() + ":");
 		editHours = new EditableText("0");
 		editMinutes = new EditableText("0");
 
@@ -93,8 +93,8 @@ public class RepeatPanel extends SimplePanel implements ValueChangeHandler {
 		hPanelTimes.add(editHours);
 		hPanelTimes.add(editMinutes);
 
-		String[] days = new String[] { R.lang.Sunday(), R.lang.Monday(), R.lang.Tuesday(), R.lang.Wednesday(),
-				R.lang.Thursday(), R.lang.Friday(), R.lang.Saturday() };
+		String[] days = new String[] { R.Execute.lang.Sunday(), R.Execute.lang.Monday(), R.Execute.lang.Tuesday(), R.Execute.lang.Wednesday(),
+				R.Execute.lang.Thursday(), R.Execute.lang.Friday(), R.Execute.lang.Saturday() };
 
 		int c = 1;
 		for (String d : days) {
@@ -35,7 +35,8 @@ import org.sopeco.persistence.entities.definition.MeasurementSpecification;
 import org.sopeco.webui.client.manager.ScenarioManager;
 import org.sopeco.webui.client.widget.Tree;
 import org.sopeco.webui.client.widget.TreeItem;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 
 import com.google.gwt.event.logical.shared.ValueChangeEvent;
 import com.google.gwt.event.logical.shared.ValueChangeHandler;
@@ -75,7 +76,7 @@ public class SelectionPanel extends FlowPanel implements ValueChangeHandler<Bool
 	}
 
 	public void generateTree() {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("SelectionPanel.generateTree");
 
 		treeItems = new HashMap<String, Map<String, SelectionTreeItem>>();
 
@@ -100,7 +101,7 @@ public class SelectionPanel extends FlowPanel implements ValueChangeHandler<Bool
 		}
 		tree.setRoot(root);
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	public Map<String, Map<String, SelectionTreeItem>> getTreeItems() {
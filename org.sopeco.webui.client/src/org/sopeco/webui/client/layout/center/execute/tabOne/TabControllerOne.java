@@ -36,12 +36,15 @@ import org.sopeco.webui.client.event.MEControllerEvent;
 import org.sopeco.webui.client.event.handler.MEControllerEventHandler;
 import org.sopeco.webui.client.layout.center.execute.ExecuteController;
 import org.sopeco.webui.client.layout.center.execute.ExecuteTabPanel;
+import org.sopeco.webui.client.helper.INotifyHandler;
 import org.sopeco.webui.client.layout.center.execute.TabController;
 import org.sopeco.webui.client.layout.popups.Message;
 import org.sopeco.webui.client.manager.Manager;
 import org.sopeco.webui.client.manager.ScenarioManager;
+import org.sopeco.webui.client.mec.ControllerStatusCache;
 import org.sopeco.webui.client.widget.ExceptionDialog;
 import org.sopeco.webui.shared.entities.FrontendScheduledExperiment;
+import org.sopeco.webui.shared.entities.ScheduleBatchResult;
 import org.sopeco.webui.shared.rpc.RPC;
 
 import com.google.gwt.event.dom.client.ClickEvent;
@@ -62,6 +65,17 @@ public class TabControllerOne extends TabController implements ClickHandler, MEC
 	private ExecuteTab view;
 	private DateTimeFormat dtf;
 
+	private String watchedUrl;
+
+	private ControllerStatusCache watchedCache;
+
+	private final INotifyHandler<Integer> statusHandler = new INotifyHandler<Integer>() {
+		@Override
+		public void call(Result<Integer> result) {
+			view.setControllerStatus(result.wasSuccessful() ? result.getValue() : null);
+		}
+	};
+
 	/**
 	 * Constructor.
 	 * 
@@ -101,8 +115,30 @@ public class TabControllerOne extends TabController implements ClickHandler, MEC
 		view.getEditLabel().setValue("ExperimentRun " + dtf.format(new Date()));
 	}
 
+	/**
+	 * Shows the URL of the current controller and watches its status.
+	 */
 	public void updateControllerURL() {
-		view.getEditController().setValue(Manager.get().getControllerUrl());
+		String url = Manager.get().getControllerUrl();
+		view.getEditController().setValue(url);
+
+		// the cache is recreated after a logout
+		ControllerStatusCache cache = ControllerStatusCache.get();
+		if (cache == watchedCache && (url == null ? watchedUrl == null : url.equals(watchedUrl))) {
+			return;
+		}
+
+		if (watchedUrl != null && cache == watchedCache) {
+			cache.unwatch(watchedUrl, statusHandler);
+		}
+
+		watchedUrl = url;
+		watchedCache = cache;
+		view.setControllerStatus(null);
+
+		if (url != null && !url.isEmpty()) {
+			cache.watch(url, statusHandler);
+		}
 	}
 
 	@Override
@@ -173,25 +209,26 @@ public class TabControllerOne extends TabController implements ClickHandler, MEC
 			scheduledExperiment.setRepeating(false);
 		}
 		
-		// final converting only for inner RPC
-		final FrontendScheduledExperiment fse = scheduledExperiment;
-
-		// first store the ScenarioDefiniton
-		RPC.getScenarioManager().storeScenarioDefinition(scheduledExperiment.getScenarioDefinition(), new AsyncCallback<Boolean>() {
-			@Override
-			public void onSuccess(Boolean result) {
-				
-				// after storing ScenarioDefinition execute the scenario
-				RPC.getExecuteRPC().scheduleExperiment(fse, new AsyncCallback<Void>() {
+		List<FrontendScheduledExperiment> entries = new ArrayList<FrontendScheduledExperiment>();
+		entries.add(scheduledExperiment);
+
+		// stores the ScenarioDefinition and schedules the experiment in one request
+		RPC.getExecuteRPC().scheduleExperiments(scheduledExperiment.getScenarioDefinition(), entries,
+				new AsyncCallback<ScheduleBatchResult>() {
 					@Override
-					public void onSuccess(Void result) {
-						
+					public void onSuccess(ScheduleBatchResult result) {
+						if (!result.isSubmitted() || result.getExperimentKeys().get(0) == null) {
+							Message.error(result.getErrors().get(0));
+							return;
+						}
+
 						if (view.isExecutingImmediately()) {
 							LOGGER.fine("Execute NOW");
+							getParentController().getTabControllerThree().setSelectedExperiment(
+									result.getExperimentKeys().get(0));
 							((ExecuteTabPanel) getParentController().getView()).selectTab(2);
 							getParentController().getTabControllerThree().startingMessage();
 						}
-						
 					}
 
 					@Override
@@ -199,15 +236,5 @@ public class TabControllerOne extends TabController implements ClickHandler, MEC
 						ExceptionDialog.show(caught);
 					}
 				});
-				
-			}
-
-			@Override
-			public void onFailure(Throwable caught) {
-				ExceptionDialog.show(caught);
-			}
-		});
-
-		getParentController().getTabControllerTwo().loadScheduledExperiments();
 	}
 }
@@ -27,7 +27,7 @@
 package org.sopeco.webui.client.layout.center.execute.tabThree;
 
 import org.sopeco.webui.client.resources.R;
-import org.sopeco.webui.shared.entities.FrontendScheduledExperiment;
+import org.sopeco.webui.shared.entities.ScheduledExperimentSummary;
 
 import com.google.gwt.user.client.ui.FlexTable;
 import com.google.gwt.user.client.ui.FlowPanel;
@@ -51,12 +51,12 @@ public class QueueItem extends FlowPanel {
 
 	private FlexTable detailsTable;
 
-	private FrontendScheduledExperiment experiment;
+	private ScheduledExperimentSummary experiment;
 
 	/**
 	 * Constructor.
 	 */
-	public QueueItem(FrontendScheduledExperiment pExperiment) {
+	public QueueItem(ScheduledExperimentSummary pExperiment) {
 		experiment = pExperiment;
 		init();
 	}
@@ -68,13 +68,13 @@ public class QueueItem extends FlowPanel {
 		addStyleName(CONTROLLER_QUEUE_ITEM_CSS);
 
 		htmlLabel = new HTML("<b>" + experiment.getLabel() + "</b>");
-		labelAccount = new HTML(R.lang.Account() + ":");
-		labelScenario = new HTML(R.lang.Scenario() + ":");
-		labelExperiments = new HTML(R.lang.Experiments() + ":");
+		labelAccount = new HTML(R.Execute.lang.Account() + ":");
+		labelScenario = new HTML(R.Execute.lang.Scenario() + ":");
+		labelExperiments = new HTML(R.Execute.lang.Experiments() + ":");
 
 		// TODO: show account name
 		valueAccount = new HTML("" + experiment.getAccount());
-		valueScenario = new HTML(experiment.getScenarioDefinition().getScenarioName());
+		valueScenario = new HTML(experiment.getScenarioName());
 		valueExperiments = new HTML("n/a");
 
 		// imgRepeat = new Image("images/repeat.png");
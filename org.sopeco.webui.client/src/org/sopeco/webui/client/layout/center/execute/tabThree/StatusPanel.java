@@ -34,6 +34,7 @@ import com.google.gwt.user.client.ui.FlexTable;
 import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.HTML;
 import com.google.gwt.user.client.ui.HasVerticalAlignment;
+import com.google.gwt.user.client.ui.ListBox;
 import com.google.gwt.user.client.ui.ScrollPanel;
 
 /**
@@ -60,6 +61,8 @@ public class StatusPanel extends FlowPanel {
 
 	private Button btnAbort;
 
+	private ListBox experimentSelector;
+
 	/**
 	 * Constructor.
 	 */
@@ -83,9 +86,11 @@ public class StatusPanel extends FlowPanel {
 
 		initTable();
 
-		btnAbort = new Button(R.lang.abortExperiment());
+		btnAbort = new Button(R.Execute.lang.abortExperiment());
 		btnAbort.setEnabled(false);
+		experimentSelector = new ListBox();
 		innerPanel = new FlowPanel();
+		innerPanel.add(experimentSelector);
 		innerPanel.add(scrollPanel);
 		innerPanel.add(detailsTable);
 		innerPanel.add(progressBar);
@@ -101,12 +106,12 @@ public class StatusPanel extends FlowPanel {
 		detailsTable = new FlexTable();
 		detailsTable.addStyleName(TABLE_CSS_CLASS);
 
-		labelAccount = new HTML(R.lang.Account() + ":");
-		labelScenario = new HTML(R.lang.Scenario() + ":");
-		labelExperiments = new HTML(R.lang.Experiments() + ":");
-		labelStart = new HTML(R.lang.Start() + ":");
-		labelTimeElapsed = new HTML(R.lang.ElapsedTime() + ":");
-		labelTimeRemaining = new HTML(R.lang.RemainingTime() + ":");
+		labelAccount = new HTML(R.Execute.lang.Account() + ":");
+		labelScenario = new HTML(R.Execute.lang.Scenario() + ":");
+		labelExperiments = new HTML(R.Execute.lang.Experiments() + ":");
+		labelStart = new HTML(R.Execute.lang.Start() + ":");
+		labelTimeElapsed = new HTML(R.Execute.lang.ElapsedTime() + ":");
+		labelTimeRemaining = new HTML(R.Execute.lang.RemainingTime() + ":");
 
 		valueAccount = new HTML("-");
 		valueScenario = new HTML("-");
@@ -178,6 +183,14 @@ public class StatusPanel extends FlowPanel {
 		return btnAbort;
 	}
 
+	/**
+	 * @return the list of the running experiments, the value of an item is
+	 *         the experiment key
+	 */
+	public ListBox getExperimentSelector() {
+		return experimentSelector;
+	}
+
 	/**
 	 * Sets the value of the starting time HTML object.
 	 * 
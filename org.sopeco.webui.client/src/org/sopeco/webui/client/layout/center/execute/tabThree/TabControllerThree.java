@@ -27,7 +27,9 @@
 package org.sopeco.webui.client.layout.center.execute.tabThree;
 
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.sopeco.service.execute.MECLogEntry;
 import org.sopeco.webui.client.helper.push.PushListener;
@@ -37,15 +39,18 @@ import org.sopeco.webui.client.layout.center.execute.ExecuteTabPanel;
 import org.sopeco.webui.client.layout.center.execute.TabController;
 import org.sopeco.webui.client.layout.popups.Message;
 import org.sopeco.webui.client.resources.R;
-import org.sopeco.webui.shared.entities.FrontendScheduledExperiment;
+import org.sopeco.webui.shared.entities.ScheduledExperimentSummary;
 import org.sopeco.webui.shared.entities.RunningControllerStatus;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 import org.sopeco.webui.shared.push.PushDomain;
 import org.sopeco.webui.shared.push.PushPackage;
 import org.sopeco.webui.shared.push.packages.PushControllerStatus;
 import org.sopeco.webui.shared.push.packages.PushScheduledExperiments;
 import org.sopeco.webui.shared.rpc.RPC;
 
+import com.google.gwt.event.dom.client.ChangeEvent;
+import com.google.gwt.event.dom.client.ChangeHandler;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
 import com.google.gwt.i18n.client.DateTimeFormat;
@@ -54,18 +59,35 @@ import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.HTML;
+import com.google.gwt.user.client.ui.ListBox;
 
 /**
  * 
  * @author Marius Oehler
  * 
  */
-public class TabControllerThree extends TabController implements ClickHandler, PushListener {
+public class TabControllerThree extends TabController implements ClickHandler, ChangeHandler, PushListener {
 
 	private TabView tabView;
 	private RunningControllerStatus controllerExperiment;
+
+	/**
+	 * The last known status of all running experiments of the account, without
+	 * log entries.
+	 */
+	private Map<Long, RunningControllerStatus> runningExperiments = new LinkedHashMap<Long, RunningControllerStatus>();
+
+	/**
+	 * Key of the experiment shown in the status panel, -1 if none.
+	 */
+	private long selectedKey = -1;
 	private Timer elapsedTimeTimer;
 
+	/**
+	 * Number of log entries currently shown.
+	 */
+	private int logSize;
+
 	public TabControllerThree(ExecuteController parentController) {
 		super(parentController);
 		initialize();
@@ -74,6 +96,7 @@ public class TabControllerThree extends TabController implements ClickHandler, P
 	private void initialize() {
 		tabView = new TabView();
 		tabView.getStatusPanel().getBtnAbort().addClickHandler(this);
+		tabView.getStatusPanel().getExperimentSelector().addChangeHandler(this);
 		setIdle();
 
 		elapsedTimeTimer = new Timer() {
@@ -93,10 +116,81 @@ public class TabControllerThree extends TabController implements ClickHandler, P
 
 	@Override
 	public void onSelection() {
-		RPC.getExecuteRPC().getControllerLog(new AsyncCallback<RunningControllerStatus>() {
+		RPC.getExecuteRPC().getRunningExperiments(new AsyncCallback<List<RunningControllerStatus>>() {
+			@Override
+			public void onSuccess(List<RunningControllerStatus> result) {
+				runningExperiments.clear();
+				for (RunningControllerStatus rcs : result) {
+					runningExperiments.put(rcs.getExperimentKey(), rcs);
+				}
+
+				if (!runningExperiments.containsKey(selectedKey)) {
+					selectedKey = getDefaultExperimentKey();
+				}
+
+				updateExperimentSelector();
+				loadSelectedExperiment();
+			}
+
+			@Override
+			public void onFailure(Throwable caught) {
+				Message.error(caught.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * Selects the experiment, which is shown in the status panel on the next
+	 * selection of this tab.
+	 * 
+	 * @param experimentKey
+	 *            the key of the experiment
+	 */
+	public void setSelectedExperiment(long experimentKey) {
+		selectedKey = experimentKey;
+	}
+
+	/**
+	 * Returns the key of the last experiment which has not finished yet or, if
+	 * all have finished, of the last experiment.
+	 */
+	private long getDefaultExperimentKey() {
+		long key = -1;
+		for (RunningControllerStatus rcs : runningExperiments.values()) {
+			if (!rcs.isFinished() || key == -1) {
+				key = rcs.getExperimentKey();
+			}
+		}
+		return key;
+	}
+
+	private void updateExperimentSelector() {
+		ListBox selector = tabView.getStatusPanel().getExperimentSelector();
+		selector.clear();
+
+		for (RunningControllerStatus rcs : runningExperiments.values()) {
+			selector.addItem(rcs.getLabel() + " (" + rcs.getScenario() + ")", "" + rcs.getExperimentKey());
+			if (rcs.getExperimentKey() == selectedKey) {
+				selector.setSelectedIndex(selector.getItemCount() - 1);
+			}
+		}
+	}
+
+	/**
+	 * Loads the complete status of the selected experiment.
+	 */
+	private void loadSelectedExperiment() {
+		if (selectedKey == -1) {
+			controllerExperiment = null;
+			setIdle();
+			return;
+		}
+
+		final long key = selectedKey;
+		RPC.getExecuteRPC().getControllerLog(key, 0, new AsyncCallback<RunningControllerStatus>() {
 			@Override
 			public void onSuccess(RunningControllerStatus result) {
-				if (result == null) {
+				if (result == null || key != selectedKey) {
 					return;
 				}
 
@@ -105,11 +199,22 @@ public class TabControllerThree extends TabController implements ClickHandler, P
 
 			@Override
 			public void onFailure(Throwable caught) {
-				// TODO error handling
+				Message.error(caught.getMessage());
 			}
 		});
 	}
 
+	@Override
+	public void onChange(ChangeEvent event) {
+		ListBox selector = tabView.getStatusPanel().getExperimentSelector();
+		if (selector.getSelectedIndex() < 0) {
+			return;
+		}
+
+		selectedKey = Long.parseLong(selector.getValue(selector.getSelectedIndex()));
+		loadSelectedExperiment();
+	}
+
 	/**
 	 * Sets the status panel idle.
 	 */
@@ -123,10 +228,10 @@ public class TabControllerThree extends TabController implements ClickHandler, P
 		tabView.getStatusPanel().getProgressBar().setValue(0);
 	}
 
-	public void setControllerQueue(List<FrontendScheduledExperiment> experiments) {
+	public void setControllerQueue(List<ScheduledExperimentSummary> experiments) {
 		tabView.removeAllQueueItems();
-		for (FrontendScheduledExperiment fse : experiments) {
-			tabView.addQueueItem(new QueueItem(fse));
+		for (ScheduledExperimentSummary ses : experiments) {
+			tabView.addQueueItem(new QueueItem(ses));
 		}
 	}
 
@@ -137,7 +242,7 @@ public class TabControllerThree extends TabController implements ClickHandler, P
 			return;
 		}
 
-		double meter = Metering.start();
+		Stopwatch meter = Metrics.start("TabControllerThree.setCurrentControllerExperiment");
 
 		// tabView.getStatusPanel().setStatusLabel(experiment.getLabel() + " - "
 		// + experiment.getStatusString());
@@ -152,7 +257,7 @@ public class TabControllerThree extends TabController implements ClickHandler, P
 		// start the timer to always refresh the view
 		elapsedTimeTimer.scheduleRepeating(500);
 		tabView.getStatusPanel().getBtnAbort().setEnabled(true);
-		tabView.getStatusPanel().getBtnAbort().setText(R.lang.abortExperiment());
+		tabView.getStatusPanel().getBtnAbort().setText(R.Execute.lang.abortExperiment());
 		tabView.getStatusPanel().getProgressBar().setValue(0, false);
 		
 		DateTimeFormat dtf = DateTimeFormat.getFormat("hh:mm aa / dd.MM.yyyy");
@@ -162,12 +267,61 @@ public class TabControllerThree extends TabController implements ClickHandler, P
 
 		if (experiment.isFinished()) {
 			elapsedTimeTimer.cancel();
-			tabView.getStatusPanel().getBtnAbort().setText(R.lang.aborted());
+			tabView.getStatusPanel().getBtnAbort().setText(R.Execute.lang.aborted());
 			tabView.getStatusPanel().getProgressBar().setValue(100);
 			tabView.getStatusPanel().setTimeRemaining("-");
 		}
 
-		Metering.stop(meter);
+		meter.stop();
+	}
+
+	/**
+	 * Applies a pushed status, which only contains the log entries starting at
+	 * its log cursor. If entries are missing in between, they are requested.
+	 * 
+	 * @param delta
+	 *            the pushed status
+	 */
+	private void appendControllerExperiment(RunningControllerStatus delta) {
+		if (controllerExperiment == null || delta.getExperimentKey() != selectedKey
+				|| ((ExecuteTabPanel) getParentController().getView()).getTabBar().getSelectedTab() != 2) {
+			// the complete status is fetched on the next selection
+			return;
+		}
+
+		if (delta.getLogCursor() > logSize) {
+			RPC.getExecuteRPC().getControllerLog(selectedKey, logSize, new AsyncCallback<RunningControllerStatus>() {
+				@Override
+				public void onSuccess(RunningControllerStatus result) {
+					if (result != null && result.getLogCursor() <= logSize) {
+						appendControllerExperiment(result);
+					}
+				}
+
+				@Override
+				public void onFailure(Throwable caught) {
+					Message.error(caught.getMessage());
+				}
+			});
+			return;
+		}
+
+		controllerExperiment.setProgress(delta.getProgress());
+		controllerExperiment.setTimeRemaining(delta.getTimeRemaining());
+		controllerExperiment.setHasFinished(delta.isFinished());
+
+		List<MECLogEntry> entries = delta.getEventLogList();
+		List<MECLogEntry> newEntries = entries.subList(Math.min(logSize - delta.getLogCursor(), entries.size()),
+				entries.size());
+
+		DateTimeFormat dft = DateTimeFormat.getFormat("HH:mm:ss");
+		for (MECLogEntry log : newEntries) {
+			addLogEntry(log, dft);
+		}
+		logSize += newEntries.size();
+		controllerExperiment.getEventLogList().addAll(newEntries);
+
+		updateFinished(controllerExperiment);
 	}
 
 	/**
@@ -177,12 +331,7 @@ public class TabControllerThree extends TabController implements ClickHandler, P
 	 */
 	private void updateStatusPanel(RunningControllerStatus experiment) {
 		
-		if (experiment.isFinished()) {
-			elapsedTimeTimer.cancel();
-			tabView.getStatusPanel().getBtnAbort().setEnabled(false);
-			tabView.getStatusPanel().getProgressBar().setValue(100);
-			tabView.getStatusPanel().setTimeRemaining("-");
-		}
+		updateFinished(experiment);
 		
 		DateTimeFormat dft = DateTimeFormat.getFormat("HH:mm:ss");
 		
@@ -191,17 +340,31 @@ public class TabControllerThree extends TabController implements ClickHandler, P
 		tabView.getStatusPanel().addLogText(new HTML("<b>Executing '" + experiment.getLabel() + "'</b>"));
 
 		for (MECLogEntry log : experiment.getEventLogList()) {
-			HTML html = new HTML("[" + dft.format(new Date(log.getTime())) + "] " + log.getMessage());
-			if (log.isException()) {
-				html.addStyleName("errorMessage");
-				html.setHTML("<b>" + html.getHTML() + "</b><br>" + log.getErrorMessage());
-			} else if (log.isError()) {
-				html.addStyleName("errorMessage");
-			}
-			tabView.getStatusPanel().addLogText(html);
+			addLogEntry(log, dft);
+		}
+		logSize = experiment.getLogCursor() + experiment.getEventLogList().size();
+	}
+
+	private void updateFinished(RunningControllerStatus experiment) {
+		if (experiment.isFinished()) {
+			elapsedTimeTimer.cancel();
+			tabView.getStatusPanel().getBtnAbort().setEnabled(false);
+			tabView.getStatusPanel().getProgressBar().setValue(100);
+			tabView.getStatusPanel().setTimeRemaining("-");
 		}
 	}
 
+	private void addLogEntry(MECLogEntry log, DateTimeFormat dft) {
+		HTML html = new HTML("[" + dft.format(new Date(log.getTime())) + "] " + log.getMessage());
+		if (log.isException()) {
+			html.addStyleName("errorMessage");
+			html.setHTML("<b>" + html.getHTML() + "</b><br>" + log.getErrorMessage());
+		} else if (log.isError()) {
+			html.addStyleName("errorMessage");
+		}
+		tabView.getStatusPanel().addLogText(html);
+	}
+
 	public void startingMessage() {
 		tabView.getStatusPanel().addLogText(new HTML("starting.."));
 	}
@@ -245,38 +408,21 @@ public class TabControllerThree extends TabController implements ClickHandler, P
 
 		tabView.getStatusPanel().setTimeElapsed(elapsed);
 		tabView.getStatusPanel().setTimeRemaining(remaining);
-		
-		// do a call to the REST service to update the status
-		RPC.getExecuteRPC().getControllerLog(new AsyncCallback<RunningControllerStatus>() {
-			@Override
-			public void onSuccess(RunningControllerStatus result) {
-				
-				// result can be null, when there is no result yet
-				if (result != null) {
-
-					controllerExperiment = result;
-					updateStatusPanel(controllerExperiment);
-					
-				}
-				
-			}
-
-			@Override
-			public void onFailure(Throwable caught) {
-				Message.error(caught.getMessage());
-			}
-		});
 	}
 
 	@Override
 	public void onClick(ClickEvent event) {
 		
-		RPC.getExecuteRPC().abortCurrentExperiment(new AsyncCallback<Void>() {
+		if (selectedKey == -1) {
+			return;
+		}
+
+		RPC.getExecuteRPC().abortExperiment(selectedKey, new AsyncCallback<Void>() {
 			@Override
 			public void onSuccess(Void result) {
 				
 				tabView.getStatusPanel().getBtnAbort().setEnabled(false);
-				tabView.getStatusPanel().getBtnAbort().setText(R.lang.aborted());
+				tabView.getStatusPanel().getBtnAbort().setText(R.Execute.lang.aborted());
 				tabView.getStatusPanel().setTimeRemaining("-");
 				elapsedTimeTimer.cancel();
 				
@@ -295,7 +441,36 @@ public class TabControllerThree extends TabController implements ClickHandler, P
 		if (pushPackage instanceof PushScheduledExperiments) {
 			setControllerQueue(((PushScheduledExperiments) pushPackage).getList());
 		} else if (pushPackage instanceof PushControllerStatus) {
-			setCurrentControllerExperiment(((PushControllerStatus) pushPackage).getCcExperiment());
+			RunningControllerStatus rcs = ((PushControllerStatus) pushPackage).getCcExperiment();
+			updateRunningExperiment(rcs);
+			appendControllerExperiment(rcs);
+		}
+	}
+
+	/**
+	 * Updates the known status of a running experiment. Unknown experiments
+	 * are added to the selector.
+	 * 
+	 * @param rcs
+	 *            the pushed status
+	 */
+	private void updateRunningExperiment(RunningControllerStatus rcs) {
+		RunningControllerStatus known = runningExperiments.get(rcs.getExperimentKey());
+
+		if (known == null) {
+			runningExperiments.put(rcs.getExperimentKey(), rcs);
+			if (selectedKey == -1) {
+				selectedKey = rcs.getExperimentKey();
+				updateExperimentSelector();
+				loadSelectedExperiment();
+			} else {
+				updateExperimentSelector();
+			}
+			return;
 		}
+
+		known.setProgress(rcs.getProgress());
+		known.setTimeRemaining(rcs.getTimeRemaining());
+		known.setHasFinished(rcs.isFinished());
 	}
 }
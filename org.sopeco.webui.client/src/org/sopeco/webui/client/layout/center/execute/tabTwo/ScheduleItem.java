@@ -30,10 +30,8 @@ import java.util.Date;
 import java.util.logging.Logger;
 
 import org.sopeco.gwt.widgets.ClearDiv;
-import org.sopeco.persistence.entities.definition.ExperimentSeriesDefinition;
-import org.sopeco.persistence.entities.definition.MeasurementSpecification;
 import org.sopeco.webui.client.resources.R;
-import org.sopeco.webui.shared.entities.FrontendScheduledExperiment;
+import org.sopeco.webui.shared.entities.ScheduledExperimentSummary;
 
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
@@ -61,7 +59,7 @@ public class ScheduleItem extends FlowPanel implements ClickHandler, Comparable<
 
 	private TabControllerTwo tabControllerTwo;
 
-	private FrontendScheduledExperiment experiment;
+	private ScheduledExperimentSummary experiment;
 	private HTML htmlLabel;
 	private Image imgPause;
 	private Image imgRemove;
@@ -85,7 +83,7 @@ public class ScheduleItem extends FlowPanel implements ClickHandler, Comparable<
 
 	private static final String[] DAY_STRINGS = new String[] { "SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT" };
 
-	public ScheduleItem(FrontendScheduledExperiment pExperiment) {
+	public ScheduleItem(ScheduledExperimentSummary pExperiment) {
 		experiment = pExperiment;
 		init();
 	}
@@ -103,15 +101,15 @@ public class ScheduleItem extends FlowPanel implements ClickHandler, Comparable<
 		imgRemove = new Image("images/trash.png");
 		imgRemove.addClickHandler(this);
 
-		htmlLabelExecute = new HTML(R.lang.Experiments() + ":");
-		htmlLabelStartTime = new HTML(R.lang.StartTime() + ":");
-		htmlLabelRepeat = new HTML(R.lang.Repeat() + ":");
-		htmlLabelAdded = new HTML(R.lang.Added() + ":");
-		htmlLabelLastExec = new HTML(R.lang.LastExecution() + ":");
-		htmlLabelNextExec = new HTML(R.lang.NextExecution() + ":");
-		htmlLabelLastDuration = new HTML(R.lang.LastDuration() + ":");
+		htmlLabelExecute = new HTML(R.Execute.lang.Experiments() + ":");
+		htmlLabelStartTime = new HTML(R.Execute.lang.StartTime() + ":");
+		htmlLabelRepeat = new HTML(R.Execute.lang.Repeat() + ":");
+		htmlLabelAdded = new HTML(R.Execute.lang.Added() + ":");
+		htmlLabelLastExec = new HTML(R.Execute.lang.LastExecution() + ":");
+		htmlLabelNextExec = new HTML(R.Execute.lang.NextExecution() + ":");
+		htmlLabelLastDuration = new HTML(R.Execute.lang.LastDuration() + ":");
 
-		anchorPerformNow = new Anchor(R.lang.PerformNow());
+		anchorPerformNow = new Anchor(R.Execute.lang.PerformNow());
 
 		htmlExperiments = new HTML(getExperimentString());
 
@@ -124,7 +122,7 @@ public class ScheduleItem extends FlowPanel implements ClickHandler, Comparable<
 			htmlNextExec = new HTML("paused");
 		}
 
-		if (experiment.getDurations() != null && !experiment.getDurations().isEmpty()) {
+		if (experiment.getLastDuration() >= 0) {
 			htmlLastDuration = new HTML(getDurationString());
 		} else {
 			htmlLastDuration = new HTML("-");
@@ -132,7 +130,7 @@ public class ScheduleItem extends FlowPanel implements ClickHandler, Comparable<
 
 		String lastExec = "";
 		if (experiment.getLastExecutionTime() == -1) {
-			lastExec = R.lang.NeverExecuted();
+			lastExec = R.Execute.lang.NeverExecuted();
 		} else {
 			lastExec = dtf.format(new Date(experiment.getLastExecutionTime()));
 		}
@@ -143,7 +141,7 @@ public class ScheduleItem extends FlowPanel implements ClickHandler, Comparable<
 			repeatText = getDay(experiment.getRepeatDays()) + " " + experiment.getRepeatHours() + " "
 					+ experiment.getRepeatMinutes();
 		} else {
-			repeatText = R.lang.UniqueExecution();
+			repeatText = R.Execute.lang.UniqueExecution();
 		}
 		htmlRepeat = new HTML(repeatText);
 
@@ -153,7 +151,7 @@ public class ScheduleItem extends FlowPanel implements ClickHandler, Comparable<
 
 	private String getDurationString() {
 		String string = "";
-		long duration = experiment.getDurations().get(experiment.getDurations().size() - 1);
+		long duration = experiment.getLastDuration();
 		duration /= 1000;
 		long hours = duration / 3600;
 		long min = duration / 60;
@@ -175,11 +173,9 @@ public class ScheduleItem extends FlowPanel implements ClickHandler, Comparable<
 
 	private String getExperimentString() {
 		StringBuffer buffer = new StringBuffer();
-		for (MeasurementSpecification ms : experiment.getScenarioDefinition().getMeasurementSpecifications()) {
-			for (ExperimentSeriesDefinition esd : ms.getExperimentSeriesDefinitions()) {
-				buffer.append(esd.getName());
-				buffer.append("<br>");
-			}
+		for (String name : experiment.getExperimentSeriesNames()) {
+			buffer.append(name);
+			buffer.append("<br>");
 		}
 		return buffer.toString();
 	}
@@ -265,7 +261,7 @@ public class ScheduleItem extends FlowPanel implements ClickHandler, Comparable<
 		add(contentTable);
 	}
 
-	public FrontendScheduledExperiment getExperiment() {
+	public ScheduledExperimentSummary getExperiment() {
 		return experiment;
 	}
 
@@ -28,7 +28,10 @@ package org.sopeco.webui.client.layout.center.execute.tabTwo;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import org.sopeco.webui.client.helper.push.PushListener;
@@ -40,11 +43,13 @@ import org.sopeco.webui.client.layout.popups.Confirmation;
 import org.sopeco.webui.client.layout.popups.Message;
 import org.sopeco.webui.client.manager.Manager;
 import org.sopeco.webui.client.resources.R;
-import org.sopeco.webui.shared.entities.FrontendScheduledExperiment;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.entities.ScheduledExperimentSummary;
+import org.sopeco.webui.shared.entities.ScheduleDelta;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 import org.sopeco.webui.shared.push.PushDomain;
 import org.sopeco.webui.shared.push.PushPackage;
-import org.sopeco.webui.shared.push.packages.PushScheduledExperiments;
+import org.sopeco.webui.shared.push.packages.PushScheduleDelta;
 import org.sopeco.webui.shared.rpc.RPC;
 
 import com.google.gwt.event.dom.client.ClickEvent;
@@ -61,7 +66,24 @@ public class TabControllerTwo extends TabController implements PushListener {
 
 	private static final Logger LOGGER = Logger.getLogger(TabControllerTwo.class.getName());
 
-	private List<FrontendScheduledExperiment> scheduledExperimentList;
+	/**
+	 * The known scheduled experiments by ID, <code>null</code> if not loaded yet.
+	 */
+	private Map<Long, ScheduledExperimentSummary> scheduledExperiments;
+
+	private Map<Long, ScheduleItem> scheduleItems = new HashMap<Long, ScheduleItem>();
+
+	/**
+	 * The epoch of the version, it changes when the server recreates its state.
+	 */
+	private long epoch = 0;
+
+	/**
+	 * The version of the known scheduled experiments on the server.
+	 */
+	private long version = -1;
+
+	private boolean loading = false;
 
 	private ScheduleTab view;
 
@@ -85,38 +107,95 @@ public class TabControllerTwo extends TabController implements PushListener {
 	}
 
 	/**
-	 * Loads all experiments from the server, which belong to this account.
-	 * After loading, the view will be updated.
+	 * Loads the changes of the scheduled experiments since the known version
+	 * from the server. After loading, the view will be updated.
 	 */
 	public void loadScheduledExperiments() {
-		RPC.getExecuteRPC().getScheduledExperiments(new AsyncCallback<List<FrontendScheduledExperiment>>() {
+		if (loading) {
+			return;
+		}
+		loading = true;
+
+		RPC.getExecuteRPC().getScheduledExperimentChanges(epoch, version, new AsyncCallback<ScheduleDelta>() {
 			@Override
 			public void onFailure(Throwable caught) {
+				loading = false;
 				LOGGER.severe(caught.getLocalizedMessage());
 				Message.error(caught.getMessage());
 			}
 
 			@Override
-			public void onSuccess(List<FrontendScheduledExperiment> result) {
-				setScheduledExperiments(result);
+			public void onSuccess(ScheduleDelta result) {
+				loading = false;
+				applyDelta(result);
 			}
 		});
 	}
 
 	/**
-	 * Sets the list of the ScheduledExperiments.
+	 * Applies the changes to the known scheduled experiments and updates the
+	 * view. If the delta does not start at the known version, the missing
+	 * changes are loaded from the server. A delta of another epoch can't be
+	 * compared with the known version, so a full snapshot is loaded instead.
+	 * 
+	 * @param delta
+	 *            the changes
 	 */
-	public void setScheduledExperiments(List<FrontendScheduledExperiment> result) {
-		scheduledExperimentList = result;
+	private void applyDelta(ScheduleDelta delta) {
+		if (!delta.isFull() && scheduledExperiments != null && delta.getEpoch() != epoch) {
+			version = -1;
+			loadScheduledExperiments();
+			return;
+		}
+
+		if (delta.isFull() || scheduledExperiments == null) {
+			if (!delta.isFull()) {
+				// an empty delta at the known version means the server couldn't
+				// load the list, so it's not requested again right away
+				if (delta.getVersion() != version) {
+					loadScheduledExperiments();
+				}
+				return;
+			}
+			scheduledExperiments = new LinkedHashMap<Long, ScheduledExperimentSummary>();
+			scheduleItems.clear();
+			epoch = delta.getEpoch();
+		} else if (delta.getVersion() <= version) {
+			return;
+		} else if (delta.getFromVersion() != version) {
+			loadScheduledExperiments();
+			return;
+		}
+
+		for (ScheduledExperimentSummary exp : delta.getAdded()) {
+			putExperiment(exp);
+		}
+		for (ScheduledExperimentSummary exp : delta.getUpdated()) {
+			putExperiment(exp);
+		}
+		for (Long id : delta.getRemoved()) {
+			scheduledExperiments.remove(id);
+			scheduleItems.remove(id);
+		}
+
+		version = delta.getVersion();
 		updateView();
 	}
 
+	private void putExperiment(ScheduledExperimentSummary exp) {
+		scheduledExperiments.put(exp.getId(), exp);
+
+		ScheduleItem item = new ScheduleItem(exp);
+		item.setTabControllerTwo(this);
+		scheduleItems.put(exp.getId(), item);
+	}
+
 	/**
 	 * Updates the view. Invokes the {@link #loadScheduledExperiments()} , if no
 	 * experiments have been loaded yet.
 	 */
 	public void updateView() {
-		if (scheduledExperimentList == null) {
+		if (scheduledExperiments == null) {
 			loadScheduledExperiments();
 		} else {
 			updateViewNow();
@@ -127,25 +206,18 @@ public class TabControllerTwo extends TabController implements PushListener {
 	 * Updates the view. The scheduled experiments must be loaded.
 	 */
 	private void updateViewNow() {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("TabControllerTwo.updateViewNow");
 
 		// Sort and Filter ScheduledExperiment
 		List<ScheduleItem> scheduledItemsList = new ArrayList<ScheduleItem>();
 
 		String currentScenario = Manager.get().getCurrentScenarioDetails().getScenarioName();
 
-		for (FrontendScheduledExperiment exp : scheduledExperimentList) {
-			// FrontendScheduledExperiment exp = (FrontendScheduledExperiment)
-			// object;
-			if (!exp.getScenarioDefinition().getScenarioName().equals(currentScenario)) {
+		for (ScheduledExperimentSummary exp : scheduledExperiments.values()) {
+			if (!currentScenario.equals(exp.getScenarioName())) {
 				continue;
 			}
-			if (exp.getDurations() != null && !exp.getDurations().isEmpty()) {
-
-			}
-			ScheduleItem item = new ScheduleItem(exp);
-			item.setTabControllerTwo(this);
-			scheduledItemsList.add(item);
+			scheduledItemsList.add(scheduleItems.get(exp.getId()));
 		}
 
 		Collections.sort(scheduledItemsList);
@@ -166,7 +238,7 @@ public class TabControllerTwo extends TabController implements PushListener {
 		// Update TabTitle
 		updateExperimentCount(scheduledItemsList.size());
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	/**
@@ -177,12 +249,13 @@ public class TabControllerTwo extends TabController implements PushListener {
 	 * @param enabled
 	 *            new status
 	 */
-	public void setExperimentEnable(final FrontendScheduledExperiment experiment, final boolean enabled) {
+	public void setExperimentEnable(final ScheduledExperimentSummary experiment, final boolean enabled) {
 		RPC.getExecuteRPC().setScheduledExperimentEnabled(experiment.getId(), enabled, new AsyncCallback<Boolean>() {
 			@Override
 			public void onSuccess(Boolean result) {
 				if (result) {
 					experiment.setEnabled(enabled);
+					putExperiment(experiment);
 					updateView();
 				}
 			}
@@ -209,7 +282,8 @@ public class TabControllerTwo extends TabController implements PushListener {
 							@Override
 							public void onSuccess(Boolean result) {
 								if (result) {
-									scheduledExperimentList.remove(scheduleItem.getExperiment());
+									scheduledExperiments.remove(scheduleItem.getExperiment().getId());
+									scheduleItems.remove(scheduleItem.getExperiment().getId());
 									scheduleItem.removeFromParent();
 								} else {
 									LOGGER.severe("Can't delete experiment");
@@ -244,14 +318,13 @@ public class TabControllerTwo extends TabController implements PushListener {
 	 */
 	public void updateExperimentCount(int count) {
 		((ExecuteTabPanel) getParentController().getView()).getTabBar().setTabText(1,
-				R.lang.ScheduledExperiments() + " [" + count + "]");
+				R.Execute.lang.ScheduledExperiments() + " [" + count + "]");
 	}
 
 	@Override
 	public void receive(PushPackage pushPackage) {
-		if (pushPackage instanceof PushScheduledExperiments) {
-			PushScheduledExperiments push = (PushScheduledExperiments) pushPackage;
-			setScheduledExperiments(push.getList());
+		if (pushPackage instanceof PushScheduleDelta) {
+			applyDelta(((PushScheduleDelta) pushPackage).getDelta());
 		}
 	}
 }
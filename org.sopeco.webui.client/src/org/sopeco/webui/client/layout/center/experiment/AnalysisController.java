@@ -14,7 +14,8 @@ import org.sopeco.webui.client.extensions.Extensions;
 import org.sopeco.webui.client.manager.ScenarioManager;
 import org.sopeco.webui.client.resources.R;
 import org.sopeco.webui.shared.helper.ExtensionTypes;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 
 import com.google.gwt.event.logical.shared.ValueChangeEvent;
 import com.google.gwt.event.logical.shared.ValueChangeHandler;
@@ -45,7 +46,7 @@ public class AnalysisController implements ValueChangeHandler<String> {
 		view.getCombobox().addValueChangeHandler(new ValueChangeHandler<String>() {
 			@Override
 			public void onValueChange(ValueChangeEvent<String> event) {
-				double metering = Metering.start();
+				Stopwatch metering = Metrics.start("AnalysisController.selectExtension");
 				currentExtensionName = event.getValue();
 
 				changeConfig();
@@ -53,7 +54,7 @@ public class AnalysisController implements ValueChangeHandler<String> {
 				updateConfigTable();
 				ScenarioManager.get().getExperimentModul().saveExperimentConfig(getParentController());
 
-				Metering.stop(metering);
+				metering.stop();
 			}
 		});
 
@@ -116,7 +117,7 @@ public class AnalysisController implements ValueChangeHandler<String> {
 	 * Updates the Combobox and the Config-Table
 	 */
 	private void updateView() {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("AnalysisController.updateView");
 
 		view.getCombobox().clear();
 
@@ -127,7 +128,7 @@ public class AnalysisController implements ValueChangeHandler<String> {
 		}
 
 		updateConfigTable();
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	protected void updateParameterSelectionWidgets() {
@@ -153,7 +154,7 @@ public class AnalysisController implements ValueChangeHandler<String> {
 	 * Updates the configuration table.
 	 */
 	private void updateConfigTable() {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("AnalysisController.updateConfigTable");
 
 		view.getConfigTable().removeAllRows();
 		editTextToKey = new HashMap<EditableText, String>();
@@ -179,12 +180,12 @@ public class AnalysisController implements ValueChangeHandler<String> {
 
 		view.getConfigTable().getColumnFormatter().setWidth(0, "1px");
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	@Override
 	public void onValueChange(ValueChangeEvent<String> event) {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("AnalysisController.onValueChange");
 
 		// String key = ((TextBox) event.getSource()).getName();
 		String key = editTextToKey.get(event.getSource());
@@ -196,7 +197,7 @@ public class AnalysisController implements ValueChangeHandler<String> {
 
 		ScenarioManager.get().getExperimentModul().saveExperimentConfig(getParentController());
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	/**
@@ -172,6 +172,7 @@ public class ExperimentController implements ICenterController, ValueChangeHandl
 
 	@Override
 	public void onSwitchTo() {
+		ScenarioManager.get().refreshMeasurementDefinition();
 	}
 
 	private void duplicateExperiment() {
@@ -37,7 +37,8 @@ import org.sopeco.webui.client.extensions.Extensions;
 import org.sopeco.webui.client.manager.ScenarioManager;
 import org.sopeco.webui.client.resources.R;
 import org.sopeco.webui.shared.helper.ExtensionTypes;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 
 import com.google.gwt.event.logical.shared.ValueChangeEvent;
 import com.google.gwt.event.logical.shared.ValueChangeHandler;
@@ -71,7 +72,7 @@ public class ExtensionController implements ValueChangeHandler<String> {
 		view.getCombobox().addValueChangeHandler(new ValueChangeHandler<String>() {
 			@Override
 			public void onValueChange(ValueChangeEvent<String> event) {
-				double metering = Metering.start();
+				Stopwatch metering = Metrics.start("ExtensionController.selectExtension");
 				currentExtensionName = event.getValue();
 
 				changeConfig();
@@ -80,7 +81,7 @@ public class ExtensionController implements ValueChangeHandler<String> {
 				getParentController().updateAnalysisView();
 				ScenarioManager.get().getExperimentModul().saveExperimentConfig(getParentController());
 
-				Metering.stop(metering);
+				metering.stop();
 			}
 		});
 	}
@@ -125,7 +126,7 @@ public class ExtensionController implements ValueChangeHandler<String> {
 	 * Updates the Combobox and the Config-Table
 	 */
 	private void updateView() {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("ExtensionController.updateView");
 
 		view.getCombobox().clear();
 
@@ -136,14 +137,14 @@ public class ExtensionController implements ValueChangeHandler<String> {
 		}
 
 		updateConfigTable();
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	/**
 	 * Updates the configuration table.
 	 */
 	private void updateConfigTable() {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("ExtensionController.updateConfigTable");
 
 		view.getConfigTable().removeAllRows();
 		editTextToKey = new HashMap<EditableText, String>();
@@ -169,12 +170,12 @@ public class ExtensionController implements ValueChangeHandler<String> {
 
 		view.getConfigTable().getColumnFormatter().setWidth(0, "1px");
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	@Override
 	public void onValueChange(ValueChangeEvent<String> event) {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("ExtensionController.onValueChange");
 
 		// String key = ((TextBox) event.getSource()).getName();
 		String key = editTextToKey.get(event.getSource());
@@ -186,7 +187,7 @@ public class ExtensionController implements ValueChangeHandler<String> {
 
 		ScenarioManager.get().getExperimentModul().saveExperimentConfig(getParentController());
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	/**
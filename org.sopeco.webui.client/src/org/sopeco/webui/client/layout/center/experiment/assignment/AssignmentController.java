@@ -40,7 +40,8 @@ import org.sopeco.webui.client.event.handler.ExperimentAssignmentsChangedEventHa
 import org.sopeco.webui.client.layout.center.experiment.assignment.items.AssignmentItem;
 import org.sopeco.webui.client.manager.ScenarioManager;
 import org.sopeco.webui.client.resources.R;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 
 /**
  * 
@@ -130,7 +131,7 @@ public class AssignmentController {
 	}
 
 	public void refreshUI() {
-		double key = Metering.start();
+		Stopwatch key = Metrics.start("experiment.AssignmentController.refreshUI");
 
 		view.getGrid().removeAllRows();
 		view.addTableHeader();
@@ -141,7 +142,7 @@ public class AssignmentController {
 			c += 2;
 		}
 
-		Metering.stop(key);
+		key.stop();
 	}
 
 	public void onValueChange(AssignmentItem item, String value) {
@@ -38,7 +38,8 @@ import org.sopeco.webui.client.event.handler.PreperationAssignmentsChangedEventH
 import org.sopeco.webui.client.manager.ScenarioManager;
 import org.sopeco.webui.client.widget.grid.EditGridHandler;
 import org.sopeco.webui.client.widget.grid.EditGridItem;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 
 /**
  * 
@@ -121,7 +122,7 @@ public class PreparationController implements EditGridHandler {
 	 * Clear the assignmentListPanel and adds all assignments again.
 	 */
 	public void refreshUI() {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("PreparationController.refreshUI");
 
 		view.getGrid().resizeRows(assignmentMap.size() + 1);
 		int c = 1;
@@ -130,7 +131,7 @@ public class PreparationController implements EditGridHandler {
 		}
 		view.getHtmlNoAssignments().setVisible(c == 1);
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	@Override
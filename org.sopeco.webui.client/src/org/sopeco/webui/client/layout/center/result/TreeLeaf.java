@@ -77,19 +77,19 @@ public class TreeLeaf extends TreeItem implements /* HasClickHandlers, */ClickHa
 		getContentWrapper().getElement().getStyle().setMarginLeft(1, Unit.EM);
 
 		downloadImage = new ImageHover(R.img.icoDownload(), R.img.icoDownloadHover());
-		downloadImage.setTitle(R.lang.download());
+		downloadImage.setTitle(R.Result.lang.download());
 		downloadImage.getElement().getStyle().setMarginLeft(1, Unit.EM);
 		downloadImage.getElement().getStyle().setCursor(Cursor.POINTER);
 		downloadImage.addClickHandler(this);
 
 		rImage = new ImageHover(R.img.icoR(), R.img.icoRHover());
-		rImage.setTitle(R.lang.getRCommand());
+		rImage.setTitle(R.Result.lang.getRCommand());
 		rImage.getElement().getStyle().setMarginLeft(1, Unit.EM);
 		rImage.getElement().getStyle().setCursor(Cursor.POINTER);
 		rImage.addClickHandler(this);
 
 		chartImage = new ImageHover(R.img.icoChart(), R.img.icoChartHover());
-		chartImage.setTitle(R.lang.newChart());
+		chartImage.setTitle(R.Result.lang.newChart());
 
 		chartImage.getElement().getStyle().setMarginLeft(1, Unit.EM);
 		chartImage.getElement().getStyle().setCursor(Cursor.POINTER);
@@ -32,7 +32,8 @@ import org.sopeco.webui.client.layout.popups.Message;
 import org.sopeco.webui.client.manager.ScenarioManager;
 import org.sopeco.webui.client.widget.grid.EditGridHandler;
 import org.sopeco.webui.client.widget.grid.EditGridItem;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 
 import com.google.gwt.user.client.ui.Widget;
 
@@ -83,7 +84,7 @@ class AssignmentController implements EditGridHandler {
 	 * Clear the assignmentListPanel and adds all assignments again.
 	 */
 	public void refreshUI() {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("specification.AssignmentController.refreshUI");
 
 		view.getGrid().resizeRows(assignmentMap.size() + 1);
 		int c = 1;
@@ -92,7 +93,7 @@ class AssignmentController implements EditGridHandler {
 		}
 		view.getHtmlNoAssignments().setVisible(c == 1);
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	/**
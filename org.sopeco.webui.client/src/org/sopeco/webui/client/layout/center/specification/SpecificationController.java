@@ -43,7 +43,8 @@ import org.sopeco.webui.client.manager.Manager;
 import org.sopeco.webui.client.manager.ScenarioManager;
 import org.sopeco.webui.client.resources.R;
 import org.sopeco.webui.client.widget.grid.EditGridItem;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
@@ -92,6 +93,7 @@ public class SpecificationController implements ICenterController, ClickHandler,
 
 	@Override
 	public void onSwitchTo() {
+		ScenarioManager.get().refreshMeasurementDefinition();
 	}
 
 	public SpecificationEnvironmentTree getEnvironmentTree() {
@@ -247,7 +249,7 @@ public class SpecificationController implements ICenterController, ClickHandler,
 	 * given specification to the assignmenListPanel.
 	 */
 	public void addExistingAssignments(String specificationName) {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("SpecificationController.addExistingAssignments");
 		assignmentController.clearAssignments(true);
 
 		if (specificationName == null || specificationName.isEmpty()) {
@@ -262,7 +264,7 @@ public class SpecificationController implements ICenterController, ClickHandler,
 		}
 
 		assignmentController.refreshUI();
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 }
@@ -84,8 +84,8 @@ public final class ExportCsvDialog extends DialogBox implements ClickHandler {
 		contentWrapper = new FlowPanel();
 		contentWrapper.getElement().setId("exportCsvDialog");
 
-		headline = new Headline(R.lang.exportToCsv());
-		infoText = new Paragraph(R.lang.csvExportDesc());
+		headline = new Headline(R.Result.lang.exportToCsv());
+		infoText = new Paragraph(R.Result.lang.csvExportDesc());
 
 		tbValueSeparator = new ExtendedTextBox(";", false);
 		tbQuoteChar = new ExtendedTextBox("\"", false);
@@ -78,8 +78,8 @@ public final class ExportToRDialog extends DialogBox implements ClickHandler {
 		contentWrapper = new FlowPanel();
 		contentWrapper.getElement().setId("exportCsvDialog");
 
-		headline = new Headline(R.lang.exportToR());
-		infoText = new Paragraph(R.lang.rExportDesc());
+		headline = new Headline(R.Result.lang.exportToR());
+		infoText = new Paragraph(R.Result.lang.rExportDesc());
 
 		taValue = new TextArea();
 		taValue.setSize("500px", "160px");
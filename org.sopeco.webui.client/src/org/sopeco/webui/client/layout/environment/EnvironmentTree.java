@@ -40,7 +40,8 @@ import org.sopeco.webui.client.event.InitialAssignmentChangedEvent;
 import org.sopeco.webui.client.event.InitialAssignmentChangedEvent.ChangeType;
 import org.sopeco.webui.client.manager.ScenarioManager;
 import org.sopeco.webui.client.widget.TreeItem;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.event.dom.client.ClickEvent;
@@ -168,7 +169,7 @@ public abstract class EnvironmentTree implements ClickHandler, ValueChangeHandle
 	 * 
 	 */
 	public void generateTree() {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("EnvironmentTree.generateTree");
 
 		ParameterNamespace root = ScenarioManager.get().getScenarioDefinitionBuilder().getMEDefinition().getRoot();
 
@@ -184,7 +185,7 @@ public abstract class EnvironmentTree implements ClickHandler, ValueChangeHandle
 
 		updateVisibility();
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	private boolean recursiveAddTreeItems(ParameterNamespace namespace, TreeItem treeItem) {
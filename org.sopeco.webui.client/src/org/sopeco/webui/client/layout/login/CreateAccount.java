@@ -187,21 +187,21 @@ public class CreateAccount extends Composite {
 		}
 
 		if (getTextBox(EField.NAME).getValue().isEmpty()) {
-			setErrorText(EField.NAME, R.lang.msgFieldNotEmpty());
+			setErrorText(EField.NAME, R.Account.lang.msgFieldNotEmpty());
 			result = false;
 		} else if (getTextBox(EField.NAME).getValue().matches("^[0-9]+.*$")) {
-			setErrorText(EField.NAME, R.lang.msgFieldNotStartNumber());
+			setErrorText(EField.NAME, R.Account.lang.msgFieldNotStartNumber());
 			result = false;
 		} else if (!getTextBox(EField.NAME).getValue().matches("^[0-9a-zA-Z_]*$")) {
-			setErrorText(EField.NAME, R.lang.msgNoSpecialChars());
+			setErrorText(EField.NAME, R.Account.lang.msgNoSpecialChars());
 			result = false;
 		} else if (nameAlreadyExists) {
-			setErrorText(EField.NAME, R.lang.msgAccountExists());
+			setErrorText(EField.NAME, R.Account.lang.msgAccountExists());
 			result = false;
 		}
 
 		if (!getTextBox(EField.PASSWORD_CONFIRM).getValue().equals(getTextBox(EField.PASSWORD).getValue())) {
-			setErrorText(EField.PASSWORD_CONFIRM, R.lang.msgPasswordNotMatch());
+			setErrorText(EField.PASSWORD_CONFIRM, R.Account.lang.msgPasswordNotMatch());
 			result = false;
 		}
 
@@ -209,7 +209,7 @@ public class CreateAccount extends Composite {
 
 			if (!getTextBox(EField.DB_PORT).getValue().matches(
 					"(\\d{1,4}|[1-5]\\d{4}|6[0-4]\\d{3}|65[0-4]\\d{2}|655[0-2]\\d|6553[0-5])")) {
-				setErrorText(EField.DB_PORT, R.lang.msgPortMustBeInRange());
+				setErrorText(EField.DB_PORT, R.Account.lang.msgPortMustBeInRange());
 				result = false;
 			}
 
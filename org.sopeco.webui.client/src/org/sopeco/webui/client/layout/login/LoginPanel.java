@@ -31,9 +31,7 @@ import java.util.Date;
 import org.sopeco.webui.client.SoPeCoUI;
 import org.sopeco.webui.client.helper.BrandingChecker;
 import org.sopeco.webui.client.helper.SimpleCallback;
-import org.sopeco.webui.client.manager.Manager;
 import org.sopeco.webui.client.resources.R;
-import org.sopeco.webui.shared.entities.account.AccountDetails;
 import org.sopeco.webui.shared.helper.LoginResponse;
 import org.sopeco.webui.shared.rpc.RPC;
 
@@ -105,7 +103,6 @@ public class LoginPanel extends FlowPanel implements SimpleCallback<Boolean> {
 
 			verticalCell = new SimplePanel();
 
-			createAccount = new CreateAccount(this);
 			loginView = new LoginView(this);
 
 			verticalCell.add(loginView);
@@ -198,9 +195,24 @@ public class LoginPanel extends FlowPanel implements SimpleCallback<Boolean> {
 	}
 
 	public void switchToCreate() {
-		verticalCell.clear();
-		createAccount.resetInput();
-		verticalCell.add(createAccount);
+		/** code split point */
+		GWT.runAsync(CreateAccount.class, new RunAsyncCallback() {
+			@Override
+			public void onFailure(Throwable reason) {
+				Window.alert(R.lang.codeDownloadFailed());
+			}
+
+			@Override
+			public void onSuccess() {
+				if (createAccount == null) {
+					createAccount = new CreateAccount(LoginPanel.this);
+				}
+
+				verticalCell.clear();
+				createAccount.resetInput();
+				verticalCell.add(createAccount);
+			}
+		});
 	}
 
 	public void loginIntoAccount(final String accountName, final String password, final boolean persistentLogin) {
@@ -232,19 +244,7 @@ public class LoginPanel extends FlowPanel implements SimpleCallback<Boolean> {
 	}
 
 	private void getAccountSettings() {
-		RPC.getAccountManagementRPC().getAccountDetails(new AsyncCallback<AccountDetails>() {
-
-			@Override
-			public void onFailure(Throwable caught) {
-				throw new RuntimeException(caught);
-			}
-
-			@Override
-			public void onSuccess(AccountDetails result) {
-				Manager.get().setAccountDetails(result);
-				SoPeCoUI.get().initializeMainView();
-			}
-		});
+		SoPeCoUI.get().bootstrap();
 	}
 
 }
@@ -47,7 +47,8 @@ import org.sopeco.webui.client.layout.center.experiment.ExperimentController;
 import org.sopeco.webui.client.manager.helper.Duplicator;
 import org.sopeco.webui.shared.builder.SimpleEntityFactory;
 import org.sopeco.webui.shared.helper.ExtensionTypes;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 
 import com.google.gwt.core.client.GWT;
 
@@ -128,7 +129,7 @@ public class ExperimentModul {
 	 * @param experimentController
 	 */
 	public void saveExperimentConfig(ExperimentController experimentController) {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("ExperimentModul.saveExperimentConfig");
 		LOGGER.fine("Save experiment configuration");
 
 		ExperimentSeriesDefinition experiment = getCurrentExperiment();
@@ -154,7 +155,7 @@ public class ExperimentModul {
 
 		manager.storeScenario();
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	/**
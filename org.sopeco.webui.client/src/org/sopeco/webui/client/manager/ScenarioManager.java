@@ -42,11 +42,14 @@ import org.sopeco.webui.client.layout.center.experiment.ExperimentController;
 import org.sopeco.webui.client.layout.center.specification.SpecificationController;
 import org.sopeco.webui.client.manager.helper.Duplicator;
 import org.sopeco.webui.shared.builder.ScenarioDefinitionBuilder;
+import org.sopeco.webui.shared.entities.MEDefinitionResponse;
 import org.sopeco.webui.shared.entities.ScenarioDetails;
 import org.sopeco.webui.shared.helper.Helper;
 import org.sopeco.webui.shared.helper.Utilities;
 import org.sopeco.webui.shared.rpc.RPC;
 
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
 import com.google.gwt.core.shared.GWT;
 import com.google.gwt.user.client.rpc.AsyncCallback;
 
@@ -87,6 +90,25 @@ public final class ScenarioManager {
 
 	private boolean scenarioLoaded = false;
 
+	/**
+	 * Version of the MED last loaded from the controller. Reset whenever the
+	 * scenario is changed locally.
+	 */
+	private String controllerMEDVersion = null;
+
+	/**
+	 * Version of the MED of the current scenario on the server, as known by
+	 * the client. <code>null</code>, if the MED was loaded or changed without
+	 * getting its version.
+	 */
+	private String currentMEDVersion = null;
+
+	/**
+	 * Definition of the selected scenario, which was already loaded with the
+	 * bootstrap data. It is used once by {@link #switchScenario(String)}.
+	 */
+	private ScenarioDefinition preloadedScenario = null;
+
 	private SpecificationModul specificationModul;
 
 	/**
@@ -273,48 +295,117 @@ public final class ScenarioManager {
 			public void onSuccess(ScenarioDefinition result) {
 				GWT.log("Loaded scenario from Server.");
 				
-				if (result == null) {
-					LOGGER.severe("Error while loading scenario definition.");
-					return;
-				}
+				applyScenarioDefinition(result);
+			}
+		});
+	}
 
-				builder = ScenarioDefinitionBuilder.load(result);
-				scenarioLoaded = true;
+	/**
+	 * Sets the definition of the selected scenario, which was already loaded
+	 * from the server. The next {@link #switchScenario(String)} to this scenario
+	 * uses it instead of requesting it again.
+	 * 
+	 * @param definition
+	 *            the definition, <code>null</code> if not loaded
+	 */
+	public void setPreloadedScenario(ScenarioDefinition definition) {
+		preloadedScenario = definition;
+	}
 
-				if (Manager.get().getCurrentScenarioDetails() != null) {
-					String specification = Manager.get().getCurrentScenarioDetails().getSelectedSpecification();
-					if (specification == null || !specification().existSpecification(specification)) {
-						specification = builder.getBuiltScenario().getMeasurementSpecifications().get(0).getName();
-					}
+	/**
+	 * Sets the given definition as the current scenario and updates the views.
+	 * 
+	 * @param result
+	 *            the definition of the current scenario
+	 */
+	private void applyScenarioDefinition(ScenarioDefinition result) {
+		if (result == null) {
+			LOGGER.severe("Error while loading scenario definition.");
+			return;
+		}
 
-					MainLayoutPanel.get().reloadPanels();
-					
-					specification().changeSpecification(specification);
-				}
+		builder = ScenarioDefinitionBuilder.load(result);
+		scenarioLoaded = true;
+		currentMEDVersion = null;
 
-				MainLayoutPanel.get().switchView(SpecificationController.class);
+		if (Manager.get().getCurrentScenarioDetails() != null) {
+			String specification = Manager.get().getCurrentScenarioDetails().getSelectedSpecification();
+			if (specification == null || !specification().existSpecification(specification)) {
+				specification = builder.getBuiltScenario().getMeasurementSpecifications().get(0).getName();
 			}
-		});
+
+			MainLayoutPanel.get().reloadPanels();
+			
+			specification().changeSpecification(specification);
+		}
+
+		MainLayoutPanel.get().switchView(SpecificationController.class);
 	}
 
 	/**
-	 * 
+	 * Loads the MED of the current controller and sets it as the current
+	 * definition. If the MED of the controller has not changed since the last
+	 * load, the definition is not transmitted and nothing is updated.
 	 */
 	public void loadDefinitionFromCurrentController() {
-		RPC.getMEControllerRPC().getMEDefinitionFromMEC(Manager.get().getControllerUrl(),
-				new AsyncCallback<MeasurementEnvironmentDefinition>() {
+		RPC.getMEControllerRPC().getMEDefinitionFromMECIfModified(Manager.get().getControllerUrl(),
+				controllerMEDVersion, new AsyncCallback<MEDefinitionResponse>() {
 					@Override
 					public void onFailure(Throwable caught) {
 						SoPeCoUI.get().onUncaughtException(caught);
 					}
 
 					@Override
-					public void onSuccess(MeasurementEnvironmentDefinition result) {
-						for (ParameterDefinition pd : result.getRoot().getAllParameters()) {
-							GWT.log("0: " + pd.getFullName());
+					public void onSuccess(MEDefinitionResponse result) {
+						if (result.isNotModified()) {
+							LOGGER.fine("MED of the controller has not changed.");
+							return;
 						}
-						
-						setMeasurementDefinition(result);
+
+						setMeasurementDefinition(result.getDefinition());
+						controllerMEDVersion = result.getVersion();
+					}
+				});
+	}
+
+	/**
+	 * Checks whether the MED of the current scenario has been changed on the
+	 * server, e.g. by another browser tab, and takes over the new MED. The MED
+	 * is only transmitted, if its version differs from the known one.<br />
+	 * If no version is known, the MED has just been loaded with the scenario or
+	 * stored by this client. Then only the version is taken from the response.
+	 */
+	public void refreshMeasurementDefinition() {
+		if (!scenarioLoaded) {
+			return;
+		}
+
+		final ScenarioDefinitionBuilder requestBuilder = builder;
+		final boolean versionKnown = currentMEDVersion != null;
+
+		RPC.getMEControllerRPC().getCurrentMEDefinitionIfModified(currentMEDVersion,
+				new AsyncCallback<MEDefinitionResponse>() {
+					@Override
+					public void onFailure(Throwable caught) {
+						LOGGER.warning("Refreshing the MED failed: " + caught.getMessage());
+					}
+
+					@Override
+					public void onSuccess(MEDefinitionResponse result) {
+						if (requestBuilder != builder || (versionKnown && currentMEDVersion == null)) {
+							// another scenario has been loaded or the MED has been changed meanwhile
+							return;
+						}
+
+						currentMEDVersion = result.getVersion();
+
+						if (!versionKnown || result.isNotModified()) {
+							return;
+						}
+
+						LOGGER.fine("MED of the scenario has been changed on the server.");
+						builder.getBuiltScenario().setMeasurementEnvironmentDefinition(result.getDefinition());
+						updateEnvironmentTrees();
 					}
 				});
 	}
@@ -359,6 +450,7 @@ public final class ScenarioManager {
 	 */
 	public void setMeasurementDefinition(MeasurementEnvironmentDefinition environment) {
 		builder.getBuiltScenario().setMeasurementEnvironmentDefinition(environment);
+		currentMEDVersion = null;
 		
 		RPC.getMEControllerRPC().setMEDefinition(environment, new AsyncCallback<Boolean>() {
 			@Override
@@ -368,16 +460,24 @@ public final class ScenarioManager {
 
 			@Override
 			public void onSuccess(Boolean result) {
-				if (MainLayoutPanel.get().getController(SpecificationController.class).getEnvironmentTree() != null) {
-					MainLayoutPanel.get().getController(SpecificationController.class).getEnvironmentTree().generateTree();
-				}
-				if (MainLayoutPanel.get().getController(ExperimentController.class).getEnvironmentTree() != null) {
-					MainLayoutPanel.get().getController(ExperimentController.class).getEnvironmentTree().generateTree();
-				}
+				updateEnvironmentTrees();
 			}
 		});
 	}
 
+	/**
+	 * Rebuilds the environment trees of the SpecificationView and
+	 * ExperimentView.
+	 */
+	private void updateEnvironmentTrees() {
+		if (MainLayoutPanel.get().getController(SpecificationController.class).getEnvironmentTree() != null) {
+			MainLayoutPanel.get().getController(SpecificationController.class).getEnvironmentTree().generateTree();
+		}
+		if (MainLayoutPanel.get().getController(ExperimentController.class).getEnvironmentTree() != null) {
+			MainLayoutPanel.get().getController(ExperimentController.class).getEnvironmentTree().generateTree();
+		}
+	}
+
 	/**
 	 * Returns the SpecificationModul, which contains all methods that were
 	 * related to specification.
@@ -400,6 +500,9 @@ public final class ScenarioManager {
 		
 		LOGGER.fine("Storing scenario. Sending it to RPC.");
 		
+		controllerMEDVersion = null;
+		currentMEDVersion = null;
+		
 		RPC.getScenarioManager().storeScenarioDefinition(getCurrentScenarioDefinition(), new AsyncCallback<Boolean>() {
 			@Override
 			public void onFailure(Throwable caught) {
@@ -424,6 +527,25 @@ public final class ScenarioManager {
 		if (scenarioName == null) {
 			return;
 		}
+		controllerMEDVersion = null;
+
+		if (preloadedScenario != null && scenarioName.equals(preloadedScenario.getScenarioName())) {
+			// the server has already switched to the selected scenario
+			final ScenarioDefinition definition = preloadedScenario;
+			preloadedScenario = null;
+			currentScenarioName = scenarioName;
+
+			// the main layout may still be under construction
+			Scheduler.get().scheduleDeferred(new ScheduledCommand() {
+				@Override
+				public void execute() {
+					applyScenarioDefinition(definition);
+				}
+			});
+			return;
+		}
+		preloadedScenario = null;
+
 		Manager.get().getAccountDetails().setSelectedScenario(scenarioName);
 		Manager.get().storeAccountDetails();
 
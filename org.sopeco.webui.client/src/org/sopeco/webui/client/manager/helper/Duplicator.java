@@ -26,6 +26,7 @@
  */
 package org.sopeco.webui.client.manager.helper;
 
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 import org.sopeco.persistence.entities.definition.ConstantValueAssignment;
@@ -40,6 +41,13 @@ import org.sopeco.persistence.entities.definition.ParameterValueAssignment;
 import org.sopeco.persistence.entities.definition.ScenarioDefinition;
 
 /**
+ * Clones the definition entities. Only the mutable structure (the entities,
+ * their lists and maps) is copied. Immutable leaves like names, types and
+ * configuration values are shared between the source and the clone, copying
+ * them would only cost memory.<br />
+ * A cloned scenario is self-contained: the assignments of its specifications
+ * refer to the parameters of its cloned environment. The source is never
+ * modified.
  * 
  * @author Marius Oehler
  * 
@@ -50,32 +58,15 @@ public final class Duplicator {
 	}
 
 	/**
-	 * Returns a clone of the given object.
+	 * Returns a clone of the given object. The assignments refer to the same
+	 * parameters as the ones of the source.
 	 * 
 	 * @param source
 	 *            object that will be cloned.
 	 * @return clone of the object
 	 */
 	public static ExperimentSeriesDefinition cloneExperiment(ExperimentSeriesDefinition source) {
-		if (source == null) {
-			return null;
-		}
-		ExperimentSeriesDefinition clone = new ExperimentSeriesDefinition();
-		clone.setName(new String(source.getName()));
-
-		ExplorationStrategy cloneExplStgy = cloneExplorationStrategy(source.getExplorationStrategy());
-		clone.setExplorationStrategy(cloneExplStgy);
-
-		for (ExperimentTerminationCondition tc : source.getTerminationConditions()) {
-			clone.addTerminationCondition(cloneTerminationCondition(tc));
-		}
-		for (ParameterValueAssignment pva : source.getExperimentAssignments()) {
-			clone.getExperimentAssignments().add(pva.clone());
-		}
-		for (ConstantValueAssignment cva : source.getPreperationAssignments()) {
-			clone.getPreperationAssignments().add(cva.clone());
-		}
-		return clone;
+		return cloneExperiment(source, null);
 	}
 
 	/**
@@ -86,8 +77,11 @@ public final class Duplicator {
 	 * @return clone of the object
 	 */
 	public static ExplorationStrategy cloneExplorationStrategy(ExplorationStrategy source) {
+		if (source == null) {
+			return null;
+		}
 		ExplorationStrategy clone = new ExplorationStrategy();
-		deepCopyHashMap(source.getConfiguration(), clone.getConfiguration());
+		clone.getConfiguration().putAll(source.getConfiguration());
 		// TODO - Copy of the list
 		clone.getAnalysisConfigurations().addAll(source.getAnalysisConfigurations());
 		return clone;
@@ -101,49 +95,44 @@ public final class Duplicator {
 	 * @return clone of the object
 	 */
 	public static ExperimentTerminationCondition cloneTerminationCondition(ExperimentTerminationCondition source) {
-		String name = new String(source.getName());
-		String description = new String(source.getDescription());
-		ExperimentTerminationCondition clone = new ExperimentTerminationCondition(name, description);
-		deepCopyHashMap(source.getParametersDefaultValues(), clone.getParametersDefaultValues());
-		deepCopyHashMap(source.getParametersValues(), clone.getParametersValues());
+		ExperimentTerminationCondition clone = new ExperimentTerminationCondition(source.getName(),
+				source.getDescription());
+		clone.getParametersDefaultValues().putAll(source.getParametersDefaultValues());
+		clone.getParametersValues().putAll(source.getParametersValues());
 		return clone;
 	}
 
 	/**
-	 * Returns a clone of the given object.
+	 * Returns a clone of the given object. The assignments of the cloned
+	 * specifications refer to the parameters of the cloned environment.
 	 * 
 	 * @param source
 	 *            object that will be cloned.
 	 * @return clone of the object
 	 */
 	public static ScenarioDefinition cloneScenario(ScenarioDefinition source) {
+		Map<ParameterDefinition, ParameterDefinition> parameters = new IdentityHashMap<ParameterDefinition, ParameterDefinition>();
+
 		ScenarioDefinition clone = new ScenarioDefinition();
-		clone.setScenarioName(new String(source.getScenarioName()));
+		clone.setScenarioName(source.getScenarioName());
+		clone.setMeasurementEnvironmentDefinition(cloneMeasurementEnvironment(
+				source.getMeasurementEnvironmentDefinition(), parameters));
 		for (MeasurementSpecification ms : source.getMeasurementSpecifications()) {
-			clone.getMeasurementSpecifications().add(cloneSpecification(ms));
+			clone.getMeasurementSpecifications().add(cloneSpecification(ms, parameters));
 		}
-		clone.setMeasurementEnvironmentDefinition(cloneMeasurementEnvironment(source
-				.getMeasurementEnvironmentDefinition()));
 		return clone;
 	}
 
 	/**
-	 * Returns a clone of the given object.
+	 * Returns a clone of the given object. The assignments refer to the same
+	 * parameters as the ones of the source.
 	 * 
 	 * @param source
 	 *            object that will be cloned.
 	 * @return clone of the object
 	 */
 	public static MeasurementSpecification cloneSpecification(MeasurementSpecification source) {
-		MeasurementSpecification clone = new MeasurementSpecification();
-		clone.setName(new String(source.getName()));
-		for (ExperimentSeriesDefinition esd : source.getExperimentSeriesDefinitions()) {
-			clone.getExperimentSeriesDefinitions().add(cloneExperiment(esd));
-		}
-		for (ConstantValueAssignment cva : source.getInitializationAssignemts()) {
-			clone.getInitializationAssignemts().add(cva.clone());
-		}
-		return clone;
+		return cloneSpecification(source, null);
 	}
 
 	/**
@@ -154,40 +143,24 @@ public final class Duplicator {
 	 * @return clone of the object
 	 */
 	public static MeasurementEnvironmentDefinition cloneMeasurementEnvironment(MeasurementEnvironmentDefinition source) {
-		MeasurementEnvironmentDefinition clone = new MeasurementEnvironmentDefinition();
-		for (ExperimentTerminationCondition etc : source.getSupportedTerminationConditions()) {
-			clone.getSupportedTerminationConditions().add(cloneTerminationCondition(etc));
-		}
-		clone.setRoot(cloneNamespace(source.getRoot()));
-		return clone;
+		return cloneMeasurementEnvironment(source, null);
 	}
 
 	/**
-	 * Returns a clone of the given object.
+	 * Returns a clone of the given namespace with all its children and
+	 * parameters. The clone has the same parent as the source.
 	 * 
 	 * @param source
 	 *            object that will be cloned.
 	 * @return clone of the object
 	 */
 	public static ParameterNamespace cloneNamespace(ParameterNamespace source) {
-		ParameterNamespace clone = new ParameterNamespace();
-		clone.setParent(source.getParent());
-		clone.setName(new String(source.getName()));
-		for (ParameterDefinition pd : source.getParameters()) {
-			ParameterDefinition clonePD = cloneParameterDefinition(pd);
-			pd.setNamespace(clone);
-			clone.getParameters().add(clonePD);
-		}
-		for (ParameterNamespace pns : source.getChildren()) {
-			ParameterNamespace cloneNS = cloneNamespace(pns);
-			cloneNS.setParent(clone);
-			clone.getChildren().add(cloneNS);
-		}
-		return clone;
+		return cloneNamespace(source, source.getParent(), null);
 	}
 
 	/**
-	 * Returns a clone of the given object.
+	 * Returns a clone of the given object. The clone belongs to the same
+	 * namespace as the source.
 	 * 
 	 * @param source
 	 *            object that will be cloned.
@@ -195,25 +168,116 @@ public final class Duplicator {
 	 */
 	public static ParameterDefinition cloneParameterDefinition(ParameterDefinition source) {
 		ParameterDefinition clone = new ParameterDefinition();
-		clone.setName(new String(source.getName()));
+		clone.setName(source.getName());
 		clone.setRole(source.getRole());
-		clone.setType(new String(source.getType()));
+		clone.setType(source.getType());
 		clone.setNamespace(source.getNamespace());
 		return clone;
 	}
 
+	/********************************************************************/
+
 	/**
-	 * Clones all values from the Map<String,String> source to the
-	 * Map<String,String> target.
-	 * 
-	 * @param source
-	 * @param target
+	 * The map <code>parameters</code> contains the cloned parameter of every
+	 * source parameter. The assignments of the clones refer to the cloned
+	 * parameters. If it is <code>null</code>, they refer to the source
+	 * parameters.
+	 */
+	private static ExperimentSeriesDefinition cloneExperiment(ExperimentSeriesDefinition source,
+			Map<ParameterDefinition, ParameterDefinition> parameters) {
+		if (source == null) {
+			return null;
+		}
+		ExperimentSeriesDefinition clone = new ExperimentSeriesDefinition();
+		clone.setName(source.getName());
+		clone.setExplorationStrategy(cloneExplorationStrategy(source.getExplorationStrategy()));
+
+		for (ExperimentTerminationCondition tc : source.getTerminationConditions()) {
+			clone.addTerminationCondition(cloneTerminationCondition(tc));
+		}
+		for (ParameterValueAssignment pva : source.getExperimentAssignments()) {
+			clone.getExperimentAssignments().add(cloneAssignment(pva, parameters));
+		}
+		for (ConstantValueAssignment cva : source.getPreperationAssignments()) {
+			clone.getPreperationAssignments().add(cloneAssignment(cva, parameters));
+		}
+		return clone;
+	}
+
+	private static MeasurementSpecification cloneSpecification(MeasurementSpecification source,
+			Map<ParameterDefinition, ParameterDefinition> parameters) {
+		MeasurementSpecification clone = new MeasurementSpecification();
+		clone.setName(source.getName());
+		for (ExperimentSeriesDefinition esd : source.getExperimentSeriesDefinitions()) {
+			clone.getExperimentSeriesDefinitions().add(cloneExperiment(esd, parameters));
+		}
+		for (ConstantValueAssignment cva : source.getInitializationAssignemts()) {
+			clone.getInitializationAssignemts().add(cloneAssignment(cva, parameters));
+		}
+		return clone;
+	}
+
+	private static MeasurementEnvironmentDefinition cloneMeasurementEnvironment(
+			MeasurementEnvironmentDefinition source, Map<ParameterDefinition, ParameterDefinition> parameters) {
+		if (source == null) {
+			return null;
+		}
+		MeasurementEnvironmentDefinition clone = new MeasurementEnvironmentDefinition();
+		for (ExperimentTerminationCondition etc : source.getSupportedTerminationConditions()) {
+			clone.getSupportedTerminationConditions().add(cloneTerminationCondition(etc));
+		}
+		if (source.getRoot() != null) {
+			clone.setRoot(cloneNamespace(source.getRoot(), source.getRoot().getParent(), parameters));
+		}
+		return clone;
+	}
+
+	/**
+	 * Clones the namespace tree. The cloned parameters belong to the cloned
+	 * namespaces and are put into the map <code>parameters</code>, if it is not
+	 * <code>null</code>.
 	 */
-	private static void deepCopyHashMap(Map<String, String> source, Map<String, String> target) {
-		for (String key : source.keySet()) {
-			String cKey = new String(key);
-			String cValue = new String(source.get(key));
-			target.put(cKey, cValue);
+	private static ParameterNamespace cloneNamespace(ParameterNamespace source, ParameterNamespace parent,
+			Map<ParameterDefinition, ParameterDefinition> parameters) {
+		ParameterNamespace clone = new ParameterNamespace();
+		clone.setParent(parent);
+		clone.setName(source.getName());
+		for (ParameterDefinition pd : source.getParameters()) {
+			ParameterDefinition clonePD = cloneParameterDefinition(pd);
+			clonePD.setNamespace(clone);
+			clone.getParameters().add(clonePD);
+			if (parameters != null) {
+				parameters.put(pd, clonePD);
+			}
+		}
+		for (ParameterNamespace pns : source.getChildren()) {
+			clone.getChildren().add(cloneNamespace(pns, clone, parameters));
+		}
+		return clone;
+	}
+
+	private static ParameterValueAssignment cloneAssignment(ParameterValueAssignment source,
+			Map<ParameterDefinition, ParameterDefinition> parameters) {
+		ParameterValueAssignment clone = source.clone();
+		replaceParameter(clone, parameters);
+		return clone;
+	}
+
+	private static ConstantValueAssignment cloneAssignment(ConstantValueAssignment source,
+			Map<ParameterDefinition, ParameterDefinition> parameters) {
+		ConstantValueAssignment clone = source.clone();
+		replaceParameter(clone, parameters);
+		return clone;
+	}
+
+	private static void replaceParameter(ParameterValueAssignment assignment,
+			Map<ParameterDefinition, ParameterDefinition> parameters) {
+		if (parameters == null) {
+			return;
+		}
+		ParameterDefinition parameter = parameters.get(assignment.getParameter());
+		if (parameter != null) {
+			assignment.setParameter(parameter);
 		}
 	}
 }
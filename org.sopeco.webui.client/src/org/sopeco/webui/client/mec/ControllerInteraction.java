@@ -26,12 +26,21 @@
  */
 package org.sopeco.webui.client.mec;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.sopeco.webui.client.SoPeCoUI;
 import org.sopeco.webui.client.helper.INotifyHandler;
 import org.sopeco.webui.client.helper.INotifyHandler.Result;
+import org.sopeco.webui.client.helper.push.PushListener;
+import org.sopeco.webui.client.helper.push.ServerPush;
+import org.sopeco.webui.shared.entities.PortProbeResult;
 import org.sopeco.webui.shared.helper.MEControllerProtocol;
+import org.sopeco.webui.shared.push.PushDomain;
+import org.sopeco.webui.shared.push.PushPackage;
+import org.sopeco.webui.shared.push.packages.PushPortProbe;
 import org.sopeco.webui.shared.rpc.RPC;
 
 import com.google.gwt.user.client.rpc.AsyncCallback;
@@ -46,6 +55,10 @@ public final class ControllerInteraction {
 	private static Double checkId = -1D;
 	public static final String KEY_PORT_REACHABLE = "PORT_REACHABLE";
 	public static final String KEY_RETRIEVE_MEC = "KEY_RETRIEVE_MEC";
+	public static final String KEY_PORT_PROBE = "KEY_PORT_PROBE";
+	public static final String KEY_DISCOVERY_FINISHED = "KEY_DISCOVERY_FINISHED";
+
+	private static long discoveryCounter = 0;
 
 	/**
 	 * Default ports of the MEController, ordered by {@link Protocol} (RMI,
@@ -93,6 +106,72 @@ public final class ControllerInteraction {
 		});
 	}
 
+	/**
+	 * Probes all combinations of the given hosts and ports in parallel on the
+	 * server. The <code>probeHandler</code> is called for every single result
+	 * as soon as it is known, the <code>finishHandler</code> once with all
+	 * results after every probe has finished or timed out.
+	 * 
+	 * @param hosts
+	 *            hosts to probe
+	 * @param ports
+	 *            ports to probe on every host, e.g. {@link #DEFAULT_PORTS}
+	 * @param probeHandler
+	 *            called for every single probe result
+	 * @param finishHandler
+	 *            called after the discovery has finished
+	 */
+	public static void discover(List<String> hosts, int[] ports, final INotifyHandler<PortProbeResult> probeHandler,
+			final INotifyHandler<List<PortProbeResult>> finishHandler) {
+		final long myId = ++discoveryCounter;
+		final Set<String> received = new HashSet<String>();
+
+		final PushListener listener = new PushListener() {
+			@Override
+			public void receive(PushPackage pushPackage) {
+				PushPortProbe probe = (PushPortProbe) pushPackage;
+				if (probe.getDiscoveryId() != myId) {
+					return;
+				}
+				notifyProbe(probe.getResult(), received, probeHandler);
+			}
+		};
+		ServerPush.registerListener(PushDomain.MEC_DISCOVERY, listener);
+
+		List<Integer> portList = new ArrayList<Integer>();
+		for (int port : ports) {
+			portList.add(port);
+		}
+
+		RPC.getMEControllerRPC().probePorts(myId, hosts, portList, new AsyncCallback<List<PortProbeResult>>() {
+			@Override
+			public void onSuccess(List<PortProbeResult> result) {
+				ServerPush.removeListener(PushDomain.MEC_DISCOVERY, listener);
+
+				// results whose push has not arrived yet
+				for (PortProbeResult probeResult : result) {
+					notifyProbe(probeResult, received, probeHandler);
+				}
+
+				finishHandler.call(new Result<List<PortProbeResult>>(true, result, KEY_DISCOVERY_FINISHED));
+			}
+
+			@Override
+			public void onFailure(Throwable caught) {
+				ServerPush.removeListener(PushDomain.MEC_DISCOVERY, listener);
+
+				finishHandler.call(new Result<List<PortProbeResult>>(false, null));
+			}
+		});
+	}
+
+	private static void notifyProbe(PortProbeResult probeResult, Set<String> received,
+			INotifyHandler<PortProbeResult> handler) {
+		if (received.add(probeResult.getHost() + ":" + probeResult.getPort())) {
+			handler.call(new Result<PortProbeResult>(true, probeResult, KEY_PORT_PROBE));
+		}
+	}
+
 	public static void retrieveController(MEControllerProtocol protocol, final String host, final int port,
 			final INotifyHandler<String[]> handler) {
 
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.client.mec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sopeco.webui.client.helper.INotifyHandler;
+import org.sopeco.webui.client.helper.INotifyHandler.Result;
+import org.sopeco.webui.client.helper.push.PushListener;
+import org.sopeco.webui.client.helper.push.ServerPush;
+import org.sopeco.webui.shared.push.PushDomain;
+import org.sopeco.webui.shared.push.PushPackage;
+import org.sopeco.webui.shared.push.packages.PushMECStatus;
+import org.sopeco.webui.shared.rpc.RPC;
+
+import com.google.gwt.user.client.rpc.AsyncCallback;
+
+/**
+ * Client side cache of the controller status. A controller is watched by
+ * calling {@link #watch(String, INotifyHandler)} once, afterwards the server
+ * pushes every change of its status and {@link #getStatus(String)} is a local
+ * read.
+ *
+ * @author agent
+ */
+public final class ControllerStatusCache implements PushListener {
+
+	public static final String KEY_CONTROLLER_STATUS = "KEY_CONTROLLER_STATUS";
+
+	private static ControllerStatusCache singleton;
+
+	private Map<String, Integer> statusMap = new HashMap<String, Integer>();
+
+	private Map<String, List<INotifyHandler<Integer>>> handlerMap = new HashMap<String, List<INotifyHandler<Integer>>>();
+
+	private ControllerStatusCache() {
+		ServerPush.registerListener(PushDomain.MEC_STATUS, this);
+	}
+
+	/**
+	 * Returns the singleton and registers it on the {@link ServerPush} if
+	 * necessary.
+	 *
+	 * @return the instance
+	 */
+	public static ControllerStatusCache get() {
+		if (singleton == null) {
+			singleton = new ControllerStatusCache();
+		}
+		return singleton;
+	}
+
+	/**
+	 * Drops all cached states and listeners. Must be called when the push
+	 * listeners are cleared (e.g. on logout).
+	 */
+	public static void clear() {
+		singleton = null;
+	}
+
+	/**
+	 * Returns the last known status of the controller.
+	 *
+	 * @param url
+	 *            controller url
+	 * @return the status, <code>null</code> if the controller is not watched
+	 */
+	public Integer getStatus(String url) {
+		return statusMap.get(url);
+	}
+
+	/**
+	 * Starts watching the given controller. The handler is called with the
+	 * current status and on every change of it.
+	 *
+	 * @param url
+	 *            controller url
+	 * @param handler
+	 *            called with the status of the controller
+	 */
+	public void watch(final String url, INotifyHandler<Integer> handler) {
+		if (!handlerMap.containsKey(url)) {
+			handlerMap.put(url, new ArrayList<INotifyHandler<Integer>>());
+		}
+		handlerMap.get(url).add(handler);
+
+		if (statusMap.containsKey(url)) {
+			handler.call(new Result<Integer>(true, statusMap.get(url), KEY_CONTROLLER_STATUS));
+			return;
+		}
+
+		RPC.getMEControllerRPC().checkControllerStatus(url, new AsyncCallback<Integer>() {
+			@Override
+			public void onSuccess(Integer result) {
+				update(url, result);
+			}
+
+			@Override
+			public void onFailure(Throwable caught) {
+				List<INotifyHandler<Integer>> handlers = handlerMap.get(url);
+				if (handlers != null) {
+					for (INotifyHandler<Integer> h : handlers) {
+						h.call(new Result<Integer>(false, null));
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Removes the handler of the given controller.
+	 *
+	 * @param url
+	 *            controller url
+	 * @param handler
+	 *            the handler to remove
+	 */
+	public void unwatch(String url, INotifyHandler<Integer> handler) {
+		if (handlerMap.containsKey(url)) {
+			handlerMap.get(url).remove(handler);
+		}
+	}
+
+	@Override
+	public void receive(PushPackage pushPackage) {
+		PushMECStatus statusPackage = (PushMECStatus) pushPackage;
+		update(statusPackage.getControllerUrl(), statusPackage.getStatus());
+	}
+
+	private void update(String url, int status) {
+		statusMap.put(url, status);
+
+		List<INotifyHandler<Integer>> handlers = handlerMap.get(url);
+		if (handlers == null) {
+			return;
+		}
+
+		for (INotifyHandler<Integer> handler : new ArrayList<INotifyHandler<Integer>>(handlers)) {
+			handler.call(new Result<Integer>(true, status, KEY_CONTROLLER_STATUS));
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package org.sopeco.webui.client.mec;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.sopeco.gwt.widgets.ComboBox;
@@ -8,10 +10,12 @@ import org.sopeco.webui.client.SoPeCoUI;
 import org.sopeco.webui.client.event.EventControl;
 import org.sopeco.webui.client.event.MEControllerEvent;
 import org.sopeco.webui.client.event.MEControllerEvent.EventType;
+import org.sopeco.webui.client.helper.INotifyHandler;
 import org.sopeco.webui.client.manager.Manager;
 import org.sopeco.webui.client.manager.ScenarioManager;
 import org.sopeco.webui.client.resources.R;
 import org.sopeco.webui.client.widget.SmallTableLabel;
+import org.sopeco.webui.shared.entities.PortProbeResult;
 import org.sopeco.webui.shared.helper.MEControllerProtocol;
 import org.sopeco.webui.shared.rpc.RPC;
 
@@ -27,6 +31,7 @@ import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
 import com.google.gwt.uibinder.client.UiHandler;
 import com.google.gwt.user.client.rpc.AsyncCallback;
+import com.google.gwt.user.client.ui.Anchor;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.FlexTable;
 import com.google.gwt.user.client.ui.FlowPanel;
@@ -42,7 +47,7 @@ public class MECSettings extends Composite implements ValueChangeHandler<String>
 	}
 
 	private enum Status {
-		CONTROLLER_AVAILABLE, EMPTY_HOST_PORT, EMPTY_TOKEN, INVALID_PORT, NO_CONTROLLER_RUNNING, NO_MEC_APPLCIATION, RECEIVING_CONTROLLER, UNCHECKED
+		CONTROLLER_AVAILABLE, EMPTY_HOST_PORT, EMPTY_TOKEN, INVALID_PORT, NO_CONTROLLER_RUNNING, NO_MEC_APPLCIATION, PORTS_FOUND, RECEIVING_CONTROLLER, SEARCHING_PORTS, UNCHECKED
 	}
 
 	private static MECSettingsUiBinder uiBinder = GWT.create(MECSettingsUiBinder.class);
@@ -61,6 +66,8 @@ public class MECSettings extends Composite implements ValueChangeHandler<String>
 	Label labelControllerStatus;
 	@UiField
 	Label headline;
+	@UiField
+	Anchor linkDiscover;
 
 	private ComboBox cbProtocol;
 	private WrappedTextBox tbFirst;
@@ -73,6 +80,8 @@ public class MECSettings extends Composite implements ValueChangeHandler<String>
 
 	private boolean layoutOne = false;
 
+	private List<Integer> openPorts = new ArrayList<Integer>();
+
 	/**
 	 * Constructor. Calls the {@link #init()} method.
 	 */
@@ -111,6 +120,43 @@ public class MECSettings extends Composite implements ValueChangeHandler<String>
 		receiveController();
 	}
 
+	/**
+	 * Probes the {@link ControllerInteraction#DEFAULT_PORTS} on the entered
+	 * host. Every open port is shown as soon as it is found, the first one is
+	 * entered into the port field.
+	 */
+	@UiHandler("linkDiscover")
+	public void clickDiscover(ClickEvent e) {
+		String host = tbFirst.getTextbox().getValue().trim();
+		if (host.isEmpty()) {
+			setStatus(Status.EMPTY_HOST_PORT);
+			return;
+		}
+
+		openPorts = new ArrayList<Integer>();
+		setStatus(Status.SEARCHING_PORTS);
+
+		ControllerInteraction.discover(Arrays.asList(host), ControllerInteraction.DEFAULT_PORTS,
+				new INotifyHandler<PortProbeResult>() {
+					@Override
+					public void call(Result<PortProbeResult> result) {
+						if (!result.getValue().isReachable()) {
+							return;
+						}
+						if (openPorts.isEmpty()) {
+							tbTwo.getTextbox().setValue("" + result.getValue().getPort());
+						}
+						openPorts.add(result.getValue().getPort());
+						setControllerStatus(R.lang.searchingPorts() + " " + getOpenPortsText());
+					}
+				}, new INotifyHandler<List<PortProbeResult>>() {
+					@Override
+					public void call(Result<List<PortProbeResult>> result) {
+						setStatus(Status.PORTS_FOUND);
+					}
+				});
+	}
+
 	/**
 	 * Loads the controller settings of the current selected scenario.
 	 */
@@ -226,6 +272,7 @@ public class MECSettings extends Composite implements ValueChangeHandler<String>
 		tbTwo.getTextbox().setEnabled(enabled);
 		cbController.setEnabled(enabled);
 		btnRefresh.setEnabled(enabled);
+		linkDiscover.setEnabled(enabled);
 	}
 
 	/**
@@ -298,6 +345,8 @@ public class MECSettings extends Composite implements ValueChangeHandler<String>
 			connectionTable.removeCell(0, 2);
 			connectionTable.removeCell(1, 2);
 		}
+
+		linkDiscover.setVisible(false);
 	}
 
 	/**
@@ -324,6 +373,8 @@ public class MECSettings extends Composite implements ValueChangeHandler<String>
 		connectionTable.setWidget(1, 2, tbTwo);
 
 		connectionTable.getFlexCellFormatter().setWidth(0, 2, "50px");
+
+		linkDiscover.setVisible(true);
 	}
 
 	/**
@@ -361,12 +412,14 @@ public class MECSettings extends Composite implements ValueChangeHandler<String>
 		case EMPTY_TOKEN:
 		case EMPTY_HOST_PORT:
 		case INVALID_PORT:
+		case PORTS_FOUND:
 		case UNCHECKED:
 			setReloadButtonEnabled(true);
 			tbFirst.getTextbox().setEnabled(true);
 			tbTwo.getTextbox().setEnabled(true);
 			cbProtocol.setEnabled(true);
 			cbController.setEnabled(true);
+			linkDiscover.setEnabled(true);
 			break;
 		case RECEIVING_CONTROLLER:
 			setReloadButtonEnabled(false);
@@ -376,6 +429,17 @@ public class MECSettings extends Composite implements ValueChangeHandler<String>
 			tbTwo.getTextbox().setEnabled(false);
 			cbProtocol.setEnabled(false);
 			cbController.setEnabled(false);
+			linkDiscover.setEnabled(false);
+			return;
+		case SEARCHING_PORTS:
+			setReloadButtonEnabled(false);
+			setControllerBoxVisible(false);
+			setControllerStatus(R.lang.searchingPorts());
+			tbFirst.getTextbox().setEnabled(false);
+			tbTwo.getTextbox().setEnabled(false);
+			cbProtocol.setEnabled(false);
+			cbController.setEnabled(false);
+			linkDiscover.setEnabled(false);
 			return;
 		default:
 			throw new IllegalArgumentException();
@@ -406,6 +470,10 @@ public class MECSettings extends Composite implements ValueChangeHandler<String>
 			setControllerBoxVisible(false);
 			setControllerStatus(R.lang.enterValidPort());
 			break;
+		case PORTS_FOUND:
+			setControllerBoxVisible(false);
+			setControllerStatus(openPorts.isEmpty() ? R.lang.noOpenPort() : getOpenPortsText());
+			break;
 		case UNCHECKED:
 			setControllerBoxVisible(false);
 			setControllerStatus(R.lang.controllerStateUnchecked());
@@ -415,6 +483,14 @@ public class MECSettings extends Composite implements ValueChangeHandler<String>
 		}
 	}
 
+	private String getOpenPortsText() {
+		StringBuilder sb = new StringBuilder(R.lang.openPorts()).append(':');
+		for (Integer port : openPorts) {
+			sb.append(' ').append(port);
+		}
+		return sb.toString();
+	}
+
 	/**
 	 * Saves the controller settings to the current scenario.
 	 */
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.client.resources;
+
+/**
+ * Constants of the create account view. They are separated from the
+ * {@link LanguageConstants}, so they are only downloaded with the code
+ * fragment of this view. Use them through {@link R.Account#lang}.
+ */
+public interface AccountConstants extends com.google.gwt.i18n.client.Constants {
+  
+  /**
+   * Translated "Add account".
+   * 
+   * @return translated "Add account"
+   */
+  @DefaultStringValue("Add account")
+  @Key("addAccount")
+  String addAccount();
+
+  /**
+   * Translated "Add new account".
+   * 
+   * @return translated "Add new account"
+   */
+  @DefaultStringValue("Add new account")
+  @Key("addNewAccount")
+  String addNewAccount();
+
+  /**
+   * Translated "Confirm password".
+   * 
+   * @return translated "Confirm password"
+   */
+  @DefaultStringValue("Confirm password")
+  @Key("confirmPassword")
+  String confirmPassword();
+
+  /**
+   * Translated "Database".
+   * 
+   * @return translated "Database"
+   */
+  @DefaultStringValue("Database")
+  @Key("database")
+  String database();
+
+  /**
+   * Translated "Account with the specified name already exists".
+   * 
+   * @return translated "Account with the specified name already exists"
+   */
+  @DefaultStringValue("Account with the specified name already exists")
+  @Key("msgAccountExists")
+  String msgAccountExists();
+
+  /**
+   * Translated "Field must not be empty".
+   * 
+   * @return translated "Field must not be empty"
+   */
+  @DefaultStringValue("Field must not be empty")
+  @Key("msgFieldNotEmpty")
+  String msgFieldNotEmpty();
+
+  /**
+   * Translated "Field must not start with a number".
+   * 
+   * @return translated "Field must not start with a number"
+   */
+  @DefaultStringValue("Field must not start with a number")
+  @Key("msgFieldNotStartNumber")
+  String msgFieldNotStartNumber();
+
+  /**
+   * Translated "Please use only following characters: a-z A-Z 0-9 _".
+   * 
+   * @return translated "Please use only following characters: a-z A-Z 0-9 _"
+   */
+  @DefaultStringValue("Please use only following characters: a-z A-Z 0-9 _")
+  @Key("msgNoSpecialChars")
+  String msgNoSpecialChars();
+
+  /**
+   * Translated "Password does not match".
+   * 
+   * @return translated "Password does not match"
+   */
+  @DefaultStringValue("Password does not match")
+  @Key("msgPasswordNotMatch")
+  String msgPasswordNotMatch();
+
+  /**
+   * Translated "Port must be between 0 and 65535".
+   * 
+   * @return translated "Port must be between 0 and 65535"
+   */
+  @DefaultStringValue("Port must be between 0 and 65535")
+  @Key("msgPortMustBeInRange")
+  String msgPortMustBeInRange();
+
+  /**
+   * Translated "Use own database".
+   * 
+   * @return translated "Use own database"
+   */
+  @DefaultStringValue("Use own database")
+  @Key("useOwnDatabase")
+  String useOwnDatabase();
+}
@@ -0,0 +1,359 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.client.resources;
+
+/**
+ * Constants of the execute view. They are separated from the
+ * {@link LanguageConstants}, so they are only downloaded with the code
+ * fragment of this view. Use them through {@link R.Execute#lang}.
+ */
+public interface ExecuteConstants extends com.google.gwt.i18n.client.Constants {
+  
+  /**
+   * Translated "Account".
+   * 
+   * @return translated "Account"
+   */
+  @DefaultStringValue("Account")
+  @Key("Account")
+  String Account();
+
+  /**
+   * Translated "Added".
+   * 
+   * @return translated "Added"
+   */
+  @DefaultStringValue("Added")
+  @Key("Added")
+  String Added();
+
+  /**
+   * Translated "Controller".
+   * 
+   * @return translated "Controller"
+   */
+  @DefaultStringValue("Controller")
+  @Key("Controller")
+  String Controller();
+
+  /**
+   * Translated "Elapsed Time".
+   * 
+   * @return translated "Elapsed Time"
+   */
+  @DefaultStringValue("Elapsed Time")
+  @Key("ElapsedTime")
+  String ElapsedTime();
+
+  /**
+   * Translated "Execute Experiment".
+   * 
+   * @return translated "Execute Experiment"
+   */
+  @DefaultStringValue("Execute Experiment")
+  @Key("ExecuteExperiment")
+  String ExecuteExperiment();
+
+  /**
+   * Translated "Execution".
+   * 
+   * @return translated "Execution"
+   */
+  @DefaultStringValue("Execution")
+  @Key("Execution")
+  String Execution();
+
+  /**
+   * Translated "Experiments".
+   * 
+   * @return translated "Experiments"
+   */
+  @DefaultStringValue("Experiments")
+  @Key("Experiments")
+  String Experiments();
+
+  /**
+   * Translated "Friday".
+   * 
+   * @return translated "Friday"
+   */
+  @DefaultStringValue("Friday")
+  @Key("Friday")
+  String Friday();
+
+  /**
+   * Translated "Label".
+   * 
+   * @return translated "Label"
+   */
+  @DefaultStringValue("Label")
+  @Key("Label")
+  String Label();
+
+  /**
+   * Translated "Last Duration".
+   * 
+   * @return translated "Last Duration"
+   */
+  @DefaultStringValue("Last Duration")
+  @Key("LastDuration")
+  String LastDuration();
+
+  /**
+   * Translated "Last Execution".
+   * 
+   * @return translated "Last Execution"
+   */
+  @DefaultStringValue("Last Execution")
+  @Key("LastExecution")
+  String LastExecution();
+
+  /**
+   * Translated "Monday".
+   * 
+   * @return translated "Monday"
+   */
+  @DefaultStringValue("Monday")
+  @Key("Monday")
+  String Monday();
+
+  /**
+   * Translated "Never Executed".
+   * 
+   * @return translated "Never Executed"
+   */
+  @DefaultStringValue("Never Executed")
+  @Key("NeverExecuted")
+  String NeverExecuted();
+
+  /**
+   * Translated "Next Execution".
+   * 
+   * @return translated "Next Execution"
+   */
+  @DefaultStringValue("Next Execution")
+  @Key("NextExecution")
+  String NextExecution();
+
+  /**
+   * Translated "Perform now".
+   * 
+   * @return translated "Perform now"
+   */
+  @DefaultStringValue("Perform now")
+  @Key("PerformNow")
+  String PerformNow();
+
+  /**
+   * Translated "Remaining Time".
+   * 
+   * @return translated "Remaining Time"
+   */
+  @DefaultStringValue("Remaining Time")
+  @Key("RemainingTime")
+  String RemainingTime();
+
+  /**
+   * Translated "Repeat".
+   * 
+   * @return translated "Repeat"
+   */
+  @DefaultStringValue("Repeat")
+  @Key("Repeat")
+  String Repeat();
+
+  /**
+   * Translated "Saturday".
+   * 
+   * @return translated "Saturday"
+   */
+  @DefaultStringValue("Saturday")
+  @Key("Saturday")
+  String Saturday();
+
+  /**
+   * Translated "Scenario".
+   * 
+   * @return translated "Scenario"
+   */
+  @DefaultStringValue("Scenario")
+  @Key("Scenario")
+  String Scenario();
+
+  /**
+   * Translated "Scheduled Experiments".
+   * 
+   * @return translated "Scheduled Experiments"
+   */
+  @DefaultStringValue("Scheduled Experiments")
+  @Key("ScheduledExperiments")
+  String ScheduledExperiments();
+
+  /**
+   * Translated "Start".
+   * 
+   * @return translated "Start"
+   */
+  @DefaultStringValue("Start")
+  @Key("Start")
+  String Start();
+
+  /**
+   * Translated "Start Time".
+   * 
+   * @return translated "Start Time"
+   */
+  @DefaultStringValue("Start Time")
+  @Key("StartTime")
+  String StartTime();
+
+  /**
+   * Translated "Sunday".
+   * 
+   * @return translated "Sunday"
+   */
+  @DefaultStringValue("Sunday")
+  @Key("Sunday")
+  String Sunday();
+
+  /**
+   * Translated "Thursday".
+   * 
+   * @return translated "Thursday"
+   */
+  @DefaultStringValue("Thursday")
+  @Key("Thursday")
+  String Thursday();
+
+  /**
+   * Translated "Tuesday".
+   * 
+   * @return translated "Tuesday"
+   */
+  @DefaultStringValue("Tuesday")
+  @Key("Tuesday")
+  String Tuesday();
+
+  /**
+   * Translated "Unique Execution".
+   * 
+   * @return translated "Unique Execution"
+   */
+  @DefaultStringValue("Unique Execution")
+  @Key("UniqueExecution")
+  String UniqueExecution();
+
+  /**
+   * Translated "Wednesday".
+   * 
+   * @return translated "Wednesday"
+   */
+  @DefaultStringValue("Wednesday")
+  @Key("Wednesday")
+  String Wednesday();
+
+  /**
+   * Translated "Weekdays".
+   * 
+   * @return translated "Weekdays"
+   */
+  @DefaultStringValue("Weekdays")
+  @Key("Weekdays")
+  String Weekdays();
+
+  /**
+   * Translated "Abort Current Experiment".
+   * 
+   * @return translated "Abort Current Experiment"
+   */
+  @DefaultStringValue("Abort Current Experiment")
+  @Key("abortExperiment")
+  String abortExperiment();
+
+  /**
+   * Translated "Aborted".
+   * 
+   * @return translated "Aborted"
+   */
+  @DefaultStringValue("Aborted")
+  @Key("aborted")
+  String aborted();
+
+  /**
+   * Translated "Controller Queue".
+   * 
+   * @return translated "Controller Queue"
+   */
+  @DefaultStringValue("Controller Queue")
+  @Key("controllerQueue")
+  String controllerQueue();
+
+  /**
+   * Translated "execute when controller is ready".
+   * 
+   * @return translated "execute when controller is ready"
+   */
+  @DefaultStringValue("execute when controller is ready")
+  @Key("execOnReady")
+  String execOnReady();
+
+  /**
+   * Translated "schedule execution".
+   * 
+   * @return translated "schedule execution"
+   */
+  @DefaultStringValue("schedule execution")
+  @Key("execSchedule")
+  String execSchedule();
+
+  /**
+   * Translated "Execute Experiment".
+   * 
+   * @return translated "Execute Experiment"
+   */
+  @DefaultStringValue("Execute Experiment")
+  @Key("executeExperiment")
+  String executeExperiment();
+
+  /**
+   * Translated "History".
+   * 
+   * @return translated "History"
+   */
+  @DefaultStringValue("History")
+  @Key("history")
+  String history();
+
+  /**
+   * Translated "Schedule Experiment".
+   * 
+   * @return translated "Schedule Experiment"
+   */
+  @DefaultStringValue("Schedule Experiment")
+  @Key("scheduleExperiment")
+  String scheduleExperiment();
+}
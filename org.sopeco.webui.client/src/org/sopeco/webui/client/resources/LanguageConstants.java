@@ -6,15 +6,6 @@ package org.sopeco.webui.client.resources;
  */
 public interface LanguageConstants extends com.google.gwt.i18n.client.Constants {
   
-  /**
-   * Translated "Account".
-   * 
-   * @return translated "Account"
-   */
-  @DefaultStringValue("Account")
-  @Key("Account")
-  String Account();
-
   /**
    * Translated "Add scenario".
    * 
@@ -33,15 +24,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("AddSpecification")
   String AddSpecification();
 
-  /**
-   * Translated "Added".
-   * 
-   * @return translated "Added"
-   */
-  @DefaultStringValue("Added")
-  @Key("Added")
-  String Added();
-
   /**
    * Translated "Cancel".
    * 
@@ -69,15 +51,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("Close")
   String Close();
 
-  /**
-   * Translated "Controller".
-   * 
-   * @return translated "Controller"
-   */
-  @DefaultStringValue("Controller")
-  @Key("Controller")
-  String Controller();
-
   /**
    * Translated "Create scenario".
    * 
@@ -96,15 +69,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("Duplicate")
   String Duplicate();
 
-  /**
-   * Translated "Elapsed Time".
-   * 
-   * @return translated "Elapsed Time"
-   */
-  @DefaultStringValue("Elapsed Time")
-  @Key("ElapsedTime")
-  String ElapsedTime();
-
   /**
    * Translated "Execute".
    * 
@@ -114,24 +78,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("Execute")
   String Execute();
 
-  /**
-   * Translated "Execute Experiment".
-   * 
-   * @return translated "Execute Experiment"
-   */
-  @DefaultStringValue("Execute Experiment")
-  @Key("ExecuteExperiment")
-  String ExecuteExperiment();
-
-  /**
-   * Translated "Execution".
-   * 
-   * @return translated "Execution"
-   */
-  @DefaultStringValue("Execution")
-  @Key("Execution")
-  String Execution();
-
   /**
    * Translated "The experiment was automatically added to the queue, because it is a repetition.".
    * 
@@ -150,15 +96,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("ExperimentSeries")
   String ExperimentSeries();
 
-  /**
-   * Translated "Experiments".
-   * 
-   * @return translated "Experiments"
-   */
-  @DefaultStringValue("Experiments")
-  @Key("Experiments")
-  String Experiments();
-
   /**
    * Translated "Export".
    * 
@@ -177,42 +114,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("FirstRepeatAfterStart")
   String FirstRepeatAfterStart();
 
-  /**
-   * Translated "Friday".
-   * 
-   * @return translated "Friday"
-   */
-  @DefaultStringValue("Friday")
-  @Key("Friday")
-  String Friday();
-
-  /**
-   * Translated "Label".
-   * 
-   * @return translated "Label"
-   */
-  @DefaultStringValue("Label")
-  @Key("Label")
-  String Label();
-
-  /**
-   * Translated "Last Duration".
-   * 
-   * @return translated "Last Duration"
-   */
-  @DefaultStringValue("Last Duration")
-  @Key("LastDuration")
-  String LastDuration();
-
-  /**
-   * Translated "Last Execution".
-   * 
-   * @return translated "Last Execution"
-   */
-  @DefaultStringValue("Last Execution")
-  @Key("LastExecution")
-  String LastExecution();
-
   /**
    * Translated "Logout".
    * 
@@ -222,15 +123,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("Logout")
   String Logout();
 
-  /**
-   * Translated "Monday".
-   * 
-   * @return translated "Monday"
-   */
-  @DefaultStringValue("Monday")
-  @Key("Monday")
-  String Monday();
-
   /**
    * Translated "Namespace".
    * 
@@ -240,15 +132,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("Namespace")
   String Namespace();
 
-  /**
-   * Translated "Never Executed".
-   * 
-   * @return translated "Never Executed"
-   */
-  @DefaultStringValue("Never Executed")
-  @Key("NeverExecuted")
-  String NeverExecuted();
-
   /**
    * Translated "Next".
    * 
@@ -258,15 +141,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("Next")
   String Next();
 
-  /**
-   * Translated "Next Execution".
-   * 
-   * @return translated "Next Execution"
-   */
-  @DefaultStringValue("Next Execution")
-  @Key("NextExecution")
-  String NextExecution();
-
   /**
    * Translated "Ok".
    * 
@@ -285,15 +159,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("Parameter")
   String Parameter();
 
-  /**
-   * Translated "Perform now".
-   * 
-   * @return translated "Perform now"
-   */
-  @DefaultStringValue("Perform now")
-  @Key("PerformNow")
-  String PerformNow();
-
   /**
    * Translated "Previous".
    * 
@@ -312,15 +177,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("Progress")
   String Progress();
 
-  /**
-   * Translated "Remaining Time".
-   * 
-   * @return translated "Remaining Time"
-   */
-  @DefaultStringValue("Remaining Time")
-  @Key("RemainingTime")
-  String RemainingTime();
-
   /**
    * Translated "Remove".
    * 
@@ -339,42 +195,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("Rename")
   String Rename();
 
-  /**
-   * Translated "Repeat".
-   * 
-   * @return translated "Repeat"
-   */
-  @DefaultStringValue("Repeat")
-  @Key("Repeat")
-  String Repeat();
-
-  /**
-   * Translated "Saturday".
-   * 
-   * @return translated "Saturday"
-   */
-  @DefaultStringValue("Saturday")
-  @Key("Saturday")
-  String Saturday();
-
-  /**
-   * Translated "Scenario".
-   * 
-   * @return translated "Scenario"
-   */
-  @DefaultStringValue("Scenario")
-  @Key("Scenario")
-  String Scenario();
-
-  /**
-   * Translated "Scheduled Experiments".
-   * 
-   * @return translated "Scheduled Experiments"
-   */
-  @DefaultStringValue("Scheduled Experiments")
-  @Key("ScheduledExperiments")
-  String ScheduledExperiments();
-
   /**
    * Translated "Specification".
    * 
@@ -384,15 +204,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("Specification")
   String Specification();
 
-  /**
-   * Translated "Start".
-   * 
-   * @return translated "Start"
-   */
-  @DefaultStringValue("Start")
-  @Key("Start")
-  String Start();
-
   /**
    * Translated "Start Date".
    * 
@@ -402,15 +213,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("StartDate")
   String StartDate();
 
-  /**
-   * Translated "Start Time".
-   * 
-   * @return translated "Start Time"
-   */
-  @DefaultStringValue("Start Time")
-  @Key("StartTime")
-  String StartTime();
-
   /**
    * Translated "Status".
    * 
@@ -429,33 +231,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("StoreExperiment")
   String StoreExperiment();
 
-  /**
-   * Translated "Sunday".
-   * 
-   * @return translated "Sunday"
-   */
-  @DefaultStringValue("Sunday")
-  @Key("Sunday")
-  String Sunday();
-
-  /**
-   * Translated "Thursday".
-   * 
-   * @return translated "Thursday"
-   */
-  @DefaultStringValue("Thursday")
-  @Key("Thursday")
-  String Thursday();
-
-  /**
-   * Translated "Tuesday".
-   * 
-   * @return translated "Tuesday"
-   */
-  @DefaultStringValue("Tuesday")
-  @Key("Tuesday")
-  String Tuesday();
-
   /**
    * Translated "Type".
    * 
@@ -465,15 +240,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("Type")
   String Type();
 
-  /**
-   * Translated "Unique Execution".
-   * 
-   * @return translated "Unique Execution"
-   */
-  @DefaultStringValue("Unique Execution")
-  @Key("UniqueExecution")
-  String UniqueExecution();
-
   /**
    * Translated "Value".
    * 
@@ -501,42 +267,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("Variation")
   String Variation();
 
-  /**
-   * Translated "Wednesday".
-   * 
-   * @return translated "Wednesday"
-   */
-  @DefaultStringValue("Wednesday")
-  @Key("Wednesday")
-  String Wednesday();
-
-  /**
-   * Translated "Weekdays".
-   * 
-   * @return translated "Weekdays"
-   */
-  @DefaultStringValue("Weekdays")
-  @Key("Weekdays")
-  String Weekdays();
-
-  /**
-   * Translated "Abort Current Experiment".
-   * 
-   * @return translated "Abort Current Experiment"
-   */
-  @DefaultStringValue("Abort Current Experiment")
-  @Key("abortExperiment")
-  String abortExperiment();
-
-  /**
-   * Translated "Aborted".
-   * 
-   * @return translated "Aborted"
-   */
-  @DefaultStringValue("Aborted")
-  @Key("aborted")
-  String aborted();
-
   /**
    * Translated "Aborting ...".
    * 
@@ -564,15 +294,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("accountname")
   String accountname();
 
-  /**
-   * Translated "Add account".
-   * 
-   * @return translated "Add account"
-   */
-  @DefaultStringValue("Add account")
-  @Key("addAccount")
-  String addAccount();
-
   /**
    * Translated "Add as independent parameter".
    * 
@@ -618,15 +339,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("addNamespace")
   String addNamespace();
 
-  /**
-   * Translated "Add new account".
-   * 
-   * @return translated "Add new account"
-   */
-  @DefaultStringValue("Add new account")
-  @Key("addNewAccount")
-  String addNewAccount();
-
   /**
    * Translated "Add new parameter".
    * 
@@ -834,15 +546,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("confRemoveScenario")
   String confRemoveScenario();
 
-  /**
-   * Translated "Confirm password".
-   * 
-   * @return translated "Confirm password"
-   */
-  @DefaultStringValue("Confirm password")
-  @Key("confirmPassword")
-  String confirmPassword();
-
   /**
    * Translated "connect to".
    * 
@@ -906,15 +609,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("controllerHasNoInfos")
   String controllerHasNoInfos();
 
-  /**
-   * Translated "Controller Queue".
-   * 
-   * @return translated "Controller Queue"
-   */
-  @DefaultStringValue("Controller Queue")
-  @Key("controllerQueue")
-  String controllerQueue();
-
   /**
    * Translated "MEC state unchecked".
    * 
@@ -960,15 +654,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("creatingScenario")
   String creatingScenario();
 
-  /**
-   * Translated "Enter the desired separator which should be used for the CSV file.".
-   * 
-   * @return translated "Enter the desired separator which should be used for the CSV file."
-   */
-  @DefaultStringValue("Enter the desired separator which should be used for the CSV file.")
-  @Key("csvExportDesc")
-  String csvExportDesc();
-
   /**
    * Translated "Data processing".
    * 
@@ -978,15 +663,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("dataProcessing")
   String dataProcessing();
 
-  /**
-   * Translated "Database".
-   * 
-   * @return translated "Database"
-   */
-  @DefaultStringValue("Database")
-  @Key("database")
-  String database();
-
   /**
    * Translated "Account password".
    * 
@@ -1023,15 +699,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("directInput")
   String directInput();
 
-  /**
-   * Translated "Download".
-   * 
-   * @return translated "Download"
-   */
-  @DefaultStringValue("Download")
-  @Key("download")
-  String download();
-
   /**
    * Translated "Empty tokens are not supported".
    * 
@@ -1095,24 +762,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("errorCssLoading")
   String errorCssLoading();
 
-  /**
-   * Translated "execute when controller is ready".
-   * 
-   * @return translated "execute when controller is ready"
-   */
-  @DefaultStringValue("execute when controller is ready")
-  @Key("execOnReady")
-  String execOnReady();
-
-  /**
-   * Translated "schedule execution".
-   * 
-   * @return translated "schedule execution"
-   */
-  @DefaultStringValue("schedule execution")
-  @Key("execSchedule")
-  String execSchedule();
-
   /**
    * Translated "Execute".
    * 
@@ -1122,15 +771,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("execute")
   String execute();
 
-  /**
-   * Translated "Execute Experiment".
-   * 
-   * @return translated "Execute Experiment"
-   */
-  @DefaultStringValue("Execute Experiment")
-  @Key("executeExperiment")
-  String executeExperiment();
-
   /**
    * Translated "Experiment Assignments".
    * 
@@ -1194,24 +834,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("exportModel")
   String exportModel();
 
-  /**
-   * Translated "Export Result into a CSV File".
-   * 
-   * @return translated "Export Result into a CSV File"
-   */
-  @DefaultStringValue("Export Result into a CSV File")
-  @Key("exportToCsv")
-  String exportToCsv();
-
-  /**
-   * Translated "Export to R".
-   * 
-   * @return translated "Export to R"
-   */
-  @DefaultStringValue("Export to R")
-  @Key("exportToR")
-  String exportToR();
-
   /**
    * Translated "Failed loading accounts..".
    * 
@@ -1266,15 +888,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("getMEfromMEC")
   String getMEfromMEC();
 
-  /**
-   * Translated "Get R-Command".
-   * 
-   * @return translated "Get R-Command"
-   */
-  @DefaultStringValue("Get R-Command")
-  @Key("getRCommand")
-  String getRCommand();
-
   /**
    * Translated "Hide".
    * 
@@ -1302,15 +915,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("hideThisArea")
   String hideThisArea();
 
-  /**
-   * Translated "History".
-   * 
-   * @return translated "History"
-   */
-  @DefaultStringValue("History")
-  @Key("history")
-  String history();
-
   /**
    * Translated "Host".
    * 
@@ -1491,42 +1095,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("mecontrollerSettings")
   String mecontrollerSettings();
 
-  /**
-   * Translated "Account with the specified name already exists".
-   * 
-   * @return translated "Account with the specified name already exists"
-   */
-  @DefaultStringValue("Account with the specified name already exists")
-  @Key("msgAccountExists")
-  String msgAccountExists();
-
-  /**
-   * Translated "Field must not be empty".
-   * 
-   * @return translated "Field must not be empty"
-   */
-  @DefaultStringValue("Field must not be empty")
-  @Key("msgFieldNotEmpty")
-  String msgFieldNotEmpty();
-
-  /**
-   * Translated "Field must not start with a number".
-   * 
-   * @return translated "Field must not start with a number"
-   */
-  @DefaultStringValue("Field must not start with a number")
-  @Key("msgFieldNotStartNumber")
-  String msgFieldNotStartNumber();
-
-  /**
-   * Translated "Please use only following characters: a-z A-Z 0-9 _".
-   * 
-   * @return translated "Please use only following characters: a-z A-Z 0-9 _"
-   */
-  @DefaultStringValue("Please use only following characters: a-z A-Z 0-9 _")
-  @Key("msgNoSpecialChars")
-  String msgNoSpecialChars();
-
   /**
    * Translated "The username or password is incorrect".
    * 
@@ -1536,24 +1104,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("msgPasswordIncorrect")
   String msgPasswordIncorrect();
 
-  /**
-   * Translated "Password does not match".
-   * 
-   * @return translated "Password does not match"
-   */
-  @DefaultStringValue("Password does not match")
-  @Key("msgPasswordNotMatch")
-  String msgPasswordNotMatch();
-
-  /**
-   * Translated "Port must be between 0 and 65535".
-   * 
-   * @return translated "Port must be between 0 and 65535"
-   */
-  @DefaultStringValue("Port must be between 0 and 65535")
-  @Key("msgPortMustBeInRange")
-  String msgPortMustBeInRange();
-
   /**
    * Translated "Name".
    * 
@@ -1572,15 +1122,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("nameForExperimentClone")
   String nameForExperimentClone();
 
-  /**
-   * Translated "New chart".
-   * 
-   * @return translated "New chart"
-   */
-  @DefaultStringValue("New chart")
-  @Key("newChart")
-  String newChart();
-
   /**
    * Translated "New name of the ExperimentSeries".
    * 
@@ -1680,6 +1221,15 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("noMecStarted")
   String noMecStarted();
 
+  /**
+   * Translated "No open default port found".
+   * 
+   * @return translated "No open default port found"
+   */
+  @DefaultStringValue("No open default port found")
+  @Key("noOpenPort")
+  String noOpenPort();
+
   /**
    * Translated "-- no accounts --".
    * 
@@ -1752,6 +1302,15 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("online")
   String online();
 
+  /**
+   * Translated "Open ports".
+   * 
+   * @return translated "Open ports"
+   */
+  @DefaultStringValue("Open ports")
+  @Key("openPorts")
+  String openPorts();
+
   /**
    * Translated "optional".
    * 
@@ -1824,15 +1383,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("pw_remove_db")
   String pw_remove_db();
 
-  /**
-   * Translated "Exports the selected DataSet to R".
-   * 
-   * @return translated "Exports the selected DataSet to R"
-   */
-  @DefaultStringValue("Exports the selected DataSet to R")
-  @Key("rExportDesc")
-  String rExportDesc();
-
   /**
    * Translated "Refresh".
    * 
@@ -2032,13 +1582,22 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   String scenario_select();
 
   /**
-   * Translated "Schedule Experiment".
+   * Translated "Search default ports".
+   * 
+   * @return translated "Search default ports"
+   */
+  @DefaultStringValue("Search default ports")
+  @Key("searchDefaultPorts")
+  String searchDefaultPorts();
+
+  /**
+   * Translated "searching for open ports..".
    * 
-   * @return translated "Schedule Experiment"
+   * @return translated "searching for open ports.."
    */
-  @DefaultStringValue("Schedule Experiment")
-  @Key("scheduleExperiment")
-  String scheduleExperiment();
+  @DefaultStringValue("searching for open ports..")
+  @Key("searchingPorts")
+  String searchingPorts();
 
   /**
    * Translated ">> SELECT".
@@ -2247,15 +1806,6 @@ public interface LanguageConstants extends com.google.gwt.i18n.client.Constants
   @Key("unknown")
   String unknown();
 
-  /**
-   * Translated "Use own database".
-   * 
-   * @return translated "Use own database"
-   */
-  @DefaultStringValue("Use own database")
-  @Key("useOwnDatabase")
-  String useOwnDatabase();
-
   /**
    * Translated "Visualization".
    * 
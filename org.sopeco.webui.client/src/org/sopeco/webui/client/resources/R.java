@@ -40,4 +40,35 @@ public final class R {
 
 	private R() {
 	}
+
+	/**
+	 * Constants of the execute view. The class is only referenced by the code
+	 * of the view, so the constants are loaded with its code fragment.
+	 */
+	public static final class Execute {
+		public static final ExecuteConstants lang = GWT.create(ExecuteConstants.class);
+
+		private Execute() {
+		}
+	}
+
+	/**
+	 * Constants of the result view and its export dialogs.
+	 */
+	public static final class Result {
+		public static final ResultConstants lang = GWT.create(ResultConstants.class);
+
+		private Result() {
+		}
+	}
+
+	/**
+	 * Constants of the create account view.
+	 */
+	public static final class Account {
+		public static final AccountConstants lang = GWT.create(AccountConstants.class);
+
+		private Account() {
+		}
+	}
 }
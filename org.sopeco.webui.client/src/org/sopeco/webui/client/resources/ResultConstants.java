@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.client.resources;
+
+/**
+ * Constants of the result view and its export dialogs. They are separated from the
+ * {@link LanguageConstants}, so they are only downloaded with the code
+ * fragment of this view. Use them through {@link R.Result#lang}.
+ */
+public interface ResultConstants extends com.google.gwt.i18n.client.Constants {
+  
+  /**
+   * Translated "Enter the desired separator which should be used for the CSV file.".
+   * 
+   * @return translated "Enter the desired separator which should be used for the CSV file."
+   */
+  @DefaultStringValue("Enter the desired separator which should be used for the CSV file.")
+  @Key("csvExportDesc")
+  String csvExportDesc();
+
+  /**
+   * Translated "Download".
+   * 
+   * @return translated "Download"
+   */
+  @DefaultStringValue("Download")
+  @Key("download")
+  String download();
+
+  /**
+   * Translated "Export Result into a CSV File".
+   * 
+   * @return translated "Export Result into a CSV File"
+   */
+  @DefaultStringValue("Export Result into a CSV File")
+  @Key("exportToCsv")
+  String exportToCsv();
+
+  /**
+   * Translated "Export to R".
+   * 
+   * @return translated "Export to R"
+   */
+  @DefaultStringValue("Export to R")
+  @Key("exportToR")
+  String exportToR();
+
+  /**
+   * Translated "Get R-Command".
+   * 
+   * @return translated "Get R-Command"
+   */
+  @DefaultStringValue("Get R-Command")
+  @Key("getRCommand")
+  String getRCommand();
+
+  /**
+   * Translated "New chart".
+   * 
+   * @return translated "New chart"
+   */
+  @DefaultStringValue("New chart")
+  @Key("newChart")
+  String newChart();
+
+  /**
+   * Translated "Exports the selected DataSet to R".
+   * 
+   * @return translated "Exports the selected DataSet to R"
+   */
+  @DefaultStringValue("Exports the selected DataSet to R")
+  @Key("rExportDesc")
+  String rExportDesc();
+}
@@ -0,0 +1,302 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.client.manager.helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import junit.framework.Assert;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sopeco.persistence.entities.definition.ConstantValueAssignment;
+import org.sopeco.persistence.entities.definition.ExperimentSeriesDefinition;
+import org.sopeco.persistence.entities.definition.ExperimentTerminationCondition;
+import org.sopeco.persistence.entities.definition.ExplorationStrategy;
+import org.sopeco.persistence.entities.definition.MeasurementEnvironmentDefinition;
+import org.sopeco.persistence.entities.definition.MeasurementSpecification;
+import org.sopeco.persistence.entities.definition.ParameterDefinition;
+import org.sopeco.persistence.entities.definition.ParameterNamespace;
+import org.sopeco.persistence.entities.definition.ParameterRole;
+import org.sopeco.persistence.entities.definition.ScenarioDefinition;
+
+/**
+ * Tests the {@link Duplicator}: the clones must be independent of their source,
+ * but share the immutable names and values.
+ *
+ * @author agent
+ *
+ */
+public class DuplicatorTest {
+
+	private ScenarioDefinition scenario;
+	private ParameterNamespace root;
+	private ParameterNamespace child;
+	private ParameterDefinition input;
+	private ParameterDefinition observation;
+	private ExperimentSeriesDefinition experiment;
+
+	@Before
+	public void setup() {
+		root = new ParameterNamespace();
+		root.setName("root");
+
+		child = new ParameterNamespace();
+		child.setName("child");
+		child.setParent(root);
+		root.getChildren().add(child);
+
+		input = createParameter("input", "INTEGER", ParameterRole.INPUT, root);
+		observation = createParameter("observation", "DOUBLE", ParameterRole.OBSERVATION, child);
+
+		MeasurementEnvironmentDefinition environment = new MeasurementEnvironmentDefinition();
+		environment.setRoot(root);
+		environment.getSupportedTerminationConditions().add(createTerminationCondition());
+
+		ExplorationStrategy strategy = new ExplorationStrategy();
+		strategy.getConfiguration().put("strategy", "Full Exploration");
+
+		experiment = new ExperimentSeriesDefinition();
+		experiment.setName("experiment");
+		experiment.setExplorationStrategy(strategy);
+		experiment.addTerminationCondition(createTerminationCondition());
+		experiment.getExperimentAssignments().add(createConstant(input, "1"));
+		experiment.getPreperationAssignments().add(createConstant(input, "2"));
+
+		MeasurementSpecification specification = new MeasurementSpecification();
+		specification.setName("specification");
+		specification.getExperimentSeriesDefinitions().add(experiment);
+		specification.getInitializationAssignemts().add(createConstant(input, "3"));
+
+		scenario = new ScenarioDefinition();
+		scenario.setScenarioName("scenario");
+		scenario.setMeasurementEnvironmentDefinition(environment);
+		scenario.getMeasurementSpecifications().add(specification);
+	}
+
+	@Test
+	public void testCloneNamespaceKeepsSource() {
+		ParameterNamespace clone = Duplicator.cloneNamespace(root);
+
+		Assert.assertSame(root, input.getNamespace());
+		Assert.assertSame(child, observation.getNamespace());
+		Assert.assertSame(root, child.getParent());
+
+		ParameterDefinition cloneInput = clone.getParameters().get(0);
+		ParameterNamespace cloneChild = clone.getChildren().get(0);
+		Assert.assertNotSame(input, cloneInput);
+		Assert.assertSame(clone, cloneInput.getNamespace());
+		Assert.assertSame(clone, cloneChild.getParent());
+		Assert.assertSame(cloneChild, cloneChild.getParameters().get(0).getNamespace());
+	}
+
+	@Test
+	public void testCloneScenarioSharesLeaves() {
+		ScenarioDefinition clone = Duplicator.cloneScenario(scenario);
+
+		ParameterNamespace cloneRoot = clone.getMeasurementEnvironmentDefinition().getRoot();
+		ParameterDefinition cloneInput = cloneRoot.getParameters().get(0);
+		ExperimentSeriesDefinition cloneExperiment = clone.getMeasurementSpecifications().get(0)
+				.getExperimentSeriesDefinitions().get(0);
+
+		Assert.assertSame(scenario.getScenarioName(), clone.getScenarioName());
+		Assert.assertSame(root.getName(), cloneRoot.getName());
+		Assert.assertSame(input.getName(), cloneInput.getName());
+		Assert.assertSame(input.getType(), cloneInput.getType());
+		Assert.assertSame(experiment.getName(), cloneExperiment.getName());
+		Assert.assertSame(experiment.getExplorationStrategy().getConfiguration().get("strategy"), cloneExperiment
+				.getExplorationStrategy().getConfiguration().get("strategy"));
+	}
+
+	@Test
+	public void testCloneScenarioIsIndependent() {
+		ScenarioDefinition clone = Duplicator.cloneScenario(scenario);
+
+		MeasurementSpecification cloneSpecification = clone.getMeasurementSpecifications().get(0);
+		ExperimentSeriesDefinition cloneExperiment = cloneSpecification.getExperimentSeriesDefinitions().get(0);
+		ParameterDefinition cloneInput = clone.getMeasurementEnvironmentDefinition().getRoot().getParameters().get(0);
+
+		// the assignments refer to the parameters of the cloned environment
+		Assert.assertSame(cloneInput, cloneExperiment.getExperimentAssignments().get(0).getParameter());
+		Assert.assertSame(cloneInput, cloneExperiment.getPreperationAssignments().get(0).getParameter());
+		Assert.assertSame(cloneInput, cloneSpecification.getInitializationAssignemts().get(0).getParameter());
+
+		cloneExperiment.setName("changed");
+		cloneExperiment.getExplorationStrategy().getConfiguration().put("strategy", "changed");
+		cloneExperiment.getPreperationAssignments().get(0).setValue("changed");
+		cloneSpecification.getInitializationAssignemts().clear();
+		cloneInput.setName("changed");
+
+		Assert.assertEquals("experiment", experiment.getName());
+		Assert.assertEquals("Full Exploration", experiment.getExplorationStrategy().getConfiguration().get("strategy"));
+		Assert.assertEquals("2", experiment.getPreperationAssignments().get(0).getValue());
+		Assert.assertEquals(1, scenario.getMeasurementSpecifications().get(0).getInitializationAssignemts().size());
+		Assert.assertEquals("input", input.getName());
+		Assert.assertSame(input, experiment.getExperimentAssignments().get(0).getParameter());
+		Assert.assertSame(root, input.getNamespace());
+	}
+
+	@Test
+	public void testCloneExperimentKeepsParameters() {
+		ExperimentSeriesDefinition clone = Duplicator.cloneExperiment(experiment);
+
+		Assert.assertNotSame(experiment.getExperimentAssignments().get(0), clone.getExperimentAssignments().get(0));
+		Assert.assertSame(input, clone.getExperimentAssignments().get(0).getParameter());
+		Assert.assertSame(input, clone.getPreperationAssignments().get(0).getParameter());
+	}
+
+	/**
+	 * Every entity of the source is copied exactly once, no name or value is
+	 * copied. The values of the assignments are copied by their own clone
+	 * method and not checked here.
+	 */
+	@Test
+	public void testCloneScenarioAllocations() {
+		ScenarioDefinition clone = Duplicator.cloneScenario(scenario);
+
+		Set<Object> sourceEntities = entities(scenario);
+		Set<Object> cloneEntities = entities(clone);
+		Assert.assertEquals(sourceEntities.size(), cloneEntities.size());
+		for (Object entity : cloneEntities) {
+			Assert.assertFalse(sourceEntities.contains(entity));
+		}
+
+		Set<Object> sourceLeaves = leaves(scenario);
+		for (Object leaf : leaves(clone)) {
+			Assert.assertTrue("Copied value " + leaf, sourceLeaves.contains(leaf));
+		}
+	}
+
+	/**
+	 * Collects the entities of the scenario, identified by their reference.
+	 */
+	private static Set<Object> entities(ScenarioDefinition scenario) {
+		Set<Object> result = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+		result.add(scenario);
+		result.add(scenario.getMeasurementEnvironmentDefinition());
+		result.addAll(scenario.getMeasurementEnvironmentDefinition().getSupportedTerminationConditions());
+		for (ParameterNamespace namespace : namespaces(scenario.getMeasurementEnvironmentDefinition().getRoot())) {
+			result.add(namespace);
+			result.addAll(namespace.getParameters());
+		}
+		for (MeasurementSpecification specification : scenario.getMeasurementSpecifications()) {
+			result.add(specification);
+			result.addAll(specification.getInitializationAssignemts());
+			for (ExperimentSeriesDefinition esd : specification.getExperimentSeriesDefinitions()) {
+				result.add(esd);
+				result.add(esd.getExplorationStrategy());
+				result.addAll(esd.getTerminationConditions());
+				result.addAll(esd.getExperimentAssignments());
+				result.addAll(esd.getPreperationAssignments());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Collects the names and configuration values of the scenario, identified
+	 * by their reference.
+	 */
+	private static Set<Object> leaves(ScenarioDefinition scenario) {
+		Set<Object> result = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+		result.add(scenario.getScenarioName());
+		for (ExperimentTerminationCondition etc : scenario.getMeasurementEnvironmentDefinition()
+				.getSupportedTerminationConditions()) {
+			addLeaves(etc, result);
+		}
+		for (ParameterNamespace namespace : namespaces(scenario.getMeasurementEnvironmentDefinition().getRoot())) {
+			result.add(namespace.getName());
+			for (ParameterDefinition pd : namespace.getParameters()) {
+				result.add(pd.getName());
+				result.add(pd.getType());
+			}
+		}
+		for (MeasurementSpecification specification : scenario.getMeasurementSpecifications()) {
+			result.add(specification.getName());
+			for (ExperimentSeriesDefinition esd : specification.getExperimentSeriesDefinitions()) {
+				result.add(esd.getName());
+				addLeaves(esd.getExplorationStrategy().getConfiguration(), result);
+				for (ExperimentTerminationCondition etc : esd.getTerminationConditions()) {
+					addLeaves(etc, result);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static void addLeaves(ExperimentTerminationCondition etc, Set<Object> result) {
+		result.add(etc.getName());
+		result.add(etc.getDescription());
+		addLeaves(etc.getParametersValues(), result);
+		addLeaves(etc.getParametersDefaultValues(), result);
+	}
+
+	private static void addLeaves(Map<String, String> map, Set<Object> result) {
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			result.add(entry.getKey());
+			result.add(entry.getValue());
+		}
+	}
+
+	private static List<ParameterNamespace> namespaces(ParameterNamespace namespace) {
+		List<ParameterNamespace> result = new ArrayList<ParameterNamespace>();
+		result.add(namespace);
+		for (ParameterNamespace child : namespace.getChildren()) {
+			result.addAll(namespaces(child));
+		}
+		return result;
+	}
+
+	private static ParameterDefinition createParameter(String name, String type, ParameterRole role,
+			ParameterNamespace namespace) {
+		ParameterDefinition parameter = new ParameterDefinition();
+		parameter.setName(name);
+		parameter.setType(type);
+		parameter.setRole(role);
+		parameter.setNamespace(namespace);
+		namespace.getParameters().add(parameter);
+		return parameter;
+	}
+
+	private static ExperimentTerminationCondition createTerminationCondition() {
+		ExperimentTerminationCondition condition = new ExperimentTerminationCondition("timeout", "Stops after a time");
+		condition.getParametersDefaultValues().put("duration", "60");
+		condition.getParametersValues().put("duration", "120");
+		return condition;
+	}
+
+	private static ConstantValueAssignment createConstant(ParameterDefinition parameter, String value) {
+		ConstantValueAssignment assignment = new ConstantValueAssignment();
+		assignment.setParameter(parameter);
+		assignment.setValue(value);
+		return assignment;
+	}
+}
@@ -38,6 +38,15 @@ import javax.servlet.ServletContextListener;
 import org.sopeco.config.Configuration;
 import org.sopeco.config.IConfiguration;
 import org.sopeco.config.exception.ConfigurationException;
+import org.sopeco.webui.server.metrics.MetricsRegistry;
+import org.sopeco.webui.server.persistence.UiDatabaseMaintenance;
+import org.sopeco.webui.server.persistence.UiPersistenceProvider;
+import org.sopeco.webui.server.rpc.ExecutionStatusPublisher;
+import org.sopeco.webui.server.rpc.ExtensionCatalog;
+import org.sopeco.webui.server.rpc.ScheduleSynchronizer;
+import org.sopeco.webui.server.rpc.scenario.MECStatusMonitor;
+import org.sopeco.webui.server.security.Crypto;
+import org.sopeco.webui.shared.metrics.Metrics;
 
 /**
  * 
@@ -58,11 +67,42 @@ public final class StartUp implements ServletContextListener {
 				StartUp.class.getClassLoader(), configurationFile);
 
 		IConfiguration cc = Configuration.getSessionSingleton(Configuration.getGlobalSessionId());
+		
+		ExtensionCatalog.instance().refresh();
+		
+		MECStatusMonitor.instance().start(getLongProperty(cc, UiConfiguration.MEC_STATUS_INTERVAL,
+				MECStatusMonitor.DEFAULT_INTERVAL));
+
+		UiDatabaseMaintenance.instance().start(
+				getLongProperty(cc, UiConfiguration.MAINTENANCE_INTERVAL, UiDatabaseMaintenance.DEFAULT_INTERVAL),
+				(int) getLongProperty(cc, UiConfiguration.MAINTENANCE_BATCH_SIZE,
+						UiDatabaseMaintenance.DEFAULT_BATCH_SIZE));
+	}
+
+	private long getLongProperty(IConfiguration cc, String key, long defaultValue) {
+		Object value = cc.getProperty(key);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.toString().trim());
+		} catch (NumberFormatException e) {
+			LOGGER.warning("Invalid value '" + value + "' for " + key + ", using " + defaultValue);
+			return defaultValue;
+		}
 	}
 
 	@Override
 	public void contextDestroyed(ServletContextEvent arg0) {
 		LOGGER.info("Destroying webapp..");
+		
+		MECStatusMonitor.instance().stop();
+		ExecutionStatusPublisher.instance().stop();
+		ScheduleSynchronizer.instance().stop();
+		UiDatabaseMaintenance.instance().stop();
+		UiPersistenceProvider.shutdown();
+		Metrics.setBackend(null);
+		Crypto.shutdown();
 
 		Enumeration<Driver> drivers = DriverManager.getDrivers();
 		while (drivers.hasMoreElements()) {
@@ -84,7 +124,9 @@ public final class StartUp implements ServletContextListener {
 	@Override
 	public void contextInitialized(ServletContextEvent arg0) {
 		LOGGER.info("Starting webapp..");
-		
+		
+		Metrics.setBackend(MetricsRegistry.instance());
+
 		try {
 			loadConfiguration();
 		} catch (ConfigurationException e) {
@@ -34,12 +34,17 @@ package org.sopeco.webui.server;
 public abstract class UiConfiguration {
 	
 
-	// settings for JPA database
+	// default settings for JPA database
 	public static final String PERSISTENCE_HOST 	= "localhost";
 	public static final int PERSISTENCE_PORT 		= 1527;
 	public static final String PERSISTENCE_NAME 	= "sopeco-webui";
 	public static final String PERSISTENCE_USER 	= "sopeco_webui";
 	public static final String PERSISTENCE_PASSWORD = "sopeco_webui";
+	public static final int PERSISTENCE_POOL_MIN 	= 2;
+	public static final int PERSISTENCE_POOL_MAX 	= 10;
+	public static final int PERSISTENCE_POOL_MAX_WAIT = 5000;
+	public static final int PERSISTENCE_POOL_VALIDATION_TIMEOUT = 2;
+	public static final int PERSISTENCE_STATEMENT_CACHE = 50;
 	
 	// setting for SPC SL
 	public static final String SPC_SL_URLprefix		= "http://localhost:8080";
@@ -47,6 +52,10 @@ public abstract class UiConfiguration {
 	
 	public static final String USER_TIMEOUT = "sopeco.ui.userTimeout";
 	public static final String TIMEOUT_CHECK_INTERVAL = "sopeco.ui.timeoutCheckInterval";
+	public static final String MEC_STATUS_INTERVAL = "sopeco.ui.mec.statusInterval";
+	public static final String RPC_SLOW_CALL_THRESHOLD = "sopeco.ui.rpc.slowCallThreshold";
+	public static final String MAINTENANCE_INTERVAL = "sopeco.ui.maintenance.interval";
+	public static final String MAINTENANCE_BATCH_SIZE = "sopeco.ui.maintenance.batchSize";
 
 	public static final String META_DATA_HOST = "sopeco.config.persistence.metaServer.host";
 	public static final String META_DATA_PORT = "sopeco.config.persistence.metaServer.port";
@@ -54,6 +63,14 @@ public abstract class UiConfiguration {
 	public static final String SOPECO_UI_DATABASE_NAME = "sopeco.ui.persistence.name";
 	public static final String SOPECO_UI_DATABASE_USER = "sopeco.ui.persistence.user";
 	public static final String SOPECO_UI_DATABASE_PASSWORD = "sopeco.ui.persistence.password";
+	public static final String SOPECO_UI_DATABASE_MODE = "sopeco.ui.persistence.mode";
+	public static final String SOPECO_UI_DATABASE_HOST = "sopeco.ui.persistence.host";
+	public static final String SOPECO_UI_DATABASE_PORT = "sopeco.ui.persistence.port";
+	public static final String SOPECO_UI_DATABASE_POOL_MIN = "sopeco.ui.persistence.pool.minSize";
+	public static final String SOPECO_UI_DATABASE_POOL_MAX = "sopeco.ui.persistence.pool.maxSize";
+	public static final String SOPECO_UI_DATABASE_POOL_MAX_WAIT = "sopeco.ui.persistence.pool.maxWait";
+	public static final String SOPECO_UI_DATABASE_POOL_VALIDATION_TIMEOUT = "sopeco.ui.persistence.pool.validationTimeout";
+	public static final String SOPECO_UI_DATABASE_STATEMENT_CACHE = "sopeco.ui.persistence.statementCacheSize";
 
 	public static final String SOPECO_UI_USERTIMEOUT = "sopeco.ui.userTimeout";
 
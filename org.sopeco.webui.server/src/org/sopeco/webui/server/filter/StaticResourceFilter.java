@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.filter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves the output of the GWT compiler cache friendly:<br />
+ * - files named <code>*.cache.*</code> contain a hash of their content in the
+ * name and are cached by the browser for one year without revalidation<br />
+ * - files named <code>*.nocache.*</code> must always be revalidated<br />
+ * - if a precompressed variant (<code>.br</code> or <code>.gz</code>) of a
+ * requested file exists and the browser accepts the encoding, the variant is
+ * sent instead<br />
+ * All other requests (e.g. RPC calls) are passed through unchanged.
+ *
+ * @author agent
+ */
+public class StaticResourceFilter implements Filter {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StaticResourceFilter.class);
+
+	/** Init parameter to disable the precompressed variants (e.g. in development). */
+	public static final String PARAM_PRECOMPRESSED = "precompressed";
+
+	private static final String CACHE_IMMUTABLE = "public, max-age=31536000, immutable";
+
+	private static final String CACHE_REVALIDATE = "no-cache, must-revalidate";
+
+	private static final int BUFFER_SIZE = 8192;
+
+	/** Encodings in the order of preference with the extension of their files. */
+	private static final String[][] ENCODINGS = { { "br", ".br" }, { "gzip", ".gz" } };
+
+	private ServletContext context;
+
+	private boolean precompressed = true;
+
+	@Override
+	public void init(FilterConfig filterConfig) throws ServletException {
+		context = filterConfig.getServletContext();
+
+		String param = filterConfig.getInitParameter(PARAM_PRECOMPRESSED);
+		if (param != null) {
+			precompressed = Boolean.parseBoolean(param);
+		}
+
+		LOGGER.info("Serving static resources, precompressed variants {}.", precompressed ? "enabled" : "disabled");
+	}
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException,
+			ServletException {
+		HttpServletRequest req = (HttpServletRequest) request;
+		HttpServletResponse resp = (HttpServletResponse) response;
+
+		String path = req.getRequestURI().substring(req.getContextPath().length());
+
+		if (!"GET".equals(req.getMethod())) {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		if (path.contains(".cache.")) {
+			resp.setHeader("Cache-Control", CACHE_IMMUTABLE);
+		} else if (path.contains(".nocache.")) {
+			resp.setHeader("Cache-Control", CACHE_REVALIDATE);
+		} else {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		if (!precompressed || !sendPrecompressed(req, resp, path)) {
+			chain.doFilter(request, response);
+		}
+	}
+
+	/**
+	 * Sends the best precompressed variant of the given file, which is
+	 * accepted by the browser.
+	 *
+	 * @return true, if a variant has been sent
+	 */
+	private boolean sendPrecompressed(HttpServletRequest req, HttpServletResponse resp, String path)
+			throws IOException {
+		String accepted = req.getHeader("Accept-Encoding");
+		if (accepted == null) {
+			return false;
+		}
+
+		for (String[] encoding : ENCODINGS) {
+			if (!accepted.contains(encoding[0])) {
+				continue;
+			}
+
+			URL variant = context.getResource(path + encoding[1]);
+			if (variant == null) {
+				continue;
+			}
+
+			resp.setHeader("Vary", "Accept-Encoding");
+			resp.setHeader("Content-Encoding", encoding[0]);
+			String mimeType = context.getMimeType(path);
+			if (mimeType != null) {
+				resp.setContentType(mimeType);
+			}
+
+			copy(variant, resp.getOutputStream());
+			return true;
+		}
+
+		return false;
+	}
+
+	private static void copy(URL source, OutputStream target) throws IOException {
+		InputStream in = source.openStream();
+		try {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				target.write(buffer, 0, read);
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	@Override
+	public void destroy() {
+	}
+
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of durations in milliseconds. It is used for sizes in
+ * bytes, too, then the values are bytes instead. The values are counted
+ * in exponential buckets (four per power of two) between {@link #MIN_VALUE}
+ * and {@link #MAX_VALUE}, so the memory is constant and a percentile is exact
+ * up to about 19 percent. Recording a value needs no lock.
+ *
+ * @author agent
+ *
+ */
+public final class Histogram {
+
+	/** Smallest distinguished duration in milliseconds (one microsecond). */
+	public static final double MIN_VALUE = 0.001;
+
+	/** Largest distinguished duration in milliseconds (about 37 hours). */
+	public static final double MAX_VALUE = MIN_VALUE * Math.pow(2, 37);
+
+	private static final int BUCKETS_PER_POWER = 4;
+
+	private static final double LOG_GROWTH = Math.log(2) / BUCKETS_PER_POWER;
+
+	private static final int BUCKET_COUNT = 37 * BUCKETS_PER_POWER + 1;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong sumNanos = new AtomicLong();
+
+	/** Bits of the maximum as double, the bits of positive doubles sort like the values. */
+	private final AtomicLong maxBits = new AtomicLong(Double.doubleToLongBits(0));
+
+	/**
+	 * Adds a duration to the histogram. Negative values are counted as zero.
+	 *
+	 * @param millis
+	 *            the duration in milliseconds
+	 */
+	public void record(double millis) {
+		double value = millis > 0 ? millis : 0;
+
+		buckets.incrementAndGet(bucketOf(value));
+		count.incrementAndGet();
+		sumNanos.addAndGet((long) (value * 1000000));
+
+		long bits = Double.doubleToLongBits(value);
+		long current;
+		while (bits > (current = maxBits.get())) {
+			if (maxBits.compareAndSet(current, bits)) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 *
+	 * @return the number of values
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Returns the sum of all recorded values in milliseconds.
+	 *
+	 * @return the sum
+	 */
+	public double getSum() {
+		return sumNanos.get() / 1000000d;
+	}
+
+	/**
+	 * Returns the largest recorded value in milliseconds.
+	 *
+	 * @return the maximum
+	 */
+	public double getMax() {
+		return Double.longBitsToDouble(maxBits.get());
+	}
+
+	/**
+	 * Returns the estimated value, which is not exceeded by the given fraction
+	 * of all recorded values. The estimation is the upper bound of the
+	 * matching bucket, but never more than the maximum.
+	 *
+	 * @param quantile
+	 *            the fraction between 0 and 1, e.g. 0.99
+	 * @return the percentile in milliseconds, 0 if nothing has been recorded
+	 */
+	public double getPercentile(double quantile) {
+		long[] snapshot = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			snapshot[i] = buckets.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(quantile * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				return Math.min(upperBoundOf(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	private static int bucketOf(double value) {
+		if (value <= MIN_VALUE) {
+			return 0;
+		}
+		int index = (int) Math.ceil(Math.log(value / MIN_VALUE) / LOG_GROWTH);
+		return Math.min(index, BUCKET_COUNT - 1);
+	}
+
+	private static double upperBoundOf(int bucket) {
+		return MIN_VALUE * Math.exp(bucket * LOG_GROWTH);
+	}
+}
@@ -0,0 +1,284 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.MetricsBackend;
+
+/**
+ * Holds all timers and counters of the server. It is installed as backend of
+ * the {@link Metrics} facade on start up and read by the
+ * {@link MetricsServlet}. The number of different names is limited to
+ * {@link #MAX_METRICS}, further names are dropped. Metrics reported by the
+ * browsers have names starting with {@link #CLIENT_PREFIX} and a separate,
+ * smaller limit of {@link #MAX_CLIENT_METRICS}, so they can't displace the
+ * metrics of the server.<br />
+ * The class is a Singleton.
+ *
+ * @author agent
+ *
+ */
+public final class MetricsRegistry implements MetricsBackend {
+
+	private static final Logger LOGGER = Logger.getLogger(MetricsRegistry.class.getName());
+
+	/** Maximum number of different timer and counter names. */
+	public static final int MAX_METRICS = 2000;
+
+	/** Prefix of the names of all metrics reported by the browsers. */
+	public static final String CLIENT_PREFIX = "client.";
+
+	/** Maximum number of different client timer and counter names. */
+	public static final int MAX_CLIENT_METRICS = 200;
+
+	private static MetricsRegistry singleton;
+
+	private final ConcurrentMap<String, Histogram> timers = new ConcurrentHashMap<String, Histogram>();
+
+	private final ConcurrentMap<String, Histogram> sizes = new ConcurrentHashMap<String, Histogram>();
+
+	private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<String, AtomicLong>();
+
+	private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<String, Gauge>();
+
+	private final AtomicInteger clientMetrics = new AtomicInteger();
+
+	private volatile boolean limitReported = false;
+
+	private volatile boolean clientLimitReported = false;
+
+	/**
+	 * Private constructor for singleton.
+	 */
+	private MetricsRegistry() {
+	}
+
+	/**
+	 * Singleton constructor.
+	 *
+	 * @return the instance of {@link MetricsRegistry}
+	 */
+	public static synchronized MetricsRegistry instance() {
+		if (singleton == null) {
+			singleton = new MetricsRegistry();
+		}
+		return singleton;
+	}
+
+	@Override
+	public double now() {
+		return System.nanoTime() / 1000000d;
+	}
+
+	@Override
+	public void record(String name, double millis) {
+		Histogram histogram = timer(name);
+		if (histogram != null) {
+			histogram.record(millis);
+		}
+	}
+
+	@Override
+	public void increment(String name, long delta) {
+		AtomicLong counter = counters.get(name);
+		if (counter == null) {
+			if (!hasCapacity(name)) {
+				return;
+			}
+			AtomicLong created = new AtomicLong();
+			counter = counters.putIfAbsent(name, created);
+			if (counter == null) {
+				counter = created;
+				created(name);
+			}
+		}
+		counter.addAndGet(delta);
+	}
+
+	/**
+	 * Records a size, e.g. of a request.
+	 *
+	 * @param name
+	 *            name of the size histogram
+	 * @param bytes
+	 *            the size in bytes
+	 */
+	public void recordSize(String name, long bytes) {
+		Histogram histogram = histogram(sizes, name);
+		if (histogram != null) {
+			histogram.record(bytes);
+		}
+	}
+
+	/**
+	 * Returns the histogram of the timer with the given name. It is created,
+	 * if it not exists.
+	 *
+	 * @param name
+	 *            name of the timer
+	 * @return the histogram, <code>null</code> if the limit of names is reached
+	 */
+	public Histogram timer(String name) {
+		return histogram(timers, name);
+	}
+
+	private Histogram histogram(ConcurrentMap<String, Histogram> map, String name) {
+		Histogram histogram = map.get(name);
+		if (histogram == null) {
+			if (!hasCapacity(name)) {
+				return null;
+			}
+			Histogram created = new Histogram();
+			histogram = map.putIfAbsent(name, created);
+			if (histogram == null) {
+				histogram = created;
+				created(name);
+			}
+		}
+		return histogram;
+	}
+
+	/**
+	 * Returns all timers sorted by their name.
+	 *
+	 * @return the timers
+	 */
+	public SortedMap<String, Histogram> getTimers() {
+		return new TreeMap<String, Histogram>(timers);
+	}
+
+	/**
+	 * Registers a gauge, which is read on every export. A gauge with the same
+	 * name is replaced.
+	 *
+	 * @param name
+	 *            name of the gauge
+	 * @param gauge
+	 *            the gauge
+	 */
+	public void registerGauge(String name, Gauge gauge) {
+		gauges.put(name, gauge);
+	}
+
+	/**
+	 * Removes the gauge with the given name.
+	 *
+	 * @param name
+	 *            name of the gauge
+	 */
+	public void removeGauge(String name) {
+		gauges.remove(name);
+	}
+
+	/**
+	 * Returns the current values of all gauges sorted by their name.
+	 *
+	 * @return the gauges
+	 */
+	public SortedMap<String, Double> getGauges() {
+		SortedMap<String, Double> result = new TreeMap<String, Double>();
+		for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+			result.put(entry.getKey(), entry.getValue().getValue());
+		}
+		return result;
+	}
+
+	/**
+	 * Returns all size histograms sorted by their name.
+	 *
+	 * @return the sizes in bytes
+	 */
+	public SortedMap<String, Histogram> getSizes() {
+		return new TreeMap<String, Histogram>(sizes);
+	}
+
+	/**
+	 * Returns the current values of all counters sorted by their name.
+	 *
+	 * @return the counters
+	 */
+	public SortedMap<String, Long> getCounters() {
+		SortedMap<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+			result.put(entry.getKey(), entry.getValue().get());
+		}
+		return result;
+	}
+
+	/**
+	 * Removes all timers, sizes and counters. The gauges stay registered.
+	 */
+	public void clear() {
+		timers.clear();
+		sizes.clear();
+		counters.clear();
+		clientMetrics.set(0);
+		limitReported = false;
+		clientLimitReported = false;
+	}
+
+	private static boolean isClient(String name) {
+		return name.startsWith(CLIENT_PREFIX);
+	}
+
+	private void created(String name) {
+		if (isClient(name)) {
+			clientMetrics.incrementAndGet();
+		}
+	}
+
+	private boolean hasCapacity(String name) {
+		if (isClient(name)) {
+			if (clientMetrics.get() < MAX_CLIENT_METRICS) {
+				return true;
+			}
+			if (!clientLimitReported) {
+				clientLimitReported = true;
+				LOGGER.warning("Limit of " + MAX_CLIENT_METRICS + " client metrics reached, new client metrics are dropped.");
+			}
+			return false;
+		}
+
+		if (timers.size() + sizes.size() + counters.size() - clientMetrics.get() < MAX_METRICS) {
+			return true;
+		}
+		if (!limitReported) {
+			limitReported = true;
+			LOGGER.warning("Limit of " + MAX_METRICS + " metrics reached, new metrics are dropped.");
+		}
+		return false;
+	}
+}
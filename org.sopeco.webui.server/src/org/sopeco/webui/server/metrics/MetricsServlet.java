@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Exposes the content of the {@link MetricsRegistry} in the Prometheus text
+ * format. Every timer and size is written as summary with count, sum, maximum
+ * and the percentiles {@link #QUANTILES}, every counter and gauge as a single
+ * value.<br />
+ * Only requests from the addresses in the init parameter
+ * {@link #PARAM_ALLOWED_ADDRESSES} are answered, without it none at all. The
+ * value <code>*</code> allows every address. Behind a reverse proxy on the same
+ * host, every request comes from a loopback address. So requests with a
+ * <code>X-Forwarded-For</code> or <code>Forwarded</code> header are refused,
+ * unless every address is allowed. The proxy should not forward
+ * <code>/metrics</code> anyway.
+ *
+ * @author agent
+ *
+ */
+public class MetricsServlet extends HttpServlet {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Init parameter with the comma separated addresses, which may read the metrics. */
+	public static final String PARAM_ALLOWED_ADDRESSES = "allowedAddresses";
+
+	private static final String ALLOW_ALL = "*";
+
+	private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+	private boolean allowAll = false;
+
+	private final Set<InetAddress> allowedAddresses = new HashSet<InetAddress>();
+
+	@Override
+	public void init() throws ServletException {
+		String value = getInitParameter(PARAM_ALLOWED_ADDRESSES);
+		if (value == null) {
+			return;
+		}
+		for (String address : value.split(",")) {
+			address = address.trim();
+			if (address.isEmpty()) {
+				continue;
+			} else if (ALLOW_ALL.equals(address)) {
+				allowAll = true;
+			} else {
+				try {
+					allowedAddresses.add(InetAddress.getByName(address));
+				} catch (UnknownHostException e) {
+					throw new ServletException("Invalid address '" + address + "' in " + PARAM_ALLOWED_ADDRESSES, e);
+				}
+			}
+		}
+	}
+
+	@Override
+	protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+		if (!isAllowed(req)) {
+			resp.sendError(HttpServletResponse.SC_FORBIDDEN);
+			return;
+		}
+
+		resp.setContentType("text/plain; version=0.0.4");
+		resp.setCharacterEncoding("UTF-8");
+		resp.setHeader("Cache-Control", "no-cache");
+
+		PrintWriter writer = resp.getWriter();
+		MetricsRegistry registry = MetricsRegistry.instance();
+
+		writeSummaries(writer, "sopeco_timer_milliseconds", registry.getTimers());
+		writeSummaries(writer, "sopeco_size_bytes", registry.getSizes());
+
+		writer.println("# TYPE sopeco_counter counter");
+		for (Map.Entry<String, Long> entry : registry.getCounters().entrySet()) {
+			writer.println("sopeco_counter{" + label(entry.getKey()) + "} " + entry.getValue());
+		}
+
+		writer.println("# TYPE sopeco_gauge gauge");
+		for (Map.Entry<String, Double> entry : registry.getGauges().entrySet()) {
+			writer.println("sopeco_gauge{" + label(entry.getKey()) + "} " + format(entry.getValue()));
+		}
+
+		writer.flush();
+	}
+
+	private boolean isAllowed(HttpServletRequest req) throws UnknownHostException {
+		if (allowAll) {
+			return true;
+		}
+		if (req.getHeader("X-Forwarded-For") != null || req.getHeader("Forwarded") != null) {
+			return false;
+		}
+		return allowedAddresses.contains(InetAddress.getByName(req.getRemoteAddr()));
+	}
+
+	private static void writeSummaries(PrintWriter writer, String metric, Map<String, Histogram> histograms) {
+		writer.println("# TYPE " + metric + " summary");
+		for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+			String label = label(entry.getKey());
+			Histogram histogram = entry.getValue();
+			for (double quantile : QUANTILES) {
+				writer.println(metric + "{" + label + ",quantile=\"" + quantile + "\"} "
+						+ format(histogram.getPercentile(quantile)));
+			}
+			writer.println(metric + "_count{" + label + "} " + histogram.getCount());
+			writer.println(metric + "_sum{" + label + "} " + format(histogram.getSum()));
+			writer.println(metric + "_max{" + label + "} " + format(histogram.getMax()));
+		}
+	}
+
+	private static String label(String name) {
+		return "name=\"" + name.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+	}
+
+	private static String format(double value) {
+		return String.format(Locale.ENGLISH, "%.3f", value);
+	}
+}
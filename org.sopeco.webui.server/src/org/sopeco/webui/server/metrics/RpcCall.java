@@ -0,0 +1,277 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Timings of the GWT-RPC call, which is processed by the current thread. The
+ * call is started and ended by the
+ * {@link org.sopeco.webui.server.rpc.servlet.SPCRemoteServlet}, code running
+ * within the call can get it with {@link #current()}. Every call has a
+ * correlation ID, which is sent with all requests to the service layer, and
+ * collects the timings of these requests. All times are in nanoseconds of
+ * {@link System#nanoTime()}.
+ *
+ * @author agent
+ *
+ */
+public final class RpcCall {
+
+	private static final ThreadLocal<RpcCall> CURRENT = new ThreadLocal<RpcCall>();
+
+	private final String name;
+
+	private final String correlationId = UUID.randomUUID().toString();
+
+	private final String sessionId;
+
+	private final long start;
+
+	private long deserializationNanos;
+
+	private long authNanos;
+
+	private long invocationNanos;
+
+	private long serializationNanos;
+
+	private long requestBytes;
+
+	private long responseBytes;
+
+	private boolean failed = false;
+
+	private final List<ServiceCall> serviceCalls = new ArrayList<ServiceCall>();
+
+	private RpcCall(String pName, String pSessionId, long pStart) {
+		name = pName;
+		sessionId = pSessionId;
+		start = pStart;
+	}
+
+	/**
+	 * Starts a new call and binds it to the current thread.
+	 *
+	 * @param name
+	 *            name of the call, <code>Service.method</code>
+	 * @param sessionId
+	 *            the session ID, <code>null</code> if there is no session
+	 * @param start
+	 *            the time the request has been received
+	 * @return the new call
+	 */
+	public static RpcCall begin(String name, String sessionId, long start) {
+		RpcCall call = new RpcCall(name, sessionId, start);
+		CURRENT.set(call);
+		return call;
+	}
+
+	/**
+	 * Returns the call processed by the current thread.
+	 *
+	 * @return the call, <code>null</code> if the thread is not processing a
+	 *         GWT-RPC call
+	 */
+	public static RpcCall current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Unbinds the call from the current thread.
+	 */
+	public void end() {
+		if (CURRENT.get() == this) {
+			CURRENT.remove();
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getSessionId() {
+		return sessionId;
+	}
+
+	public String getCorrelationId() {
+		return correlationId;
+	}
+
+	public long getStart() {
+		return start;
+	}
+
+	public long getDeserializationNanos() {
+		return deserializationNanos;
+	}
+
+	public void setDeserializationNanos(long nanos) {
+		deserializationNanos = nanos;
+	}
+
+	public long getAuthNanos() {
+		return authNanos;
+	}
+
+	/**
+	 * Adds the time of a login check. It is part of the invocation time.
+	 *
+	 * @param nanos
+	 *            duration of the check
+	 */
+	public void addAuthNanos(long nanos) {
+		authNanos += nanos;
+	}
+
+	public long getInvocationNanos() {
+		return invocationNanos;
+	}
+
+	public void setInvocationNanos(long nanos) {
+		invocationNanos = nanos;
+	}
+
+	/**
+	 * Returns the time spent in the service method without the login checks.
+	 *
+	 * @return the service time
+	 */
+	public long getServiceNanos() {
+		return Math.max(0, invocationNanos - authNanos);
+	}
+
+	public long getSerializationNanos() {
+		return serializationNanos;
+	}
+
+	public void setSerializationNanos(long nanos) {
+		serializationNanos = nanos;
+	}
+
+	public long getRequestBytes() {
+		return requestBytes;
+	}
+
+	public void setRequestBytes(long bytes) {
+		requestBytes = bytes;
+	}
+
+	public long getResponseBytes() {
+		return responseBytes;
+	}
+
+	public void setResponseBytes(long bytes) {
+		responseBytes = bytes;
+	}
+
+	public boolean isFailed() {
+		return failed;
+	}
+
+	public void setFailed(boolean pFailed) {
+		failed = pFailed;
+	}
+
+	/**
+	 * Adds a finished request to the service layer.
+	 *
+	 * @param serviceCall
+	 *            the request
+	 */
+	public synchronized void addServiceCall(ServiceCall serviceCall) {
+		serviceCalls.add(serviceCall);
+	}
+
+	/**
+	 * Returns the requests to the service layer in the order they have been
+	 * finished.
+	 *
+	 * @return a copy of the list of requests
+	 */
+	public synchronized List<ServiceCall> getServiceCalls() {
+		return new ArrayList<ServiceCall>(serviceCalls);
+	}
+
+	/**
+	 * Returns the summed up time of all requests to the service layer.
+	 *
+	 * @return the time in the service layer
+	 */
+	public synchronized long getServiceLayerNanos() {
+		long sum = 0;
+		for (ServiceCall serviceCall : serviceCalls) {
+			sum += serviceCall.getDurationNanos();
+		}
+		return sum;
+	}
+
+	/**
+	 * A finished request to the service layer.
+	 */
+	public static final class ServiceCall {
+
+		private final String endpoint;
+
+		private final int status;
+
+		private final long start;
+
+		private final long durationNanos;
+
+		public ServiceCall(String pEndpoint, int pStatus, long pStart, long pDurationNanos) {
+			endpoint = pEndpoint;
+			status = pStatus;
+			start = pStart;
+			durationNanos = pDurationNanos;
+		}
+
+		/**
+		 * Returns the HTTP method and the path, in which variable segments are
+		 * replaced by <code>{}</code>.
+		 *
+		 * @return the endpoint
+		 */
+		public String getEndpoint() {
+			return endpoint;
+		}
+
+		public int getStatus() {
+			return status;
+		}
+
+		public long getStart() {
+			return start;
+		}
+
+		public long getDurationNanos() {
+			return durationNanos;
+		}
+	}
+}
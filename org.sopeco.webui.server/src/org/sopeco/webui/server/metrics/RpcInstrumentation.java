@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.metrics;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+import org.sopeco.config.Configuration;
+import org.sopeco.config.IConfiguration;
+import org.sopeco.webui.server.UiConfiguration;
+import org.sopeco.webui.server.metrics.RpcCall.ServiceCall;
+
+/**
+ * Records the finished GWT-RPC calls in the {@link MetricsRegistry} and logs
+ * calls, which took longer than their threshold. For every call
+ * <code>rpc.Service.method</code> the following metrics are kept:<br />
+ * - counters <code>.calls</code> and <code>.failures</code><br />
+ * - timers <code>.total</code>, <code>.deserialization</code>,
+ * <code>.auth</code>, <code>.service</code> and <code>.serialization</code><br />
+ * - timer <code>.serviceLayer</code>, the time of all requests to the service
+ * layer<br />
+ * - sizes <code>.request</code> and <code>.response</code> (uncompressed)<br />
+ * The threshold is read from the configuration key
+ * {@link UiConfiguration#RPC_SLOW_CALL_THRESHOLD} with the call name appended
+ * (e.g. <code>sopeco.ui.rpc.slowCallThreshold.ResultRPC.getChartData</code>)
+ * and falls back to the key itself and then to
+ * {@link #DEFAULT_SLOW_CALL_THRESHOLD}. A threshold of 0 or less disables the
+ * logging. The log of a slow call contains the waterfall of its requests to the
+ * service layer.<br />
+ * The class is a Singleton.
+ *
+ * @author agent
+ *
+ */
+public final class RpcInstrumentation {
+
+	private static final Logger LOGGER = Logger.getLogger(RpcInstrumentation.class.getName());
+
+	/** Default threshold in milliseconds, after which a call is logged. */
+	public static final long DEFAULT_SLOW_CALL_THRESHOLD = 1000;
+
+	/** Prefix of the names of all metrics of the calls. */
+	public static final String PREFIX = "rpc.";
+
+	private static final double NANOS_PER_MILLI = 1000000d;
+
+	private static RpcInstrumentation singleton;
+
+	private final ConcurrentMap<String, Long> thresholds = new ConcurrentHashMap<String, Long>();
+
+	/**
+	 * Private constructor for singleton.
+	 */
+	private RpcInstrumentation() {
+	}
+
+	/**
+	 * Singleton constructor.
+	 *
+	 * @return the instance of {@link RpcInstrumentation}
+	 */
+	public static synchronized RpcInstrumentation instance() {
+		if (singleton == null) {
+			singleton = new RpcInstrumentation();
+		}
+		return singleton;
+	}
+
+	/**
+	 * Records the metrics of a finished call and logs it, if it has been
+	 * slower than the given threshold.
+	 *
+	 * @param call
+	 *            the finished call
+	 * @param totalNanos
+	 *            the duration of the whole call
+	 * @param threshold
+	 *            threshold in milliseconds, 0 or less to never log the call
+	 */
+	public void record(RpcCall call, long totalNanos, long threshold) {
+		MetricsRegistry registry = MetricsRegistry.instance();
+		String prefix = PREFIX + call.getName();
+
+		registry.increment(prefix + ".calls", 1);
+		if (call.isFailed()) {
+			registry.increment(prefix + ".failures", 1);
+		}
+
+		registry.record(prefix + ".total", totalNanos / NANOS_PER_MILLI);
+		registry.record(prefix + ".deserialization", call.getDeserializationNanos() / NANOS_PER_MILLI);
+		registry.record(prefix + ".auth", call.getAuthNanos() / NANOS_PER_MILLI);
+		registry.record(prefix + ".service", call.getServiceNanos() / NANOS_PER_MILLI);
+		registry.record(prefix + ".serialization", call.getSerializationNanos() / NANOS_PER_MILLI);
+		registry.record(prefix + ".serviceLayer", call.getServiceLayerNanos() / NANOS_PER_MILLI);
+
+		registry.recordSize(prefix + ".request", call.getRequestBytes());
+		registry.recordSize(prefix + ".response", call.getResponseBytes());
+
+		if (threshold > 0 && totalNanos >= threshold * NANOS_PER_MILLI) {
+			LOGGER.warning(describe(call, totalNanos));
+		}
+	}
+
+	/**
+	 * Creates the log message of a slow call. It contains one line for every
+	 * request to the service layer with its offset to the start of the call,
+	 * its duration and its status.
+	 */
+	private static String describe(RpcCall call, long totalNanos) {
+		StringBuilder builder = new StringBuilder();
+		builder.append(String.format(Locale.ENGLISH, "Slow RPC %s%s [correlation %s, session %s]: %.1f ms "
+				+ "(deserialization %.1f ms, auth %.1f ms, service %.1f ms, serialization %.1f ms), "
+				+ "request %d bytes, response %d bytes", call.getName(), call.isFailed() ? " (failed)" : "",
+				call.getCorrelationId(), abbreviate(call.getSessionId()), totalNanos / NANOS_PER_MILLI,
+				call.getDeserializationNanos() / NANOS_PER_MILLI, call.getAuthNanos() / NANOS_PER_MILLI,
+				call.getServiceNanos() / NANOS_PER_MILLI, call.getSerializationNanos() / NANOS_PER_MILLI,
+				call.getRequestBytes(), call.getResponseBytes()));
+
+		List<ServiceCall> serviceCalls = call.getServiceCalls();
+		for (ServiceCall serviceCall : serviceCalls) {
+			builder.append(String.format(Locale.ENGLISH, "%n  +%8.1f ms %8.1f ms  %d %s",
+					(serviceCall.getStart() - call.getStart()) / NANOS_PER_MILLI, serviceCall.getDurationNanos()
+							/ NANOS_PER_MILLI, serviceCall.getStatus(), serviceCall.getEndpoint()));
+		}
+		if (!serviceCalls.isEmpty()) {
+			builder.append(String.format(Locale.ENGLISH, "%n  %d service layer requests, %.1f ms",
+					serviceCalls.size(), call.getServiceLayerNanos() / NANOS_PER_MILLI));
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Only the beginning of the session ID is logged, it is enough to
+	 * distinguish the sessions.
+	 */
+	private static String abbreviate(String sessionId) {
+		if (sessionId == null) {
+			return "none";
+		}
+		return sessionId.length() > 8 ? sessionId.substring(0, 8) + "..." : sessionId;
+	}
+
+	/**
+	 * Returns the configured threshold for slow calls of the given name.
+	 *
+	 * @param name
+	 *            name of the call, <code>Service.method</code>
+	 * @return the threshold in milliseconds
+	 */
+	public long getSlowCallThreshold(String name) {
+		Long threshold = thresholds.get(name);
+		if (threshold == null) {
+			long defaultValue = readThreshold(UiConfiguration.RPC_SLOW_CALL_THRESHOLD, DEFAULT_SLOW_CALL_THRESHOLD);
+			threshold = readThreshold(UiConfiguration.RPC_SLOW_CALL_THRESHOLD + "." + name, defaultValue);
+			thresholds.put(name, threshold);
+		}
+		return threshold;
+	}
+
+	/**
+	 * Forgets the thresholds, they are read again from the configuration.
+	 */
+	public void reloadThresholds() {
+		thresholds.clear();
+	}
+
+	private long readThreshold(String key, long defaultValue) {
+		IConfiguration cc = Configuration.getSessionSingleton(Configuration.getGlobalSessionId());
+		Object value = cc.getProperty(key);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.toString().trim());
+		} catch (NumberFormatException e) {
+			LOGGER.warning("Invalid value '" + value + "' for " + key + ", using " + defaultValue);
+			return defaultValue;
+		}
+	}
+}
@@ -0,0 +1,443 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.persistence;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.DataSource;
+import javax.sql.PooledConnection;
+
+import org.slf4j.LoggerFactory;
+import org.sopeco.webui.server.metrics.Gauge;
+import org.sopeco.webui.server.metrics.MetricsRegistry;
+import org.sopeco.webui.shared.metrics.Metrics;
+
+/**
+ * A bounded pool of physical connections, which are created by a
+ * {@link ConnectionPoolDataSource} of the JDBC driver. The pool is handed to
+ * JPA as data source, so every {@link javax.persistence.EntityManager} borrows
+ * its connection here and returns it, when the logical connection is closed.<br />
+ * The pool opens {@link #getMinSize()} connections on the first request and
+ * never more than {@link #getMaxSize()}. If all connections are in use, a
+ * request waits at most {@link #getMaxWait()} milliseconds for a free one.
+ * Idle connections are validated before they are handed out again, broken
+ * connections are discarded.<br />
+ * The utilization is exported as gauges <code>db.pool.active</code>,
+ * <code>db.pool.idle</code> and <code>db.pool.waiting</code>, the time to get
+ * a connection as timer <code>db.pool.wait</code> and the requests, which
+ * found no free connection in time, as counter <code>db.pool.timeouts</code>.
+ *
+ * @author agent
+ */
+public final class ConnectionPool implements DataSource {
+
+	private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(ConnectionPool.class);
+
+	private static final String METRICS_PREFIX = "db.pool.";
+
+	private final ConnectionPoolDataSource source;
+
+	private final int minSize;
+
+	private final int maxSize;
+
+	private final long maxWait;
+
+	private final int validationTimeout;
+
+	private final Deque<PooledConnection> idle = new ArrayDeque<PooledConnection>();
+
+	private final ConnectionEventListener listener = new ConnectionEventListener() {
+		@Override
+		public void connectionClosed(ConnectionEvent event) {
+			release((PooledConnection) event.getSource());
+		}
+
+		@Override
+		public void connectionErrorOccurred(ConnectionEvent event) {
+			LOGGER.warn("Discarding broken connection: {}", event.getSQLException() != null ? event
+					.getSQLException().getMessage() : "unknown error");
+			discard((PooledConnection) event.getSource());
+		}
+	};
+
+	/** Number of open physical connections, idle or in use. */
+	private int size = 0;
+
+	private int active = 0;
+
+	private int waiting = 0;
+
+	private boolean filled = false;
+
+	private boolean closed = false;
+
+	/**
+	 * Creates a new pool. No connection is opened until the first request.
+	 *
+	 * @param pSource
+	 *            the driver's factory of physical connections
+	 * @param pMinSize
+	 *            number of connections, which are opened on the first request
+	 * @param pMaxSize
+	 *            maximum number of open connections
+	 * @param pMaxWait
+	 *            time in milliseconds a request waits for a free connection
+	 * @param pValidationTimeout
+	 *            time in seconds the validation of an idle connection may take,
+	 *            0 to hand out idle connections without validation
+	 */
+	public ConnectionPool(ConnectionPoolDataSource pSource, int pMinSize, int pMaxSize, long pMaxWait,
+			int pValidationTimeout) {
+		if (pMaxSize < 1) {
+			throw new IllegalArgumentException("The pool needs at least one connection.");
+		}
+		source = pSource;
+		maxSize = pMaxSize;
+		minSize = Math.max(0, Math.min(pMinSize, pMaxSize));
+		maxWait = Math.max(0, pMaxWait);
+		validationTimeout = Math.max(0, pValidationTimeout);
+
+		MetricsRegistry registry = MetricsRegistry.instance();
+		registry.registerGauge(METRICS_PREFIX + "active", new Gauge() {
+			@Override
+			public double getValue() {
+				return getActiveCount();
+			}
+		});
+		registry.registerGauge(METRICS_PREFIX + "idle", new Gauge() {
+			@Override
+			public double getValue() {
+				return getIdleCount();
+			}
+		});
+		registry.registerGauge(METRICS_PREFIX + "waiting", new Gauge() {
+			@Override
+			public double getValue() {
+				return getWaitingCount();
+			}
+		});
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		long start = System.nanoTime();
+		try {
+			return borrow(start);
+		} finally {
+			Metrics.record(METRICS_PREFIX + "wait", (System.nanoTime() - start) / 1000000d);
+		}
+	}
+
+	private Connection borrow(long start) throws SQLException {
+		fill();
+
+		long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWait);
+		while (true) {
+			PooledConnection pooled = null;
+			boolean create = false;
+
+			synchronized (this) {
+				while (!closed && idle.isEmpty() && size >= maxSize) {
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) {
+						Metrics.increment(METRICS_PREFIX + "timeouts");
+						throw new SQLException("No free database connection within " + maxWait + " ms (" + size
+								+ " connections in use).");
+					}
+					waiting++;
+					try {
+						TimeUnit.NANOSECONDS.timedWait(this, remaining);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new SQLException("Interrupted while waiting for a database connection.", e);
+					} finally {
+						waiting--;
+					}
+				}
+				if (closed) {
+					throw new SQLException("The connection pool has been closed.");
+				}
+
+				if (!idle.isEmpty()) {
+					pooled = idle.pop();
+				} else {
+					create = true;
+					size++;
+				}
+				active++;
+			}
+
+			if (create) {
+				pooled = open();
+			}
+
+			Connection connection = checkOut(pooled, !create);
+			if (connection != null) {
+				return connection;
+			}
+		}
+	}
+
+	/**
+	 * Opens a new physical connection, for which a slot has already been
+	 * reserved.
+	 */
+	private PooledConnection open() throws SQLException {
+		try {
+			PooledConnection pooled = source.getPooledConnection();
+			pooled.addConnectionEventListener(listener);
+			return pooled;
+		} catch (SQLException e) {
+			synchronized (this) {
+				size--;
+				active--;
+				notifyAll();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the logical connection of a pooled connection, which has been
+	 * taken from the pool. An idle connection is validated first.
+	 *
+	 * @return the logical connection, <code>null</code> if the pooled
+	 *         connection is broken and has been discarded
+	 */
+	private Connection checkOut(PooledConnection pooled, boolean validate) throws SQLException {
+		Connection connection;
+		try {
+			connection = pooled.getConnection();
+		} catch (SQLException e) {
+			discard(pooled);
+			if (!validate) {
+				throw e;
+			}
+			return null;
+		}
+
+		if (validate && validationTimeout > 0) {
+			boolean valid;
+			try {
+				valid = connection.isValid(validationTimeout);
+			} catch (SQLException e) {
+				valid = false;
+			}
+			if (!valid) {
+				LOGGER.debug("Discarding idle connection, which failed the validation.");
+				discard(pooled);
+				return null;
+			}
+		}
+		return connection;
+	}
+
+	/**
+	 * Opens the minimum number of connections, the first time the pool is
+	 * used. A failure is only logged, the request opens its connection itself.
+	 */
+	private void fill() {
+		synchronized (this) {
+			if (filled) {
+				return;
+			}
+			filled = true;
+		}
+
+		for (int i = 0; i < minSize; i++) {
+			synchronized (this) {
+				if (closed || size >= minSize) {
+					return;
+				}
+				size++;
+			}
+			try {
+				PooledConnection pooled = source.getPooledConnection();
+				pooled.addConnectionEventListener(listener);
+				synchronized (this) {
+					idle.push(pooled);
+					notifyAll();
+				}
+			} catch (SQLException e) {
+				synchronized (this) {
+					size--;
+				}
+				LOGGER.warn("Could not open the initial database connections: {}", e.getMessage());
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Puts a connection, whose logical connection has been closed, back to the
+	 * idle connections.
+	 */
+	private void release(PooledConnection pooled) {
+		synchronized (this) {
+			active--;
+			if (!closed) {
+				idle.push(pooled);
+				notifyAll();
+				return;
+			}
+			size--;
+		}
+		closeQuietly(pooled);
+	}
+
+	/**
+	 * Closes a broken connection and frees its slot.
+	 */
+	private void discard(PooledConnection pooled) {
+		pooled.removeConnectionEventListener(listener);
+		synchronized (this) {
+			active--;
+			size--;
+			notifyAll();
+		}
+		closeQuietly(pooled);
+	}
+
+	/**
+	 * Closes all idle connections. Connections in use are closed, when they
+	 * are given back. Further requests fail.
+	 */
+	public void close() {
+		Deque<PooledConnection> toClose;
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			toClose = new ArrayDeque<PooledConnection>(idle);
+			size -= idle.size();
+			idle.clear();
+			notifyAll();
+		}
+		for (PooledConnection pooled : toClose) {
+			closeQuietly(pooled);
+		}
+
+		MetricsRegistry registry = MetricsRegistry.instance();
+		registry.removeGauge(METRICS_PREFIX + "active");
+		registry.removeGauge(METRICS_PREFIX + "idle");
+		registry.removeGauge(METRICS_PREFIX + "waiting");
+	}
+
+	private void closeQuietly(PooledConnection pooled) {
+		pooled.removeConnectionEventListener(listener);
+		try {
+			pooled.close();
+		} catch (SQLException e) {
+			LOGGER.debug("Could not close connection: {}", e.getMessage());
+		}
+	}
+
+	public synchronized int getActiveCount() {
+		return active;
+	}
+
+	public synchronized int getIdleCount() {
+		return idle.size();
+	}
+
+	public synchronized int getWaitingCount() {
+		return waiting;
+	}
+
+	public int getMinSize() {
+		return minSize;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public long getMaxWait() {
+		return maxWait;
+	}
+
+	/**
+	 * Connections with other credentials than the configured ones are not
+	 * pooled.
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		throw new SQLFeatureNotSupportedException("The pool only hands out connections of the configured user.");
+	}
+
+	@Override
+	public PrintWriter getLogWriter() throws SQLException {
+		return source.getLogWriter();
+	}
+
+	@Override
+	public void setLogWriter(PrintWriter out) throws SQLException {
+		source.setLogWriter(out);
+	}
+
+	@Override
+	public void setLoginTimeout(int seconds) throws SQLException {
+		source.setLoginTimeout(seconds);
+	}
+
+	@Override
+	public int getLoginTimeout() throws SQLException {
+		return source.getLoginTimeout();
+	}
+
+	/**
+	 * Part of the JDBC 4.1 interface, the pool logs with slf4j.
+	 */
+	public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return iface.cast(this);
+		}
+		throw new SQLException("The pool does not wrap " + iface.getName());
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this);
+	}
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.persistence;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
+
+/**
+ * Keeps the database of the UI in shape. On the first run the index on the
+ * expiry time of the remember me tokens is created, if it is missing. Every
+ * run deletes the expired tokens in batches of a bounded size, each in its own
+ * transaction. A single run deletes at most {@link #MAX_BATCHES_PER_RUN}
+ * batches, the rest is left for the next run.<br />
+ * The deleted tokens are counted as
+ * <code>db.maintenance.rememberMeToken.purged</code>, the duration of a run is
+ * recorded as <code>db.maintenance.run</code>.<br />
+ * The class is a Singleton.
+ *
+ * @author agent
+ */
+public final class UiDatabaseMaintenance {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(UiDatabaseMaintenance.class);
+
+	/**
+	 * Default interval in milliseconds between two runs (one hour).
+	 */
+	public static final long DEFAULT_INTERVAL = 60 * 60 * 1000;
+
+	/**
+	 * Default number of tokens deleted in one transaction.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 500;
+
+	/**
+	 * Maximum number of batches deleted in one run.
+	 */
+	public static final int MAX_BATCHES_PER_RUN = 100;
+
+	/**
+	 * Delay in milliseconds of the first run after the start.
+	 */
+	private static final long INITIAL_DELAY = 60 * 1000;
+
+	private static UiDatabaseMaintenance singleton;
+
+	private ScheduledExecutorService scheduler;
+
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	private boolean indexChecked = false;
+
+	/**
+	 * Private constructor for singleton.
+	 */
+	private UiDatabaseMaintenance() {
+	}
+
+	/**
+	 * Singleton constructor.
+	 *
+	 * @return the instance of {@link UiDatabaseMaintenance}
+	 */
+	public static synchronized UiDatabaseMaintenance instance() {
+		if (singleton == null) {
+			singleton = new UiDatabaseMaintenance();
+		}
+		return singleton;
+	}
+
+	/**
+	 * Starts the periodic maintenance. Does nothing, if it is already running.
+	 * Values which are not positive are replaced by the defaults.
+	 *
+	 * @param pInterval	the interval in milliseconds between two runs
+	 * @param pBatchSize	the number of tokens deleted in one transaction
+	 */
+	public synchronized void start(long pInterval, int pBatchSize) {
+		if (scheduler != null) {
+			return;
+		}
+
+		long interval = pInterval;
+		if (interval <= 0) {
+			LOGGER.warn("Invalid database maintenance interval {} ms, using {} ms.", pInterval, DEFAULT_INTERVAL);
+			interval = DEFAULT_INTERVAL;
+		}
+
+		batchSize = pBatchSize > 0 ? pBatchSize : DEFAULT_BATCH_SIZE;
+
+		LOGGER.info("Starting database maintenance with an interval of {} ms.", interval);
+
+		scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "ui-database-maintenance");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+
+		scheduler.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					runMaintenance();
+				} catch (RuntimeException e) {
+					LOGGER.warn("Database maintenance failed: {}", e.getMessage());
+				}
+			}
+		}, Math.min(INITIAL_DELAY, interval), interval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops the periodic maintenance.
+	 */
+	public synchronized void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+	/**
+	 * Executes one maintenance run.
+	 *
+	 * @return the number of deleted tokens
+	 */
+	public int runMaintenance() {
+		Stopwatch stopwatch = Metrics.start("db.maintenance.run");
+		UiPersistenceProvider provider = UiPersistenceProvider.getInstance();
+
+		if (!indexChecked) {
+			provider.createRememberMeTokenIndex();
+			indexChecked = true;
+		}
+
+		long now = System.currentTimeMillis();
+		int purged = 0;
+		for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+			int deleted = provider.deleteExpiredRememberMeToken(now, batchSize);
+			purged += deleted;
+			Metrics.increment("db.maintenance.rememberMeToken.purged", deleted);
+			if (deleted < batchSize) {
+				break;
+			}
+		}
+
+		double duration = stopwatch.stop();
+		if (purged > 0) {
+			LOGGER.info("Deleted {} expired remember me tokens in {} ms.", purged, (long) duration);
+		}
+		return purged;
+	}
+}
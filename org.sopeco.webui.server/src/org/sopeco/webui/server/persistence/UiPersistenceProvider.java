@@ -1,6 +1,7 @@
 package org.sopeco.webui.server.persistence;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,15 +11,23 @@ import javax.persistence.EntityManagerFactory;
 import javax.persistence.NoResultException;
 import javax.persistence.NonUniqueResultException;
 import javax.persistence.Persistence;
+import javax.persistence.PersistenceException;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import javax.sql.ConnectionPoolDataSource;
 
+import org.apache.derby.jdbc.ClientConnectionPoolDataSource;
+import org.apache.derby.jdbc.EmbeddedConnectionPoolDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.sopeco.config.exception.ConfigurationException;
+import org.sopeco.config.Configuration;
+import org.sopeco.config.IConfiguration;
 import org.sopeco.persistence.exceptions.DataNotFoundException;
 import org.sopeco.webui.server.UiConfiguration;
 import org.sopeco.webui.shared.entities.Visualization;
+import org.sopeco.webui.shared.entities.VisualizationBundle;
+import org.sopeco.webui.shared.entities.VisualizationSort;
+import org.sopeco.webui.shared.entities.VisualizationSummary;
 import org.sopeco.webui.shared.entities.account.AccountDetails;
 import org.sopeco.webui.shared.entities.account.RememberMeToken;
 
@@ -35,23 +44,48 @@ public final class UiPersistenceProvider {
 	/**
 	 * The entitymanagerfactory is like a thread pol. Entitmanagers to execute database queries
 	 * can be created with this factory.
-	 * This factory handles a connection pool automatically.
-	 * 
-	 * @Todo close the emf down at end of program life
+	 * The connections are taken from the {@link ConnectionPool}.
 	 */
 	private EntityManagerFactory emf;
 
+	/**
+	 * The pool of the database connections, <code>null</code> if the factory was given
+	 * to the constructor.
+	 */
+	private ConnectionPool pool;
+
 	/**
 	 * Singleton instance.
 	 */
 	private static UiPersistenceProvider singleton;
 	
 	/**
-	 * Database settings for JDBC
+	 * JPA property, which hands the connection pool to the persistence unit.
 	 */
-	private static final String DB_URL = "javax.persistence.jdbc.url";
-	private static final String SERVER_URL_PREFIX = "jdbc:derby://";
-	private static final String SERVER_URL_SUFFIX = ";create=true";
+	private static final String NON_JTA_DATA_SOURCE = "javax.persistence.nonJtaDataSource";
+
+	/**
+	 * Modes of {@link UiConfiguration#SOPECO_UI_DATABASE_MODE}.
+	 */
+	public static final String MODE_SERVER = "server";
+	public static final String MODE_MEMORY = "memory";
+
+	private static final String MEMORY_DATABASE_PREFIX = "memory:";
+	private static final String CREATE_DATABASE = "create";
+
+	/**
+	 * Index on the expiry time of the remember me tokens, used by the cleanup.
+	 */
+	private static final String TOKEN_EXPIRE_INDEX = "IDX_REMEMBERMETOKEN_EXPIRE";
+
+	/**
+	 * Projection of the visualizations of an account without the LOB columns, the
+	 * order is appended by {@link #getVisualizationOrder(VisualizationSort, String)}.
+	 */
+	private static final String VISUALIZATION_SUMMARY_QUERY = "SELECT NEW "
+			+ VisualizationSummary.class.getName()
+			+ "(v.id, v.name, v.experimentName, v.type, v.scenarioName, v.timestamp)"
+			+ " FROM Visualization v WHERE v.accountId = :accountId";
 
 	/**
 	 * Hidden constructor as a contructor for singleton. Get an instance by calling {@link getInstance()}.
@@ -59,12 +93,13 @@ public final class UiPersistenceProvider {
 	private UiPersistenceProvider() {
 		
 		try {
-			emf = Persistence.createEntityManagerFactory("sopeco-webui", getConfigOverrides());
-		} catch (ConfigurationException ce) {
-			LOGGER.warn("Could not load the configuration files");
-			LOGGER.warn(ce.getLocalizedMessage());
+			pool = createConnectionPool();
+			emf = Persistence.createEntityManagerFactory("sopeco-webui", getConfigOverrides(pool));
 		} catch (Exception e) {
 			LOGGER.warn(e.getLocalizedMessage());
+			if (pool != null) {
+				pool.close();
+			}
 			throw new IllegalArgumentException("Could not create persistence provider!", e);
 		}
 		
@@ -84,18 +119,105 @@ public final class UiPersistenceProvider {
 		return loadByQuery(Visualization.class, "getAllVisualizations");
 	}
 
+	/**
+	 * Loads all visualizations of the account with their chart options and parameters.
+	 * To list the visualizations use {@link #loadVisualizationPage(long, int, int, VisualizationSort, boolean)}.
+	 * 
+	 * @param accountId the ID of the account
+	 * @return the visualizations of the account
+	 */
 	public List<Visualization> loadVisualizationsByAccount(long accountId) {
 		return loadByQuery(Visualization.class, "getVisualizationsByAccount", "accountId", accountId);
 	}
 
+	/**
+	 * Loads a page of the sorted visualizations of the account. Only the
+	 * properties of {@link VisualizationSummary} are selected, the LOB columns are
+	 * not read. The whole visualization is loaded with {@link #loadVisualization(long)}.
+	 * 
+	 * @param accountId	the ID of the account
+	 * @param offset	index of the first returned visualization
+	 * @param limit		maximum number of returned visualizations
+	 * @param sort		the property to sort by, the ID decides between equal values
+	 * @param ascending	true to sort ascending
+	 * @return			the requested page and the number of all visualizations of the account
+	 */
+	public VisualizationBundle loadVisualizationPage(long accountId, int offset, int limit, VisualizationSort sort,
+			boolean ascending) {
+		VisualizationBundle bundle = new VisualizationBundle();
+		bundle.setOffset(Math.max(0, offset));
+
+		EntityManager em = emf.createEntityManager();
+		try {
+			Long total = em.createNamedQuery("countVisualizationsByAccount", Long.class)
+					.setParameter("accountId", accountId).getSingleResult();
+			bundle.setTotalNumberOfVisualizations(total.intValue());
+
+			if (limit > 0 && offset < total.intValue()) {
+				String direction = ascending ? " ASC" : " DESC";
+				TypedQuery<VisualizationSummary> query = em.createQuery(VISUALIZATION_SUMMARY_QUERY
+						+ getVisualizationOrder(sort, direction), VisualizationSummary.class);
+				query.setParameter("accountId", accountId);
+				query.setFirstResult(Math.max(0, offset));
+				query.setMaxResults(limit);
+				bundle.setVisualizations(query.getResultList());
+			}
+		} catch (IllegalStateException e) {
+			LOGGER.error("Loading visualizations of account " + accountId + " failed: " + e);
+		} finally {
+			em.close();
+		}
+		return bundle;
+	}
+
+	private static String getVisualizationOrder(VisualizationSort sort, String direction) {
+		String order;
+		switch (sort == null ? VisualizationSort.TIMESTAMP : sort) {
+		case NAME:
+			order = "v.name" + direction + ", v.experimentName" + direction;
+			break;
+		case SCENARIO:
+			order = "v.scenarioName" + direction;
+			break;
+		case TYPE:
+			order = "v.type" + direction;
+			break;
+		default:
+			order = "v.timestamp" + direction;
+			break;
+		}
+		return " ORDER BY " + order + ", v.id" + direction;
+	}
+
+	public Visualization loadVisualization(long visualizationId) {
+		return loadSingleById(Visualization.class, visualizationId);
+	}
+
 	public void storeVisualization(Visualization visualization) {
 		store(visualization);
 	}
 
+	/**
+	 * Stores all given visualizations in a single transaction.
+	 * 
+	 * @param visualizations the visualizations to store
+	 */
+	public void storeVisualizations(Collection<Visualization> visualizations) {
+		UnitOfWork work = beginUnitOfWork();
+		for (Visualization visualization : visualizations) {
+			work.store(visualization);
+		}
+		work.commit();
+	}
+
 	public void removeVisualization(Visualization visualization) {
 		remove(visualization);
 	}
 
+	public void removeVisualization(long visualizationId) {
+		beginUnitOfWork().remove(Visualization.class, visualizationId).commit();
+	}
+
 	public void storeRememberMeToken(RememberMeToken token) {
 		store(token);
 	}
@@ -108,6 +230,71 @@ public final class UiPersistenceProvider {
 		return updateQuery("deleteExipredTokens", "expireDate", System.currentTimeMillis());
 	}
 
+	/**
+	 * Deletes at most <code>batchSize</code> tokens, which have expired before
+	 * the given time, in a single transaction. Large amounts of expired tokens
+	 * should be deleted by calling this method repeatedly, so no transaction
+	 * holds its locks for long.
+	 * 
+	 * @param expireDate	tokens expired before this time are deleted
+	 * @param batchSize		maximum number of tokens to delete
+	 * @return				the number of deleted tokens
+	 */
+	public int deleteExpiredRememberMeToken(long expireDate, int batchSize) {
+		EntityManager em = emf.createEntityManager();
+		try {
+			em.getTransaction().begin();
+			List<String> tokenHashes = em.createNamedQuery("getExpiredTokenHashes", String.class)
+					.setParameter("expireDate", expireDate).setMaxResults(batchSize).getResultList();
+			int count = 0;
+			if (!tokenHashes.isEmpty()) {
+				count = em.createNamedQuery("deleteTokensByHash").setParameter("tokenHashes", tokenHashes)
+						.executeUpdate();
+			}
+			em.getTransaction().commit();
+			return count;
+		} finally {
+			if (em.getTransaction().isActive()) {
+				em.getTransaction().rollback();
+			}
+			em.close();
+		}
+	}
+
+	/**
+	 * Creates the index on the expiry time of the remember me tokens, if it
+	 * does not exist yet. The tables are generated by JPA, which knows no
+	 * indices besides the primary key.
+	 * 
+	 * @return true, if the index has been created
+	 */
+	public boolean createRememberMeTokenIndex() {
+		EntityManager em = emf.createEntityManager();
+		try {
+			Number existing = (Number) em
+					.createNativeQuery("SELECT COUNT(*) FROM SYS.SYSCONGLOMERATES WHERE CONGLOMERATENAME = ?")
+					.setParameter(1, TOKEN_EXPIRE_INDEX).getSingleResult();
+			if (existing.intValue() > 0) {
+				return false;
+			}
+
+			em.getTransaction().begin();
+			em.createNativeQuery("CREATE INDEX " + TOKEN_EXPIRE_INDEX + " ON REMEMBERMETOKEN (EXPIRETIMESTAMP)")
+					.executeUpdate();
+			em.getTransaction().commit();
+			LOGGER.info("Created index {}.", TOKEN_EXPIRE_INDEX);
+			return true;
+		} catch (PersistenceException e) {
+			LOGGER.warn("Could not create index {}: {}", TOKEN_EXPIRE_INDEX, e.getMessage());
+			return false;
+		} finally {
+			if (em.getTransaction().isActive()) {
+				em.getTransaction().rollback();
+			}
+			em.close();
+		}
+	}
+
 	public void removeRememberMeToken(RememberMeToken rememberMeToken) {
 		remove(rememberMeToken);
 	}
@@ -128,6 +315,16 @@ public final class UiPersistenceProvider {
 		store(accountDetails);
 	}
 
+	/**
+	 * Creates a new {@link UnitOfWork}, which stores and removes several entities
+	 * in a single transaction.
+	 * 
+	 * @return an empty unit of work
+	 */
+	public UnitOfWork beginUnitOfWork() {
+		return new UnitOfWork(emf);
+	}
+
 	/********************************************************************/
 
 	private <T> T store(T object) {
@@ -146,19 +343,11 @@ public final class UiPersistenceProvider {
 		return managedObject;
 	}
 
+	/**
+	 * Deletes the object by its ID, the object isn't loaded before.
+	 */
 	private <T> void remove(T object) {
-		EntityManager em = emf.createEntityManager();
-		try {
-			em.getTransaction().begin();
-			T removeObject = em.merge(object);
-			em.remove(removeObject);
-			em.getTransaction().commit();
-		} finally {
-			if (em.getTransaction().isActive()) {
-				em.getTransaction().rollback();
-			}
-			em.close();
-		}
+		beginUnitOfWork().remove(object).commit();
 	}
 
 	private <T> T loadSingleById(Class<T> returnClazz, Object primaryKey) {
@@ -173,7 +362,7 @@ public final class UiPersistenceProvider {
 		EntityManager em = emf.createEntityManager();
 		try {
 			TypedQuery<T> query = em.createNamedQuery(queryName, returnClazz);
-			for (int i = 0; i <= parameterList.length / 2; i += 2) {
+			for (int i = 0; i + 1 < parameterList.length; i += 2) {
 				query.setParameter((String) parameterList[i], parameterList[i + 1]);
 			}
 			result = query.getSingleResult();
@@ -218,12 +407,12 @@ public final class UiPersistenceProvider {
 
 	private int updateQuery(String queryName, Object... parameterList) {
 		EntityManager em = emf.createEntityManager();
-		Query query = em.createNamedQuery(queryName);
-		for (int i = 0; i <= parameterList.length / 2; i += 2) {
-			query.setParameter((String) parameterList[i], parameterList[i + 1]);
-		}
 		int count = 0;
 		try {
+			Query query = em.createNamedQuery(queryName);
+			for (int i = 0; i + 1 < parameterList.length; i += 2) {
+				query.setParameter((String) parameterList[i], parameterList[i + 1]);
+			}
 			em.getTransaction().begin();
 			count = query.executeUpdate();
 			em.getTransaction().commit();
@@ -244,7 +433,7 @@ public final class UiPersistenceProvider {
 	 * 
 	 * @return ServicePersistenceProvider to access database
 	 */
-	public static UiPersistenceProvider getInstance() {
+	public static synchronized UiPersistenceProvider getInstance() {
 		
 		if (singleton == null) {
 			singleton = new UiPersistenceProvider();
@@ -254,39 +443,123 @@ public final class UiPersistenceProvider {
 	}
 
 	/**
-	 * Creates a configuration map, which contains the connection url to the
-	 * database.
+	 * Closes the factory and the connection pool of the singleton, if it has been
+	 * created. The next call of {@link #getInstance()} creates a new one.
+	 */
+	public static synchronized void shutdown() {
+		if (singleton == null) {
+			return;
+		}
+		if (singleton.emf != null && singleton.emf.isOpen()) {
+			singleton.emf.close();
+		}
+		if (singleton.pool != null) {
+			singleton.pool.close();
+		}
+		singleton = null;
+	}
+
+	/**
+	 * Creates a configuration map, which hands the connection pool to the
+	 * persistence unit.
 	 * 
+	 * @param dataSource the connection pool
 	 * @return configuration for database
 	 */
-	private static Map<String, Object> getConfigOverrides() throws ConfigurationException {
+	private static Map<String, Object> getConfigOverrides(ConnectionPool dataSource) {
 		Map<String, Object> configOverrides = new HashMap<String, Object>();
-		configOverrides.put(DB_URL, getServerUrl());
-		LOGGER.debug("Database connection string: {}", configOverrides.get(DB_URL));
+		configOverrides.put(NON_JTA_DATA_SOURCE, dataSource);
 		return configOverrides;
 	}
 
 	/**
-	 * Builds the connection-url of the SoPeCo service database.
+	 * Creates the connection pool with the settings of the configuration. In the mode
+	 * {@link #MODE_MEMORY} an embedded in-memory database is used, which is lost at the
+	 * end of the program. Otherwise the connections go to the Derby network server.
 	 * 
-	 * @return connection-url to the database
+	 * @return the connection pool
 	 */
-	private static String getServerUrl() throws ConfigurationException {
-		
-		if (UiConfiguration.PERSISTENCE_HOST == null) {
-			throw new NullPointerException("No MetaDataHost defined.");
+	private static ConnectionPool createConnectionPool() {
+		IConfiguration cc = Configuration.getSessionSingleton(Configuration.getGlobalSessionId());
+
+		String mode = getProperty(cc, UiConfiguration.SOPECO_UI_DATABASE_MODE, MODE_SERVER);
+		String name = getProperty(cc, UiConfiguration.SOPECO_UI_DATABASE_NAME, UiConfiguration.PERSISTENCE_NAME);
+		String user = getProperty(cc, UiConfiguration.SOPECO_UI_DATABASE_USER, UiConfiguration.PERSISTENCE_USER);
+		String password = getProperty(cc, UiConfiguration.SOPECO_UI_DATABASE_PASSWORD,
+				UiConfiguration.PERSISTENCE_PASSWORD);
+
+		ConnectionPoolDataSource source;
+		if (MODE_MEMORY.equalsIgnoreCase(mode)) {
+			source = createMemoryDataSource(name, user, password);
+			LOGGER.info("Using in-memory database '{}'.", name);
+		} else {
+			if (!MODE_SERVER.equalsIgnoreCase(mode)) {
+				LOGGER.warn("Unknown database mode '{}', using '{}'.", mode, MODE_SERVER);
+			}
+			String host = getProperty(cc, UiConfiguration.SOPECO_UI_DATABASE_HOST, UiConfiguration.PERSISTENCE_HOST);
+			int port = getIntProperty(cc, UiConfiguration.SOPECO_UI_DATABASE_PORT, UiConfiguration.PERSISTENCE_PORT);
+
+			ClientConnectionPoolDataSource client = new ClientConnectionPoolDataSource();
+			client.setServerName(host);
+			client.setPortNumber(port);
+			client.setDatabaseName(name);
+			client.setUser(user);
+			client.setPassword(password);
+			client.setCreateDatabase(CREATE_DATABASE);
+			client.setMaxStatements(getIntProperty(cc, UiConfiguration.SOPECO_UI_DATABASE_STATEMENT_CACHE,
+					UiConfiguration.PERSISTENCE_STATEMENT_CACHE));
+			source = client;
+			LOGGER.info("Using database '{}' on {}:{}.", new Object[] {name, host, port});
+		}
+
+		int maxSize = getIntProperty(cc, UiConfiguration.SOPECO_UI_DATABASE_POOL_MAX,
+				UiConfiguration.PERSISTENCE_POOL_MAX);
+		int minSize = getIntProperty(cc, UiConfiguration.SOPECO_UI_DATABASE_POOL_MIN,
+				UiConfiguration.PERSISTENCE_POOL_MIN);
+		long maxWait = getIntProperty(cc, UiConfiguration.SOPECO_UI_DATABASE_POOL_MAX_WAIT,
+				UiConfiguration.PERSISTENCE_POOL_MAX_WAIT);
+		int validationTimeout = getIntProperty(cc, UiConfiguration.SOPECO_UI_DATABASE_POOL_VALIDATION_TIMEOUT,
+				UiConfiguration.PERSISTENCE_POOL_VALIDATION_TIMEOUT);
+
+		return new ConnectionPool(source, minSize, Math.max(1, maxSize), maxWait, validationTimeout);
+	}
+
+	/**
+	 * Creates the factory of connections to an embedded in-memory database, which is
+	 * created with the first connection.
+	 * 
+	 * @param name		the name of the database
+	 * @param user		the user
+	 * @param password	the password
+	 * @return			the factory of physical connections
+	 */
+	static ConnectionPoolDataSource createMemoryDataSource(String name, String user, String password) {
+		EmbeddedConnectionPoolDataSource embedded = new EmbeddedConnectionPoolDataSource();
+		embedded.setDatabaseName(MEMORY_DATABASE_PREFIX + name);
+		embedded.setUser(user);
+		embedded.setPassword(password);
+		embedded.setCreateDatabase(CREATE_DATABASE);
+		return embedded;
+	}
+
+	private static String getProperty(IConfiguration cc, String key, String defaultValue) {
+		Object value = cc.getProperty(key);
+		if (value == null || value.toString().trim().isEmpty()) {
+			return defaultValue;
+		}
+		return value.toString().trim();
+	}
+
+	private static int getIntProperty(IConfiguration cc, String key, int defaultValue) {
+		Object value = cc.getProperty(key);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value.toString().trim());
+		} catch (NumberFormatException e) {
+			LOGGER.warn("Invalid value '{}' for {}, using {}", new Object[] {value, key, defaultValue});
+			return defaultValue;
 		}
-		
-		String host = UiConfiguration.PERSISTENCE_HOST;
-		String port = String.valueOf(UiConfiguration.PERSISTENCE_PORT);
-		String name = UiConfiguration.PERSISTENCE_NAME;
-		String user = UiConfiguration.PERSISTENCE_USER;
-		String password = UiConfiguration.PERSISTENCE_PASSWORD;
-		
-		return SERVER_URL_PREFIX 	+ host + ":" + port
-									+ "/" + name
-									+ ";user=" + user
-									+ ";password=" + password
-									+ SERVER_URL_SUFFIX;
 	}
 }
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+
+/**
+ * Collects stores and removes of entities and executes them in a single
+ * transaction, when {@link #commit()} is called. The inserts and updates are
+ * written with JDBC batching (see <code>persistence.xml</code>).<br />
+ * Entities are removed by their ID with a bulk delete, so no entity has to be
+ * loaded first. Consecutive removes of the same entity class are combined to a
+ * single statement. The operations are executed in the order they have been
+ * added.<br />
+ * A unit of work is created by {@link UiPersistenceProvider#beginUnitOfWork()}
+ * and can be committed only once. It is not thread-safe.
+ *
+ * @author agent
+ */
+public final class UnitOfWork {
+
+	/**
+	 * The JPQL delete statement of every entity class, it depends on the name of the
+	 * entity and its ID attribute.
+	 */
+	private static final ConcurrentMap<Class<?>, String> DELETE_QUERIES = new ConcurrentHashMap<Class<?>, String>();
+
+	private final EntityManagerFactory emf;
+
+	private final List<Operation> operations = new ArrayList<Operation>();
+
+	private boolean committed = false;
+
+	/**
+	 * Creates an empty unit of work.
+	 *
+	 * @param factory the factory of the entity manager, which executes the operations
+	 */
+	UnitOfWork(EntityManagerFactory factory) {
+		emf = factory;
+	}
+
+	/**
+	 * Adds an insert or update of the given entity.
+	 *
+	 * @param entity the entity to store
+	 * @return this unit of work
+	 */
+	public UnitOfWork store(Object entity) {
+		checkNotCommitted();
+		operations.add(new Operation(entity, null, null));
+		return this;
+	}
+
+	/**
+	 * Adds the deletion of the given entity. Only its ID is used.
+	 *
+	 * @param entity the entity to remove
+	 * @return this unit of work
+	 */
+	public UnitOfWork remove(Object entity) {
+		return remove(entity.getClass(), emf.getPersistenceUnitUtil().getIdentifier(entity));
+	}
+
+	/**
+	 * Adds the deletion of the entity with the given ID.
+	 *
+	 * @param entityClass	the class of the entity
+	 * @param id			the ID of the entity
+	 * @return this unit of work
+	 */
+	public UnitOfWork remove(Class<?> entityClass, Object id) {
+		checkNotCommitted();
+		if (id == null) {
+			throw new IllegalArgumentException("An entity without ID can't be removed.");
+		}
+		operations.add(new Operation(null, entityClass, id));
+		return this;
+	}
+
+	/**
+	 * Returns the number of operations, which have been added.
+	 *
+	 * @return the number of operations
+	 */
+	public int size() {
+		return operations.size();
+	}
+
+	/**
+	 * Executes all operations in one transaction. If an operation fails, the
+	 * transaction is rolled back and the exception is thrown.
+	 *
+	 * @return the number of deleted rows
+	 */
+	public int commit() {
+		checkNotCommitted();
+		committed = true;
+
+		if (operations.isEmpty()) {
+			return 0;
+		}
+
+		int deleted = 0;
+		EntityManager em = emf.createEntityManager();
+		try {
+			em.getTransaction().begin();
+
+			boolean pendingWrites = false;
+			int i = 0;
+			while (i < operations.size()) {
+				Operation operation = operations.get(i);
+				if (operation.entity != null) {
+					em.merge(operation.entity);
+					pendingWrites = true;
+					i++;
+					continue;
+				}
+
+				List<Object> ids = new ArrayList<Object>();
+				while (i < operations.size() && operations.get(i).entity == null
+						&& operations.get(i).entityClass == operation.entityClass) {
+					ids.add(operations.get(i).id);
+					i++;
+				}
+
+				// the bulk delete bypasses the persistence context, so the stores
+				// added before must be written first
+				if (pendingWrites) {
+					em.flush();
+					pendingWrites = false;
+				}
+				deleted += em.createQuery(getDeleteQuery(em, operation.entityClass)).setParameter("ids", ids)
+						.executeUpdate();
+			}
+
+			em.getTransaction().commit();
+		} finally {
+			if (em.getTransaction().isActive()) {
+				em.getTransaction().rollback();
+			}
+			em.close();
+		}
+		return deleted;
+	}
+
+	private void checkNotCommitted() {
+		if (committed) {
+			throw new IllegalStateException("The unit of work has already been committed.");
+		}
+	}
+
+	/**
+	 * Returns the statement, which deletes the entities of the given class with
+	 * the IDs of the parameter <code>ids</code>.
+	 */
+	private static String getDeleteQuery(EntityManager em, Class<?> entityClass) {
+		String query = DELETE_QUERIES.get(entityClass);
+		if (query == null) {
+			EntityType<?> type = em.getMetamodel().entity(entityClass);
+			String idAttribute = null;
+			for (SingularAttribute<?, ?> attribute : type.getSingularAttributes()) {
+				if (attribute.isId()) {
+					idAttribute = attribute.getName();
+					break;
+				}
+			}
+			if (idAttribute == null) {
+				throw new IllegalArgumentException("The entity " + type.getName() + " has no single ID attribute.");
+			}
+			query = "DELETE FROM " + type.getName() + " e WHERE e." + idAttribute + " IN :ids";
+			DELETE_QUERIES.put(entityClass, query);
+		}
+		return query;
+	}
+
+	/**
+	 * A store, if the entity is set, otherwise a remove by ID.
+	 */
+	private static final class Operation {
+
+		private final Object entity;
+
+		private final Class<?> entityClass;
+
+		private final Object id;
+
+		private Operation(Object pEntity, Class<?> pEntityClass, Object pId) {
+			entity = pEntity;
+			entityClass = pEntityClass;
+			id = pId;
+		}
+	}
+}
@@ -13,7 +13,9 @@ import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
 /**
  * This class is used to create a {@link WebTarget} with the Jersey {@link Client}.
  * As we don't want always to create a new {@link Client}, it's once created (singleton)
- * and reinitialized with {@link #getClient(String...)} with a given URL.
+ * and reinitialized with {@link #getClient(String...)} with a given URL.<br />
+ * All requests pass the {@link ServiceCallFilter}. The targets are not configured
+ * any further, as Jersey would create a new runtime for each of them.
  * 
  * @author Peter Merkert
  */
@@ -80,6 +82,7 @@ public class ClientFactory {
 		JacksonJaxbJsonProvider provider = new JacksonJaxbJsonProvider();
         provider.setMapper(new CustomObjectMapper());
         config.register(provider);
+        config.register(new ServiceCallFilter());
 	    return config;
 	}
 }
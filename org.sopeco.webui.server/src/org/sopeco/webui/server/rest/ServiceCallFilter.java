@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.rest;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+
+import org.sopeco.service.configuration.ServiceConfiguration;
+import org.sopeco.webui.server.metrics.MetricsRegistry;
+import org.sopeco.webui.server.metrics.RpcCall;
+import org.sopeco.webui.server.metrics.RpcCall.ServiceCall;
+
+/**
+ * Times every request of the {@link ClientFactory} client to the service
+ * layer. Each request gets the header {@link #CORRELATION_HEADER} with the
+ * correlation ID of the GWT-RPC call it is part of, or a new ID, if it is sent
+ * outside of a call (e.g. by a background thread). The duration is recorded as
+ * timer <code>service.METHOD endpoint</code> in the {@link MetricsRegistry}.
+ * The endpoint is the path of the request with all segments, that are no
+ * <code>ServiceConfiguration.SVC_*</code> constant, replaced by <code>{}</code>,
+ * so IDs and names don't create a timer each. The duration is also added to the current {@link RpcCall}, which logs it as waterfall, if the
+ * call was slow. Requests, which fail without a response, are not recorded.
+ *
+ * @author agent
+ *
+ */
+public class ServiceCallFilter implements ClientRequestFilter, ClientResponseFilter {
+
+	/** Header, which carries the correlation ID to the service layer. */
+	public static final String CORRELATION_HEADER = "X-Correlation-ID";
+
+	/** Prefix of the names of all metrics of the service layer requests. */
+	public static final String PREFIX = "service.";
+
+	private static final String START_PROPERTY = "org.sopeco.webui.start";
+
+	private static final double NANOS_PER_MILLI = 1000000d;
+
+	private static final String VARIABLE_SEGMENT = "{}";
+
+	private static final Set<String> CONSTANT_SEGMENTS = readConstantSegments();
+
+	@Override
+	public void filter(ClientRequestContext requestContext) throws IOException {
+		RpcCall call = RpcCall.current();
+		String correlationId = call != null ? call.getCorrelationId() : UUID.randomUUID().toString();
+
+		requestContext.getHeaders().putSingle(CORRELATION_HEADER, correlationId);
+		requestContext.setProperty(START_PROPERTY, System.nanoTime());
+	}
+
+	@Override
+	public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext)
+			throws IOException {
+		Object start = requestContext.getProperty(START_PROPERTY);
+		if (!(start instanceof Long)) {
+			return;
+		}
+		long startNanos = (Long) start;
+		long duration = System.nanoTime() - startNanos;
+
+		String endpoint = requestContext.getMethod() + " " + getEndpoint(requestContext.getUri().getRawPath());
+		int status = responseContext.getStatus();
+
+		MetricsRegistry registry = MetricsRegistry.instance();
+		registry.record(PREFIX + endpoint, duration / NANOS_PER_MILLI);
+		if (status >= 400) {
+			registry.increment(PREFIX + endpoint + ".errors", 1);
+		}
+
+		RpcCall call = RpcCall.current();
+		if (call != null) {
+			call.addServiceCall(new ServiceCall(endpoint, status, startNanos, duration));
+		}
+	}
+
+	/**
+	 * Returns the name of the endpoint of the given path.
+	 * 
+	 * @param path
+	 *            the raw path of the request
+	 * @return the path with all variable segments replaced by <code>{}</code>
+	 */
+	static String getEndpoint(String path) {
+		StringBuilder endpoint = new StringBuilder();
+		for (String segment : path.split("/")) {
+			if (!segment.isEmpty()) {
+				endpoint.append('/').append(CONSTANT_SEGMENTS.contains(segment) ? segment : VARIABLE_SEGMENT);
+			}
+		}
+		return endpoint.length() > 0 ? endpoint.toString() : "/";
+	}
+
+	/**
+	 * Collects the values of all <code>SVC_*</code> constants of the
+	 * {@link ServiceConfiguration}, which are the fixed segments of the URLs.
+	 * 
+	 * @return the fixed URL segments
+	 */
+	private static Set<String> readConstantSegments() {
+		Set<String> segments = new HashSet<String>();
+		for (Field field : ServiceConfiguration.class.getFields()) {
+			if (field.getName().startsWith("SVC_") && field.getType() == String.class
+					&& Modifier.isStatic(field.getModifiers())) {
+				try {
+					segments.add((String) field.get(null));
+				} catch (IllegalAccessException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		}
+		return segments;
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.rpc;
+
+import org.sopeco.persistence.entities.definition.ScenarioDefinition;
+import org.sopeco.webui.server.rpc.scenario.ScenarioManagerRPCImpl;
+import org.sopeco.webui.server.rpc.servlet.SPCRemoteServlet;
+import org.sopeco.webui.server.user.UserManager;
+import org.sopeco.webui.shared.builder.ScenarioDefinitionBuilder;
+import org.sopeco.webui.shared.entities.BootstrapData;
+import org.sopeco.webui.shared.entities.account.AccountDetails;
+import org.sopeco.webui.shared.helper.ExtensionContainer;
+import org.sopeco.webui.shared.rpc.BootstrapRPC;
+
+/**
+ * Collects everything the first screen needs into one response, instead of
+ * one request each for the extensions, the system details, the account
+ * details and the selected scenario. The response is gzipped by the
+ * {@link com.google.gwt.user.server.rpc.RemoteServiceServlet}, if the browser
+ * accepts it.
+ *
+ * @author agent
+ *
+ */
+public class BootstrapRPCImpl extends SPCRemoteServlet implements BootstrapRPC {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public BootstrapData getBootstrapData(String extensionVersion) {
+		BootstrapData data = new BootstrapData();
+
+		ExtensionContainer extensions = ExtensionCatalog.instance().get();
+		if (!extensions.getVersion().equals(extensionVersion)) {
+			data.setExtensions(extensions);
+		}
+
+		data.setMetaDatabaseDetails(SystemDetailsRPCImpl.createMetaDatabaseDetails());
+
+		if (!UserManager.instance().existToken(getSessionId())) {
+			return data;
+		}
+
+		AccountDetails accountDetails = getAccountDetails();
+		data.setAccountDetails(accountDetails);
+
+		if (accountDetails != null && accountDetails.getSelectedScenario() != null) {
+			ScenarioDefinition definition = ScenarioManagerRPCImpl.loadScenarioDefinition(getToken(),
+					accountDetails.getSelectedScenario());
+
+			if (definition != null) {
+				// same as switching to the scenario, so the client can skip it
+				getUser().setCurrentScenarioDefinitionBuilder(ScenarioDefinitionBuilder.load(definition));
+				data.setSelectedScenario(definition);
+			}
+		}
+
+		return data;
+	}
+
+}
@@ -27,7 +27,9 @@
 package org.sopeco.webui.server.rpc;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import javax.validation.constraints.Null;
@@ -38,16 +40,26 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
+import org.sopeco.persistence.entities.definition.ExperimentSeriesDefinition;
+import org.sopeco.persistence.entities.definition.MeasurementSpecification;
+import org.sopeco.persistence.entities.definition.ScenarioDefinition;
 import org.sopeco.service.configuration.ServiceConfiguration;
-import org.sopeco.service.execute.MECLogEntry;
 import org.sopeco.service.persistence.entities.ExecutedExperimentDetails;
 import org.sopeco.service.persistence.entities.MECLog;
 import org.sopeco.service.persistence.entities.ScheduledExperiment;
 import org.sopeco.service.rest.exchange.ExperimentStatus;
 import org.sopeco.webui.server.rest.ClientFactory;
+import org.sopeco.webui.server.rpc.scenario.ScenarioManagerRPCImpl;
 import org.sopeco.webui.server.rpc.servlet.SPCRemoteServlet;
+import org.sopeco.webui.shared.entities.ExecutedExperimentPage;
+import org.sopeco.webui.shared.entities.ExecutedExperimentSort;
 import org.sopeco.webui.shared.entities.FrontendScheduledExperiment;
+import org.sopeco.webui.shared.entities.MECLogPage;
+import org.sopeco.webui.shared.entities.MECLogSeverity;
 import org.sopeco.webui.shared.entities.RunningControllerStatus;
+import org.sopeco.webui.shared.entities.ScheduleBatchResult;
+import org.sopeco.webui.shared.entities.ScheduleDelta;
+import org.sopeco.webui.shared.entities.ScheduledExperimentSummary;
 import org.sopeco.webui.shared.rpc.ExecuteRPC;
 
 import com.google.gwt.core.shared.GWT;
@@ -63,11 +75,152 @@ public class ExecuteRPCImpl extends SPCRemoteServlet implements ExecuteRPC {
 	private static final long serialVersionUID = 1L;
 	
 	private static final Logger LOGGER = Logger.getLogger(ExecuteRPCImpl.class.getName());
+	
+	/**
+	 * Maximum number of entries scheduled with one request.
+	 */
+	private static final int MAX_BATCH_SIZE = 200;
 
 	@Override
 	public void scheduleExperiment(FrontendScheduledExperiment rawScheduledExperiment) {
 		requiredLoggedIn();
 		
+		Long experimentKey = submitSchedule(rawScheduledExperiment);
+		
+		if (experimentKey == null) {
+			return;
+		}
+		
+		ExecutionStatusPublisher.instance().track(getUser().getAccountID(), experimentKey);
+		
+		ScheduleSynchronizer.instance().refresh(getUser().getAccountID(), getToken());
+	}
+
+	@Override
+	public ScheduleBatchResult scheduleExperiments(ScenarioDefinition definition,
+			List<FrontendScheduledExperiment> entries) {
+		requiredLoggedIn();
+		
+		ScheduleBatchResult result = new ScheduleBatchResult();
+		
+		if (entries.size() > MAX_BATCH_SIZE) {
+			LOGGER.info("Batch of " + entries.size() + " scheduled experiments rejected, it's too large.");
+			for (int i = 0; i < entries.size(); i++) {
+				result.getErrors().add("Too many entries, at most " + MAX_BATCH_SIZE + " can be scheduled at once.");
+				result.getExperimentKeys().add(null);
+			}
+			return result;
+		}
+		
+		// validate the whole batch before anything is submitted
+		boolean valid = true;
+		
+		for (FrontendScheduledExperiment entry : entries) {
+			String error = validateSchedule(definition, entry);
+			result.getErrors().add(error);
+			result.getExperimentKeys().add(null);
+			valid &= error == null;
+		}
+		
+		if (!valid) {
+			LOGGER.info("Batch of " + entries.size() + " scheduled experiments rejected.");
+			for (int i = 0; i < entries.size(); i++) {
+				if (result.getErrors().get(i) == null) {
+					result.getErrors().set(i, "Not scheduled, other entries of the batch are invalid.");
+				}
+			}
+			return result;
+		}
+		
+		// all entries share one stored version of the scenario
+		if (!ScenarioManagerRPCImpl.storeDefinition(getToken(), getUser().getAccountID(),
+				getAccountDetails().getSelectedScenario(), definition)) {
+			for (int i = 0; i < entries.size(); i++) {
+				result.getErrors().set(i, "Storing the scenario definition failed.");
+			}
+			return result;
+		}
+		
+		// the session works with the stored definition, like after storing it in the specification view
+		ScenarioManagerRPCImpl.switchScenario(getToken(), getUser(), definition.getScenarioName());
+		
+		result.setSubmitted(true);
+		
+		for (int i = 0; i < entries.size(); i++) {
+			FrontendScheduledExperiment entry = entries.get(i);
+			entry.setScenarioDefinition(definition);
+			
+			Long experimentKey = submitSchedule(entry);
+			
+			if (experimentKey == null) {
+				result.getErrors().set(i, "The service layer rejected the experiment.");
+				continue;
+			}
+			
+			result.getExperimentKeys().set(i, experimentKey);
+			ExecutionStatusPublisher.instance().track(getUser().getAccountID(), experimentKey);
+		}
+		
+		ScheduleSynchronizer.instance().refresh(getUser().getAccountID(), getToken());
+		
+		return result;
+	}
+	
+	/**
+	 * Checks a schedule entry against the scenario definition it is scheduled with.
+	 * 
+	 * @param definition	the scenario definition
+	 * @param entry			the entry to check
+	 * @return				the error message, <code>null</code> if the entry is valid
+	 */
+	private static String validateSchedule(ScenarioDefinition definition, FrontendScheduledExperiment entry) {
+		if (definition == null) {
+			return "No scenario definition.";
+		}
+		if (entry == null) {
+			return "Empty entry.";
+		}
+		if (entry.getLabel() == null || entry.getLabel().trim().isEmpty()) {
+			return "No label.";
+		}
+		if (entry.getControllerUrl() == null || entry.getControllerUrl().trim().isEmpty()) {
+			return "No controller URL.";
+		}
+		if (entry.isRepeating() && (isEmpty(entry.getRepeatDays()) || isEmpty(entry.getRepeatHours())
+				|| isEmpty(entry.getRepeatMinutes()))) {
+			return "Incomplete repetition.";
+		}
+		if (entry.getSelectedExperiments() == null || entry.getSelectedExperiments().isEmpty()) {
+			return "No experiment selected.";
+		}
+		
+		Set<String> available = new HashSet<String>();
+		for (MeasurementSpecification ms : definition.getMeasurementSpecifications()) {
+			for (ExperimentSeriesDefinition esd : ms.getExperimentSeriesDefinitions()) {
+				available.add(ms.getName() + "." + esd.getName());
+			}
+		}
+		
+		for (String selected : entry.getSelectedExperiments()) {
+			if (!available.contains(selected)) {
+				return "Unknown experiment '" + selected + "'.";
+			}
+		}
+		
+		return null;
+	}
+	
+	private static boolean isEmpty(String value) {
+		return value == null || value.trim().isEmpty();
+	}
+	
+	/**
+	 * Submits the experiment to the service layer. The experiment is always set active.
+	 * 
+	 * @param rawScheduledExperiment	the experiment to schedule
+	 * @return							the experiment key, <code>null</code> if it was rejected
+	 */
+	private Long submitSchedule(FrontendScheduledExperiment rawScheduledExperiment) {
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_EXECUTE,
 															 ServiceConfiguration.SVC_EXECUTE_SCHEDULE);
 		
@@ -85,36 +238,59 @@ public class ExecuteRPCImpl extends SPCRemoteServlet implements ExecuteRPC {
 		if (r.getStatus() != Status.OK.getStatusCode()) {
 			LOGGER.info("The experiment could not be set to execution state. Most likely the "
 						+ "ScheduledExperiment has the status 'active'. Please first insert the experiment as inactive.");
-			return;
+			return null;
 		}
 		
 		// As the experiment status is active, the experiment key is returned from the REST Service Layer
-		// store the experiment key
 		Long experimentKey = r.readEntity(Long.class);
 		
 		LOGGER.info("Experiment key for ScheduledExperiment: " + experimentKey);
 		
-		getUser().setExperimentKey(experimentKey);
+		return experimentKey;
 	}
 
 	@Override
-	public List<FrontendScheduledExperiment> getScheduledExperiments() {
+	public List<ScheduledExperimentSummary> getScheduledExperiments() {
+		requiredLoggedIn();
 		
-		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_EXECUTE,
-						 									 ServiceConfiguration.SVC_EXECUTE_SCHEDULE);
+		List<ScheduledExperiment> listSE = ScheduleSynchronizer.fetchScheduledExperiments(getToken());
+		List<ScheduledExperimentSummary> listSES = new ArrayList<ScheduledExperimentSummary>();
 		
-		wt = wt.queryParam(ServiceConfiguration.SVCP_ACCOUNT_TOKEN, getToken());
+		if (listSE == null) {
+			return listSES;
+		}
 		
-		Response r = wt.request(MediaType.APPLICATION_JSON).get();
+		for (ScheduledExperiment se : listSE) {
+			listSES.add(ServiceConverter.convertScheduledExperimentSummary(se));
+		}
+		
+		return listSES;
+	}
+
+	@Override
+	public ScheduleDelta getScheduledExperimentChanges(long epoch, long sinceVersion) {
+		requiredLoggedIn();
 		
-		List<ScheduledExperiment> listSE = r.readEntity(new GenericType<List<ScheduledExperiment>>() { });
-		List<FrontendScheduledExperiment> listFSE = new ArrayList<FrontendScheduledExperiment>();
+		return ScheduleSynchronizer.instance().getChanges(getUser().getAccountID(), getToken(), epoch, sinceVersion);
+	}
+
+	@Override
+	public FrontendScheduledExperiment getScheduledExperiment(long id) {
+		requiredLoggedIn();
+		
+		List<ScheduledExperiment> listSE = ScheduleSynchronizer.fetchScheduledExperiments(getToken());
+		
+		if (listSE == null) {
+			return null;
+		}
 		
 		for (ScheduledExperiment se : listSE) {
-			listFSE.add(ServiceConverter.convertScheduledExperiment(se));
+			if (se.getId() == id) {
+				return ServiceConverter.convertScheduledExperiment(se);
+			}
 		}
 		
-		return listFSE;
+		return null;
 	}
 
 	@Override
@@ -128,7 +304,12 @@ public class ExecuteRPCImpl extends SPCRemoteServlet implements ExecuteRPC {
 		
 		Response r = wt.request(MediaType.APPLICATION_JSON).delete();
 
-		return r.getStatus() == Status.OK.getStatusCode();
+		if (r.getStatus() != Status.OK.getStatusCode()) {
+			return false;
+		}
+		
+		ScheduleSynchronizer.instance().refresh(getUser().getAccountID(), getToken());
+		return true;
 	}
 
 	@Override
@@ -151,21 +332,54 @@ public class ExecuteRPCImpl extends SPCRemoteServlet implements ExecuteRPC {
 
 		Response r = wt.request(MediaType.APPLICATION_JSON).put(Entity.entity(Null.class, MediaType.APPLICATION_JSON));
 		
-		return r.getStatus() == Status.OK.getStatusCode();
+		if (r.getStatus() != Status.OK.getStatusCode()) {
+			return false;
+		}
+		
+		ScheduleSynchronizer.instance().refresh(getUser().getAccountID(), getToken());
+		return true;
 	}
 
 	@Override
 	public List<ExecutedExperimentDetails> getExecutedExperimentDetails() {
 		requiredLoggedIn();
 
+		return fetchExecutedExperimentDetails(getAccountDetails().getSelectedScenario());
+	}
+
+	@Override
+	public ExecutedExperimentPage getExecutedExperimentPage(int offset, int limit, ExecutedExperimentSort sort,
+			boolean ascending, String filter) {
+		requiredLoggedIn();
+		
+		long accountId = getUser().getAccountID();
+		String scenario = getAccountDetails().getSelectedScenario();
+		
+		List<ExecutedExperimentDetails> details = ExecutedExperimentCache.instance().get(accountId, scenario);
+		
+		if (details == null) {
+			details = fetchExecutedExperimentDetails(scenario);
+			
+			if (details == null) {
+				return new ExecutedExperimentPage();
+			}
+			
+			ExecutedExperimentCache.instance().put(accountId, scenario, details);
+		}
+		
+		return ExecutedExperimentCache.page(details, offset, Math.min(limit, MAX_EXECUTED_EXPERIMENT_PAGE_SIZE), sort,
+				ascending, filter);
+	}
+
+	private List<ExecutedExperimentDetails> fetchExecutedExperimentDetails(String scenario) {
 		GWT.log("Fetching list of ExecutedExperimentDetails.");
 		
-		// now request the executedExperimentDetails corresponding to the current selected scenario
+		// now request the executedExperimentDetails corresponding to the given scenario
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_EXECUTE,
 			     								   			 ServiceConfiguration.SVC_EXECUTE_DETAILS);
 		
 		wt = wt.queryParam(ServiceConfiguration.SVCP_EXECUTE_TOKEN, getToken());
-		wt = wt.queryParam(ServiceConfiguration.SVCP_EXECUTE_SCENARIONAME, getAccountDetails().getSelectedScenario());
+		wt = wt.queryParam(ServiceConfiguration.SVCP_EXECUTE_SCENARIONAME, scenario);
 		
 		Response r = wt.request(MediaType.APPLICATION_JSON).get();
 		
@@ -199,6 +413,31 @@ public class ExecuteRPCImpl extends SPCRemoteServlet implements ExecuteRPC {
 	public MECLog getMECLog(long id) {
 		requiredLoggedIn();
 		
+		return fetchMECLog(id);
+	}
+
+	@Override
+	public MECLogPage getMECLogPage(long id, int offset, int limit, MECLogSeverity minSeverity, long fromTime,
+			long toTime) {
+		requiredLoggedIn();
+		
+		long accountId = getUser().getAccountID();
+		MECLog log = MECLogCache.instance().get(accountId, id);
+		
+		if (log == null) {
+			log = fetchMECLog(id);
+			
+			if (log == null) {
+				return new MECLogPage();
+			}
+			
+			MECLogCache.instance().put(accountId, id, log);
+		}
+		
+		return MECLogCache.page(log, offset, Math.min(limit, MAX_MEC_LOG_PAGE_SIZE), minSeverity, fromTime, toTime);
+	}
+
+	private MECLog fetchMECLog(long id) {
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_EXECUTE,
 						 									 ServiceConfiguration.SVC_EXECUTE_MECLOG);
 		
@@ -207,61 +446,53 @@ public class ExecuteRPCImpl extends SPCRemoteServlet implements ExecuteRPC {
 		
 		Response r = wt.request(MediaType.APPLICATION_JSON).get();
 		
+		if (r.getStatus() != Status.OK.getStatusCode()) {
+			LOGGER.warning("Fetching the MEC log of executed experiment " + id + " failed.");
+			return null;
+		}
+		
 		return r.readEntity(org.sopeco.service.persistence.entities.MECLog.class);
 	}
 
 	@Override
-	public RunningControllerStatus getControllerLog() {
+	public List<RunningControllerStatus> getRunningExperiments() {
 		requiredLoggedIn();
-
-		LOGGER.info("Fetching the controller log.");
 		
-		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_EXECUTE,
-															 ServiceConfiguration.SVC_EXECUTE_STATUS);
+		return ExecutionStatusPublisher.instance().getTracked(getUser().getAccountID());
+	}
+
+	@Override
+	public RunningControllerStatus getControllerLog(long experimentKey, int logCursor) {
+		requiredLoggedIn();
+
+		LOGGER.fine("Fetching the controller log for experiment (key " + experimentKey
+					+ ") starting at entry " + logCursor + ".");
 		
-		long experimentKey = getUser().getExperimentKey();
+		ExperimentStatus es = ExecutionStatusPublisher.fetchStatus(getToken(), experimentKey);
 
-		LOGGER.info("Fetching the controller log for current selected experiment (key " + experimentKey + ").");
+		if (es == null) {
+			return null;
+		}
 		
-		wt = wt.queryParam(ServiceConfiguration.SVCP_ACCOUNT_TOKEN, getToken());
-		wt = wt.queryParam(ServiceConfiguration.SVCP_EXECUTE_KEY, experimentKey);
+		RunningControllerStatus rcs = ServiceConverter.convertExperimentStatus(es, experimentKey, logCursor);
 		
-		Response r = wt.request(MediaType.APPLICATION_JSON).get();
-
-		if (r.getStatus() == Status.OK.getStatusCode()) {
-			
-			ExperimentStatus es = r.readEntity(ExperimentStatus.class);
-			
-			// now convert the ExperimentStatus object into a RunningControllerStatus object
-			RunningControllerStatus rcs = new RunningControllerStatus();
-			rcs.setAccount(es.getAccountId());
-			rcs.setHasFinished(es.isFinished());
-			rcs.setLabel(es.getLabel());
-			rcs.setProgress(es.getProgress());
-			rcs.setScenario(es.getScenarioName());
-			rcs.setTimeRemaining(es.getTimeRemaining());
-			rcs.setTimeStart(es.getTimeStart());
-			
-			rcs.setEventLogList(new ArrayList<MECLogEntry>());
-			for (org.sopeco.service.execute.MECLogEntry meclogentry : es.getEventLogList()) {
-				rcs.getEventLogList().add(meclogentry);
-			}
-			
-			return rcs;
+		// further changes are pushed to all sessions of the account
+		if (!es.isFinished()) {
+			ExecutionStatusPublisher.instance().track(getUser().getAccountID(), experimentKey);
 		}
 		
-		return null;
+		return rcs;
 	}
 
 	@Override
-	public void abortCurrentExperiment() {
+	public void abortExperiment(long experimentKey) {
 		requiredLoggedIn();
 		
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_EXECUTE,
 												   			 ServiceConfiguration.SVC_EXECUTE_ABORT);
 		
 		wt = wt.queryParam(ServiceConfiguration.SVCP_ACCOUNT_TOKEN, getToken());
-		wt = wt.queryParam(ServiceConfiguration.SVCP_EXECUTE_KEY, getUser().getExperimentKey());
+		wt = wt.queryParam(ServiceConfiguration.SVCP_EXECUTE_KEY, experimentKey);
 		
 		wt.request(MediaType.APPLICATION_JSON).put(Entity.entity(Null.class, MediaType.APPLICATION_JSON));
 	}
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.rpc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sopeco.service.persistence.entities.ExecutedExperimentDetails;
+import org.sopeco.webui.shared.entities.ExecutedExperimentPage;
+import org.sopeco.webui.shared.entities.ExecutedExperimentSort;
+
+/**
+ * Caches the executed experiment history of a scenario per account, so paging
+ * through the history does not fetch the complete list from the service layer
+ * for every page. Entries expire after {@link #TIME_TO_LIVE}, as new executions
+ * are added by the service layer. Expired entries are removed on every
+ * {@link #put}, and at most {@link #MAX_SIZE} histories are kept.<br />
+ * The class is a Singleton.
+ *
+ * @author agent
+ */
+public final class ExecutedExperimentCache {
+
+	/**
+	 * Time in milliseconds a cached history is valid.
+	 */
+	public static final long TIME_TO_LIVE = 10000;
+
+	/**
+	 * Maximum number of cached histories.
+	 */
+	public static final int MAX_SIZE = 64;
+
+	private static ExecutedExperimentCache singleton;
+
+	private final Map<String, Entry> cache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	/**
+	 * Private constructor for singleton.
+	 */
+	private ExecutedExperimentCache() {
+	}
+
+	/**
+	 * Singleton constructor.
+	 *
+	 * @return the instance of {@link ExecutedExperimentCache}
+	 */
+	public static synchronized ExecutedExperimentCache instance() {
+		if (singleton == null) {
+			singleton = new ExecutedExperimentCache();
+		}
+		return singleton;
+	}
+
+	/**
+	 * Returns the cached history of the scenario.
+	 *
+	 * @param accountId	the account ID
+	 * @param scenario	the scenario name
+	 * @return			the history, <code>null</code> if not cached or expired
+	 */
+	public synchronized List<ExecutedExperimentDetails> get(long accountId, String scenario) {
+		String key = key(accountId, scenario);
+		Entry entry = cache.get(key);
+
+		if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+			cache.remove(key);
+			return null;
+		}
+
+		return entry == null ? null : entry.details;
+	}
+
+	/**
+	 * Stores the history of the scenario.
+	 *
+	 * @param accountId	the account ID
+	 * @param scenario	the scenario name
+	 * @param details	the history
+	 */
+	public synchronized void put(long accountId, String scenario, List<ExecutedExperimentDetails> details) {
+		long now = System.currentTimeMillis();
+		Iterator<Entry> iterator = cache.values().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().isExpired(now)) {
+				iterator.remove();
+			}
+		}
+
+		cache.put(key(accountId, scenario), new Entry(details));
+	}
+
+	/**
+	 * Filters, sorts and pages the given history.
+	 *
+	 * @param details	the complete history
+	 * @param offset	index of the first returned experiment
+	 * @param limit		maximum number of returned experiments
+	 * @param sort		the property to sort by, <code>null</code> sorts by the start time
+	 * @param ascending	true to sort ascending
+	 * @param filter	only experiments whose name or controller contains this text,
+	 * 					<code>null</code> or empty for all
+	 * @return			the requested page
+	 */
+	public static ExecutedExperimentPage page(List<ExecutedExperimentDetails> details, int offset, int limit,
+			ExecutedExperimentSort sort, boolean ascending, String filter) {
+		List<ExecutedExperimentDetails> matching = new ArrayList<ExecutedExperimentDetails>();
+		String lowerFilter = filter == null ? "" : filter.trim().toLowerCase();
+
+		for (ExecutedExperimentDetails eed : details) {
+			if (lowerFilter.isEmpty() || contains(eed.getName(), lowerFilter)
+					|| contains(eed.getControllerURL(), lowerFilter)) {
+				matching.add(eed);
+			}
+		}
+
+		Comparator<ExecutedExperimentDetails> comparator = comparator(sort == null
+				? ExecutedExperimentSort.TIME_STARTED : sort);
+		if (!ascending) {
+			comparator = Collections.reverseOrder(comparator);
+		}
+		Collections.sort(matching, comparator);
+
+		ExecutedExperimentPage page = new ExecutedExperimentPage();
+		page.setOffset(offset);
+		page.setTotalCount(matching.size());
+
+		int from = Math.max(0, Math.min(offset, matching.size()));
+		int to = Math.min(matching.size(), from + Math.max(limit, 0));
+		page.setDetails(new ArrayList<ExecutedExperimentDetails>(matching.subList(from, to)));
+
+		return page;
+	}
+
+	private static boolean contains(String value, String lowerFilter) {
+		return value != null && value.toLowerCase().contains(lowerFilter);
+	}
+
+	private static Comparator<ExecutedExperimentDetails> comparator(final ExecutedExperimentSort sort) {
+		return new Comparator<ExecutedExperimentDetails>() {
+			@Override
+			public int compare(ExecutedExperimentDetails o1, ExecutedExperimentDetails o2) {
+				switch (sort) {
+				case NAME:
+					return compareStrings(o1.getName(), o2.getName());
+				case CONTROLLER:
+					return compareStrings(o1.getControllerURL(), o2.getControllerURL());
+				case TIME_FINISHED:
+					return compareLongs(o1.getTimeFinished(), o2.getTimeFinished());
+				default:
+					return compareLongs(o1.getTimeStarted(), o2.getTimeStarted());
+				}
+			}
+		};
+	}
+
+	private static int compareStrings(String s1, String s2) {
+		if (s1 == null) {
+			return s2 == null ? 0 : -1;
+		}
+		return s2 == null ? 1 : s1.compareToIgnoreCase(s2);
+	}
+
+	private static int compareLongs(long l1, long l2) {
+		return l1 < l2 ? -1 : (l1 == l2 ? 0 : 1);
+	}
+
+	private static String key(long accountId, String scenario) {
+		return accountId + "/" + scenario;
+	}
+
+	/**
+	 * A cached history.
+	 */
+	private static final class Entry {
+
+		private final List<ExecutedExperimentDetails> details;
+		private final long loadTime;
+
+		private Entry(List<ExecutedExperimentDetails> pDetails) {
+			details = pDetails;
+			loadTime = System.currentTimeMillis();
+		}
+
+		private boolean isExpired(long now) {
+			return now - loadTime > TIME_TO_LIVE;
+		}
+	}
+}
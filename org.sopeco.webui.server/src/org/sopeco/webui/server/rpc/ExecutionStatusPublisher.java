@@ -0,0 +1,334 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.rpc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.sopeco.service.configuration.ServiceConfiguration;
+import org.sopeco.service.rest.exchange.ExperimentStatus;
+import org.sopeco.webui.server.rest.ClientFactory;
+import org.sopeco.webui.server.user.UserManager;
+import org.sopeco.webui.shared.entities.RunningControllerStatus;
+import org.sopeco.webui.shared.push.PushDomain;
+import org.sopeco.webui.shared.push.packages.PushControllerStatus;
+
+/**
+ * Tracks the running experiments of every account and publishes their status to
+ * all sessions of the account. The status of each experiment is polled once per
+ * interval from the service layer, independent of the number of sessions, and only
+ * pushed, if it has changed. Every pushed {@link RunningControllerStatus} contains
+ * only the log entries added since the last push, starting at
+ * {@link RunningControllerStatus#getLogCursor()}. A session which misses entries
+ * requests them with the cursor it has.<br />
+ * The polling starts with the first tracked experiment and ends with
+ * {@link #stop()}.<br />
+ * The class is a Singleton.
+ *
+ * @author agent
+ */
+public final class ExecutionStatusPublisher {
+
+	private static final Logger LOGGER = Logger.getLogger(ExecutionStatusPublisher.class.getName());
+
+	/**
+	 * Interval in milliseconds between two status polls.
+	 */
+	private static final long INTERVAL = 1000;
+
+	/**
+	 * Time in milliseconds a finished experiment is still listed.
+	 */
+	private static final long FINISHED_RETENTION = 600000;
+
+	private static ExecutionStatusPublisher singleton;
+
+	/**
+	 * Maps the account ID to its tracked experiments by experiment key.
+	 */
+	private final Map<Long, Map<Long, Tracked>> accountMap = new HashMap<Long, Map<Long, Tracked>>();
+
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * Private constructor for singleton.
+	 */
+	private ExecutionStatusPublisher() {
+	}
+
+	/**
+	 * Singleton constructor.
+	 *
+	 * @return the instance of {@link ExecutionStatusPublisher}
+	 */
+	public static synchronized ExecutionStatusPublisher instance() {
+		if (singleton == null) {
+			singleton = new ExecutionStatusPublisher();
+		}
+		return singleton;
+	}
+
+	/**
+	 * Stops the polling and drops all tracked experiments.
+	 */
+	public synchronized void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+		accountMap.clear();
+	}
+
+	/**
+	 * Starts the polling, if it's not running yet.
+	 */
+	private void start() {
+		if (scheduler != null) {
+			return;
+		}
+
+		scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "execution-status-publisher");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+
+		scheduler.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					publishAll();
+				} catch (RuntimeException e) {
+					LOGGER.log(Level.WARNING, "Publishing the execution status failed.", e);
+				}
+			}
+		}, INTERVAL, INTERVAL, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Starts tracking the experiment for the account. Does nothing, if the experiment
+	 * is already tracked.
+	 *
+	 * @param accountId		the account ID
+	 * @param experimentKey	the key of the experiment
+	 */
+	public synchronized void track(long accountId, long experimentKey) {
+		Map<Long, Tracked> experiments = accountMap.get(accountId);
+
+		if (experiments == null) {
+			experiments = new LinkedHashMap<Long, Tracked>();
+			accountMap.put(accountId, experiments);
+		}
+
+		if (!experiments.containsKey(experimentKey)) {
+			experiments.put(experimentKey, new Tracked(experimentKey));
+		}
+
+		start();
+	}
+
+	/**
+	 * Returns the last known status of all tracked experiments of the account,
+	 * without log entries. The log cursor of each status is the size of the log.
+	 *
+	 * @param accountId	the account ID
+	 * @return			the status of each experiment, in the order they were tracked
+	 */
+	public synchronized List<RunningControllerStatus> getTracked(long accountId) {
+		List<RunningControllerStatus> list = new ArrayList<RunningControllerStatus>();
+		Map<Long, Tracked> experiments = accountMap.get(accountId);
+
+		if (experiments == null) {
+			return list;
+		}
+
+		for (Tracked tracked : experiments.values()) {
+			if (tracked.status != null) {
+				list.add(tracked.status);
+			}
+		}
+
+		return list;
+	}
+
+	/**
+	 * Fetches the status of the experiment from the service layer.
+	 *
+	 * @param token			the token of the user
+	 * @param experimentKey	the key of the experiment
+	 * @return				the status, <code>null</code> if not available
+	 */
+	public static ExperimentStatus fetchStatus(String token, long experimentKey) {
+		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_EXECUTE,
+															 ServiceConfiguration.SVC_EXECUTE_STATUS);
+
+		wt = wt.queryParam(ServiceConfiguration.SVCP_ACCOUNT_TOKEN, token);
+		wt = wt.queryParam(ServiceConfiguration.SVCP_EXECUTE_KEY, experimentKey);
+
+		Response r = wt.request(MediaType.APPLICATION_JSON).get();
+
+		if (r.getStatus() != Status.OK.getStatusCode()) {
+			return null;
+		}
+
+		return r.readEntity(ExperimentStatus.class);
+	}
+
+	private void publishAll() {
+		Map<Long, List<Tracked>> snapshot = new HashMap<Long, List<Tracked>>();
+
+		synchronized (this) {
+			Iterator<Map.Entry<Long, Map<Long, Tracked>>> iter = accountMap.entrySet().iterator();
+			long now = System.currentTimeMillis();
+
+			while (iter.hasNext()) {
+				Map.Entry<Long, Map<Long, Tracked>> entry = iter.next();
+
+				Iterator<Tracked> trackedIter = entry.getValue().values().iterator();
+				while (trackedIter.hasNext()) {
+					Tracked tracked = trackedIter.next();
+					if (tracked.finishedTime > 0 && now - tracked.finishedTime > FINISHED_RETENTION) {
+						trackedIter.remove();
+					}
+				}
+
+				if (entry.getValue().isEmpty()) {
+					iter.remove();
+				} else {
+					snapshot.put(entry.getKey(), new ArrayList<Tracked>(entry.getValue().values()));
+				}
+			}
+		}
+
+		for (Map.Entry<Long, List<Tracked>> entry : snapshot.entrySet()) {
+			List<String> sessions = UserManager.instance().getSessionIds(entry.getKey());
+
+			if (sessions.isEmpty()) {
+				// nobody is watching, the experiments are polled again after the next login
+				continue;
+			}
+
+			String token = UserManager.instance().getToken(sessions.get(0));
+
+			for (Tracked tracked : entry.getValue()) {
+				if (tracked.finishedTime > 0) {
+					continue;
+				}
+
+				publish(token, sessions, tracked);
+			}
+		}
+	}
+
+	private void publish(String token, List<String> sessions, Tracked tracked) {
+		ExperimentStatus es;
+		try {
+			es = fetchStatus(token, tracked.experimentKey);
+		} catch (ProcessingException e) {
+			LOGGER.fine("Fetching the experiment status failed: " + e.getMessage());
+			return;
+		}
+
+		if (es == null) {
+			return;
+		}
+
+		RunningControllerStatus rcs;
+		synchronized (this) {
+			if (!tracked.hasChanged(es)) {
+				return;
+			}
+
+			rcs = ServiceConverter.convertExperimentStatus(es, tracked.experimentKey, tracked.logCursor);
+			tracked.update(es);
+		}
+
+		for (String sessionId : sessions) {
+			PushControllerStatus pushPackage = new PushControllerStatus(PushDomain.TAB_CONTROLLER_THREE);
+			pushPackage.setCcExperiment(rcs);
+			PushRPCImpl.push(sessionId, pushPackage);
+		}
+	}
+
+	/**
+	 * The state of a tracked experiment last pushed to the sessions.
+	 */
+	private static final class Tracked {
+
+		private final long experimentKey;
+		private int logCursor;
+		private float progress = Float.NaN;
+		private long timeRemaining;
+		private long finishedTime;
+
+		/**
+		 * The last status without log entries.
+		 */
+		private RunningControllerStatus status;
+
+		private Tracked(long pExperimentKey) {
+			experimentKey = pExperimentKey;
+		}
+
+		private boolean hasChanged(ExperimentStatus es) {
+			return Float.isNaN(progress)
+					|| es.getEventLogList().size() != logCursor
+					|| es.getProgress() != progress
+					|| es.getTimeRemaining() != timeRemaining
+					|| es.isFinished();
+		}
+
+		private void update(ExperimentStatus es) {
+			logCursor = es.getEventLogList().size();
+			progress = es.getProgress();
+			timeRemaining = es.getTimeRemaining();
+			if (es.isFinished()) {
+				finishedTime = System.currentTimeMillis();
+			}
+			status = ServiceConverter.convertExperimentStatus(es, experimentKey, logCursor);
+		}
+	}
+}
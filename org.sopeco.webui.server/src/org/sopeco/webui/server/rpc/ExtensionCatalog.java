@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.rpc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+import org.sopeco.engine.analysis.IPredictionFunctionStrategyExtension;
+import org.sopeco.engine.experimentseries.IConstantAssignmentExtension;
+import org.sopeco.engine.experimentseries.IExplorationStrategyExtension;
+import org.sopeco.engine.experimentseries.IParameterVariationExtension;
+import org.sopeco.engine.processing.IProcessingStrategyExtension;
+import org.sopeco.engine.registry.ExtensionRegistry;
+import org.sopeco.engine.registry.ISoPeCoExtension;
+import org.sopeco.webui.server.security.Crypto;
+import org.sopeco.webui.shared.helper.ExtensionContainer;
+import org.sopeco.webui.shared.helper.ExtensionTypes;
+
+/**
+ * Holds the {@link ExtensionContainer} with all extensions of the
+ * {@link ExtensionRegistry}. The container is built once and only rebuilt, if the
+ * registry has changed. As the registry offers no change notification, it is checked
+ * at most every {@link #CHECK_INTERVAL} milliseconds. Every container has a version
+ * hash over its content, so clients can keep a cached copy.<br />
+ * The class is a Singleton.
+ *
+ * @author agent
+ */
+public final class ExtensionCatalog {
+
+	private static final Logger LOGGER = Logger.getLogger(ExtensionCatalog.class.getName());
+
+	/**
+	 * Minimum time in milliseconds between two checks of the registry.
+	 */
+	public static final long CHECK_INTERVAL = 60000;
+
+	private static ExtensionCatalog singleton;
+
+	private ExtensionContainer container;
+
+	private long lastCheck;
+
+	/**
+	 * Private constructor for singleton.
+	 */
+	private ExtensionCatalog() {
+	}
+
+	/**
+	 * Singleton constructor.
+	 *
+	 * @return the instance of {@link ExtensionCatalog}
+	 */
+	public static synchronized ExtensionCatalog instance() {
+		if (singleton == null) {
+			singleton = new ExtensionCatalog();
+		}
+		return singleton;
+	}
+
+	/**
+	 * Returns the current container. The registry is checked for changes, if the last
+	 * check is older than {@link #CHECK_INTERVAL}.
+	 *
+	 * @return the container with all extensions and its version
+	 */
+	public synchronized ExtensionContainer get() {
+		if (container == null || System.currentTimeMillis() - lastCheck > CHECK_INTERVAL) {
+			refresh();
+		}
+		return container;
+	}
+
+	/**
+	 * Reads all extensions from the registry. The container is only replaced, if the
+	 * content has changed.
+	 */
+	public synchronized void refresh() {
+		ExtensionContainer fresh = build();
+		lastCheck = System.currentTimeMillis();
+
+		if (container == null || !container.getVersion().equals(fresh.getVersion())) {
+			LOGGER.info("Extension catalog loaded, version " + fresh.getVersion());
+			container = fresh;
+		}
+	}
+
+	private static ExtensionContainer build() {
+		ExtensionContainer fresh = new ExtensionContainer();
+
+		for (ExtensionTypes type : ExtensionTypes.values()) {
+			switch (type) {
+			case EXPLORATIONSTRATEGY:
+				fresh.getMap().put(ExtensionTypes.EXPLORATIONSTRATEGY,
+						createExtension(IExplorationStrategyExtension.class));
+				break;
+			// case TERMINATIONCONDITION:
+			// fresh.getMap().put(ExtensionTypes.TERMINATIONCONDITION,
+			// createExtension(ITerminationConditionExtension.class));
+			// break;
+			case CONSTANTASSIGNMENT:
+				fresh.getMap().put(ExtensionTypes.CONSTANTASSIGNMENT,
+						createExtension(IConstantAssignmentExtension.class));
+				break;
+			case PARAMETERVARIATION:
+				fresh.getMap().put(ExtensionTypes.PARAMETERVARIATION,
+						createExtension(IParameterVariationExtension.class));
+				break;
+			case PROCESSINGSTRATEGY:
+				fresh.getMap().put(ExtensionTypes.PROCESSINGSTRATEGY,
+						createExtension(IProcessingStrategyExtension.class));
+				break;
+			case ANALYSIS:
+				fresh.getMap().put(ExtensionTypes.ANALYSIS,
+						createExtension(IPredictionFunctionStrategyExtension.class));
+				break;
+			default:
+				break;
+			}
+		}
+
+		fresh.setVersion(hash(fresh));
+		return fresh;
+	}
+
+	/**
+	 * Returns a map with all existing extensions of the given class. Key:
+	 * Extension Name - Value: Config-Map.
+	 *
+	 * @param c		the extension class
+	 * @param <E>	type of the extension to be retrieved
+	 * @return		the extensions
+	 */
+	private static <E extends ISoPeCoExtension<?>> Map<String, Map<String, String>> createExtension(Class<E> c) {
+		Map<String, Map<String, String>> extensions = new HashMap<String, Map<String, String>>();
+
+		for (E ext : ExtensionRegistry.getSingleton().getExtensions(c).getList()) {
+			Map<String, String> copiedMap = new HashMap<String, String>();
+			copiedMap.putAll(ext.getConfigParameters());
+
+			extensions.put(ext.getName(), copiedMap);
+		}
+
+		return extensions;
+	}
+
+	/**
+	 * Calculates a hash over the content of the container, independent of the
+	 * iteration order of the maps.
+	 */
+	private static String hash(ExtensionContainer extensionContainer) {
+		StringBuilder content = new StringBuilder();
+
+		for (ExtensionTypes type : ExtensionTypes.values()) {
+			Map<String, Map<String, String>> extensions = extensionContainer.getExtensions(type);
+			if (extensions == null) {
+				continue;
+			}
+
+			content.append(type.name()).append('{');
+			for (Map.Entry<String, Map<String, String>> entry : new TreeMap<String, Map<String, String>>(extensions)
+					.entrySet()) {
+				content.append(entry.getKey()).append(new TreeMap<String, String>(entry.getValue()));
+			}
+			content.append('}');
+		}
+
+		return Crypto.sha256(content.toString());
+	}
+}
@@ -26,19 +26,8 @@
  */
 package org.sopeco.webui.server.rpc;
 
-import java.util.HashMap;
-import java.util.Map;
-
-import org.sopeco.engine.analysis.IPredictionFunctionStrategyExtension;
-import org.sopeco.engine.experimentseries.IConstantAssignmentExtension;
-import org.sopeco.engine.experimentseries.IExplorationStrategyExtension;
-import org.sopeco.engine.experimentseries.IParameterVariationExtension;
-import org.sopeco.engine.processing.IProcessingStrategyExtension;
-import org.sopeco.engine.registry.ExtensionRegistry;
-import org.sopeco.engine.registry.ISoPeCoExtension;
 import org.sopeco.webui.server.rpc.servlet.SPCRemoteServlet;
 import org.sopeco.webui.shared.helper.ExtensionContainer;
-import org.sopeco.webui.shared.helper.ExtensionTypes;
 import org.sopeco.webui.shared.rpc.ExtensionRPC;
 
 /**
@@ -54,62 +43,19 @@ public class ExtensionRPCImpl extends SPCRemoteServlet implements ExtensionRPC {
 	public ExtensionContainer getExtensions() {
 		//requiredLoggedIn();
 		
-		ExtensionContainer container = new ExtensionContainer();
-
-		for (ExtensionTypes type : ExtensionTypes.values()) {
-			switch (type) {
-			case EXPLORATIONSTRATEGY:
-				container.getMap().put(ExtensionTypes.EXPLORATIONSTRATEGY,
-						createExtension(IExplorationStrategyExtension.class));
-				break;
-			// case TERMINATIONCONDITION:
-			// container.getMap().put(ExtensionTypes.TERMINATIONCONDITION,
-			// createExtension(ITerminationConditionExtension.class));
-			// break;
-			case CONSTANTASSIGNMENT:
-				container.getMap().put(ExtensionTypes.CONSTANTASSIGNMENT,
-						createExtension(IConstantAssignmentExtension.class));
-				break;
-			case PARAMETERVARIATION:
-				container.getMap().put(ExtensionTypes.PARAMETERVARIATION,
-						createExtension(IParameterVariationExtension.class));
-				break;
-			case PROCESSINGSTRATEGY:
-				container.getMap().put(ExtensionTypes.PROCESSINGSTRATEGY,
-						createExtension(IProcessingStrategyExtension.class));
-				break;
-			case ANALYSIS:
-				container.getMap().put(ExtensionTypes.ANALYSIS,
-						createExtension(IPredictionFunctionStrategyExtension.class));
-				break;
-			}
-		}
-
-		return container;
+		return ExtensionCatalog.instance().get();
 	}
 
-	/**
-	 * Returns a map with all existing extensions of the given class. Key:
-	 * Extension Name - Value: Config-Map.
-	 * 
-	 * @param c
-	 *            the extension class
-	 * @param <E>
-	 *            type of the extension to be retrieved
-	 * @return
-	 */
-	<E extends ISoPeCoExtension<?>> Map<String, Map<String, String>> createExtension(Class<E> c) {
+	@Override
+	public ExtensionContainer getExtensionsIfChanged(String version) {
 		//requiredLoggedIn();
 		
-		Map<String, Map<String, String>> extensions = new HashMap<String, Map<String, String>>();
-
-		for (E ext : ExtensionRegistry.getSingleton().getExtensions(c).getList()) {
-			Map<String, String> copiedMap = new HashMap<String, String>();
-			copiedMap.putAll(ext.getConfigParameters());
-
-			extensions.put(ext.getName(), copiedMap);
+		ExtensionContainer container = ExtensionCatalog.instance().get();
+		
+		if (container.getVersion().equals(version)) {
+			return null;
 		}
-
-		return extensions;
+		
+		return container;
 	}
 }
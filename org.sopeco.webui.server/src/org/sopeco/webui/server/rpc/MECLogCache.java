@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.rpc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.sopeco.service.execute.MECLogEntry;
+import org.sopeco.service.persistence.entities.MECLog;
+import org.sopeco.webui.shared.entities.MECLogPage;
+import org.sopeco.webui.shared.entities.MECLogSeverity;
+
+/**
+ * Caches the MEC logs of executed experiments per account, so paging through a
+ * log does not fetch the complete log from the service layer for every page.
+ * The log of an executed experiment does not change anymore, so the entries
+ * don't expire. Only the {@link #MAX_SIZE} least recently used logs are kept.<br />
+ * The class is a Singleton.
+ *
+ * @author agent
+ */
+public final class MECLogCache {
+
+	/**
+	 * Maximum number of cached logs.
+	 */
+	public static final int MAX_SIZE = 16;
+
+	private static MECLogCache singleton;
+
+	private final Map<String, MECLog> cache = new LinkedHashMap<String, MECLog>(MAX_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, MECLog> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	/**
+	 * Private constructor for singleton.
+	 */
+	private MECLogCache() {
+	}
+
+	/**
+	 * Singleton constructor.
+	 *
+	 * @return the instance of {@link MECLogCache}
+	 */
+	public static synchronized MECLogCache instance() {
+		if (singleton == null) {
+			singleton = new MECLogCache();
+		}
+		return singleton;
+	}
+
+	/**
+	 * Returns the cached log of the executed experiment.
+	 *
+	 * @param accountId	the account ID
+	 * @param id		the ID of the executed experiment
+	 * @return			the log, <code>null</code> if not cached
+	 */
+	public synchronized MECLog get(long accountId, long id) {
+		return cache.get(key(accountId, id));
+	}
+
+	/**
+	 * Stores the log of the executed experiment.
+	 *
+	 * @param accountId	the account ID
+	 * @param id		the ID of the executed experiment
+	 * @param log		the log
+	 */
+	public synchronized void put(long accountId, long id, MECLog log) {
+		cache.put(key(accountId, id), log);
+	}
+
+	/**
+	 * Filters and pages the entries of the given log.
+	 *
+	 * @param log			the complete log
+	 * @param offset		index of the first returned entry
+	 * @param limit			maximum number of returned entries
+	 * @param minSeverity	the minimum severity of the returned entries,
+	 * 						<code>null</code> for all
+	 * @param fromTime		only entries at or after this time, 0 for no limit
+	 * @param toTime		only entries at or before this time, 0 for no limit
+	 * @return				the requested page
+	 */
+	public static MECLogPage page(MECLog log, int offset, int limit, MECLogSeverity minSeverity, long fromTime,
+			long toTime) {
+		MECLogPage page = new MECLogPage();
+		page.setOffset(offset);
+
+		int matching = 0;
+		for (MECLogEntry entry : log.getEntries()) {
+			if (!matches(entry, minSeverity, fromTime, toTime)) {
+				continue;
+			}
+
+			if (matching >= offset && page.getEntries().size() < limit) {
+				page.getEntries().add(entry);
+			}
+			matching++;
+		}
+
+		page.setTotalCount(matching);
+		return page;
+	}
+
+	private static boolean matches(MECLogEntry entry, MECLogSeverity minSeverity, long fromTime, long toTime) {
+		if (fromTime > 0 && entry.getTime() < fromTime) {
+			return false;
+		}
+		if (toTime > 0 && entry.getTime() > toTime) {
+			return false;
+		}
+		if (minSeverity == null) {
+			return true;
+		}
+
+		switch (minSeverity) {
+		case EXCEPTION:
+			return entry.isException();
+		case ERROR:
+			return entry.isError() || entry.isException();
+		default:
+			return true;
+		}
+	}
+
+	private static String key(long accountId, long id) {
+		return accountId + "/" + id;
+	}
+}
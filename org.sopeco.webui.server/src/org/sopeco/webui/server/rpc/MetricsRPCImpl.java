@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.rpc;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import org.sopeco.webui.server.metrics.Histogram;
+import org.sopeco.webui.server.metrics.MetricsRegistry;
+import org.sopeco.webui.server.rpc.servlet.SPCRemoteServlet;
+import org.sopeco.webui.shared.metrics.MetricsBatch;
+import org.sopeco.webui.shared.rpc.MetricsRPC;
+
+/**
+ * Adds the timings and counters of the clients to the {@link MetricsRegistry}.
+ * The names are prefixed with {@link #PREFIX}, which gives them their own limit
+ * in the registry. As the batches are sent by the browser, only logged in
+ * sessions may report, names are reduced to a safe set of characters and
+ * batches with more than {@link #MAX_BATCH_SIZE} values are ignored. Timings,
+ * which are not a number, negative or above {@link Histogram#MAX_VALUE}, and
+ * negative counter deltas are dropped, as they would corrupt the sums.
+ *
+ * @author agent
+ *
+ */
+public class MetricsRPCImpl extends SPCRemoteServlet implements MetricsRPC {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Prefix of the names of all client metrics. */
+	public static final String PREFIX = MetricsRegistry.CLIENT_PREFIX;
+
+	/** Maximum number of values of a single batch. */
+	public static final int MAX_BATCH_SIZE = 1000;
+
+	private static final int MAX_NAME_LENGTH = 100;
+
+	@Override
+	public void report(MetricsBatch batch) {
+		requiredLoggedIn();
+
+		if (batch == null || batch.size() > MAX_BATCH_SIZE) {
+			return;
+		}
+
+		MetricsRegistry registry = MetricsRegistry.instance();
+
+		for (Map.Entry<String, ArrayList<Double>> entry : batch.getTimings().entrySet()) {
+			String name = PREFIX + sanitize(entry.getKey());
+			for (Double value : entry.getValue()) {
+				if (isValidTiming(value)) {
+					registry.record(name, value);
+				}
+			}
+		}
+
+		for (Map.Entry<String, Long> entry : batch.getCounters().entrySet()) {
+			if (entry.getValue() != null && entry.getValue() >= 0) {
+				registry.increment(PREFIX + sanitize(entry.getKey()), entry.getValue());
+			}
+		}
+	}
+
+	private static boolean isValidTiming(Double value) {
+		// NaN fails every comparison, infinity is above the maximum
+		return value != null && value >= 0 && value <= Histogram.MAX_VALUE;
+	}
+
+	private static String sanitize(String name) {
+		if (name == null) {
+			return "unknown";
+		}
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < name.length() && i < MAX_NAME_LENGTH; i++) {
+			char c = name.charAt(i);
+			if (Character.isLetterOrDigit(c) || c == '.' || c == '_' || c == '-') {
+				builder.append(c);
+			} else {
+				builder.append('_');
+			}
+		}
+		return builder.toString();
+	}
+}
@@ -53,8 +53,8 @@ public class PushRPCImpl extends SPCRemoteServlet implements PushRPC {
 			initList(getSessionId());
 
 			List<PushPackage> returnList = new ArrayList<PushPackage>();
-			synchronized (packageListMap.get(getSessionId())) {
-				List<PushPackage> list = packageListMap.get(getSessionId());
+			List<PushPackage> list = getList(getSessionId());
+			synchronized (list) {
 				if (list.isEmpty()) {
 					list.wait(TIMEOUT);
 				}
@@ -69,9 +69,32 @@ public class PushRPCImpl extends SPCRemoteServlet implements PushRPC {
 		}
 	}
 
+	/**
+	 * A push request waits up to {@link #TIMEOUT} milliseconds on purpose, so it
+	 * is never logged as slow call.
+	 */
+	@Override
+	protected long getSlowCallThreshold(String name) {
+		return 0;
+	}
+
 	private void initList(String sessionId) {
-		if (!packageListMap.containsKey(sessionId)) {
-			packageListMap.put(sessionId, new ArrayList<PushPackage>());
+		synchronized (packageListMap) {
+			if (!packageListMap.containsKey(sessionId)) {
+				packageListMap.put(sessionId, new ArrayList<PushPackage>());
+			}
+		}
+	}
+
+	private static List<PushPackage> getList(String sessionId) {
+		synchronized (packageListMap) {
+			return packageListMap.get(sessionId);
+		}
+	}
+
+	private static List<List<PushPackage>> getAllLists() {
+		synchronized (packageListMap) {
+			return new ArrayList<List<PushPackage>>(packageListMap.values());
 		}
 	}
 
@@ -82,7 +105,7 @@ public class PushRPCImpl extends SPCRemoteServlet implements PushRPC {
 	 *            object, which will be send
 	 */
 	public static void pushToAll(PushPackage pushPackage) {
-		for (List<PushPackage> packageList : packageListMap.values()) {
+		for (List<PushPackage> packageList : getAllLists()) {
 			synchronized (packageList) {
 				packageList.add(pushPackage);
 				packageList.notify();
@@ -91,8 +114,8 @@ public class PushRPCImpl extends SPCRemoteServlet implements PushRPC {
 	}
 
 	public static void push(String sessionId, PushPackage pushPackage) {
-		if (packageListMap.containsKey(sessionId)) {
-			List<PushPackage> packageList = packageListMap.get(sessionId);
+		List<PushPackage> packageList = getList(sessionId);
+		if (packageList != null) {
 			synchronized (packageList) {
 				packageList.add(pushPackage);
 				packageList.notify();
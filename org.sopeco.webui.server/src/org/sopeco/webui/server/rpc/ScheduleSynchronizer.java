@@ -0,0 +1,460 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.rpc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.sopeco.service.configuration.ServiceConfiguration;
+import org.sopeco.service.persistence.entities.ScheduledExperiment;
+import org.sopeco.webui.server.rest.ClientFactory;
+import org.sopeco.webui.server.user.UserManager;
+import org.sopeco.webui.shared.entities.ScheduledExperimentSummary;
+import org.sopeco.webui.shared.entities.ScheduleDelta;
+import org.sopeco.webui.shared.push.PushDomain;
+import org.sopeco.webui.shared.push.packages.PushScheduleDelta;
+
+/**
+ * Keeps the last known state of the scheduled experiments of every account with a
+ * version counter. Changes are detected by comparing a fresh list from the service
+ * layer with the known state. Every change increases the version and is pushed as
+ * {@link ScheduleDelta} to all sessions of the account. The last deltas are kept, so
+ * a client which missed a push can ask for the changes since its version.<br />
+ * The version restarts whenever the state of an account is recreated, so every
+ * state has its own epoch. A client asking with another epoch gets a full snapshot.
+ * Fetches of the same account may overlap; the result of a fetch is dropped, if a
+ * later started fetch has already been applied.<br />
+ * The periodic check starts with the first known account and ends with
+ * {@link #stop()}.<br />
+ * The class is a Singleton.
+ *
+ * @author agent
+ */
+public final class ScheduleSynchronizer {
+
+	private static final Logger LOGGER = Logger.getLogger(ScheduleSynchronizer.class.getName());
+
+	/**
+	 * Interval in milliseconds between two checks for changes done by the service layer,
+	 * e.g. a new execution time after an experiment has run.
+	 */
+	private static final long INTERVAL = 15000;
+
+	/**
+	 * Number of deltas kept per account.
+	 */
+	private static final int HISTORY_SIZE = 50;
+
+	/**
+	 * Source of the epochs. Starting at the current time keeps them unique across
+	 * restarts of the server.
+	 */
+	private static final AtomicLong EPOCHS = new AtomicLong(System.currentTimeMillis());
+
+	/**
+	 * Numbers the fetches from the service layer in the order they are started.
+	 */
+	private static final AtomicLong FETCHES = new AtomicLong();
+
+	private static ScheduleSynchronizer singleton;
+
+	private final Map<Long, AccountState> stateMap = new HashMap<Long, AccountState>();
+
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * Private constructor for singleton.
+	 */
+	private ScheduleSynchronizer() {
+	}
+
+	/**
+	 * Singleton constructor.
+	 *
+	 * @return the instance of {@link ScheduleSynchronizer}
+	 */
+	public static synchronized ScheduleSynchronizer instance() {
+		if (singleton == null) {
+			singleton = new ScheduleSynchronizer();
+		}
+		return singleton;
+	}
+
+	/**
+	 * Stops the periodic check and drops the known state of all accounts.
+	 */
+	public synchronized void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+		stateMap.clear();
+	}
+
+	/**
+	 * Starts the periodic check, if it's not running yet.
+	 */
+	private void start() {
+		if (scheduler != null) {
+			return;
+		}
+
+		scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "schedule-synchronizer");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+
+		scheduler.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					refreshAll();
+				} catch (RuntimeException e) {
+					LOGGER.log(Level.WARNING, "Synchronizing the scheduled experiments failed.", e);
+				}
+			}
+		}, INTERVAL, INTERVAL, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns the changes of the scheduled experiments since the given version. If the
+	 * epoch or the version is not known anymore (or -1), a full snapshot is returned. If
+	 * the scheduled experiments can't be fetched, an empty delta at the given epoch and
+	 * version is returned, so the client keeps its list and asks again later.
+	 *
+	 * @param accountId		the account ID
+	 * @param token			the token of the user
+	 * @param epoch			the epoch of the version the client knows
+	 * @param sinceVersion	the version the client knows
+	 * @return				the changes since the version
+	 */
+	public ScheduleDelta getChanges(long accountId, String token, long epoch, long sinceVersion) {
+		AccountState state;
+		synchronized (this) {
+			state = stateMap.get(accountId);
+		}
+
+		if (state == null) {
+			refresh(accountId, token);
+			synchronized (this) {
+				state = stateMap.get(accountId);
+			}
+		}
+
+		if (state == null) {
+			ScheduleDelta empty = new ScheduleDelta();
+			empty.setEpoch(epoch);
+			empty.setFromVersion(sinceVersion);
+			empty.setVersion(sinceVersion);
+			return empty;
+		}
+
+		synchronized (state) {
+			return state.since(epoch, sinceVersion);
+		}
+	}
+
+	/**
+	 * Fetches the scheduled experiments of the account and pushes the changes to all
+	 * sessions of the account. Has to be called after every modification of the
+	 * scheduled experiments.
+	 *
+	 * @param accountId	the account ID
+	 * @param token		the token of the user
+	 */
+	public void refresh(long accountId, String token) {
+		long fetch = FETCHES.incrementAndGet();
+		List<ScheduledExperiment> experiments = fetchScheduledExperiments(token);
+
+		if (experiments == null) {
+			return;
+		}
+
+		AccountState state;
+		synchronized (this) {
+			state = stateMap.get(accountId);
+			if (state == null) {
+				state = new AccountState();
+				stateMap.put(accountId, state);
+				start();
+			}
+		}
+
+		ScheduleDelta delta;
+		synchronized (state) {
+			if (fetch < state.appliedFetch) {
+				// a later fetch has already been applied, this list might be outdated
+				return;
+			}
+			state.appliedFetch = fetch;
+			delta = state.update(experiments);
+		}
+
+		if (delta == null) {
+			return;
+		}
+
+		for (String sessionId : UserManager.instance().getSessionIds(accountId)) {
+			PushScheduleDelta pushPackage = new PushScheduleDelta(PushDomain.TAB_CONTROLLER_TWO);
+			pushPackage.setDelta(delta);
+			PushRPCImpl.push(sessionId, pushPackage);
+		}
+	}
+
+	private void refreshAll() {
+		List<Long> accounts;
+		synchronized (this) {
+			accounts = new ArrayList<Long>(stateMap.keySet());
+		}
+
+		for (Long accountId : accounts) {
+			List<String> sessions = UserManager.instance().getSessionIds(accountId);
+
+			if (sessions.isEmpty()) {
+				synchronized (this) {
+					stateMap.remove(accountId);
+				}
+				continue;
+			}
+
+			refresh(accountId, UserManager.instance().getToken(sessions.get(0)));
+		}
+	}
+
+	/**
+	 * Fetches all scheduled experiments of the account from the service layer.
+	 *
+	 * @param token	the token of the user
+	 * @return		the scheduled experiments, <code>null</code> if the request failed
+	 */
+	static List<ScheduledExperiment> fetchScheduledExperiments(String token) {
+		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_EXECUTE,
+															 ServiceConfiguration.SVC_EXECUTE_SCHEDULE);
+
+		wt = wt.queryParam(ServiceConfiguration.SVCP_ACCOUNT_TOKEN, token);
+
+		Response r = wt.request(MediaType.APPLICATION_JSON).get();
+
+		if (r.getStatus() != Status.OK.getStatusCode()) {
+			LOGGER.warning("Fetching the scheduled experiments failed.");
+			return null;
+		}
+
+		return r.readEntity(new GenericType<List<ScheduledExperiment>>() { });
+	}
+
+	/**
+	 * Returns a string, which changes whenever a value shown in the schedule list changes.
+	 */
+	private static String fingerprint(ScheduledExperimentSummary ses) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(ses.getLabel()).append('|')
+		  .append(ses.getControllerUrl()).append('|')
+		  .append(ses.getScenarioName()).append('|')
+		  .append(ses.isEnabled()).append('|')
+		  .append(ses.isRepeating()).append('|')
+		  .append(ses.getRepeatDays()).append('|')
+		  .append(ses.getRepeatHours()).append('|')
+		  .append(ses.getRepeatMinutes()).append('|')
+		  .append(ses.getStartTime()).append('|')
+		  .append(ses.getNextExecutionTime()).append('|')
+		  .append(ses.getLastExecutionTime()).append('|')
+		  .append(ses.getLastDuration()).append('|')
+		  .append(ses.getExperimentSeriesNames());
+		return sb.toString();
+	}
+
+	/**
+	 * The known scheduled experiments of an account.
+	 */
+	private static final class AccountState {
+
+		private final long epoch = EPOCHS.incrementAndGet();
+
+		private long version = 0;
+
+		/**
+		 * The number of the latest applied fetch.
+		 */
+		private long appliedFetch = 0;
+
+		private Map<Long, ScheduledExperimentSummary> experiments = new LinkedHashMap<Long, ScheduledExperimentSummary>();
+
+		private Map<Long, String> fingerprints = new HashMap<Long, String>();
+
+		private LinkedList<ScheduleDelta> history = new LinkedList<ScheduleDelta>();
+
+		/**
+		 * Replaces the known experiments and returns the delta, <code>null</code> if
+		 * nothing has changed.
+		 */
+		private ScheduleDelta update(List<ScheduledExperiment> fresh) {
+			ScheduleDelta delta = new ScheduleDelta();
+
+			Map<Long, ScheduledExperimentSummary> newExperiments = new LinkedHashMap<Long, ScheduledExperimentSummary>();
+			Map<Long, String> newFingerprints = new HashMap<Long, String>();
+
+			for (ScheduledExperiment se : fresh) {
+				ScheduledExperimentSummary ses = ServiceConverter.convertScheduledExperimentSummary(se);
+				String fingerprint = fingerprint(ses);
+
+				newExperiments.put(ses.getId(), ses);
+				newFingerprints.put(ses.getId(), fingerprint);
+
+				if (!experiments.containsKey(ses.getId())) {
+					delta.getAdded().add(ses);
+				} else if (!fingerprint.equals(fingerprints.get(ses.getId()))) {
+					delta.getUpdated().add(ses);
+				}
+			}
+
+			for (Long id : experiments.keySet()) {
+				if (!newExperiments.containsKey(id)) {
+					delta.getRemoved().add(id);
+				}
+			}
+
+			experiments = newExperiments;
+			fingerprints = newFingerprints;
+
+			if (delta.getAdded().isEmpty() && delta.getUpdated().isEmpty() && delta.getRemoved().isEmpty()) {
+				return null;
+			}
+
+			delta.setEpoch(epoch);
+			delta.setFromVersion(version);
+			version++;
+			delta.setVersion(version);
+
+			history.addLast(delta);
+			if (history.size() > HISTORY_SIZE) {
+				history.removeFirst();
+			}
+
+			return delta;
+		}
+
+		/**
+		 * Returns the merged deltas since the given version or a full snapshot, if the
+		 * version is of another epoch.
+		 */
+		private ScheduleDelta since(long sinceEpoch, long sinceVersion) {
+			if (sinceEpoch != epoch) {
+				return snapshot();
+			}
+
+			if (sinceVersion == version) {
+				ScheduleDelta empty = new ScheduleDelta();
+				empty.setEpoch(epoch);
+				empty.setFromVersion(version);
+				empty.setVersion(version);
+				return empty;
+			}
+
+			if (sinceVersion < 0 || sinceVersion > version || history.isEmpty()
+					|| history.getFirst().getFromVersion() > sinceVersion) {
+				return snapshot();
+			}
+
+			// merge the deltas: the latest state of every touched experiment wins
+			Map<Long, Character> changes = new LinkedHashMap<Long, Character>();
+			for (ScheduleDelta delta : history) {
+				if (delta.getFromVersion() < sinceVersion) {
+					continue;
+				}
+				for (ScheduledExperimentSummary ses : delta.getAdded()) {
+					Character before = changes.get(ses.getId());
+					changes.put(ses.getId(), before != null && before == 'R' ? 'U' : 'A');
+				}
+				for (ScheduledExperimentSummary ses : delta.getUpdated()) {
+					Character before = changes.get(ses.getId());
+					changes.put(ses.getId(), before != null && before == 'A' ? 'A' : 'U');
+				}
+				for (Long id : delta.getRemoved()) {
+					Character before = changes.get(id);
+					if (before != null && before == 'A') {
+						changes.remove(id);
+					} else {
+						changes.put(id, 'R');
+					}
+				}
+			}
+
+			ScheduleDelta merged = new ScheduleDelta();
+			merged.setEpoch(epoch);
+			merged.setFromVersion(sinceVersion);
+			merged.setVersion(version);
+
+			for (Map.Entry<Long, Character> entry : changes.entrySet()) {
+				switch (entry.getValue()) {
+				case 'A':
+					merged.getAdded().add(experiments.get(entry.getKey()));
+					break;
+				case 'U':
+					merged.getUpdated().add(experiments.get(entry.getKey()));
+					break;
+				default:
+					merged.getRemoved().add(entry.getKey());
+					break;
+				}
+			}
+
+			return merged;
+		}
+
+		private ScheduleDelta snapshot() {
+			ScheduleDelta full = new ScheduleDelta();
+			full.setFull(true);
+			full.setEpoch(epoch);
+			full.setFromVersion(-1);
+			full.setVersion(version);
+			full.setAdded(new ArrayList<ScheduledExperimentSummary>(experiments.values()));
+			return full;
+		}
+	}
+}
@@ -1,9 +1,17 @@
 package org.sopeco.webui.server.rpc;
 
 import java.util.ArrayList;
+import java.util.List;
 
+import org.sopeco.persistence.entities.definition.ExperimentSeriesDefinition;
+import org.sopeco.persistence.entities.definition.MeasurementSpecification;
+import org.sopeco.persistence.entities.definition.ScenarioDefinition;
+import org.sopeco.service.execute.MECLogEntry;
 import org.sopeco.service.persistence.entities.ScheduledExperiment;
+import org.sopeco.service.rest.exchange.ExperimentStatus;
 import org.sopeco.webui.shared.entities.FrontendScheduledExperiment;
+import org.sopeco.webui.shared.entities.RunningControllerStatus;
+import org.sopeco.webui.shared.entities.ScheduledExperimentSummary;
 
 public final class ServiceConverter {
 
@@ -18,10 +26,10 @@ public final class ServiceConverter {
 			return null;
 		}
 		
-		FrontendScheduledExperiment fse = convertScheduledExperiment(se);
+		FrontendScheduledExperiment fse = new FrontendScheduledExperiment();
 		fse.setAccount(se.getAccountId());
 		fse.setControllerUrl(se.getControllerUrl());
-		fse.setId(se.getAccountId());
+		fse.setId(se.getId());
 		fse.setLabel(se.getLabel());
 		fse.setLastExecutionTime(se.getLastExecutionTime());
 		fse.setNextExecutionTime(se.getNextExecutionTime());
@@ -38,6 +46,90 @@ public final class ServiceConverter {
 		return fse;
 	}
 	
+	/**
+	 * Converts a {@link ScheduledExperiment} into a {@link ScheduledExperimentSummary}
+	 * for the list and queue views. The scenario definition is not copied, only the
+	 * scenario name and the names of the experiment series are set. Of the durations
+	 * only the last one is kept.
+	 *
+	 * @param se	the {@link ScheduledExperiment}
+	 * @return		the {@link ScheduledExperimentSummary}
+	 */
+	public static ScheduledExperimentSummary convertScheduledExperimentSummary(ScheduledExperiment se) {
+		if (se == null) {
+			return null;
+		}
+
+		ScheduledExperimentSummary ses = new ScheduledExperimentSummary();
+		ses.setAccount(se.getAccountId());
+		ses.setControllerUrl(se.getControllerUrl());
+		ses.setId(se.getId());
+		ses.setLabel(se.getLabel());
+		ses.setLastExecutionTime(se.getLastExecutionTime());
+		ses.setNextExecutionTime(se.getNextExecutionTime());
+		ses.setRepeatDays(se.getRepeatDays());
+		ses.setRepeatHours(se.getRepeatHours());
+		ses.setRepeating(se.isRepeating());
+		ses.setRepeatMinutes(se.getRepeatMinutes());
+		ses.setStartTime(se.getStartTime());
+		ses.setAddTime(se.getAddedTime());
+		ses.setEnabled(se.isActive());
+
+		List<Long> durations = se.getDurations();
+		if (durations != null && !durations.isEmpty()) {
+			ses.setLastDuration(durations.get(durations.size() - 1));
+		}
+
+		List<String> seriesNames = new ArrayList<String>();
+		ScenarioDefinition definition = se.getScenarioDefinition();
+
+		if (definition != null) {
+			ses.setScenarioName(definition.getScenarioName());
+
+			for (MeasurementSpecification ms : definition.getMeasurementSpecifications()) {
+				for (ExperimentSeriesDefinition esd : ms.getExperimentSeriesDefinitions()) {
+					seriesNames.add(esd.getName());
+				}
+			}
+		}
+
+		ses.setExperimentSeriesNames(seriesNames);
+		return ses;
+	}
+
+	/**
+	 * Converts an {@link ExperimentStatus} into a {@link RunningControllerStatus}. Only
+	 * the log entries starting at the given cursor are copied.
+	 * 
+	 * @param es			the {@link ExperimentStatus}
+	 * @param experimentKey	the key of the experiment
+	 * @param logCursor		index of the first log entry to copy
+	 * @return				the {@link RunningControllerStatus}
+	 */
+	public static RunningControllerStatus convertExperimentStatus(ExperimentStatus es, long experimentKey,
+			int logCursor) {
+		if (es == null) {
+			return null;
+		}
+		
+		RunningControllerStatus rcs = new RunningControllerStatus();
+		rcs.setExperimentKey(experimentKey);
+		rcs.setAccount(es.getAccountId());
+		rcs.setHasFinished(es.isFinished());
+		rcs.setLabel(es.getLabel());
+		rcs.setProgress(es.getProgress());
+		rcs.setScenario(es.getScenarioName());
+		rcs.setTimeRemaining(es.getTimeRemaining());
+		rcs.setTimeStart(es.getTimeStart());
+		
+		List<MECLogEntry> log = es.getEventLogList();
+		int cursor = Math.max(0, Math.min(logCursor, log.size()));
+		
+		rcs.setLogCursor(cursor);
+		rcs.setEventLogList(new ArrayList<MECLogEntry>(log.subList(cursor, log.size())));
+		return rcs;
+	}
+	
 	/**
 	 * Converts a {@link FrontendScheduledExperiment} into a {@link ScheduledExperiment}.
 	 * 
@@ -44,6 +44,15 @@ public class SystemDetailsRPCImpl extends SPCRemoteServlet implements SystemDeta
 
 	@Override
 	public HashMap<String, String> getMetaDatabaseDetails() {
+		return createMetaDatabaseDetails();
+	}
+
+	/**
+	 * Returns host and port of the meta database.
+	 * 
+	 * @return map with the keys <code>host</code> and <code>port</code>
+	 */
+	public static HashMap<String, String> createMetaDatabaseDetails() {
 		HashMap<String, String> map = new HashMap<String, String>();
 
 		PersistenceConfiguration conf = PersistenceConfiguration
@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.rpc.scenario;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sopeco.service.configuration.ServiceConfiguration;
+import org.sopeco.webui.server.rest.ClientFactory;
+import org.sopeco.webui.server.rpc.PushRPCImpl;
+import org.sopeco.webui.shared.entities.PortProbeResult;
+import org.sopeco.webui.shared.push.PushDomain;
+import org.sopeco.webui.shared.push.packages.PushPortProbe;
+import org.sopeco.webui.shared.rpc.MEControllerRPC;
+
+/**
+ * Probes a set of host and port combinations concurrently. Every single probe
+ * is limited by {@link #PROBE_TIMEOUT}. As soon as a probe has finished, its
+ * result is pushed to the session which started the discovery.<br />
+ * All sessions share one pool of probe threads. So the number of probes per
+ * discovery is limited, and a session can run only one discovery at a time.
+ *
+ * @author agent
+ */
+final class ControllerDiscovery {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ControllerDiscovery.class);
+
+	/**
+	 * Timeout in milliseconds of a single probe.
+	 */
+	static final int PROBE_TIMEOUT = 3000;
+
+	/**
+	 * Maximum number of probes running at the same time.
+	 */
+	private static final int MAX_PARALLEL_PROBES = 16;
+
+	private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(MAX_PARALLEL_PROBES,
+			new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "mec-discovery");
+					t.setDaemon(true);
+					return t;
+				}
+			});
+
+	/**
+	 * The sessions with a running discovery.
+	 */
+	private static final Set<String> RUNNING = new HashSet<String>();
+
+	private ControllerDiscovery() {
+	}
+
+	/**
+	 * Probes every combination of the given hosts and ports. The method blocks
+	 * until all probes have finished or timed out.
+	 *
+	 * @param sessionId		the session the results are pushed to
+	 * @param discoveryId	the ID of the discovery, given back in every pushed result
+	 * @param hosts			the hosts to probe
+	 * @param ports			the ports to probe on every host
+	 * @return				the results of all probes
+	 * @throws IllegalArgumentException	if the discovery exceeds the limits of {@link MEControllerRPC}
+	 * @throws IllegalStateException	if the session is already running a discovery
+	 */
+	static List<PortProbeResult> probe(String sessionId, long discoveryId, List<String> hosts, List<Integer> ports) {
+		if (hosts == null || ports == null || hosts.size() > MEControllerRPC.MAX_PROBE_HOSTS
+				|| ports.size() > MEControllerRPC.MAX_PROBE_PORTS
+				|| hosts.size() * ports.size() > MEControllerRPC.MAX_PROBES) {
+			LOGGER.info("Discovery of session '{}' rejected, it's too large.", sessionId);
+			throw new IllegalArgumentException("Too many hosts or ports to probe.");
+		}
+
+		synchronized (RUNNING) {
+			if (!RUNNING.add(sessionId)) {
+				LOGGER.info("Discovery of session '{}' rejected, another one is still running.", sessionId);
+				throw new IllegalStateException("A discovery is already running.");
+			}
+		}
+
+		try {
+			return probeAll(sessionId, discoveryId, hosts, ports);
+		} finally {
+			synchronized (RUNNING) {
+				RUNNING.remove(sessionId);
+			}
+		}
+	}
+
+	private static List<PortProbeResult> probeAll(String sessionId, long discoveryId, List<String> hosts,
+			List<Integer> ports) {
+		CompletionService<PortProbeResult> completionService = new ExecutorCompletionService<PortProbeResult>(EXECUTOR);
+		Map<Future<PortProbeResult>, PortProbeResult> pending = new HashMap<Future<PortProbeResult>, PortProbeResult>();
+
+		for (String host : hosts) {
+			for (Integer port : ports) {
+				Future<PortProbeResult> future = completionService.submit(new Probe(host, port));
+				pending.put(future, new PortProbeResult(host, port, false, true));
+			}
+		}
+
+		List<PortProbeResult> results = new ArrayList<PortProbeResult>();
+
+		// each probe is limited by the read timeout, this only guards against hanging probes
+		int rounds = (pending.size() + MAX_PARALLEL_PROBES - 1) / MAX_PARALLEL_PROBES;
+		long deadline = System.currentTimeMillis() + (long) (rounds + 1) * PROBE_TIMEOUT;
+
+		try {
+			while (!pending.isEmpty()) {
+				long remaining = deadline - System.currentTimeMillis();
+				Future<PortProbeResult> future = completionService.poll(Math.max(remaining, 0), TimeUnit.MILLISECONDS);
+
+				if (future == null) {
+					break;
+				}
+
+				PortProbeResult timedOut = pending.remove(future);
+				PortProbeResult result;
+				try {
+					result = future.get();
+				} catch (ExecutionException e) {
+					LOGGER.warn("Probe of {}:{} failed unexpectedly: {}", timedOut.getHost(), timedOut.getPort(),
+							e.getCause());
+					result = new PortProbeResult(timedOut.getHost(), timedOut.getPort(), false, false);
+				}
+				results.add(result);
+				push(sessionId, discoveryId, result);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		for (Map.Entry<Future<PortProbeResult>, PortProbeResult> entry : pending.entrySet()) {
+			entry.getKey().cancel(true);
+			results.add(entry.getValue());
+			push(sessionId, discoveryId, entry.getValue());
+		}
+
+		return results;
+	}
+
+	private static void push(String sessionId, long discoveryId, PortProbeResult result) {
+		PushPortProbe pushPackage = new PushPortProbe(PushDomain.MEC_DISCOVERY);
+		pushPackage.setDiscoveryId(discoveryId);
+		pushPackage.setResult(result);
+		PushRPCImpl.push(sessionId, pushPackage);
+	}
+
+	/**
+	 * A single probe, asking the service layer whether the port on the host is reachable.
+	 */
+	private static final class Probe implements Callable<PortProbeResult> {
+
+		private final String host;
+		private final int port;
+
+		private Probe(String pHost, int pPort) {
+			host = pHost;
+			port = pPort;
+		}
+
+		@Override
+		public PortProbeResult call() {
+			WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MEC,
+																 ServiceConfiguration.SVC_MEC_PORTREACHABLE);
+
+			wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_HOST, host);
+			wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_PORT, port);
+
+			Response r = null;
+			try {
+				// set per request, a configured target would get its own client runtime
+				r = wt.request(MediaType.APPLICATION_JSON)
+					  .property(ClientProperties.CONNECT_TIMEOUT, PROBE_TIMEOUT)
+					  .property(ClientProperties.READ_TIMEOUT, PROBE_TIMEOUT)
+					  .get();
+				return new PortProbeResult(host, port, r.getStatus() == Status.OK.getStatusCode(), false);
+			} catch (ProcessingException e) {
+				LOGGER.debug("Probe of {}:{} failed: {}", host, port, e.getMessage());
+				return new PortProbeResult(host, port, false, true);
+			} finally {
+				if (r != null) {
+					r.close();
+				}
+			}
+		}
+	}
+}
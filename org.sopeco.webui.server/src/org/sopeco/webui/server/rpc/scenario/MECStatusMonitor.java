@@ -0,0 +1,419 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.rpc.scenario;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sopeco.service.configuration.ServiceConfiguration;
+import org.sopeco.service.rest.exchange.MECStatus;
+import org.sopeco.webui.server.persistence.UiPersistenceProvider;
+import org.sopeco.webui.server.rest.ClientFactory;
+import org.sopeco.webui.server.rpc.PushRPCImpl;
+import org.sopeco.webui.server.user.User;
+import org.sopeco.webui.server.user.UserManager;
+import org.sopeco.webui.shared.entities.account.AccountDetails;
+import org.sopeco.webui.shared.push.PushDomain;
+import org.sopeco.webui.shared.push.packages.PushMECStatus;
+import org.sopeco.webui.shared.rpc.MEControllerRPC;
+
+/**
+ * Monitors the status of the controllers used by the logged in sessions. These
+ * are the controller of the selected scenario of every logged in account and
+ * every controller a session has asked for via {@link #watch}.<br />
+ * The status of every controller is fetched from the service layer in a fixed
+ * interval with a token of the account, and cached per account. If the status
+ * changes, the sessions of the account are notified via {@link PushDomain#MEC_STATUS}.<br />
+ * A cached status is only served, while the monitor is running and the status has
+ * been checked within the last two intervals. Otherwise it is fetched again.<br />
+ * The class is a Singleton.
+ *
+ * @author agent
+ */
+public final class MECStatusMonitor {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MECStatusMonitor.class);
+
+	/**
+	 * Default interval in milliseconds between two status checks.
+	 */
+	public static final long DEFAULT_INTERVAL = 10000;
+
+	private static MECStatusMonitor singleton;
+
+	/**
+	 * Maps the account ID and the controller URL to the monitored controller.
+	 */
+	private final Map<String, Controller> controllerMap = new HashMap<String, Controller>();
+
+	private ScheduledExecutorService scheduler;
+
+	private long interval;
+
+	/**
+	 * Private constructor for singleton.
+	 */
+	private MECStatusMonitor() {
+	}
+
+	/**
+	 * Singleton constructor.
+	 *
+	 * @return the instance of {@link MECStatusMonitor}
+	 */
+	public static synchronized MECStatusMonitor instance() {
+		if (singleton == null) {
+			singleton = new MECStatusMonitor();
+		}
+		return singleton;
+	}
+
+	/**
+	 * Starts the periodic status check. Does nothing, if the monitor is already running.
+	 *
+	 * @param pInterval	the interval in milliseconds between two checks
+	 */
+	public synchronized void start(long pInterval) {
+		if (scheduler != null) {
+			return;
+		}
+
+		if (pInterval > 0) {
+			interval = pInterval;
+		} else {
+			LOGGER.warn("Invalid MEC status interval {} ms, using {} ms.", pInterval, DEFAULT_INTERVAL);
+			interval = DEFAULT_INTERVAL;
+		}
+
+		LOGGER.info("Starting MEC status monitor with an interval of {} ms.", interval);
+
+		scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "mec-status-monitor");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+
+		scheduler.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					checkAll();
+				} catch (RuntimeException e) {
+					LOGGER.warn("Checking the controller status failed: {}", e.getMessage());
+				}
+			}
+		}, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops the periodic status check and drops all monitored controllers.
+	 */
+	public synchronized void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+		controllerMap.clear();
+	}
+
+	/**
+	 * Registers the session as watcher of the given controller and returns the
+	 * current status of the controller. The status is only fetched from the service
+	 * layer, if the controller is not monitored for the account yet or its cached
+	 * status is outdated.
+	 *
+	 * @param sessionId	the session ID
+	 * @param accountId	the account ID of the session
+	 * @param token		the token of the session
+	 * @param url		the controller URL
+	 * @return			the status of the controller
+	 */
+	public int watch(String sessionId, long accountId, String token, String url) {
+		Controller controller;
+
+		synchronized (this) {
+			controller = getController(accountId, url);
+			controller.watchers.add(sessionId);
+
+			if (controller.status != null && isUpToDate(controller)) {
+				return controller.status;
+			}
+		}
+
+		int status = fetchStatus(token, url);
+
+		synchronized (this) {
+			controller.status = status;
+			controller.checkTime = System.currentTimeMillis();
+		}
+
+		return status;
+	}
+
+	/**
+	 * Returns the cached status of the controller.
+	 *
+	 * @param accountId	the account ID
+	 * @param url		the controller URL
+	 * @return			the status, <code>null</code> if the controller is not monitored
+	 */
+	public synchronized Integer getStatus(long accountId, String url) {
+		Controller controller = controllerMap.get(key(accountId, url));
+		return controller == null ? null : controller.status;
+	}
+
+	/**
+	 * Returns whether the cached status of the controller is kept up to date by
+	 * the periodic check. A failed check or a stopped monitor makes it outdated.
+	 */
+	private boolean isUpToDate(Controller controller) {
+		return scheduler != null && controller.checkTime > 0
+				&& System.currentTimeMillis() - controller.checkTime <= 2 * interval;
+	}
+
+	private Controller getController(long accountId, String url) {
+		String key = key(accountId, url);
+		Controller controller = controllerMap.get(key);
+		if (controller == null) {
+			controller = new Controller(accountId, url);
+			controllerMap.put(key, controller);
+		}
+		return controller;
+	}
+
+	/**
+	 * Checks the status of all monitored controllers and pushes the changes.
+	 * Sessions which are no longer logged in are removed, and the controller of
+	 * the selected scenario of every logged in account is added.
+	 */
+	private void checkAll() {
+		Map<String, User> users = UserManager.instance().getUsers();
+		Map<Long, String> selectedUrls = loadSelectedControllerUrls(users);
+
+		Map<Long, String> tokens = new HashMap<Long, String>();
+		for (User user : users.values()) {
+			tokens.put(user.getAccountID(), user.getToken());
+		}
+
+		List<Check> checks = new ArrayList<Check>();
+
+		synchronized (this) {
+			for (Controller controller : controllerMap.values()) {
+				Iterator<String> sessionIter = controller.watchers.iterator();
+				while (sessionIter.hasNext()) {
+					if (!UserManager.instance().existToken(sessionIter.next())) {
+						sessionIter.remove();
+					}
+				}
+				controller.selectors.clear();
+			}
+
+			for (Map.Entry<String, User> entry : users.entrySet()) {
+				String url = selectedUrls.get(entry.getValue().getAccountID());
+				if (url != null) {
+					getController(entry.getValue().getAccountID(), url).selectors.add(entry.getKey());
+				}
+			}
+
+			Iterator<Map.Entry<String, Controller>> iter = controllerMap.entrySet().iterator();
+			while (iter.hasNext()) {
+				Controller controller = iter.next().getValue();
+				Set<String> sessions = controller.getSessions();
+
+				if (sessions.isEmpty()) {
+					iter.remove();
+				} else if (tokens.containsKey(controller.accountId)) {
+					checks.add(new Check(controller, tokens.get(controller.accountId), new ArrayList<String>(sessions)));
+				}
+			}
+		}
+
+		for (Check check : checks) {
+			String url = check.controller.url;
+
+			int status;
+			try {
+				status = fetchStatus(check.token, url);
+			} catch (IllegalStateException e) {
+				LOGGER.warn("Checking the status of controller '{}' failed.", url);
+				continue;
+			}
+
+			Integer oldStatus;
+			synchronized (this) {
+				oldStatus = check.controller.status;
+				check.controller.status = status;
+				check.controller.checkTime = System.currentTimeMillis();
+			}
+
+			if (oldStatus == null || oldStatus != status) {
+				LOGGER.debug("Status of controller '{}' changed to {}.", url, status);
+
+				for (String sessionId : check.sessions) {
+					PushMECStatus pushPackage = new PushMECStatus(PushDomain.MEC_STATUS);
+					pushPackage.setControllerUrl(url);
+					pushPackage.setStatus(status);
+					PushRPCImpl.push(sessionId, pushPackage);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Loads the controller URL of the selected scenario of every account, which
+	 * has a logged in session.
+	 *
+	 * @param users	the logged in sessions
+	 * @return		map of the account ID to the controller URL
+	 */
+	private static Map<Long, String> loadSelectedControllerUrls(Map<String, User> users) {
+		Map<Long, String> urls = new HashMap<Long, String>();
+
+		for (User user : users.values()) {
+			long accountId = user.getAccountID();
+			if (urls.containsKey(accountId)) {
+				continue;
+			}
+
+			String url = null;
+			try {
+				AccountDetails details = UiPersistenceProvider.getInstance().loadAccountDetails(accountId);
+				if (details != null) {
+					url = details.getControllerUrl();
+				}
+			} catch (RuntimeException e) {
+				LOGGER.debug("No controller URL of account {}: {}", accountId, e.getMessage());
+			}
+			urls.put(accountId, url);
+		}
+
+		return urls;
+	}
+
+	/**
+	 * Fetches the status of the controller from the service layer.
+	 *
+	 * @param token	the token used to access the service layer
+	 * @param url	the controller URL
+	 * @return		the status of the controller
+	 */
+	private int fetchStatus(String token, String url) {
+		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MEC,
+		 													 ServiceConfiguration.SVC_MEC_STATUS);
+
+		wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_TOKEN, token);
+		wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_URL, url);
+
+		try {
+			Response r = wt.request(MediaType.APPLICATION_JSON).get();
+
+			if (r.getStatus() != Status.OK.getStatusCode()) {
+				throw new IllegalStateException("Fetching controller status failed.");
+			}
+
+			return r.readEntity(MECStatus.class).getStatus();
+		} catch (ProcessingException e) {
+			LOGGER.debug("Controller '{}' not reachable: {}", url, e.getMessage());
+			return MEControllerRPC.STATUS_OFFLINE;
+		}
+	}
+
+	private static String key(long accountId, String url) {
+		return accountId + "/" + url;
+	}
+
+	/**
+	 * A controller monitored for one account.
+	 */
+	private static final class Controller {
+
+		private final long accountId;
+
+		private final String url;
+
+		/**
+		 * The sessions which have asked for the status via {@link MECStatusMonitor#watch}.
+		 */
+		private final Set<String> watchers = new HashSet<String>();
+
+		/**
+		 * The sessions whose account has selected a scenario with this controller.
+		 */
+		private final Set<String> selectors = new HashSet<String>();
+
+		private Integer status;
+
+		private long checkTime;
+
+		private Controller(long pAccountId, String pUrl) {
+			accountId = pAccountId;
+			url = pUrl;
+		}
+
+		private Set<String> getSessions() {
+			Set<String> sessions = new HashSet<String>(watchers);
+			sessions.addAll(selectors);
+			return sessions;
+		}
+	}
+
+	/**
+	 * A pending status check of one controller.
+	 */
+	private static final class Check {
+
+		private final Controller controller;
+		private final String token;
+		private final List<String> sessions;
+
+		private Check(Controller pController, String pToken, List<String> pSessions) {
+			controller = pController;
+			token = pToken;
+			sessions = pSessions;
+		}
+	}
+}
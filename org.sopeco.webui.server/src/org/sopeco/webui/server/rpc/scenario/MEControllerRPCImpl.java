@@ -38,12 +38,14 @@ import javax.ws.rs.core.Response.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sopeco.persistence.entities.definition.MeasurementEnvironmentDefinition;
-import org.sopeco.persistence.entities.definition.ParameterDefinition;
 import org.sopeco.persistence.entities.definition.ParameterRole;
 import org.sopeco.service.configuration.ServiceConfiguration;
-import org.sopeco.service.rest.exchange.MECStatus;
 import org.sopeco.webui.server.rest.ClientFactory;
 import org.sopeco.webui.server.rpc.servlet.SPCRemoteServlet;
+import org.sopeco.webui.shared.entities.MEDBatchResult;
+import org.sopeco.webui.shared.entities.MEDOperation;
+import org.sopeco.webui.shared.entities.MEDefinitionResponse;
+import org.sopeco.webui.shared.entities.PortProbeResult;
 import org.sopeco.webui.shared.helper.MEControllerProtocol;
 import org.sopeco.webui.shared.rpc.MEControllerRPC;
 
@@ -62,19 +64,8 @@ public class MEControllerRPCImpl extends SPCRemoteServlet implements MEControlle
 	public int checkControllerStatus(String url) {
 		requiredLoggedIn();
 		
-		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MEC,
-						     								 ServiceConfiguration.SVC_MEC_STATUS);
-		
-		wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_TOKEN, getToken());
-		wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_URL, url);
-		
-		Response r = wt.request(MediaType.APPLICATION_JSON).get();
-		
-		if (r.getStatus() != Status.OK.getStatusCode()) {
-			throw new IllegalStateException("Fetching controller status failed.");
-		}
-		
-		return r.readEntity(MECStatus.class).getStatus();
+		// the monitor only asks the service layer, if the controller is not watched yet
+		return MECStatusMonitor.instance().watch(getSessionId(), getUser().getAccountID(), getToken(), url);
 	}
 
 	@Override
@@ -96,35 +87,26 @@ public class MEControllerRPCImpl extends SPCRemoteServlet implements MEControlle
 	public MeasurementEnvironmentDefinition getMEDefinitionFromMEC(String controllerUrl) {
 		requiredLoggedIn();
 		
-		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MEC,
-						 									 ServiceConfiguration.SVC_MEC_MED);
+		return fetchMEDefinitionFromMEC(controllerUrl);
+	}
 
-		LOGGER.debug("Trying to acces controller on URL: " + controllerUrl);
-		
-		wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_TOKEN, getToken());
-		wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_URL, controllerUrl);
-		
-		Response r = wt.request(MediaType.APPLICATION_JSON).get();
-		
-		if (r.getStatus() != Status.OK.getStatusCode()) {
-			throw new IllegalStateException("Fetching MED from MEC failed.");
-		}
+	@Override
+	public MEDefinitionResponse getMEDefinitionFromMECIfModified(String controllerUrl, String knownVersion) {
+		requiredLoggedIn();
 		
-		MeasurementEnvironmentDefinition med = r.readEntity(MeasurementEnvironmentDefinition.class);
-
-		for (ParameterDefinition pd : med.getRoot().getAllParameters()) {
-			LOGGER.debug(pd.getFullName());
-		}
+		MeasurementEnvironmentDefinition med = fetchMEDefinitionFromMEC(controllerUrl);
 		
-		return med;
+		return createResponse(med, MEDCache.version(med), knownVersion);
 	}
 
 	@Override
 	public MeasurementEnvironmentDefinition getBlankMEDefinition() {
 		requiredLoggedIn();
+
+		String scenario = getAccountDetails().getSelectedScenario();
 		
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MED,
-															 getAccountDetails().getSelectedScenario(),
+															 scenario,
 															 ServiceConfiguration.SVC_MED_SET,
 															 ServiceConfiguration.SVC_MED_SET_BLANK);
 		
@@ -137,21 +119,27 @@ public class MEControllerRPCImpl extends SPCRemoteServlet implements MEControlle
 			return null;
 		}
 
+		invalidateMEDCache(scenario);
+
 		return r.readEntity(MeasurementEnvironmentDefinition.class);
 	}
 	
 	@Override
 	public boolean setMEDefinition(MeasurementEnvironmentDefinition med) {
 		requiredLoggedIn();
+
+		String scenario = getAccountDetails().getSelectedScenario();
 		
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MED,
-															 getAccountDetails().getSelectedScenario(),
+															 scenario,
 															 ServiceConfiguration.SVC_MED_SET);
 		
 		wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_TOKEN, getToken());
 		
 		Response r = wt.request(MediaType.APPLICATION_JSON).post(Entity.entity(med, MediaType.APPLICATION_JSON));
 		
+		invalidateMEDCache(scenario);
+
 		return r.getStatus() != Status.OK.getStatusCode();
 	}
 
@@ -159,26 +147,34 @@ public class MEControllerRPCImpl extends SPCRemoteServlet implements MEControlle
 	public MeasurementEnvironmentDefinition getCurrentMEDefinition() {
 		requiredLoggedIn();
 		
-		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MED,
-															 getAccountDetails().getSelectedScenario());
-		
-		wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_TOKEN, getToken());
+		MEDCache.Entry entry = loadCurrentMEDefinition();
 		
-		Response r = wt.request(MediaType.APPLICATION_JSON).get();
+		return entry != null ? entry.getDefinition() : null;
+	}
 
-		LOGGER.debug("getCurrentMEDefinition fetched MED for Scenario '{}' from Service Layer.", getAccountDetails().getSelectedScenario());
+	@Override
+	public MEDefinitionResponse getCurrentMEDefinitionIfModified(String knownVersion) {
+		requiredLoggedIn();
 		
-		return r.readEntity(MeasurementEnvironmentDefinition.class);
+		MEDCache.Entry entry = loadCurrentMEDefinition();
+		
+		if (entry == null) {
+			throw new IllegalStateException("Fetching MED of the selected scenario failed.");
+		}
+		
+		return createResponse(entry.getDefinition(), entry.getVersion(), knownVersion);
 	}
 
 	@Override
 	public boolean addNamespace(String path) {
 		requiredLoggedIn();
 
+		String scenario = getAccountDetails().getSelectedScenario();
+
 		LOGGER.debug("getCurrentMEDefinition");
 		
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MED,
-															 getAccountDetails().getSelectedScenario(),
+															 scenario,
 						 									 ServiceConfiguration.SVC_MED_NAMESPACE,
 						 									 ServiceConfiguration.SVC_MED_NAMESPACE_ADD);
 		
@@ -187,15 +183,19 @@ public class MEControllerRPCImpl extends SPCRemoteServlet implements MEControlle
 		
 		Response r = wt.request(MediaType.APPLICATION_JSON).put(Entity.entity(Null.class, MediaType.APPLICATION_JSON));
 		
+		invalidateMEDCache(scenario);
+
 		return r.getStatus() == Status.OK.getStatusCode();
 	}
 
 	@Override
 	public boolean removeNamespace(String path) {
 		requiredLoggedIn();
+
+		String scenario = getAccountDetails().getSelectedScenario();
 		
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MED,
-				 											 getAccountDetails().getSelectedScenario(),
+				 											 scenario,
 															 ServiceConfiguration.SVC_MED_NAMESPACE,
 															 ServiceConfiguration.SVC_MED_NAMESPACE_REMOVE);
 		
@@ -209,17 +209,21 @@ public class MEControllerRPCImpl extends SPCRemoteServlet implements MEControlle
 			return false;
 		}
 
+		invalidateMEDCache(scenario);
+
 		return r.getStatus() == Status.OK.getStatusCode();
 	}
 
 	@Override
 	public boolean renameNamespace(String namespacePath, String newName) {
 		requiredLoggedIn();
+
+		String scenario = getAccountDetails().getSelectedScenario();
 		
 		LOGGER.debug("rpc: renameNamespace: {}", namespacePath);
 
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MED,
-															 getAccountDetails().getSelectedScenario(),
+															 scenario,
 															 ServiceConfiguration.SVC_MED_NAMESPACE,
 															 ServiceConfiguration.SVC_MED_NAMESPACE_RENAME);
 		
@@ -234,17 +238,21 @@ public class MEControllerRPCImpl extends SPCRemoteServlet implements MEControlle
 			return false;
 		}
 
+		invalidateMEDCache(scenario);
+
 		return r.getStatus() == Status.OK.getStatusCode();
 	}
 
 	@Override
 	public boolean addParameter(String path, String name, String type, ParameterRole role) {
 		requiredLoggedIn();
+
+		String scenario = getAccountDetails().getSelectedScenario();
 		
 		LOGGER.debug("rpc: addParameter: {} to '{}'", name, path);
 
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MED,
-															 getAccountDetails().getSelectedScenario(),
+															 scenario,
 				 											 ServiceConfiguration.SVC_MED_PARAM,
 				 											 ServiceConfiguration.SVC_MED_PARAM_ADD);
 		
@@ -259,15 +267,19 @@ public class MEControllerRPCImpl extends SPCRemoteServlet implements MEControlle
 			LOGGER.debug(r.readEntity(String.class));
 		}
 		
+		invalidateMEDCache(scenario);
+
 		return r.getStatus() == Status.OK.getStatusCode();
 	}
 
 	@Override
 	public boolean removeParameter(String path, String name) {
 		requiredLoggedIn();
+
+		String scenario = getAccountDetails().getSelectedScenario();
 		
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MED,
-				 											 getAccountDetails().getSelectedScenario(),
+				 											 scenario,
 															 ServiceConfiguration.SVC_MED_PARAM,
 															 ServiceConfiguration.SVC_MED_PARAM_REMOVE);
 		
@@ -282,6 +294,8 @@ public class MEControllerRPCImpl extends SPCRemoteServlet implements MEControlle
 			return false;
 		}
 
+		invalidateMEDCache(scenario);
+
 		return r.getStatus() == Status.OK.getStatusCode();
 	}
 
@@ -289,8 +303,10 @@ public class MEControllerRPCImpl extends SPCRemoteServlet implements MEControlle
 	public boolean updateParameter(String path, String oldName, String newName, String type, ParameterRole role) {
 		requiredLoggedIn();
 
+		String scenario = getAccountDetails().getSelectedScenario();
+
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MED,
-				 											 getAccountDetails().getSelectedScenario(),
+				 											 scenario,
 															 ServiceConfiguration.SVC_MED_PARAM,
 															 ServiceConfiguration.SVC_MED_PARAM_UPDATE);
 		
@@ -307,9 +323,68 @@ public class MEControllerRPCImpl extends SPCRemoteServlet implements MEControlle
 			return false;
 		}
 
+		invalidateMEDCache(scenario);
+
 		return r.getStatus() == Status.OK.getStatusCode();
 	}
 
+	@Override
+	public MEDBatchResult applyMEDOperations(List<MEDOperation> operations, String knownVersion) {
+		requiredLoggedIn();
+
+		String scenario = getAccountDetails().getSelectedScenario();
+		String token = getToken();
+
+		LOGGER.debug("rpc: applyMEDOperations: {} operations on scenario '{}'", operations.size(), scenario);
+
+		// fetch, check and store must not overlap with another batch on the same scenario
+		synchronized (MEDCache.instance().lock(getUser().getAccountID(), scenario)) {
+			return applyMEDOperations(scenario, token, operations, knownVersion);
+		}
+	}
+
+	private MEDBatchResult applyMEDOperations(String scenario, String token, List<MEDOperation> operations,
+			String knownVersion) {
+		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MED, scenario);
+		wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_TOKEN, token);
+		
+		Response r = wt.request(MediaType.APPLICATION_JSON).get();
+		
+		if (r.getStatus() != Status.OK.getStatusCode()) {
+			throw new IllegalStateException("Fetching MED for batch update failed.");
+		}
+		
+		MeasurementEnvironmentDefinition med = r.readEntity(MeasurementEnvironmentDefinition.class);
+		MEDBatchResult result = MEDOperationProcessor.apply(med, knownVersion, operations);
+		
+		if (result.isConflict()) {
+			LOGGER.debug("Batch update rejected, as the MED of scenario '{}' has been changed.", scenario);
+			invalidateMEDCache(scenario);
+			return result;
+		}
+		
+		if (!result.isCommitted()) {
+			LOGGER.debug("Batch update not stored, as at least one operation failed.");
+			return result;
+		}
+		
+		wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MED,
+												   scenario,
+												   ServiceConfiguration.SVC_MED_SET);
+		wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_TOKEN, token);
+		
+		r = wt.request(MediaType.APPLICATION_JSON).post(Entity.entity(med, MediaType.APPLICATION_JSON));
+		
+		if (r.getStatus() != Status.OK.getStatusCode()) {
+			result.setCommitted(false);
+			result.setVersion(knownVersion);
+		}
+		
+		invalidateMEDCache(scenario);
+		
+		return result;
+	}
+
 	@Override
 	public boolean isPortReachable(String host, int port) {
 		requiredLoggedIn();
@@ -330,6 +405,13 @@ public class MEControllerRPCImpl extends SPCRemoteServlet implements MEControlle
 		return r.getStatus() == Status.OK.getStatusCode();
 	}
 
+	@Override
+	public List<PortProbeResult> probePorts(long discoveryId, List<String> hosts, List<Integer> ports) {
+		requiredLoggedIn();
+		
+		return ControllerDiscovery.probe(getSessionId(), discoveryId, hosts, ports);
+	}
+
 	@Override
 	public List<String> getController(MEControllerProtocol protocol, String host, int port) {
 		requiredLoggedIn();
@@ -338,4 +420,100 @@ public class MEControllerRPCImpl extends SPCRemoteServlet implements MEControlle
 		
 		return null;
 	}
+
+	/**
+	 * Fetches the MED from the controller with the given URL via the service layer.
+	 * 
+	 * @param controllerUrl	the URL of the controller
+	 * @return				the MED of the controller
+	 */
+	private MeasurementEnvironmentDefinition fetchMEDefinitionFromMEC(String controllerUrl) {
+		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MEC,
+						 									 ServiceConfiguration.SVC_MEC_MED);
+
+		LOGGER.debug("Trying to acces controller on URL: {}", controllerUrl);
+		
+		wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_TOKEN, getToken());
+		wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_URL, controllerUrl);
+		
+		Response r = wt.request(MediaType.APPLICATION_JSON).get();
+		
+		if (r.getStatus() != Status.OK.getStatusCode()) {
+			throw new IllegalStateException("Fetching MED from MEC failed.");
+		}
+		
+		return r.readEntity(MeasurementEnvironmentDefinition.class);
+	}
+
+	/**
+	 * Returns the MED of the selected scenario. The MED is only requested from the
+	 * service layer, if it's not in the {@link MEDCache}. Only a successfully
+	 * fetched MED is cached.
+	 * 
+	 * @return the cache entry with the MED of the selected scenario, <code>null</code>
+	 *         if the MED can't be fetched
+	 */
+	private MEDCache.Entry loadCurrentMEDefinition() {
+		long accountId = getUser().getAccountID();
+		String scenario = getAccountDetails().getSelectedScenario();
+		
+		MEDCache.Entry entry = MEDCache.instance().get(accountId, scenario);
+		
+		if (entry != null) {
+			return entry;
+		}
+		
+		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_MED, scenario);
+		
+		wt = wt.queryParam(ServiceConfiguration.SVCP_MEC_TOKEN, getToken());
+		
+		Response r = wt.request(MediaType.APPLICATION_JSON).get();
+		
+		if (r.getStatus() != Status.OK.getStatusCode()) {
+			LOGGER.warn("Fetching MED for Scenario '{}' failed with status {}.", scenario, r.getStatus());
+			return null;
+		}
+		
+		MeasurementEnvironmentDefinition med = r.readEntity(MeasurementEnvironmentDefinition.class);
+		
+		if (med == null) {
+			LOGGER.warn("Service Layer returned no MED for Scenario '{}'.", scenario);
+			return null;
+		}
+
+		LOGGER.debug("Fetched MED for Scenario '{}' from Service Layer.", scenario);
+		
+		return MEDCache.instance().put(accountId, scenario, med);
+	}
+
+	/**
+	 * Creates the response for a conditional MED request.
+	 * 
+	 * @param med			the current MED
+	 * @param version		the version of the current MED
+	 * @param knownVersion	the version the client already has, <code>null</code> possible
+	 * @return				the response, without the MED if the client version is up to date
+	 */
+	private MEDefinitionResponse createResponse(MeasurementEnvironmentDefinition med, String version,
+												String knownVersion) {
+		MEDefinitionResponse response = new MEDefinitionResponse();
+		response.setVersion(version);
+		
+		if (version.equals(knownVersion)) {
+			response.setNotModified(true);
+		} else {
+			response.setDefinition(med);
+		}
+		
+		return response;
+	}
+
+	/**
+	 * Removes the MED of the given scenario of the current user from the {@link MEDCache}.
+	 * 
+	 * @param scenario	the scenario name
+	 */
+	private void invalidateMEDCache(String scenario) {
+		MEDCache.instance().invalidate(getUser().getAccountID(), scenario);
+	}
 }
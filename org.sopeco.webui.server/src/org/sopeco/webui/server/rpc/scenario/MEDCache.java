@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.rpc.scenario;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.sopeco.persistence.entities.definition.MeasurementEnvironmentDefinition;
+import org.sopeco.persistence.entities.definition.ParameterDefinition;
+import org.sopeco.persistence.entities.definition.ParameterNamespace;
+import org.sopeco.webui.server.security.Crypto;
+
+/**
+ * Caches the {@link MeasurementEnvironmentDefinition} of a scenario per account,
+ * together with a version string. The version is a hash of the structure of the
+ * MED, so a reload of an unchanged MED results in the same version.<br />
+ * Entries are invalidated by every write through the WebUI and expire after
+ * {@link #TIME_TO_LIVE}, as the service layer might be changed by other clients.
+ * Expired entries are removed on every {@link #put}, and the least recently used
+ * entry is dropped, if the cache holds more than {@link #MAX_SIZE} entries.<br />
+ * The class is a Singleton.
+ *
+ * @author agent
+ */
+public final class MEDCache {
+
+	/**
+	 * Time in milliseconds a cached MED is valid.
+	 */
+	public static final long TIME_TO_LIVE = 60000;
+
+	/**
+	 * Maximum number of cached MEDs.
+	 */
+	public static final int MAX_SIZE = 256;
+
+	/**
+	 * Number of locks the scenarios are spread over.
+	 */
+	private static final int LOCK_COUNT = 64;
+
+	private static MEDCache singleton;
+
+	private final Object[] locks = new Object[LOCK_COUNT];
+
+	private final Map<String, Entry> cache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	/**
+	 * Private constructor for singleton.
+	 */
+	private MEDCache() {
+		for (int i = 0; i < LOCK_COUNT; i++) {
+			locks[i] = new Object();
+		}
+	}
+
+	/**
+	 * Singleton constructor.
+	 *
+	 * @return the instance of {@link MEDCache}
+	 */
+	public static synchronized MEDCache instance() {
+		if (singleton == null) {
+			singleton = new MEDCache();
+		}
+		return singleton;
+	}
+
+	/**
+	 * Returns the cached entry for the given scenario of the account.
+	 *
+	 * @param accountId	the account ID
+	 * @param scenario	the scenario name
+	 * @return			the cached entry, <code>null</code> if none is cached or it has expired
+	 */
+	public synchronized Entry get(long accountId, String scenario) {
+		String key = key(accountId, scenario);
+		Entry entry = cache.get(key);
+
+		if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+			cache.remove(key);
+			return null;
+		}
+
+		return entry;
+	}
+
+	/**
+	 * Stores the given MED for the scenario of the account.
+	 *
+	 * @param accountId	the account ID
+	 * @param scenario	the scenario name
+	 * @param med		the MED, must not be <code>null</code>
+	 * @return			the new cache entry
+	 */
+	public synchronized Entry put(long accountId, String scenario, MeasurementEnvironmentDefinition med) {
+		if (med == null) {
+			throw new IllegalArgumentException("A missing MED can't be cached.");
+		}
+
+		removeExpired(System.currentTimeMillis());
+
+		Entry entry = new Entry(med, version(med));
+		cache.put(key(accountId, scenario), entry);
+		return entry;
+	}
+
+	/**
+	 * Removes the cached MED of the given scenario.
+	 *
+	 * @param accountId	the account ID
+	 * @param scenario	the scenario name
+	 */
+	public synchronized void invalidate(long accountId, String scenario) {
+		cache.remove(key(accountId, scenario));
+	}
+
+	/**
+	 * Returns the lock of the given scenario. A read-modify-write of the MED must
+	 * hold it, so two writes of the same scenario can't overlap. Scenarios share
+	 * a fixed number of locks, so the locks need no cleanup.
+	 *
+	 * @param accountId	the account ID
+	 * @param scenario	the scenario name
+	 * @return			the lock object
+	 */
+	public Object lock(long accountId, String scenario) {
+		return locks[(key(accountId, scenario).hashCode() & Integer.MAX_VALUE) % LOCK_COUNT];
+	}
+
+	/**
+	 * Calculates the version of the given MED. Two MEDs with equal namespaces and
+	 * parameters have the same version.
+	 *
+	 * @param med	the MED
+	 * @return		the version string
+	 */
+	public static String version(MeasurementEnvironmentDefinition med) {
+		if (med == null || med.getRoot() == null) {
+			return "";
+		}
+
+		StringBuilder sb = new StringBuilder();
+		appendNamespace(sb, med.getRoot());
+
+		return Crypto.sha256(sb.toString());
+	}
+
+	private void removeExpired(long now) {
+		Iterator<Entry> iterator = cache.values().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().isExpired(now)) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private static void appendNamespace(StringBuilder sb, ParameterNamespace namespace) {
+		sb.append('N').append(namespace.getFullName()).append('\n');
+
+		for (ParameterDefinition pd : namespace.getParameters()) {
+			sb.append('P').append(pd.getName())
+			  .append('|').append(pd.getType())
+			  .append('|').append(pd.getRole())
+			  .append('\n');
+		}
+
+		for (ParameterNamespace child : namespace.getChildren()) {
+			appendNamespace(sb, child);
+		}
+	}
+
+	private static String key(long accountId, String scenario) {
+		return accountId + "/" + scenario;
+	}
+
+	/**
+	 * A cached MED with its version.
+	 */
+	public static final class Entry {
+
+		private final MeasurementEnvironmentDefinition definition;
+		private final String version;
+		private final long loadTime;
+
+		private Entry(MeasurementEnvironmentDefinition pDefinition, String pVersion) {
+			definition = pDefinition;
+			version = pVersion;
+			loadTime = System.currentTimeMillis();
+		}
+
+		public MeasurementEnvironmentDefinition getDefinition() {
+			return definition;
+		}
+
+		public String getVersion() {
+			return version;
+		}
+
+		private boolean isExpired(long now) {
+			return now - loadTime > TIME_TO_LIVE;
+		}
+	}
+}
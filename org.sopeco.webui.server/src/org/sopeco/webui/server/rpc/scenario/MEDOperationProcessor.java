@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.rpc.scenario;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sopeco.persistence.entities.definition.MeasurementEnvironmentDefinition;
+import org.sopeco.persistence.entities.definition.ParameterDefinition;
+import org.sopeco.persistence.entities.definition.ParameterNamespace;
+import org.sopeco.webui.shared.builder.MeasurementEnvironmentBuilder;
+import org.sopeco.webui.shared.builder.ScenarioDefinitionBuilder;
+import org.sopeco.webui.shared.entities.MEDBatchResult;
+import org.sopeco.webui.shared.entities.MEDOperation;
+
+/**
+ * Applies a list of {@link MEDOperation}s to a local copy of a
+ * {@link MeasurementEnvironmentDefinition}. This way a whole batch can be
+ * validated in memory and stored with one request to the service layer.
+ *
+ * @author agent
+ */
+final class MEDOperationProcessor {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MEDOperationProcessor.class);
+
+	private MEDOperationProcessor() {
+	}
+
+	/**
+	 * Applies all operations to the given MED, if it still has the version the
+	 * client knows. If the version differs, no operation is applied and the
+	 * result is marked as conflict. The version of the result is the one of the
+	 * modified MED, if all operations succeeded, otherwise the current one.
+	 *
+	 * @param med			the current MED, which is modified
+	 * @param knownVersion	the version of the MED the operations are based on
+	 * @param operations	the operations to apply
+	 * @return				the result of every operation
+	 */
+	static MEDBatchResult apply(MeasurementEnvironmentDefinition med, String knownVersion,
+								List<MEDOperation> operations) {
+		String currentVersion = MEDCache.version(med);
+
+		if (!currentVersion.equals(knownVersion)) {
+			LOGGER.debug("MED has version '{}', but the batch is based on '{}'.", currentVersion, knownVersion);
+
+			MEDBatchResult result = new MEDBatchResult();
+			result.setConflict(true);
+			result.setVersion(currentVersion);
+			return result;
+		}
+
+		MEDBatchResult result = apply(med, operations);
+		result.setVersion(result.isCommitted() ? MEDCache.version(med) : currentVersion);
+
+		return result;
+	}
+
+	/**
+	 * Applies all operations in the given order to the given MED. Every
+	 * operation is tried, even if a previous one failed, to report the result
+	 * of each single operation. The result is only marked as committed, if
+	 * all operations succeeded.
+	 *
+	 * @param med			the MED to modify
+	 * @param operations	the operations to apply
+	 * @return				the result of every operation
+	 */
+	static MEDBatchResult apply(MeasurementEnvironmentDefinition med, List<MEDOperation> operations) {
+		ScenarioDefinitionBuilder sdb = new ScenarioDefinitionBuilder();
+		sdb.setMEDefinition(med);
+		MeasurementEnvironmentBuilder builder = sdb.getEnvironmentBuilder();
+
+		MEDBatchResult result = new MEDBatchResult();
+		boolean allSucceeded = true;
+
+		for (MEDOperation op : operations) {
+			boolean success = apply(builder, op);
+
+			if (!success) {
+				if (op != null) {
+					LOGGER.debug("MED operation {} on '{}' failed.", op.getType(), op.getPath());
+				}
+				allSucceeded = false;
+			}
+
+			result.getOperationResults().add(success);
+		}
+
+		result.setCommitted(allSucceeded);
+
+		return result;
+	}
+
+	private static boolean apply(MeasurementEnvironmentBuilder builder, MEDOperation op) {
+		if (!isValid(op)) {
+			return false;
+		}
+
+		ParameterNamespace ns = builder.getNamespace(op.getPath());
+
+		switch (op.getType()) {
+		case ADD_NAMESPACE:
+			if (ns != null) {
+				return false;
+			}
+			// addNamespaces returns the root for an invalid path, so check the result
+			builder.addNamespaces(op.getPath());
+			return builder.getNamespace(op.getPath()) != null;
+
+		case REMOVE_NAMESPACE:
+			return ns != null && builder.removeNamespace(ns);
+
+		case RENAME_NAMESPACE:
+			if (ns == null || ns.getParent() == null) {
+				return false;
+			}
+			for (ParameterNamespace sibling : ns.getParent().getChildren()) {
+				if (sibling != ns && sibling.getName().equals(op.getNewName())) {
+					return false;
+				}
+			}
+			ns.setName(op.getNewName());
+			return true;
+
+		case ADD_PARAMETER:
+			if (ns == null || builder.getParameter(op.getName(), ns) != null) {
+				return false;
+			}
+			builder.addParameter(op.getName(), op.getParameterType(), op.getRole(), ns);
+			return true;
+
+		case REMOVE_PARAMETER:
+			if (ns == null) {
+				return false;
+			}
+			ParameterDefinition toRemove = builder.getParameter(op.getName(), ns);
+			return toRemove != null && builder.removeParameter(toRemove);
+
+		case UPDATE_PARAMETER:
+			if (ns == null) {
+				return false;
+			}
+			ParameterDefinition toUpdate = builder.getParameter(op.getName(), ns);
+			if (toUpdate == null) {
+				return false;
+			}
+			if (!op.getName().equals(op.getNewName()) && builder.getParameter(op.getNewName(), ns) != null) {
+				return false;
+			}
+			toUpdate.setName(op.getNewName());
+			toUpdate.setType(op.getParameterType());
+			toUpdate.setRole(op.getRole());
+			return true;
+
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Checks that the operation has all values its type requires. A parameter
+	 * operation needs a name, a rename or update needs a new name.
+	 */
+	private static boolean isValid(MEDOperation op) {
+		if (op == null || op.getType() == null || op.getPath() == null) {
+			return false;
+		}
+
+		switch (op.getType()) {
+		case RENAME_NAMESPACE:
+			return !isEmpty(op.getNewName());
+
+		case ADD_PARAMETER:
+		case REMOVE_PARAMETER:
+			return !isEmpty(op.getName());
+
+		case UPDATE_PARAMETER:
+			return !isEmpty(op.getName()) && !isEmpty(op.getNewName());
+
+		default:
+			return true;
+		}
+	}
+
+	private static boolean isEmpty(String value) {
+		return value == null || value.isEmpty();
+	}
+
+}
@@ -40,6 +40,7 @@ import org.sopeco.persistence.entities.definition.ScenarioDefinition;
 import org.sopeco.service.configuration.ServiceConfiguration;
 import org.sopeco.webui.server.rest.ClientFactory;
 import org.sopeco.webui.server.rpc.servlet.SPCRemoteServlet;
+import org.sopeco.webui.server.user.User;
 import org.sopeco.webui.shared.builder.ScenarioDefinitionBuilder;
 import org.sopeco.webui.shared.rpc.ScenarioManagerRPC;
 
@@ -128,6 +129,8 @@ public class ScenarioManagerRPCImpl extends SPCRemoteServlet implements Scenario
 		
 		Response r = wt.request(MediaType.APPLICATION_JSON).delete();
 		
+		MEDCache.instance().invalidate(getUser().getAccountID(), name);
+		
 		return r.getStatus() == Status.OK.getStatusCode();
 	}
 
@@ -135,14 +138,27 @@ public class ScenarioManagerRPCImpl extends SPCRemoteServlet implements Scenario
 	public boolean switchScenario(String name) {
 		requiredLoggedIn();
 		
-		ScenarioDefinition definition = loadScenarioDefinition(name);
+		return switchScenario(getToken(), getUser(), name);
+	}
+	
+	/**
+	 * Loads the {@link ScenarioDefinition} with the given name from the Service Layer
+	 * and sets it as the current scenario of the user.
+	 * 
+	 * @param token	the token of the user
+	 * @param user	the user
+	 * @param name	the scenario name
+	 * @return		true, if the scenario definition was loaded
+	 */
+	public static boolean switchScenario(String token, User user, String name) {
+		ScenarioDefinition definition = loadScenarioDefinition(token, name);
 		
 		if (definition == null) {
 			return false;
 		}
 		
 		ScenarioDefinitionBuilder builder = ScenarioDefinitionBuilder.load(definition);
-		getUser().setCurrentScenarioDefinitionBuilder(builder);
+		user.setCurrentScenarioDefinitionBuilder(builder);
 
 		return true;
 	}
@@ -161,11 +177,22 @@ public class ScenarioManagerRPCImpl extends SPCRemoteServlet implements Scenario
 	 * @return			the {@link ScenarioDefinition}, null possible
 	 */
 	private ScenarioDefinition loadScenarioDefinition(String sceName) {
+		return loadScenarioDefinition(getToken(), sceName);
+	}
+
+	/**
+	 * Requests the {@link ScenarioDefinition} with the given name in the Service Layer.
+	 * 
+	 * @param token		the token of the user
+	 * @param sceName	the scenario name
+	 * @return			the {@link ScenarioDefinition}, null possible
+	 */
+	public static ScenarioDefinition loadScenarioDefinition(String token, String sceName) {
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_SCENARIO,
 															 sceName,
 														     ServiceConfiguration.SVC_SCENARIO_DEFINITON);
 		
-		wt = wt.queryParam(ServiceConfiguration.SVCP_SCENARIO_TOKEN, getToken());
+		wt = wt.queryParam(ServiceConfiguration.SVCP_SCENARIO_TOKEN, token);
 		
 		Response r = wt.request(MediaType.APPLICATION_JSON).get();
 
@@ -179,12 +206,35 @@ public class ScenarioManagerRPCImpl extends SPCRemoteServlet implements Scenario
 	public boolean storeScenarioDefinition(ScenarioDefinition definition) {
 		requiredLoggedIn();
 		
+		if (!storeDefinition(getToken(), getUser().getAccountID(), getAccountDetails().getSelectedScenario(),
+				definition)) {
+			return false;
+		}
+		
+		switchScenario(definition.getScenarioName());
+
+		return true;
+	}
+	
+	/**
+	 * Archives the old entries of the selected scenario and stores the given definition
+	 * in the SPC SL.
+	 * 
+	 * @param token				the token of the user
+	 * @param accountId			the account ID
+	 * @param selectedScenario	the name of the selected scenario
+	 * @param definition		the definition to store
+	 * @return					true, if the definition was stored
+	 */
+	public static boolean storeDefinition(String token, long accountId, String selectedScenario,
+			ScenarioDefinition definition) {
+		
 		// first archive old entries
 		WebTarget wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_SCENARIO,
-															 getAccountDetails().getSelectedScenario(),
+															 selectedScenario,
 						 									 ServiceConfiguration.SVC_SCENARIO_ARCHIVE);
 		
-		wt = wt.queryParam(ServiceConfiguration.SVCP_ACCOUNT_TOKEN, getToken());
+		wt = wt.queryParam(ServiceConfiguration.SVCP_ACCOUNT_TOKEN, token);
 		
 		Response r = wt.request(MediaType.APPLICATION_JSON).put(Entity.entity(Null.class, MediaType.APPLICATION_JSON));
 		
@@ -193,7 +243,7 @@ public class ScenarioManagerRPCImpl extends SPCRemoteServlet implements Scenario
 		wt = ClientFactory.getInstance().getClient(ServiceConfiguration.SVC_SCENARIO,
 					     						   ServiceConfiguration.SVC_SCENARIO_UPDATE);
 		
-		wt = wt.queryParam(ServiceConfiguration.SVCP_SCENARIO_TOKEN, getToken());
+		wt = wt.queryParam(ServiceConfiguration.SVCP_SCENARIO_TOKEN, token);
 		
 		r = wt.request(MediaType.APPLICATION_JSON).post(Entity.entity(definition, MediaType.APPLICATION_JSON));
 		
@@ -202,8 +252,8 @@ public class ScenarioManagerRPCImpl extends SPCRemoteServlet implements Scenario
 			return false;
 		}
 		
-		switchScenario(definition.getScenarioName());
-
+		MEDCache.instance().invalidate(accountId, definition.getScenarioName());
+		
 		return true;
 	}
 
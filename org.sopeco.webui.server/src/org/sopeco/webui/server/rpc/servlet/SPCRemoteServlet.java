@@ -26,21 +26,35 @@
  */
 package org.sopeco.webui.server.rpc.servlet;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
+import org.sopeco.webui.server.metrics.RpcCall;
+import org.sopeco.webui.server.metrics.RpcInstrumentation;
 import org.sopeco.webui.server.persistence.UiPersistenceProvider;
+import org.sopeco.webui.server.rest.ServiceCallFilter;
 import org.sopeco.webui.server.security.Security;
 import org.sopeco.webui.server.user.UserManager;
 import org.sopeco.webui.server.user.User;
 import org.sopeco.webui.shared.entities.account.AccountDetails;
 
+import com.google.gwt.user.client.rpc.IncompatibleRemoteServiceException;
+import com.google.gwt.user.client.rpc.RpcTokenException;
+import com.google.gwt.user.client.rpc.SerializationException;
+import com.google.gwt.user.server.rpc.RPC;
+import com.google.gwt.user.server.rpc.RPCRequest;
 import com.google.gwt.user.server.rpc.RemoteServiceServlet;
 
 /**
  * This class is used to handle the session of the current thread
  * and:<br />
  * - deliver the token to the session ID<br />
- * - checks if the current session ID is logged into the service
+ * - checks if the current session ID is logged into the service<br />
+ * - records the timings and sizes of every call, see
+ * {@link RpcInstrumentation}
  * 
  * @author Marius Oehler
  * @author Peter Merkert
@@ -52,6 +66,98 @@ public class SPCRemoteServlet extends RemoteServiceServlet {
 	 */
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Processes the call like the {@link RemoteServiceServlet}, but measures
+	 * the deserialization, the invocation and the serialization separately.
+	 */
+	@Override
+	public String processCall(String payload) throws SerializationException {
+		checkPermutationStrongName();
+
+		long start = System.nanoTime();
+		RpcCall call = null;
+		String response = null;
+		try {
+			RPCRequest rpcRequest = RPC.decodeRequest(payload, getClass(), this);
+			onAfterRequestDeserialized(rpcRequest);
+			Method method = rpcRequest.getMethod();
+
+			call = RpcCall.begin(method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+					currentSessionId(), start);
+			getThreadLocalResponse().setHeader(ServiceCallFilter.CORRELATION_HEADER, call.getCorrelationId());
+			long invocationStart = System.nanoTime();
+			call.setDeserializationNanos(invocationStart - start);
+
+			Object result = null;
+			Throwable failure = null;
+			try {
+				result = method.invoke(this, rpcRequest.getParameters());
+			} catch (InvocationTargetException e) {
+				failure = e.getCause();
+			} catch (IllegalAccessException e) {
+				throw new SecurityException("Cannot access " + method, e);
+			} catch (IllegalArgumentException e) {
+				throw new SecurityException("Illegal arguments for " + method, e);
+			}
+			long serializationStart = System.nanoTime();
+			call.setInvocationNanos(serializationStart - invocationStart);
+
+			if (failure == null) {
+				response = RPC.encodeResponseForSuccess(method, result, rpcRequest.getSerializationPolicy(),
+						rpcRequest.getFlags());
+			} else {
+				call.setFailed(true);
+				response = RPC.encodeResponseForFailure(method, failure, rpcRequest.getSerializationPolicy(),
+						rpcRequest.getFlags());
+			}
+			call.setSerializationNanos(System.nanoTime() - serializationStart);
+
+			return response;
+		} catch (IncompatibleRemoteServiceException ex) {
+			log("An IncompatibleRemoteServiceException was thrown while processing this call.", ex);
+			return RPC.encodeResponseForFailure(null, ex);
+		} catch (RpcTokenException tokenException) {
+			log("An RpcTokenException was thrown while processing this call.", tokenException);
+			return RPC.encodeResponseForFailure(null, tokenException);
+		} finally {
+			if (call != null) {
+				call.end();
+				if (response == null) {
+					call.setFailed(true);
+				}
+				call.setRequestBytes(requestBytes(payload));
+				call.setResponseBytes(response == null ? 0 : response.length());
+				RpcInstrumentation.instance().record(call, System.nanoTime() - start,
+						getSlowCallThreshold(call.getName()));
+			}
+		}
+	}
+
+	/**
+	 * Returns the time in milliseconds, after which a call is logged as slow.
+	 * Services, which wait on purpose (e.g. long polling), can override it.
+	 * 
+	 * @param name
+	 *            name of the call, <code>Service.method</code>
+	 * @return the threshold, 0 or less to never log the call
+	 */
+	protected long getSlowCallThreshold(String name) {
+		return RpcInstrumentation.instance().getSlowCallThreshold(name);
+	}
+
+	private String currentSessionId() {
+		HttpSession session = getThreadLocalRequest().getSession(false);
+		return session == null ? null : session.getId();
+	}
+
+	private long requestBytes(String payload) {
+		HttpServletRequest request = getThreadLocalRequest();
+		if (request != null && request.getContentLength() >= 0) {
+			return request.getContentLength();
+		}
+		return payload.length();
+	}
+
 	/**
 	 * Returns the session ID corresponding to the current thread.
 	 * 
@@ -102,7 +208,15 @@ public class SPCRemoteServlet extends RemoteServiceServlet {
 	 * is logged in).
 	 */
 	protected void requiredLoggedIn() {
-		Security.requiredLoggedIn(getSessionId());
+		long start = System.nanoTime();
+		try {
+			Security.requiredLoggedIn(getSessionId());
+		} finally {
+			RpcCall call = RpcCall.current();
+			if (call != null) {
+				call.addAuthNanos(System.nanoTime() - start);
+			}
+		}
 	}
 
 }
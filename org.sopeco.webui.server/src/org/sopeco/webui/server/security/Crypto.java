@@ -2,60 +2,143 @@ package org.sopeco.webui.server.security;
 
 import java.io.UnsupportedEncodingException;
 import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.InvalidParameterSpecException;
-import java.security.spec.KeySpec;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.NoSuchPaddingException;
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 
+/**
+ * Hashing and symmetric encryption.<br />
+ * Deriving the AES key of a password with PBKDF2 is expensive on purpose, so the
+ * derived keys are kept in a bounded cache for {@link #KEY_CACHE_EXPIRY}
+ * milliseconds. The cache is not indexed by the password, but by a HMAC of it with
+ * a random key of this process. Removed keys are overwritten with zeros. The
+ * {@link Cipher}, {@link MessageDigest}, {@link Mac} and {@link SecretKeyFactory}
+ * instances are reused through bounded pools. Unlike thread locals, the pools are
+ * only referenced by this class, so they don't keep the webapp loaded after a
+ * redeploy. {@link #shutdown()} empties the pools and the cache.
+ */
 public final class Crypto {
 
 	/** 8 random bytes */
 	private static final byte[] SALT = { 'S', 'O', 'F', 'T', 'W', 'A', 'R', 'E' };
 
+	/** Maximum number of derived keys in the cache. */
+	public static final int KEY_CACHE_SIZE = 256;
+
+	/** Time in milliseconds, after which a derived key is removed from the cache. */
+	public static final long KEY_CACHE_EXPIRY = 10 * 60 * 1000;
+
+	/** Maximum number of idle instances kept per algorithm. */
+	private static final int POOL_SIZE = 16;
+
+	private static final String CIPHER_ALGORITHM = "AES/CBC/PKCS5Padding";
+
+	private static final String KEY_ALGORITHM = "PBKDF2WithHmacSHA1";
+
+	private static final int KEY_ITERATIONS = 65536;
+
+	private static final int KEY_LENGTH = 128;
+
+	private static final String CACHE_MAC_ALGORITHM = "HmacSHA256";
+
+	private static final SecretKeySpec CACHE_MAC_KEY = createCacheMacKey();
+
+	private static final Map<String, CachedKey> KEY_CACHE = new LinkedHashMap<String, CachedKey>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedKey> eldest) {
+			if (size() > KEY_CACHE_SIZE) {
+				eldest.getValue().destroy();
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private static final Pool<Cipher> CIPHERS = new Pool<Cipher>() {
+		@Override
+		protected Cipher create() throws GeneralSecurityException {
+			return Cipher.getInstance(CIPHER_ALGORITHM);
+		}
+	};
+
+	private static final Pool<MessageDigest> SHA256 = new Pool<MessageDigest>() {
+		@Override
+		protected MessageDigest create() throws GeneralSecurityException {
+			return MessageDigest.getInstance("SHA-256");
+		}
+	};
+
+	private static final Pool<SecretKeyFactory> KEY_FACTORIES = new Pool<SecretKeyFactory>() {
+		@Override
+		protected SecretKeyFactory create() throws GeneralSecurityException {
+			return SecretKeyFactory.getInstance(KEY_ALGORITHM);
+		}
+	};
+
+	private static final Pool<Mac> CACHE_MACS = new Pool<Mac>() {
+		@Override
+		protected Mac create() throws GeneralSecurityException {
+			Mac mac = Mac.getInstance(CACHE_MAC_ALGORITHM);
+			mac.init(CACHE_MAC_KEY);
+			return mac;
+		}
+	};
+
 	private Crypto() {
 	}
 
 	/**
 	 * Calculates the hash value of the given input string using the SHA-256
 	 * algorithm.
-	 * 
+	 *
 	 * @param input
 	 * @return hash value of the input string.
 	 */
 	public static String sha256(String input) {
+		MessageDigest digest = SHA256.take();
+		byte[] hashBytes;
 		try {
-			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
-			byte[] hashBytes = messageDigest.digest(input.getBytes());
-			StringBuffer hashString = new StringBuffer();
-			for (byte b : hashBytes) {
-				String hex = Integer.toHexString(0xff & b);
-				if (hex.length() == 1)
-					hashString.append(0);
-				hashString.append(hex);
-			}
-			return hashString.toString();
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalStateException(e);
+			hashBytes = digest.digest(input.getBytes());
+		} finally {
+			SHA256.give(digest);
+		}
+
+		StringBuffer hashString = new StringBuffer();
+		for (byte b : hashBytes) {
+			String hex = Integer.toHexString(0xff & b);
+			if (hex.length() == 1)
+				hashString.append(0);
+			hashString.append(hex);
 		}
+		return hashString.toString();
 	}
 
 	public static byte[][] encrypt(String password, String input) {
+		Cipher cipher = CIPHERS.take();
 		try {
-			SecretKey secretKey = getSecret(password.toCharArray(), SALT);
-			Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+			SecretKey secretKey = getSecret(password, System.currentTimeMillis());
 			cipher.init(Cipher.ENCRYPT_MODE, secretKey);
 			AlgorithmParameters params = cipher.getParameters();
 
@@ -63,10 +146,6 @@ public final class Crypto {
 			returnArray[0] = params.getParameterSpec(IvParameterSpec.class).getIV();
 			returnArray[1] = cipher.doFinal(input.getBytes("UTF-8"));
 			return returnArray;
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalStateException(e);
-		} catch (NoSuchPaddingException e) {
-			throw new IllegalStateException(e);
 		} catch (InvalidKeyException e) {
 			throw new IllegalStateException(e);
 		} catch (IllegalBlockSizeException e) {
@@ -77,19 +156,17 @@ public final class Crypto {
 			throw new IllegalStateException(e);
 		} catch (InvalidParameterSpecException e) {
 			throw new IllegalStateException(e);
+		} finally {
+			CIPHERS.give(cipher);
 		}
 	}
 
 	public static String decrypt(String password, byte[][] inputAndInitialVector) {
+		Cipher cipher = CIPHERS.take();
 		try {
-			SecretKey secretKey = getSecret(password.toCharArray(), SALT);
-			Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+			SecretKey secretKey = getSecret(password, System.currentTimeMillis());
 			cipher.init(Cipher.DECRYPT_MODE, secretKey, new IvParameterSpec(inputAndInitialVector[0]));
 			return new String(cipher.doFinal(inputAndInitialVector[1]), "UTF-8");
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalStateException(e);
-		} catch (NoSuchPaddingException e) {
-			throw new IllegalStateException(e);
 		} catch (InvalidKeyException e) {
 			throw new IllegalStateException(e);
 		} catch (UnsupportedEncodingException e) {
@@ -100,22 +177,207 @@ public final class Crypto {
 			throw new IllegalStateException(e);
 		} catch (InvalidAlgorithmParameterException e) {
 			throw new IllegalStateException(e);
+		} finally {
+			CIPHERS.give(cipher);
 		}
 	}
 
-	private static SecretKey getSecret(char[] password, byte[] salt) {
-		try {
-			SecretKeyFactory keyFactory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA1");
-			KeySpec keySpec = new PBEKeySpec(password, salt, 65536, 128);
+	/**
+	 * Removes all derived keys from the cache and overwrites them with zeros.
+	 */
+	public static void clearKeyCache() {
+		synchronized (KEY_CACHE) {
+			for (CachedKey cached : KEY_CACHE.values()) {
+				cached.destroy();
+			}
+			KEY_CACHE.clear();
+		}
+	}
 
-			SecretKey tmpKey = keyFactory.generateSecret(keySpec);
-			SecretKey secret = new SecretKeySpec(tmpKey.getEncoded(), "AES");
+	/**
+	 * Clears the key cache and drops all pooled instances. Is called when the
+	 * webapp is destroyed.
+	 */
+	public static void shutdown() {
+		clearKeyCache();
+		CIPHERS.clear();
+		SHA256.clear();
+		KEY_FACTORIES.clear();
+		CACHE_MACS.clear();
+	}
 
-			return secret;
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalStateException(e);
+	/**
+	 * Returns the AES key of the given password. The key is taken from the cache,
+	 * if it was derived within the last {@link #KEY_CACHE_EXPIRY} milliseconds.
+	 *
+	 * @param password	the password
+	 * @param now		the current time in milliseconds
+	 * @return			the key
+	 */
+	static SecretKey getSecret(String password, long now) {
+		String cacheKey = cacheKey(password);
+
+		synchronized (KEY_CACHE) {
+			CachedKey cached = KEY_CACHE.get(cacheKey);
+			if (cached != null && cached.expires > now) {
+				return new SecretKeySpec(cached.key, "AES");
+			}
+			removeExpired(now);
+		}
+
+		byte[] key = deriveKey(password, SALT);
+		// the spec copies the key, so it stays valid, when the entry is destroyed
+		SecretKey secret = new SecretKeySpec(key, "AES");
+
+		storeKey(cacheKey, key, now);
+
+		return secret;
+	}
+
+	/**
+	 * Stores the derived key of the password in the cache. A key stored before is
+	 * overwritten with zeros.
+	 *
+	 * @param password	the password
+	 * @param key		the derived key, it's overwritten when it's removed
+	 * @param now		the current time in milliseconds
+	 */
+	static void putKey(String password, byte[] key, long now) {
+		storeKey(cacheKey(password), key, now);
+	}
+
+	/**
+	 * Returns the cached key of the password without copying it.
+	 *
+	 * @param password	the password
+	 * @param now		the current time in milliseconds
+	 * @return			the key, <code>null</code> if none is cached or it has expired
+	 */
+	static byte[] getCachedKey(String password, long now) {
+		synchronized (KEY_CACHE) {
+			CachedKey cached = KEY_CACHE.get(cacheKey(password));
+			return cached != null && cached.expires > now ? cached.key : null;
+		}
+	}
+
+	/**
+	 * @return the number of keys in the cache
+	 */
+	static int getKeyCacheCount() {
+		synchronized (KEY_CACHE) {
+			return KEY_CACHE.size();
+		}
+	}
+
+	private static void storeKey(String cacheKey, byte[] key, long now) {
+		synchronized (KEY_CACHE) {
+			CachedKey previous = KEY_CACHE.put(cacheKey, new CachedKey(key, now + KEY_CACHE_EXPIRY));
+			if (previous != null) {
+				previous.destroy();
+			}
+		}
+	}
+
+	/**
+	 * Must be called while holding the lock of the cache.
+	 */
+	private static void removeExpired(long now) {
+		Iterator<CachedKey> iterator = KEY_CACHE.values().iterator();
+		while (iterator.hasNext()) {
+			CachedKey cached = iterator.next();
+			if (cached.expires <= now) {
+				cached.destroy();
+				iterator.remove();
+			}
+		}
+	}
+
+	private static byte[] deriveKey(String password, byte[] salt) {
+		char[] passwordChars = password.toCharArray();
+		PBEKeySpec keySpec = new PBEKeySpec(passwordChars, salt, KEY_ITERATIONS, KEY_LENGTH);
+		Arrays.fill(passwordChars, '\0');
+
+		SecretKeyFactory factory = KEY_FACTORIES.take();
+		try {
+			return factory.generateSecret(keySpec).getEncoded();
 		} catch (InvalidKeySpecException e) {
 			throw new IllegalStateException(e);
+		} finally {
+			KEY_FACTORIES.give(factory);
+			keySpec.clearPassword();
+		}
+	}
+
+	private static String cacheKey(String password) {
+		Mac mac = CACHE_MACS.take();
+		try {
+			byte[] hmac = mac.doFinal(password.getBytes("UTF-8"));
+			StringBuilder hex = new StringBuilder();
+			for (byte b : hmac) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			CACHE_MACS.give(mac);
+		}
+	}
+
+	private static SecretKeySpec createCacheMacKey() {
+		byte[] key = new byte[32];
+		new SecureRandom().nextBytes(key);
+		return new SecretKeySpec(key, CACHE_MAC_ALGORITHM);
+	}
+
+	/**
+	 * A derived key with the time it expires.
+	 */
+	private static final class CachedKey {
+
+		private final byte[] key;
+
+		private final long expires;
+
+		private CachedKey(byte[] pKey, long pExpires) {
+			key = pKey;
+			expires = pExpires;
 		}
+
+		private void destroy() {
+			Arrays.fill(key, (byte) 0);
+		}
+	}
+
+	/**
+	 * A bounded pool of instances, which are not thread safe. An instance is taken
+	 * for one operation and given back afterwards. If the pool is empty, a new
+	 * instance is created. If it's full, the given back instance is dropped.
+	 */
+	private abstract static class Pool<T> {
+
+		private final BlockingQueue<T> idle = new ArrayBlockingQueue<T>(POOL_SIZE);
+
+		private T take() {
+			T instance = idle.poll();
+			if (instance != null) {
+				return instance;
+			}
+			try {
+				return create();
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		private void give(T instance) {
+			idle.offer(instance);
+		}
+
+		private void clear() {
+			idle.clear();
+		}
+
+		protected abstract T create() throws GeneralSecurityException;
 	}
 }
@@ -48,8 +48,6 @@ public class User {
 	
 	private String token;
 
-	private long experimentKey;
-	
 	private long accountID;
 	
 	private long lastRequestTime;
@@ -94,21 +92,6 @@ public class User {
 		this.currentScenarioDefinitionBuilder = scenarioDefinitionBuilder;
 	}
 
-	/**
-	 * @return the experimentKey
-	 */
-	public long getExperimentKey() {
-		return experimentKey;
-	}
-
-	/**
-	 * @param experimentKey
-	 *            the epxeriment key to set
-	 */
-	public void setExperimentKey(long experimentKey) {
-		this.experimentKey = experimentKey;
-	}
-	
 	// *******************************************************************************************************
 
 	public String getWorkingSpecification() {
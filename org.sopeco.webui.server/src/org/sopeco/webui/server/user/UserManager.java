@@ -69,7 +69,7 @@ public final class UserManager {
 	 * 
 	 * @return the instance of {@link UserManager}
 	 */
-	public static UserManager instance() {
+	public static synchronized UserManager instance() {
 		if (singleton == null) {
 			singleton = new UserManager();
 		}
@@ -84,7 +84,9 @@ public final class UserManager {
 	 * @return 			true, if a token to the given session ID exists
 	 */
 	public boolean existToken(String sessionId) {
-		return sessionID2UserMap.get(sessionId) != null;
+		synchronized (sessionID2UserMap) {
+			return sessionID2UserMap.get(sessionId) != null;
+		}
 	}
 	
 	/**
@@ -144,7 +146,10 @@ public final class UserManager {
 	 */
 	public String getToken(String sessionId) {
 		
-		User u = sessionID2UserMap.get(sessionId);
+		User u;
+		synchronized (sessionID2UserMap) {
+			u = sessionID2UserMap.get(sessionId);
+		}
 		
 		if (u != null) {
 			return u.getToken();
@@ -163,14 +168,16 @@ public final class UserManager {
 	 */
 	public void deleteToken(String token) {
 		
-		for (String sessionId : sessionID2UserMap.keySet()) {
-			
-			if (token.equals(getToken(sessionId))) {
-				sessionID2UserMap.remove(sessionId);
-				// break can be done, because the token is unique (at least it should be)
-				break;
+		synchronized (sessionID2UserMap) {
+			for (String sessionId : sessionID2UserMap.keySet()) {
+				
+				if (token.equals(getToken(sessionId))) {
+					sessionID2UserMap.remove(sessionId);
+					// break can be done, because the token is unique (at least it should be)
+					break;
+				}
+				
 			}
-			
 		}
 		
 	}
@@ -200,17 +207,52 @@ public final class UserManager {
 	 */
 	public User getUser(String token) {
 		
-		for (User u : sessionID2UserMap.values()) {
-			
-			if (u.getToken().equals(token)) {
-				return u;
+		synchronized (sessionID2UserMap) {
+			for (User u : sessionID2UserMap.values()) {
+				
+				if (u.getToken().equals(token)) {
+					return u;
+				}
+				
 			}
-			
 		}
 	
 		return null;
 	}
 
+	/**
+	 * Returns a copy of the mapping of all logged in sessions to their user.
+	 * It can be iterated while sessions log in or out.
+	 *
+	 * @return map of the session IDs to the users
+	 */
+	public Map<String, User> getUsers() {
+		synchronized (sessionID2UserMap) {
+			return new HashMap<String, User>(sessionID2UserMap);
+		}
+	}
+
+	/**
+	 * Returns the IDs of all sessions logged in with the given account.
+	 *
+	 * @param accountId	the account ID
+	 * @return			list with the session IDs
+	 */
+	public List<String> getSessionIds(long accountId) {
+
+		List<String> sessionIds = new ArrayList<String>();
+
+		synchronized (sessionID2UserMap) {
+			for (Map.Entry<String, User> entry : sessionID2UserMap.entrySet()) {
+				if (entry.getValue().getAccountID() == accountId) {
+					sessionIds.add(entry.getKey());
+				}
+			}
+		}
+
+		return sessionIds;
+	}
+
 	/**
 	 * Returns a list with all tokens currently registered.
 	 * 
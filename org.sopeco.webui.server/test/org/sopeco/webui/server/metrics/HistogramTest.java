@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.metrics;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * Tests the buckets and percentiles of the {@link Histogram}.
+ *
+ * @author agent
+ */
+public class HistogramTest {
+
+	/** Ratio of the upper bounds of two neighboring buckets. */
+	private static final double GROWTH = Math.pow(2, 0.25);
+
+	private static final double EPSILON = 1e-9;
+
+	@Test
+	public void testEmpty() {
+		Histogram histogram = new Histogram();
+
+		Assert.assertEquals(0, histogram.getCount());
+		Assert.assertEquals(0d, histogram.getSum());
+		Assert.assertEquals(0d, histogram.getMax());
+		Assert.assertEquals(0d, histogram.getPercentile(0));
+		Assert.assertEquals(0d, histogram.getPercentile(0.5));
+		Assert.assertEquals(0d, histogram.getPercentile(1));
+	}
+
+	@Test
+	public void testBucketBounds() {
+		double[] values = { 0.0015, 0.1, 1, 3.7, 1000, 123456 };
+		for (double value : values) {
+			Histogram histogram = new Histogram();
+			histogram.record(value);
+			// a larger maximum, so the percentile is the upper bound of the bucket
+			histogram.record(Histogram.MAX_VALUE);
+
+			double bound = histogram.getPercentile(0.5);
+			Assert.assertTrue(value + " > " + bound, bound >= value * (1 - EPSILON));
+			Assert.assertTrue(value + " * growth <= " + bound, bound < value * GROWTH * (1 + EPSILON));
+		}
+	}
+
+	@Test
+	public void testSmallAndNegativeValues() {
+		Histogram histogram = new Histogram();
+		histogram.record(-5);
+
+		Assert.assertEquals(1, histogram.getCount());
+		Assert.assertEquals(0d, histogram.getSum());
+		Assert.assertEquals(0d, histogram.getMax());
+		Assert.assertEquals(0d, histogram.getPercentile(1));
+
+		histogram.record(Histogram.MIN_VALUE / 2);
+		histogram.record(Histogram.MAX_VALUE);
+
+		// both small values are in the first bucket
+		Assert.assertEquals(Histogram.MIN_VALUE, histogram.getPercentile(0.5), Histogram.MIN_VALUE * EPSILON);
+	}
+
+	@Test
+	public void testValuesAboveMaximum() {
+		Histogram histogram = new Histogram();
+		histogram.record(10 * Histogram.MAX_VALUE);
+		histogram.record(20 * Histogram.MAX_VALUE);
+
+		Assert.assertEquals(20 * Histogram.MAX_VALUE, histogram.getMax());
+		Assert.assertEquals(Histogram.MAX_VALUE, histogram.getPercentile(0.5), Histogram.MAX_VALUE * EPSILON);
+		Assert.assertEquals(Histogram.MAX_VALUE, histogram.getPercentile(1), Histogram.MAX_VALUE * EPSILON);
+	}
+
+	@Test
+	public void testPercentilesAndMax() {
+		Histogram histogram = new Histogram();
+		for (int i = 100; i >= 1; i--) {
+			histogram.record(i);
+		}
+
+		Assert.assertEquals(100, histogram.getCount());
+		Assert.assertEquals(5050d, histogram.getSum(), 0.000001);
+		Assert.assertEquals(100d, histogram.getMax());
+
+		assertBetween(1, GROWTH, histogram.getPercentile(0));
+		assertBetween(50, 50 * GROWTH, histogram.getPercentile(0.5));
+		assertBetween(90, 90 * GROWTH, histogram.getPercentile(0.9));
+		// never more than the maximum
+		assertBetween(99, 100, histogram.getPercentile(0.99));
+		Assert.assertEquals(100d, histogram.getPercentile(1));
+	}
+
+	private static void assertBetween(double min, double max, double actual) {
+		Assert.assertTrue(actual + " < " + min, actual >= min * (1 - EPSILON));
+		Assert.assertTrue(actual + " > " + max, actual <= max * (1 + EPSILON));
+	}
+}
@@ -0,0 +1,262 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.persistence;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ConnectionPool} with connections to an embedded in-memory
+ * database, as used in the mode {@link UiPersistenceProvider#MODE_MEMORY}.
+ *
+ * @author agent
+ */
+public class ConnectionPoolTest {
+
+	private static final String USER = "test";
+
+	private static final String PASSWORD = "test";
+
+	private static int databaseCount = 0;
+
+	private String databaseName;
+
+	private ConnectionPool pool;
+
+	@Before
+	public void setup() {
+		databaseCount++;
+		databaseName = "ConnectionPoolTest" + databaseCount;
+	}
+
+	@After
+	public void tearDown() {
+		if (pool != null) {
+			pool.close();
+		}
+		derbyCommand("drop=true");
+	}
+
+	@Test
+	public void testBorrowAndReturn() throws SQLException {
+		pool = createPool(1, 2, 1000, 1);
+
+		Connection connection = pool.getConnection();
+		Assert.assertEquals(1, pool.getActiveCount());
+		Assert.assertEquals(0, pool.getIdleCount());
+		assertUsable(connection);
+
+		connection.close();
+		Assert.assertEquals(0, pool.getActiveCount());
+		Assert.assertEquals(1, pool.getIdleCount());
+
+		// the idle connection is handed out again, no new one is opened
+		Connection again = pool.getConnection();
+		Assert.assertEquals(1, pool.getActiveCount());
+		Assert.assertEquals(0, pool.getIdleCount());
+		assertUsable(again);
+
+		again.close();
+		Assert.assertEquals(1, pool.getIdleCount());
+	}
+
+	@Test
+	public void testMaxSizeAndTimeout() throws SQLException {
+		pool = createPool(0, 1, 200, 0);
+
+		Connection connection = pool.getConnection();
+
+		long start = System.currentTimeMillis();
+		try {
+			pool.getConnection();
+			Assert.fail("The pool handed out more than its maximum size.");
+		} catch (SQLException e) {
+			Assert.assertTrue(System.currentTimeMillis() - start >= 150);
+		}
+		Assert.assertEquals(1, pool.getActiveCount());
+		Assert.assertEquals(0, pool.getWaitingCount());
+
+		connection.close();
+
+		Connection next = pool.getConnection();
+		assertUsable(next);
+		next.close();
+	}
+
+	@Test
+	public void testWaitingRequestGetsReturnedConnection() throws Exception {
+		pool = createPool(0, 1, 5000, 0);
+
+		Connection connection = pool.getConnection();
+
+		final AtomicReference<Object> result = new AtomicReference<Object>();
+		Thread waiter = new Thread() {
+			@Override
+			public void run() {
+				try {
+					result.set(pool.getConnection());
+				} catch (SQLException e) {
+					result.set(e);
+				}
+			}
+		};
+		waiter.start();
+
+		waitForWaitingRequest();
+		connection.close();
+		waiter.join(5000);
+
+		Assert.assertTrue(result.get() instanceof Connection);
+		Assert.assertEquals(1, pool.getActiveCount());
+		((Connection) result.get()).close();
+	}
+
+	@Test
+	public void testInvalidConnectionsAreEvicted() throws SQLException {
+		pool = createPool(2, 2, 1000, 1);
+
+		Connection first = pool.getConnection();
+		Connection second = pool.getConnection();
+		first.close();
+		second.close();
+		Assert.assertEquals(2, pool.getIdleCount());
+
+		// breaks all open connections, the database is booted again by the next one
+		derbyCommand("shutdown=true");
+
+		Connection connection = pool.getConnection();
+		assertUsable(connection);
+		Assert.assertEquals(1, pool.getActiveCount());
+		Assert.assertEquals(0, pool.getIdleCount());
+
+		connection.close();
+		Assert.assertEquals(0, pool.getActiveCount());
+		Assert.assertEquals(1, pool.getIdleCount());
+	}
+
+	@Test
+	public void testClose() throws SQLException {
+		pool = createPool(2, 2, 1000, 0);
+
+		Connection first = pool.getConnection();
+		Assert.assertEquals(1, pool.getIdleCount());
+
+		pool.close();
+		Assert.assertEquals(0, pool.getIdleCount());
+
+		try {
+			pool.getConnection();
+			Assert.fail("A closed pool handed out a connection.");
+		} catch (SQLException e) {
+			Assert.assertEquals(1, pool.getActiveCount());
+		}
+
+		// a connection in use is still usable and closed, when it is given back
+		assertUsable(first);
+		first.close();
+		Assert.assertEquals(0, pool.getActiveCount());
+		Assert.assertEquals(0, pool.getIdleCount());
+	}
+
+	@Test
+	public void testCloseWakesWaitingRequests() throws Exception {
+		pool = createPool(0, 1, 5000, 0);
+
+		Connection connection = pool.getConnection();
+
+		final AtomicReference<Object> result = new AtomicReference<Object>();
+		Thread waiter = new Thread() {
+			@Override
+			public void run() {
+				try {
+					result.set(pool.getConnection());
+				} catch (SQLException e) {
+					result.set(e);
+				}
+			}
+		};
+		waiter.start();
+
+		waitForWaitingRequest();
+		long start = System.currentTimeMillis();
+		pool.close();
+		waiter.join(5000);
+
+		Assert.assertTrue(result.get() instanceof SQLException);
+		Assert.assertTrue(System.currentTimeMillis() - start < 4000);
+
+		connection.close();
+		Assert.assertEquals(0, pool.getActiveCount());
+	}
+
+	private ConnectionPool createPool(int minSize, int maxSize, long maxWait, int validationTimeout) {
+		return new ConnectionPool(UiPersistenceProvider.createMemoryDataSource(databaseName, USER, PASSWORD),
+				minSize, maxSize, maxWait, validationTimeout);
+	}
+
+	private void waitForWaitingRequest() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (pool.getWaitingCount() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		Assert.assertEquals(1, pool.getWaitingCount());
+	}
+
+	private static void assertUsable(Connection connection) throws SQLException {
+		Statement statement = connection.createStatement();
+		try {
+			ResultSet result = statement.executeQuery("VALUES 1");
+			Assert.assertTrue(result.next());
+			Assert.assertEquals(1, result.getInt(1));
+		} finally {
+			statement.close();
+		}
+	}
+
+	/**
+	 * Sends a command like <code>shutdown=true</code> to the in-memory database. Derby
+	 * reports a successful shutdown or drop with an exception.
+	 */
+	private void derbyCommand(String command) {
+		try {
+			DriverManager.getConnection("jdbc:derby:memory:" + databaseName + ";user=" + USER + ";password="
+					+ PASSWORD + ";" + command).close();
+		} catch (SQLException e) {
+			// expected
+		}
+	}
+}
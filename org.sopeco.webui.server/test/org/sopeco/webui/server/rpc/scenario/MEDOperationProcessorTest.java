@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.rpc.scenario;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sopeco.persistence.entities.definition.MeasurementEnvironmentDefinition;
+import org.sopeco.persistence.entities.definition.ParameterDefinition;
+import org.sopeco.persistence.entities.definition.ParameterNamespace;
+import org.sopeco.persistence.entities.definition.ParameterRole;
+import org.sopeco.webui.shared.builder.MeasurementEnvironmentBuilder;
+import org.sopeco.webui.shared.builder.ScenarioDefinitionBuilder;
+import org.sopeco.webui.shared.entities.MEDBatchResult;
+import org.sopeco.webui.shared.entities.MEDOperation;
+
+/**
+ * Tests the {@link MEDOperationProcessor}.
+ *
+ * @author agent
+ */
+public class MEDOperationProcessorTest {
+
+	private MeasurementEnvironmentDefinition med;
+
+	private MeasurementEnvironmentBuilder builder;
+
+	@Before
+	public void setup() {
+		ScenarioDefinitionBuilder sdb = new ScenarioDefinitionBuilder();
+		builder = sdb.getEnvironmentBuilder();
+
+		ParameterNamespace ns = builder.addNamespaces("root/first");
+		builder.addParameter("input", "INTEGER", ParameterRole.INPUT, ns);
+		builder.addNamespaces("root/second");
+
+		med = sdb.getMEDefinition();
+	}
+
+	@Test
+	public void testApplyAll() {
+		MEDBatchResult result = MEDOperationProcessor.apply(med, operations(
+				MEDOperation.addNamespace("root/first/third"),
+				MEDOperation.addParameter("root/first/third", "output", "DOUBLE", ParameterRole.OBSERVATION),
+				MEDOperation.updateParameter("root/first", "input", "size", "LONG", ParameterRole.INPUT),
+				MEDOperation.renameNamespace("root/second", "renamed")));
+
+		Assert.assertTrue(result.isCommitted());
+		Assert.assertEquals(Arrays.asList(true, true, true, true), result.getOperationResults());
+
+		ParameterNamespace third = builder.getNamespace("root/first/third");
+		Assert.assertNotNull(third);
+		Assert.assertEquals(ParameterRole.OBSERVATION, builder.getParameter("output", third).getRole());
+
+		ParameterDefinition size = builder.getParameter("size", builder.getNamespace("root/first"));
+		Assert.assertNotNull(size);
+		Assert.assertEquals("LONG", size.getType());
+		Assert.assertNull(builder.getParameter("input", builder.getNamespace("root/first")));
+
+		Assert.assertNull(builder.getNamespace("root/second"));
+		Assert.assertNotNull(builder.getNamespace("root/renamed"));
+	}
+
+	@Test
+	public void testRemove() {
+		MEDBatchResult result = MEDOperationProcessor.apply(med, operations(
+				MEDOperation.removeParameter("root/first", "input"),
+				MEDOperation.removeNamespace("root/second")));
+
+		Assert.assertTrue(result.isCommitted());
+		Assert.assertTrue(builder.getNamespace("root/first").getParameters().isEmpty());
+		Assert.assertNull(builder.getNamespace("root/second"));
+	}
+
+	@Test
+	public void testFailedOperationsAreReported() {
+		MEDBatchResult result = MEDOperationProcessor.apply(med, operations(
+				MEDOperation.addNamespace("root/first"),
+				MEDOperation.addNamespace("invalid"),
+				MEDOperation.removeNamespace("root"),
+				MEDOperation.renameNamespace("root/first", "second"),
+				MEDOperation.addParameter("root/first", "input", "INTEGER", ParameterRole.INPUT),
+				MEDOperation.addParameter("root/missing", "other", "INTEGER", ParameterRole.INPUT),
+				MEDOperation.removeParameter("root/first", "missing"),
+				MEDOperation.updateParameter("root/second", "input", "x", "INTEGER", ParameterRole.INPUT),
+				null,
+				MEDOperation.addNamespace("root/fourth")));
+
+		Assert.assertFalse(result.isCommitted());
+		Assert.assertEquals(Arrays.asList(false, false, false, false, false, false, false, false, false, true),
+				result.getOperationResults());
+	}
+
+	@Test
+	public void testMissingNames() {
+		MEDBatchResult result = MEDOperationProcessor.apply(med, operations(
+				MEDOperation.updateParameter("root/first", null, "size", "LONG", ParameterRole.INPUT),
+				MEDOperation.updateParameter("root/first", "input", null, "LONG", ParameterRole.INPUT),
+				MEDOperation.addParameter("root/first", "", "INTEGER", ParameterRole.INPUT),
+				MEDOperation.removeParameter("root/first", null),
+				MEDOperation.renameNamespace("root/second", null)));
+
+		Assert.assertFalse(result.isCommitted());
+		Assert.assertEquals(Arrays.asList(false, false, false, false, false), result.getOperationResults());
+
+		ParameterDefinition input = builder.getParameter("input", builder.getNamespace("root/first"));
+		Assert.assertNotNull(input);
+		Assert.assertEquals("INTEGER", input.getType());
+		Assert.assertNotNull(builder.getNamespace("root/second"));
+	}
+
+	@Test
+	public void testUpdateToExistingName() {
+		builder.addParameter("other", "INTEGER", ParameterRole.INPUT, builder.getNamespace("root/first"));
+
+		MEDBatchResult result = MEDOperationProcessor.apply(med, operations(
+				MEDOperation.updateParameter("root/first", "input", "other", "INTEGER", ParameterRole.INPUT),
+				MEDOperation.updateParameter("root/first", "input", "input", "DOUBLE", ParameterRole.INPUT)));
+
+		Assert.assertEquals(Arrays.asList(false, true), result.getOperationResults());
+		Assert.assertEquals("DOUBLE", builder.getParameter("input", builder.getNamespace("root/first")).getType());
+	}
+
+	@Test
+	public void testVersionConflict() {
+		String version = MEDCache.version(med);
+
+		builder.addNamespaces("root/concurrent");
+
+		MEDBatchResult result = MEDOperationProcessor.apply(med, version,
+				operations(MEDOperation.addNamespace("root/fourth")));
+
+		Assert.assertTrue(result.isConflict());
+		Assert.assertFalse(result.isCommitted());
+		Assert.assertTrue(result.getOperationResults().isEmpty());
+		Assert.assertEquals(MEDCache.version(med), result.getVersion());
+		Assert.assertNull(builder.getNamespace("root/fourth"));
+
+		result = MEDOperationProcessor.apply(med, null, operations(MEDOperation.addNamespace("root/fourth")));
+
+		Assert.assertTrue(result.isConflict());
+		Assert.assertNull(builder.getNamespace("root/fourth"));
+	}
+
+	@Test
+	public void testVersionOfResult() {
+		String version = MEDCache.version(med);
+
+		MEDBatchResult failed = MEDOperationProcessor.apply(med, version,
+				operations(MEDOperation.addNamespace("root/fourth"), MEDOperation.removeNamespace("root/missing")));
+
+		Assert.assertFalse(failed.isConflict());
+		Assert.assertFalse(failed.isCommitted());
+		Assert.assertEquals(version, failed.getVersion());
+
+		ScenarioDefinitionBuilder sdb = new ScenarioDefinitionBuilder();
+		sdb.getEnvironmentBuilder().addNamespaces("root/first");
+		MeasurementEnvironmentDefinition other = sdb.getMEDefinition();
+		String otherVersion = MEDCache.version(other);
+
+		MEDBatchResult committed = MEDOperationProcessor.apply(other, otherVersion,
+				operations(MEDOperation.addNamespace("root/fourth")));
+
+		Assert.assertFalse(committed.isConflict());
+		Assert.assertTrue(committed.isCommitted());
+		Assert.assertEquals(MEDCache.version(other), committed.getVersion());
+		Assert.assertFalse(otherVersion.equals(committed.getVersion()));
+	}
+
+	private static List<MEDOperation> operations(MEDOperation... operations) {
+		return new ArrayList<MEDOperation>(Arrays.asList(operations));
+	}
+}
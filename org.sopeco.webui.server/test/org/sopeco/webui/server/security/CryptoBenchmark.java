@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.security;
+
+import java.security.spec.KeySpec;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Measures the throughput of {@link Crypto#encrypt(String, String)} and
+ * {@link Crypto#decrypt(String, byte[][])}. As reference, the implementation
+ * without key cache (a new key derivation and new instances on every call) is
+ * measured, too.<br />
+ * This is not a unit test, run it with:
+ * <code>java org.sopeco.webui.server.security.CryptoBenchmark [seconds per run]</code>
+ */
+public final class CryptoBenchmark {
+
+	private static final String PASSWORD = "benchmark-password";
+
+	private static final String INPUT = "remember-me token of the account";
+
+	private static final byte[] SALT = { 'S', 'O', 'F', 'T', 'W', 'A', 'R', 'E' };
+
+	private CryptoBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		long duration = (args.length > 0 ? Long.parseLong(args[0]) : 5) * 1000;
+
+		final byte[][] encrypted = Crypto.encrypt(PASSWORD, INPUT);
+
+		run("uncached encrypt", duration, new Runnable() {
+			@Override
+			public void run() {
+				uncachedEncrypt(PASSWORD, INPUT);
+			}
+		});
+		run("uncached decrypt", duration, new Runnable() {
+			@Override
+			public void run() {
+				uncachedDecrypt(PASSWORD, encrypted);
+			}
+		});
+		run("cached encrypt", duration, new Runnable() {
+			@Override
+			public void run() {
+				Crypto.encrypt(PASSWORD, INPUT);
+			}
+		});
+		run("cached decrypt", duration, new Runnable() {
+			@Override
+			public void run() {
+				Crypto.decrypt(PASSWORD, encrypted);
+			}
+		});
+	}
+
+	private static void run(String name, long duration, Runnable operation) {
+		// warm up
+		for (int i = 0; i < 10; i++) {
+			operation.run();
+		}
+
+		long count = 0;
+		long start = System.nanoTime();
+		long end = start + duration * 1000000;
+		while (System.nanoTime() < end) {
+			operation.run();
+			count++;
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.println(String.format("%-18s %12.1f ops/s", name, count / seconds));
+	}
+
+	private static SecretKey uncachedSecret(String password) throws Exception {
+		SecretKeyFactory keyFactory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA1");
+		KeySpec keySpec = new PBEKeySpec(password.toCharArray(), SALT, 65536, 128);
+		return new SecretKeySpec(keyFactory.generateSecret(keySpec).getEncoded(), "AES");
+	}
+
+	private static byte[][] uncachedEncrypt(String password, String input) {
+		try {
+			Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+			cipher.init(Cipher.ENCRYPT_MODE, uncachedSecret(password));
+			byte[][] returnArray = new byte[2][];
+			returnArray[0] = cipher.getParameters().getParameterSpec(IvParameterSpec.class).getIV();
+			returnArray[1] = cipher.doFinal(input.getBytes("UTF-8"));
+			return returnArray;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String uncachedDecrypt(String password, byte[][] inputAndInitialVector) {
+		try {
+			Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+			cipher.init(Cipher.DECRYPT_MODE, uncachedSecret(password), new IvParameterSpec(
+					inputAndInitialVector[0]));
+			return new String(cipher.doFinal(inputAndInitialVector[1]), "UTF-8");
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
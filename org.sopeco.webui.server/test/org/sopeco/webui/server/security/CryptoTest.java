@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.server.security;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the cache of the derived keys in {@link Crypto}.
+ *
+ * @author agent
+ */
+public class CryptoTest {
+
+	private static final String PASSWORD = "secret";
+
+	@Before
+	public void setup() {
+		Crypto.clearKeyCache();
+	}
+
+	@After
+	public void tearDown() {
+		Crypto.clearKeyCache();
+	}
+
+	@Test
+	public void testRoundTripUsesCache() {
+		byte[][] encrypted = Crypto.encrypt(PASSWORD, "some text");
+		Assert.assertEquals(1, Crypto.getKeyCacheCount());
+
+		byte[] key = Crypto.getCachedKey(PASSWORD, System.currentTimeMillis());
+		Assert.assertNotNull(key);
+
+		Assert.assertEquals("some text", Crypto.decrypt(PASSWORD, encrypted));
+
+		// the key was not derived again
+		Assert.assertEquals(1, Crypto.getKeyCacheCount());
+		Assert.assertSame(key, Crypto.getCachedKey(PASSWORD, System.currentTimeMillis()));
+	}
+
+	@Test
+	public void testExpiry() {
+		long now = System.currentTimeMillis();
+		byte[] key = key(1);
+		Crypto.putKey(PASSWORD, key, now);
+
+		Assert.assertSame(key, Crypto.getCachedKey(PASSWORD, now + Crypto.KEY_CACHE_EXPIRY - 1));
+		Assert.assertNull(Crypto.getCachedKey(PASSWORD, now + Crypto.KEY_CACHE_EXPIRY));
+
+		// an expired key is derived again and the old one is overwritten
+		Crypto.getSecret(PASSWORD, now + Crypto.KEY_CACHE_EXPIRY);
+		assertZero(key);
+
+		byte[] derived = Crypto.getCachedKey(PASSWORD, now + Crypto.KEY_CACHE_EXPIRY);
+		Assert.assertNotNull(derived);
+		Assert.assertNotSame(key, derived);
+		Assert.assertEquals(1, Crypto.getKeyCacheCount());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() {
+		long now = System.currentTimeMillis();
+		byte[][] keys = new byte[Crypto.KEY_CACHE_SIZE][];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = key(i % 100 + 1);
+			Crypto.putKey("p" + i, keys[i], now);
+		}
+		Assert.assertEquals(Crypto.KEY_CACHE_SIZE, Crypto.getKeyCacheCount());
+
+		// p0 is used, so p1 is the eldest entry
+		Assert.assertSame(keys[0], Crypto.getCachedKey("p0", now));
+
+		Crypto.putKey("new", key(7), now);
+
+		Assert.assertEquals(Crypto.KEY_CACHE_SIZE, Crypto.getKeyCacheCount());
+		Assert.assertNull(Crypto.getCachedKey("p1", now));
+		assertZero(keys[1]);
+		Assert.assertSame(keys[0], Crypto.getCachedKey("p0", now));
+		Assert.assertEquals(1, keys[0][0]);
+	}
+
+	@Test
+	public void testClearKeyCache() {
+		long now = System.currentTimeMillis();
+		byte[] key = key(1);
+		Crypto.putKey(PASSWORD, key, now);
+
+		Crypto.clearKeyCache();
+
+		Assert.assertEquals(0, Crypto.getKeyCacheCount());
+		Assert.assertNull(Crypto.getCachedKey(PASSWORD, now));
+		assertZero(key);
+	}
+
+	private static byte[] key(int value) {
+		byte[] key = new byte[16];
+		for (int i = 0; i < key.length; i++) {
+			key[i] = (byte) value;
+		}
+		return key;
+	}
+
+	private static void assertZero(byte[] key) {
+		for (byte b : key) {
+			Assert.assertEquals(0, b);
+		}
+	}
+}
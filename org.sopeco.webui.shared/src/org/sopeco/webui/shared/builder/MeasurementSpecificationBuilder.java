@@ -32,7 +32,8 @@ import org.sopeco.persistence.entities.definition.ConstantValueAssignment;
 import org.sopeco.persistence.entities.definition.ExperimentSeriesDefinition;
 import org.sopeco.persistence.entities.definition.MeasurementSpecification;
 import org.sopeco.persistence.entities.definition.ParameterDefinition;
-import org.sopeco.webui.shared.helper.Metering;
+import org.sopeco.webui.shared.metrics.Metrics;
+import org.sopeco.webui.shared.metrics.Stopwatch;
 
 /**
  * Builder for the measurement specification.
@@ -50,22 +51,22 @@ public class MeasurementSpecificationBuilder {
 	}
 
 	public MeasurementSpecificationBuilder(ScenarioDefinitionBuilder sBuilder, String specName) {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("MeasurementSpecificationBuilder.init");
 		LOGGER.info("Creating MeasurementSpecificationBuilder '" + specName + "'");
 
 		specification = SimpleEntityFactory.createMeasurementSpecification(specName);
 		sBuilder.getBuiltScenario().getMeasurementSpecifications().add(specification);
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	public MeasurementSpecificationBuilder(MeasurementSpecification spec) {
-		double metering = Metering.start();
+		Stopwatch metering = Metrics.start("MeasurementSpecificationBuilder.init");
 		LOGGER.info("Creating MeasurementSpecificationBuilder for Spec. '" + spec.getName() + "'");
 
 		specification = spec;
 
-		Metering.stop(metering);
+		metering.stop();
 	}
 
 	/**
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.shared.entities;
+
+import java.io.Serializable;
+import java.util.HashMap;
+
+import org.sopeco.persistence.entities.definition.ScenarioDefinition;
+import org.sopeco.webui.shared.entities.account.AccountDetails;
+import org.sopeco.webui.shared.helper.ExtensionContainer;
+
+/**
+ * Everything the first screen of the application needs, transmitted in a
+ * single response. The account related fields are only set, if the session
+ * is already logged in.
+ *
+ * @author agent
+ */
+public class BootstrapData implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private ExtensionContainer extensions;
+
+	private HashMap<String, String> metaDatabaseDetails;
+
+	private AccountDetails accountDetails;
+
+	private ScenarioDefinition selectedScenario;
+
+	/**
+	 * Empty constructor for GWT serialization.
+	 */
+	public BootstrapData() {
+	}
+
+	/**
+	 * @return the extensions, <code>null</code> if the version cached by the
+	 *         client is still valid
+	 */
+	public ExtensionContainer getExtensions() {
+		return extensions;
+	}
+
+	public void setExtensions(ExtensionContainer pExtensions) {
+		this.extensions = pExtensions;
+	}
+
+	/**
+	 * @return host and port of the meta database
+	 */
+	public HashMap<String, String> getMetaDatabaseDetails() {
+		return metaDatabaseDetails;
+	}
+
+	public void setMetaDatabaseDetails(HashMap<String, String> pMetaDatabaseDetails) {
+		this.metaDatabaseDetails = pMetaDatabaseDetails;
+	}
+
+	/**
+	 * @return the details of the account, <code>null</code> if the session
+	 *         is not logged in
+	 */
+	public AccountDetails getAccountDetails() {
+		return accountDetails;
+	}
+
+	public void setAccountDetails(AccountDetails pAccountDetails) {
+		this.accountDetails = pAccountDetails;
+	}
+
+	/**
+	 * @return the definition of the selected scenario including its MED,
+	 *         <code>null</code> if no scenario is selected
+	 */
+	public ScenarioDefinition getSelectedScenario() {
+		return selectedScenario;
+	}
+
+	public void setSelectedScenario(ScenarioDefinition pSelectedScenario) {
+		this.selectedScenario = pSelectedScenario;
+	}
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.shared.entities;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sopeco.service.execute.MECLogEntry;
+
+/**
+ * One page of a filtered MEC log.
+ *
+ * @author agent
+ */
+public class MECLogPage implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private int offset;
+
+	private int totalCount;
+
+	private List<MECLogEntry> entries = new ArrayList<MECLogEntry>();
+
+	/**
+	 * Empty constructor for GWT serialization.
+	 */
+	public MECLogPage() {
+	}
+
+	/**
+	 * @return the index of the first entry of this page in the filtered log
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	public void setOffset(int pOffset) {
+		this.offset = pOffset;
+	}
+
+	/**
+	 * @return the number of entries in the filtered log
+	 */
+	public int getTotalCount() {
+		return totalCount;
+	}
+
+	public void setTotalCount(int pTotalCount) {
+		this.totalCount = pTotalCount;
+	}
+
+	public List<MECLogEntry> getEntries() {
+		return entries;
+	}
+
+	public void setEntries(List<MECLogEntry> pEntries) {
+		this.entries = pEntries;
+	}
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.shared.entities;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a batch of {@link MEDOperation}s. The batch is applied
+ * atomically: the definition is only stored, if every operation succeeded.<br />
+ * The batch is rejected as conflict, if the definition has been changed since
+ * the client has loaded it. Then no operation is applied.
+ *
+ * @author agent
+ */
+public class MEDBatchResult implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private boolean committed;
+
+	private boolean conflict;
+
+	private String version;
+
+	private List<Boolean> operationResults = new ArrayList<Boolean>();
+
+	/**
+	 * Empty constructor for GWT serialization.
+	 */
+	public MEDBatchResult() {
+	}
+
+	/**
+	 * @return true, if all operations succeeded and the definition was stored
+	 */
+	public boolean isCommitted() {
+		return committed;
+	}
+
+	public void setCommitted(boolean pCommitted) {
+		this.committed = pCommitted;
+	}
+
+	/**
+	 * @return true, if the definition has been changed by someone else and the
+	 *         batch was rejected
+	 */
+	public boolean isConflict() {
+		return conflict;
+	}
+
+	public void setConflict(boolean pConflict) {
+		this.conflict = pConflict;
+	}
+
+	/**
+	 * Returns the version of the definition after the batch. It's the version
+	 * of the stored definition or, if nothing was stored, the current one.
+	 *
+	 * @return the version of the definition
+	 */
+	public String getVersion() {
+		return version;
+	}
+
+	public void setVersion(String pVersion) {
+		this.version = pVersion;
+	}
+
+	/**
+	 * Returns one entry per operation, in the order the operations were sent.
+	 *
+	 * @return the result of each operation
+	 */
+	public List<Boolean> getOperationResults() {
+		return operationResults;
+	}
+
+	public void setOperationResults(List<Boolean> pOperationResults) {
+		this.operationResults = pOperationResults;
+	}
+
+}
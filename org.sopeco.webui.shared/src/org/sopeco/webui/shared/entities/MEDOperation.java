@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.shared.entities;
+
+import java.io.Serializable;
+
+import org.sopeco.persistence.entities.definition.ParameterRole;
+
+/**
+ * A single mutation of a measurement environment definition. A list of these
+ * operations can be sent in one request and is applied in the given order.
+ *
+ * @author agent
+ */
+public class MEDOperation implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The supported kinds of mutations.
+	 */
+	public enum Type {
+		ADD_NAMESPACE, REMOVE_NAMESPACE, RENAME_NAMESPACE, ADD_PARAMETER, REMOVE_PARAMETER, UPDATE_PARAMETER
+	}
+
+	private Type type;
+
+	private String path;
+
+	private String name;
+
+	private String newName;
+
+	private String parameterType;
+
+	private ParameterRole role;
+
+	/**
+	 * Empty constructor for GWT serialization.
+	 */
+	public MEDOperation() {
+	}
+
+	private MEDOperation(Type pType, String pPath) {
+		type = pType;
+		path = pPath;
+	}
+
+	public static MEDOperation addNamespace(String path) {
+		return new MEDOperation(Type.ADD_NAMESPACE, path);
+	}
+
+	public static MEDOperation removeNamespace(String path) {
+		return new MEDOperation(Type.REMOVE_NAMESPACE, path);
+	}
+
+	public static MEDOperation renameNamespace(String path, String newName) {
+		MEDOperation op = new MEDOperation(Type.RENAME_NAMESPACE, path);
+		op.newName = newName;
+		return op;
+	}
+
+	public static MEDOperation addParameter(String path, String name, String type, ParameterRole role) {
+		MEDOperation op = new MEDOperation(Type.ADD_PARAMETER, path);
+		op.name = name;
+		op.parameterType = type;
+		op.role = role;
+		return op;
+	}
+
+	public static MEDOperation removeParameter(String path, String name) {
+		MEDOperation op = new MEDOperation(Type.REMOVE_PARAMETER, path);
+		op.name = name;
+		return op;
+	}
+
+	public static MEDOperation updateParameter(String path, String oldName, String newName, String type,
+			ParameterRole role) {
+		MEDOperation op = new MEDOperation(Type.UPDATE_PARAMETER, path);
+		op.name = oldName;
+		op.newName = newName;
+		op.parameterType = type;
+		op.role = role;
+		return op;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return the path of the namespace this operation targets
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return the (old) name of the parameter
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the new name of the namespace or parameter
+	 */
+	public String getNewName() {
+		return newName;
+	}
+
+	public String getParameterType() {
+		return parameterType;
+	}
+
+	public ParameterRole getRole() {
+		return role;
+	}
+
+}
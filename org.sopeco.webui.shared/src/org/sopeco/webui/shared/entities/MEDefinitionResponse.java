@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.shared.entities;
+
+import java.io.Serializable;
+
+import org.sopeco.persistence.entities.definition.MeasurementEnvironmentDefinition;
+
+/**
+ * Response of a conditional MED request. If the client already knows the
+ * current version of the MED, the definition itself is not transmitted.
+ *
+ * @author agent
+ */
+public class MEDefinitionResponse implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private String version;
+
+	private boolean notModified;
+
+	private MeasurementEnvironmentDefinition definition;
+
+	/**
+	 * Empty constructor for GWT serialization.
+	 */
+	public MEDefinitionResponse() {
+	}
+
+	/**
+	 * @return the version of the MED on the server
+	 */
+	public String getVersion() {
+		return version;
+	}
+
+	public void setVersion(String pVersion) {
+		this.version = pVersion;
+	}
+
+	/**
+	 * @return true, if the version known by the client is still up to date
+	 *         and therefore no definition is transmitted
+	 */
+	public boolean isNotModified() {
+		return notModified;
+	}
+
+	public void setNotModified(boolean pNotModified) {
+		this.notModified = pNotModified;
+	}
+
+	/**
+	 * @return the MED, <code>null</code> if not modified
+	 */
+	public MeasurementEnvironmentDefinition getDefinition() {
+		return definition;
+	}
+
+	public void setDefinition(MeasurementEnvironmentDefinition pDefinition) {
+		this.definition = pDefinition;
+	}
+
+}
@@ -42,6 +42,7 @@ public class RunningControllerStatus implements PushSerializable {
 	 * 
 	 */
 	private static final long serialVersionUID = 1L;
+	private long experimentKey;
 	private long timeStart;
 	private long timeRemaining;
 
@@ -52,8 +53,29 @@ public class RunningControllerStatus implements PushSerializable {
 
 	private List<MECLogEntry> eventLogList;
 
+	/**
+	 * Index of the first entry of the eventLogList in the complete log of the
+	 * experiment. The list only contains the entries starting at this cursor.
+	 */
+	private int logCursor;
+
 	private boolean hasFinished;
 
+	/**
+	 * @return the key of the experiment in the service layer
+	 */
+	public long getExperimentKey() {
+		return experimentKey;
+	}
+
+	/**
+	 * @param experimentKey
+	 *            the key of the experiment in the service layer
+	 */
+	public void setExperimentKey(long experimentKey) {
+		this.experimentKey = experimentKey;
+	}
+
 	/**
 	 * @return the eventLogList
 	 */
@@ -69,6 +91,23 @@ public class RunningControllerStatus implements PushSerializable {
 		this.eventLogList = eventLogList;
 	}
 
+	/**
+	 * @return the index of the first entry of the eventLogList in the
+	 *         complete log of the experiment
+	 */
+	public int getLogCursor() {
+		return logCursor;
+	}
+
+	/**
+	 * @param logCursor
+	 *            the index of the first entry of the eventLogList in the
+	 *            complete log of the experiment
+	 */
+	public void setLogCursor(int logCursor) {
+		this.logCursor = logCursor;
+	}
+
 	public boolean isFinished() {
 		return hasFinished;
 	}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.shared.entities;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of scheduling a batch of {@link FrontendScheduledExperiment}s. The
+ * batch is validated as a whole: the entries are only submitted, if every
+ * entry is valid and the scenario definition was stored.
+ *
+ * @author agent
+ */
+public class ScheduleBatchResult implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private boolean submitted;
+
+	private List<Long> experimentKeys = new ArrayList<Long>();
+
+	private List<String> errors = new ArrayList<String>();
+
+	/**
+	 * Empty constructor for GWT serialization.
+	 */
+	public ScheduleBatchResult() {
+	}
+
+	/**
+	 * @return true, if the batch was valid and the entries were submitted
+	 */
+	public boolean isSubmitted() {
+		return submitted;
+	}
+
+	public void setSubmitted(boolean pSubmitted) {
+		this.submitted = pSubmitted;
+	}
+
+	/**
+	 * Returns one key per entry, in the order the entries were sent. The key is
+	 * <code>null</code> if the entry was not scheduled.
+	 *
+	 * @return the experiment key of each entry
+	 */
+	public List<Long> getExperimentKeys() {
+		return experimentKeys;
+	}
+
+	public void setExperimentKeys(List<Long> pExperimentKeys) {
+		this.experimentKeys = pExperimentKeys;
+	}
+
+	/**
+	 * Returns one message per entry, in the order the entries were sent. The
+	 * message is <code>null</code> if the entry is valid and was scheduled.
+	 *
+	 * @return the error of each entry
+	 */
+	public List<String> getErrors() {
+		return errors;
+	}
+
+	public void setErrors(List<String> pErrors) {
+		this.errors = pErrors;
+	}
+
+}
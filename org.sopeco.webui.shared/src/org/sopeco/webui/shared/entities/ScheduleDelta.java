@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.shared.entities;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The changes of the scheduled experiments of an account between two
+ * versions. If the client's version is unknown to the server, the delta is a
+ * full snapshot: all experiments are contained in the added list.<br />
+ * The versions count from the start of the epoch, which changes whenever the
+ * server recreates the state of the account. Versions of different epochs
+ * can't be compared.
+ *
+ * @author agent
+ */
+public class ScheduleDelta implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private long epoch;
+
+	private long fromVersion;
+
+	private long version;
+
+	private boolean full;
+
+	private List<ScheduledExperimentSummary> added = new ArrayList<ScheduledExperimentSummary>();
+
+	private List<ScheduledExperimentSummary> updated = new ArrayList<ScheduledExperimentSummary>();
+
+	private List<Long> removed = new ArrayList<Long>();
+
+	/**
+	 * Empty constructor for GWT serialization.
+	 */
+	public ScheduleDelta() {
+	}
+
+	/**
+	 * @return the epoch of the versions
+	 */
+	public long getEpoch() {
+		return epoch;
+	}
+
+	public void setEpoch(long pEpoch) {
+		this.epoch = pEpoch;
+	}
+
+	/**
+	 * @return the version this delta is based on
+	 */
+	public long getFromVersion() {
+		return fromVersion;
+	}
+
+	public void setFromVersion(long pFromVersion) {
+		this.fromVersion = pFromVersion;
+	}
+
+	/**
+	 * @return the version after applying this delta
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long pVersion) {
+		this.version = pVersion;
+	}
+
+	/**
+	 * @return true, if this delta is a full snapshot and replaces all known
+	 *         experiments
+	 */
+	public boolean isFull() {
+		return full;
+	}
+
+	public void setFull(boolean pFull) {
+		this.full = pFull;
+	}
+
+	public List<ScheduledExperimentSummary> getAdded() {
+		return added;
+	}
+
+	public void setAdded(List<ScheduledExperimentSummary> pAdded) {
+		this.added = pAdded;
+	}
+
+	public List<ScheduledExperimentSummary> getUpdated() {
+		return updated;
+	}
+
+	public void setUpdated(List<ScheduledExperimentSummary> pUpdated) {
+		this.updated = pUpdated;
+	}
+
+	/**
+	 * @return the IDs of the removed experiments
+	 */
+	public List<Long> getRemoved() {
+		return removed;
+	}
+
+	public void setRemoved(List<Long> pRemoved) {
+		this.removed = pRemoved;
+	}
+
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.shared.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sopeco.webui.shared.push.PushSerializable;
+
+/**
+ * Compact projection of a {@link FrontendScheduledExperiment} for the list and
+ * queue views. It contains no scenario definition, durations or selected
+ * experiments. The complete experiment can be loaded by its ID.
+ *
+ * @author agent
+ *
+ */
+public class ScheduledExperimentSummary implements PushSerializable {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 1L;
+
+	private long id;
+
+	private long accountId;
+
+	private String label;
+
+	private String controllerUrl;
+
+	private String scenarioName;
+
+	private List<String> experimentSeriesNames = new ArrayList<String>();
+
+	private boolean isRepeating;
+
+	private String repeatDays;
+
+	private String repeatHours;
+
+	private String repeatMinutes;
+
+	private long startTime;
+
+	private long addTime;
+
+	private long nextExecutionTime;
+
+	private long lastExecutionTime;
+
+	private long lastDuration = -1;
+
+	private boolean enabled;
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long pId) {
+		this.id = pId;
+	}
+
+	public long getAccount() {
+		return accountId;
+	}
+
+	public void setAccount(long pAccount) {
+		this.accountId = pAccount;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+
+	public void setLabel(String pLabel) {
+		this.label = pLabel;
+	}
+
+	public String getControllerUrl() {
+		return controllerUrl;
+	}
+
+	public void setControllerUrl(String pControllerUrl) {
+		this.controllerUrl = pControllerUrl;
+	}
+
+	public String getScenarioName() {
+		return scenarioName;
+	}
+
+	public void setScenarioName(String pScenarioName) {
+		this.scenarioName = pScenarioName;
+	}
+
+	public List<String> getExperimentSeriesNames() {
+		return experimentSeriesNames;
+	}
+
+	public void setExperimentSeriesNames(List<String> pExperimentSeriesNames) {
+		this.experimentSeriesNames = pExperimentSeriesNames;
+	}
+
+	public boolean isRepeating() {
+		return isRepeating;
+	}
+
+	public void setRepeating(boolean pIsRepeating) {
+		this.isRepeating = pIsRepeating;
+	}
+
+	public String getRepeatDays() {
+		return repeatDays;
+	}
+
+	public void setRepeatDays(String pRepeatDays) {
+		this.repeatDays = pRepeatDays;
+	}
+
+	public String getRepeatHours() {
+		return repeatHours;
+	}
+
+	public void setRepeatHours(String pRepeatHours) {
+		this.repeatHours = pRepeatHours;
+	}
+
+	public String getRepeatMinutes() {
+		return repeatMinutes;
+	}
+
+	public void setRepeatMinutes(String pRepeatMinutes) {
+		this.repeatMinutes = pRepeatMinutes;
+	}
+
+	public long getStartTime() {
+		return startTime;
+	}
+
+	public void setStartTime(long pStartTime) {
+		this.startTime = pStartTime;
+	}
+
+	public long getAddTime() {
+		return addTime;
+	}
+
+	public void setAddTime(long pAddTime) {
+		this.addTime = pAddTime;
+	}
+
+	public long getNextExecutionTime() {
+		return nextExecutionTime;
+	}
+
+	public void setNextExecutionTime(long pNextExecutionTime) {
+		this.nextExecutionTime = pNextExecutionTime;
+	}
+
+	public long getLastExecutionTime() {
+		return lastExecutionTime;
+	}
+
+	public void setLastExecutionTime(long pLastExecutionTime) {
+		this.lastExecutionTime = pLastExecutionTime;
+	}
+
+	/**
+	 * @return the duration of the last execution in milliseconds, -1 if the
+	 *         experiment has never been executed
+	 */
+	public long getLastDuration() {
+		return lastDuration;
+	}
+
+	public void setLastDuration(long pLastDuration) {
+		this.lastDuration = pLastDuration;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean pEnabled) {
+		this.enabled = pEnabled;
+	}
+
+}
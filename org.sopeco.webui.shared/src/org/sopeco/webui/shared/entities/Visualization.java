@@ -44,7 +44,8 @@ import javax.persistence.Transient;
 @Entity
 @NamedQueries({
 		@NamedQuery(name = "getAllVisualizations", query = "SELECT u FROM Visualization u"),
-		@NamedQuery(name = "getVisualizationsByAccount", query = "SELECT s FROM Visualization s WHERE s.accountId = :accountId") })
+		@NamedQuery(name = "getVisualizationsByAccount", query = "SELECT s FROM Visualization s WHERE s.accountId = :accountId"),
+		@NamedQuery(name = "countVisualizationsByAccount", query = "SELECT COUNT(s) FROM Visualization s WHERE s.accountId = :accountId") })
 public class Visualization implements Serializable {
 
 	/**
@@ -1,21 +1,47 @@
 package org.sopeco.webui.shared.entities;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * One page of the sorted list of the saved visualizations of an account.
+ *
+ * @author Peter Merkert
+ */
 public class VisualizationBundle implements Serializable {
 
-	List<Visualization> visualizations;
+	private static final long serialVersionUID = 1L;
+
+	private List<VisualizationSummary> visualizations = new ArrayList<VisualizationSummary>();
+	private int offset;
 	private int totalNumberOfVisualizations;
 
-	public List<Visualization> getVisualizations() {
+	/**
+	 * Empty constructor for GWT serialization.
+	 */
+	public VisualizationBundle() {
+	}
+
+	public List<VisualizationSummary> getVisualizations() {
 		return visualizations;
 	}
 
-	public void setVisualizations(List<Visualization> visualizations) {
+	public void setVisualizations(List<VisualizationSummary> visualizations) {
 		this.visualizations = visualizations;
 	}
 
+	/**
+	 * @return the index of the first visualization of this page
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	public void setOffset(int offset) {
+		this.offset = offset;
+	}
+
 	public int getTotalNumberOfVisualizations() {
 		return totalNumberOfVisualizations;
 	}
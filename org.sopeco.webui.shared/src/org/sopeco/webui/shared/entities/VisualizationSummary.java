@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.shared.entities;
+
+import java.io.Serializable;
+
+import org.sopeco.webui.shared.entities.Visualization.Type;
+
+/**
+ * The properties of a {@link Visualization}, which are shown in the list of the
+ * saved visualizations. The large chart options and parameters are not
+ * contained, the whole visualization is loaded by its ID when it is opened.
+ *
+ * @author agent
+ */
+public class VisualizationSummary implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private long id;
+
+	private String name;
+
+	private Type type;
+
+	private String scenarioName;
+
+	private Long timestamp;
+
+	/**
+	 * Empty constructor for GWT serialization.
+	 */
+	public VisualizationSummary() {
+	}
+
+	/**
+	 * Constructor of the JPQL projection. Like {@link Visualization#getName()}
+	 * the name of the experiment is used, if the visualization has no name.
+	 *
+	 * @param pId				the ID of the visualization
+	 * @param pName				the name of the visualization
+	 * @param pExperimentName	the name of the experiment
+	 * @param pType				the type of the visualization
+	 * @param pScenarioName		the name of the scenario
+	 * @param pTimestamp		the time the visualization has been created
+	 */
+	public VisualizationSummary(long pId, String pName, String pExperimentName, Type pType, String pScenarioName,
+			Long pTimestamp) {
+		id = pId;
+		name = pName == null || pName.isEmpty() ? pExperimentName : pName;
+		type = pType;
+		scenarioName = pScenarioName;
+		timestamp = pTimestamp;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public String getScenarioName() {
+		return scenarioName;
+	}
+
+	public Long getTimestamp() {
+		return timestamp;
+	}
+
+}
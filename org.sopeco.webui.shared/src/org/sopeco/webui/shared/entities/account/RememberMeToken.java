@@ -17,6 +17,8 @@ import javax.persistence.NamedQuery;
 @NamedQueries({
 		@NamedQuery(name = "getAllTokens", query = "SELECT t FROM RememberMeToken t"),
 		@NamedQuery(name = "getTokenByAccountId", query = "SELECT t FROM RememberMeToken t WHERE t.accountId = :accountId"),
+		@NamedQuery(name = "getExpiredTokenHashes", query = "SELECT t.tokenHash FROM RememberMeToken t WHERE t.expireTimestamp < :expireDate"),
+		@NamedQuery(name = "deleteTokensByHash", query = "DELETE FROM RememberMeToken t WHERE t.tokenHash IN :tokenHashes"),
 		@NamedQuery(name = "deleteExipredTokens", query = "DELETE FROM RememberMeToken t WHERE t.expireTimestamp < :expireDate") })
 public class RememberMeToken implements Serializable {
 
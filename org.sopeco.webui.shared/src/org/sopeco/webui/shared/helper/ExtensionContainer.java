@@ -44,10 +44,27 @@ public class ExtensionContainer implements Serializable {
 
 	private Map<ExtensionTypes, Map<String, Map<String, String>>> extensionMap;
 
+	private String version;
+
 	public ExtensionContainer() {
 		extensionMap = new HashMap<ExtensionTypes, Map<String, Map<String, String>>>();
 	}
 
+	/**
+	 * @return the hash over the content of this container
+	 */
+	public String getVersion() {
+		return version;
+	}
+
+	/**
+	 * @param pVersion
+	 *            the hash over the content of this container
+	 */
+	public void setVersion(String pVersion) {
+		this.version = pVersion;
+	}
+
 	/**
 	 * @return the extensionMap
 	 */
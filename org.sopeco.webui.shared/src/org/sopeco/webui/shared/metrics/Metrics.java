@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.shared.metrics;
+
+/**
+ * Entry point for timers and counters in code, which runs on the client and
+ * on the server. The values are passed to the installed
+ * {@link MetricsBackend}. Until a backend is installed, nothing is recorded.
+ *
+ * <pre>
+ * Stopwatch stopwatch = Metrics.start(&quot;MainLayoutPanel.reloadPanels&quot;);
+ * ...
+ * stopwatch.stop();
+ * </pre>
+ *
+ * @author agent
+ *
+ */
+public final class Metrics {
+
+	private static final MetricsBackend NOOP = new MetricsBackend() {
+		@Override
+		public double now() {
+			return 0;
+		}
+
+		@Override
+		public void record(String name, double millis) {
+		}
+
+		@Override
+		public void increment(String name, long delta) {
+		}
+	};
+
+	private static volatile MetricsBackend backend = NOOP;
+
+	private Metrics() {
+	}
+
+	/**
+	 * Sets the backend, which receives all values. <code>null</code> disables
+	 * the recording.
+	 *
+	 * @param pBackend
+	 *            the backend
+	 */
+	public static void setBackend(MetricsBackend pBackend) {
+		backend = pBackend == null ? NOOP : pBackend;
+	}
+
+	/**
+	 * Starts a new timer.
+	 *
+	 * @param name
+	 *            name of the timer, e.g. <code>Class.method</code>
+	 * @return the running {@link Stopwatch}
+	 */
+	public static Stopwatch start(String name) {
+		return new Stopwatch(backend, name);
+	}
+
+	/**
+	 * Records a duration, which has been measured by the caller.
+	 *
+	 * @param name
+	 *            name of the timer
+	 * @param millis
+	 *            the duration in milliseconds
+	 */
+	public static void record(String name, double millis) {
+		backend.record(name, millis);
+	}
+
+	/**
+	 * Increments the counter with the given name by one.
+	 *
+	 * @param name
+	 *            name of the counter
+	 */
+	public static void increment(String name) {
+		backend.increment(name, 1);
+	}
+
+	/**
+	 * Increments the counter with the given name.
+	 *
+	 * @param name
+	 *            name of the counter
+	 * @param delta
+	 *            the value to add
+	 */
+	public static void increment(String name, long delta) {
+		backend.increment(name, delta);
+	}
+}
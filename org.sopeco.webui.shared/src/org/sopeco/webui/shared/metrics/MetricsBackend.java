@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.shared.metrics;
+
+/**
+ * Receives the timings and counters of the {@link Metrics} facade. The client
+ * and the server each install their own backend.
+ *
+ * @author agent
+ *
+ */
+public interface MetricsBackend {
+
+	/**
+	 * Returns the current time of a monotonic clock in milliseconds. The value
+	 * is only meaningful as difference of two calls.
+	 *
+	 * @return the current time in milliseconds
+	 */
+	double now();
+
+	/**
+	 * Records a measured duration.
+	 *
+	 * @param name
+	 *            name of the timer
+	 * @param millis
+	 *            the duration in milliseconds
+	 */
+	void record(String name, double millis);
+
+	/**
+	 * Increments a counter.
+	 *
+	 * @param name
+	 *            name of the counter
+	 * @param delta
+	 *            the value to add
+	 */
+	void increment(String name, long delta);
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.shared.metrics;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * The timings and counters, which the client has collected since its last
+ * report to the server.
+ *
+ * @author agent
+ *
+ */
+public class MetricsBatch implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private HashMap<String, ArrayList<Double>> timings = new HashMap<String, ArrayList<Double>>();
+
+	private HashMap<String, Long> counters = new HashMap<String, Long>();
+
+	private int size = 0;
+
+	public void addTiming(String name, double millis) {
+		ArrayList<Double> values = timings.get(name);
+		if (values == null) {
+			values = new ArrayList<Double>();
+			timings.put(name, values);
+		}
+		values.add(millis);
+		size++;
+	}
+
+	public void addCount(String name, long delta) {
+		Long value = counters.get(name);
+		counters.put(name, value == null ? delta : value + delta);
+		size++;
+	}
+
+	public HashMap<String, ArrayList<Double>> getTimings() {
+		return timings;
+	}
+
+	public HashMap<String, Long> getCounters() {
+		return counters;
+	}
+
+	/**
+	 * Returns the number of values, which have been added to this batch.
+	 *
+	 * @return the number of values
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2013 SAP
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the SAP nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL SAP BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.sopeco.webui.shared.metrics;
+
+/**
+ * A running timer, which is created by {@link Metrics#start(String)}. The
+ * duration is recorded once, when the stopwatch is stopped.
+ *
+ * @author agent
+ *
+ */
+public final class Stopwatch {
+
+	private final MetricsBackend backend;
+	private final String name;
+	private final double start;
+	private boolean stopped = false;
+
+	Stopwatch(MetricsBackend pBackend, String pName) {
+		backend = pBackend;
+		name = pName;
+		start = pBackend.now();
+	}
+
+	/**
+	 * Stops the stopwatch and records the elapsed time. Further calls have no
+	 * effect.
+	 *
+	 * @return the elapsed time in milliseconds
+	 */
+	public double stop() {
+		double duration = backend.now() - start;
+		if (!stopped) {
+			stopped = true;
+			backend.record(name, duration);
+		}
+		return duration;
+	}
+
+	/**
+	 * Returns the name of the timer.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+}
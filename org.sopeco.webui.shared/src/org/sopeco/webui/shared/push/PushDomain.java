@@ -1,5 +1,5 @@
 package org.sopeco.webui.shared.push;
 
 public enum PushDomain {
-	TAB_CONTROLLER_TWO, TAB_CONTROLLER_THREE;
+	TAB_CONTROLLER_TWO, TAB_CONTROLLER_THREE, MEC_DISCOVERY, MEC_STATUS;
 }
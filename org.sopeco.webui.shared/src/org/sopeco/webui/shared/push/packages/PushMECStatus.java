@@ -0,0 +1,38 @@
+package org.sopeco.webui.shared.push.packages;
+
+import org.sopeco.webui.shared.push.PushDomain;
+import org.sopeco.webui.shared.push.PushPackage;
+
+public class PushMECStatus extends PushPackage {
+
+	public PushMECStatus() {
+	}
+
+	public PushMECStatus(PushDomain pDomain) {
+		super(pDomain);
+	}
+
+	/** */
+	private static final long serialVersionUID = 1L;
+
+	private String controllerUrl;
+
+	private int status;
+
+	public String getControllerUrl() {
+		return controllerUrl;
+	}
+
+	public void setControllerUrl(String controllerUrl) {
+		this.controllerUrl = controllerUrl;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public void setStatus(int status) {
+		this.status = status;
+	}
+
+}
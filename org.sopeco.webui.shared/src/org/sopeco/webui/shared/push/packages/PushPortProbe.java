@@ -0,0 +1,39 @@
+package org.sopeco.webui.shared.push.packages;
+
+import org.sopeco.webui.shared.entities.PortProbeResult;
+import org.sopeco.webui.shared.push.PushDomain;
+import org.sopeco.webui.shared.push.PushPackage;
+
+public class PushPortProbe extends PushPackage {
+
+	public PushPortProbe() {
+	}
+
+	public PushPortProbe(PushDomain pDomain) {
+		super(pDomain);
+	}
+
+	/** */
+	private static final long serialVersionUID = 1L;
+
+	private long discoveryId;
+
+	private PortProbeResult result;
+
+	public long getDiscoveryId() {
+		return discoveryId;
+	}
+
+	public void setDiscoveryId(long discoveryId) {
+		this.discoveryId = discoveryId;
+	}
+
+	public PortProbeResult getResult() {
+		return result;
+	}
+
+	public void setResult(PortProbeResult result) {
+		this.result = result;
+	}
+
+}
@@ -0,0 +1,29 @@
+package org.sopeco.webui.shared.push.packages;
+
+import org.sopeco.webui.shared.entities.ScheduleDelta;
+import org.sopeco.webui.shared.push.PushDomain;
+import org.sopeco.webui.shared.push.PushPackage;
+
+public class PushScheduleDelta extends PushPackage {
+
+	public PushScheduleDelta() {
+	}
+
+	public PushScheduleDelta(PushDomain pDomain) {
+		super(pDomain);
+	}
+
+	/** */
+	private static final long serialVersionUID = 1L;
+
+	private ScheduleDelta delta;
+
+	public ScheduleDelta getDelta() {
+		return delta;
+	}
+
+	public void setDelta(ScheduleDelta delta) {
+		this.delta = delta;
+	}
+
+}
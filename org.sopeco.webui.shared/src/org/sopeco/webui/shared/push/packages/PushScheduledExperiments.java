@@ -2,7 +2,7 @@ package org.sopeco.webui.shared.push.packages;
 
 import java.util.ArrayList;
 
-import org.sopeco.webui.shared.entities.FrontendScheduledExperiment;
+import org.sopeco.webui.shared.entities.ScheduledExperimentSummary;
 import org.sopeco.webui.shared.push.PushDomain;
 import org.sopeco.webui.shared.push.PushPackage;
 import org.sopeco.webui.shared.push.PushSerializable;
@@ -19,13 +19,13 @@ public class PushScheduledExperiments extends PushPackage {
 	/** */
 	private static final long serialVersionUID = 1L;
 
-	private ArrayList<FrontendScheduledExperiment> list;
+	private ArrayList<ScheduledExperimentSummary> list;
 
-	public ArrayList<FrontendScheduledExperiment> getList() {
+	public ArrayList<ScheduledExperimentSummary> getList() {
 		return list;
 	}
 
-	public void setList(ArrayList<FrontendScheduledExperiment> list) {
+	public void setList(ArrayList<ScheduledExperimentSummary> list) {
 		this.list = list;
 	}
 
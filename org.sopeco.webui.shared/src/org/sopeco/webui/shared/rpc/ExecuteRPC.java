@@ -28,10 +28,18 @@ package org.sopeco.webui.shared.rpc;
 
 import java.util.List;
 
+import org.sopeco.persistence.entities.definition.ScenarioDefinition;
 import org.sopeco.service.persistence.entities.ExecutedExperimentDetails;
 import org.sopeco.service.persistence.entities.MECLog;
+import org.sopeco.webui.shared.entities.ExecutedExperimentPage;
+import org.sopeco.webui.shared.entities.ExecutedExperimentSort;
 import org.sopeco.webui.shared.entities.FrontendScheduledExperiment;
+import org.sopeco.webui.shared.entities.MECLogPage;
+import org.sopeco.webui.shared.entities.MECLogSeverity;
 import org.sopeco.webui.shared.entities.RunningControllerStatus;
+import org.sopeco.webui.shared.entities.ScheduleBatchResult;
+import org.sopeco.webui.shared.entities.ScheduleDelta;
+import org.sopeco.webui.shared.entities.ScheduledExperimentSummary;
 
 import com.google.gwt.user.client.rpc.RemoteService;
 import com.google.gwt.user.client.rpc.RemoteServiceRelativePath;
@@ -44,9 +52,62 @@ import com.google.gwt.user.client.rpc.RemoteServiceRelativePath;
 @RemoteServiceRelativePath("executeRPC")
 public interface ExecuteRPC extends RemoteService {
 
+	/**
+	 * Maximum number of entries of one {@link #getMECLogPage} call.
+	 */
+	int MAX_MEC_LOG_PAGE_SIZE = 500;
+
+	/**
+	 * Maximum number of experiments of one {@link #getExecutedExperimentPage} call.
+	 */
+	int MAX_EXECUTED_EXPERIMENT_PAGE_SIZE = 200;
+
 	void scheduleExperiment(FrontendScheduledExperiment rawScheduledExperiment);
 
-	List<FrontendScheduledExperiment> getScheduledExperiments();
+	/**
+	 * Stores the scenario definition once and schedules all entries with it.
+	 * The entries are validated first, nothing is scheduled if one of them is
+	 * invalid.
+	 * 
+	 * @param definition
+	 *            the scenario definition shared by all entries
+	 * @param entries
+	 *            the experiments to schedule, their definition is ignored
+	 * @return the experiment key or error of each entry
+	 */
+	ScheduleBatchResult scheduleExperiments(ScenarioDefinition definition, List<FrontendScheduledExperiment> entries);
+
+	/**
+	 * Returns the summaries of all scheduled experiments of the account. The
+	 * complete experiment can be loaded with
+	 * {@link #getScheduledExperiment(long)}.
+	 * 
+	 * @return the summaries
+	 */
+	List<ScheduledExperimentSummary> getScheduledExperiments();
+
+	/**
+	 * Returns the changes of the scheduled experiments since the given
+	 * version.
+	 * 
+	 * @param epoch
+	 *            the epoch of the version known by the client
+	 * @param sinceVersion
+	 *            the version known by the client, -1 for a full snapshot
+	 * @return the changes, a full snapshot if the epoch or the version is not
+	 *         known
+	 */
+	ScheduleDelta getScheduledExperimentChanges(long epoch, long sinceVersion);
+
+	/**
+	 * Returns the complete scheduled experiment including the scenario
+	 * definition, the durations and the selected experiments.
+	 * 
+	 * @param id
+	 *            ID of the scheduled experiment
+	 * @return the experiment, <code>null</code> if it does not exist
+	 */
+	FrontendScheduledExperiment getScheduledExperiment(long id);
 
 	boolean removeScheduledExperiment(long id);
 
@@ -54,9 +115,73 @@ public interface ExecuteRPC extends RemoteService {
 
 	List<ExecutedExperimentDetails> getExecutedExperimentDetails();
 
-	RunningControllerStatus getControllerLog();
+	/**
+	 * Returns one page of the executed experiments of the selected scenario.
+	 * The experiments are filtered and sorted on the server before paging. A
+	 * page has at most {@link #MAX_EXECUTED_EXPERIMENT_PAGE_SIZE} experiments.
+	 * 
+	 * @param offset
+	 *            index of the first experiment
+	 * @param limit
+	 *            maximum number of experiments to return
+	 * @param sort
+	 *            the property to sort by, <code>null</code> for the start time
+	 * @param ascending
+	 *            true to sort ascending
+	 * @param filter
+	 *            only experiments whose name or controller contains this
+	 *            text, <code>null</code> or empty for all
+	 * @return the page
+	 */
+	ExecutedExperimentPage getExecutedExperimentPage(int offset, int limit, ExecutedExperimentSort sort,
+			boolean ascending, String filter);
+
+	/**
+	 * Returns the last known status of all experiments of the account, which
+	 * are running or have finished recently. The status contains no log
+	 * entries.
+	 * 
+	 * @return the status of each experiment
+	 */
+	List<RunningControllerStatus> getRunningExperiments();
+
+	/**
+	 * Returns the status of the experiment with all log entries starting at
+	 * the given cursor. Afterwards, all changes of the status are pushed to
+	 * every session of the account via
+	 * {@link org.sopeco.webui.shared.push.PushDomain#TAB_CONTROLLER_THREE}.
+	 * 
+	 * @param experimentKey
+	 *            the key of the experiment
+	 * @param logCursor
+	 *            number of log entries the client already has
+	 * @return the status, <code>null</code> if there is none yet
+	 */
+	RunningControllerStatus getControllerLog(long experimentKey, int logCursor);
 
 	MECLog getMECLog(long id);
 
-	void abortCurrentExperiment();
+	/**
+	 * Returns one page of the MEC log of an executed experiment. The entries
+	 * are filtered on the server before paging. A page has at most
+	 * {@link #MAX_MEC_LOG_PAGE_SIZE} entries.
+	 * 
+	 * @param id
+	 *            the ID of the executed experiment
+	 * @param offset
+	 *            index of the first entry in the filtered log
+	 * @param limit
+	 *            maximum number of entries to return
+	 * @param minSeverity
+	 *            the minimum severity of the returned entries, <code>null</code>
+	 *            for all
+	 * @param fromTime
+	 *            only entries logged at or after this time, 0 for no bound
+	 * @param toTime
+	 *            only entries logged at or before this time, 0 for no bound
+	 * @return the page
+	 */
+	MECLogPage getMECLogPage(long id, int offset, int limit, MECLogSeverity minSeverity, long fromTime, long toTime);
+
+	void abortExperiment(long experimentKey);
 }
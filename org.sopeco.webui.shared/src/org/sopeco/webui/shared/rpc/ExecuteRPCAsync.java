@@ -28,10 +28,18 @@ package org.sopeco.webui.shared.rpc;
 
 import java.util.List;
 
+import org.sopeco.persistence.entities.definition.ScenarioDefinition;
 import org.sopeco.service.persistence.entities.ExecutedExperimentDetails;
 import org.sopeco.service.persistence.entities.MECLog;
+import org.sopeco.webui.shared.entities.ExecutedExperimentPage;
+import org.sopeco.webui.shared.entities.ExecutedExperimentSort;
 import org.sopeco.webui.shared.entities.FrontendScheduledExperiment;
+import org.sopeco.webui.shared.entities.MECLogPage;
+import org.sopeco.webui.shared.entities.MECLogSeverity;
 import org.sopeco.webui.shared.entities.RunningControllerStatus;
+import org.sopeco.webui.shared.entities.ScheduleBatchResult;
+import org.sopeco.webui.shared.entities.ScheduleDelta;
+import org.sopeco.webui.shared.entities.ScheduledExperimentSummary;
 
 import com.google.gwt.user.client.rpc.AsyncCallback;
 
@@ -43,7 +51,14 @@ import com.google.gwt.user.client.rpc.AsyncCallback;
 public interface ExecuteRPCAsync {
 	void scheduleExperiment(FrontendScheduledExperiment rawScheduledExperiment, AsyncCallback<Void> callback);
 
-	void getScheduledExperiments(AsyncCallback<List<FrontendScheduledExperiment>> callback);
+	void scheduleExperiments(ScenarioDefinition definition, List<FrontendScheduledExperiment> entries,
+			AsyncCallback<ScheduleBatchResult> callback);
+
+	void getScheduledExperiments(AsyncCallback<List<ScheduledExperimentSummary>> callback);
+
+	void getScheduledExperimentChanges(long epoch, long sinceVersion, AsyncCallback<ScheduleDelta> callback);
+
+	void getScheduledExperiment(long id, AsyncCallback<FrontendScheduledExperiment> callback);
 
 	void removeScheduledExperiment(long id, AsyncCallback<Boolean> callback);
 
@@ -51,9 +66,17 @@ public interface ExecuteRPCAsync {
 
 	void getExecutedExperimentDetails(AsyncCallback<List<ExecutedExperimentDetails>> callback);
 
-	void getControllerLog(AsyncCallback<RunningControllerStatus> callback);
+	void getExecutedExperimentPage(int offset, int limit, ExecutedExperimentSort sort, boolean ascending,
+			String filter, AsyncCallback<ExecutedExperimentPage> callback);
+
+	void getRunningExperiments(AsyncCallback<List<RunningControllerStatus>> callback);
+
+	void getControllerLog(long experimentKey, int logCursor, AsyncCallback<RunningControllerStatus> callback);
 
 	void getMECLog(long id, AsyncCallback<MECLog> callback);
 
-	void abortCurrentExperiment(AsyncCallback<Void> callback);
+	void getMECLogPage(long id, int offset, int limit, MECLogSeverity minSeverity, long fromTime, long toTime,
+			AsyncCallback<MECLogPage> callback);
+
+	void abortExperiment(long experimentKey, AsyncCallback<Void> callback);
 }
@@ -39,4 +39,15 @@ import com.google.gwt.user.client.rpc.RemoteServiceRelativePath;
 @RemoteServiceRelativePath("extensionRPC")
 public interface ExtensionRPC extends RemoteService {
 	ExtensionContainer getExtensions();
+
+	/**
+	 * Returns the extensions, if their version differs from the given one.
+	 * 
+	 * @param version
+	 *            the version of the extensions cached by the client,
+	 *            <code>null</code> if none
+	 * @return the extensions, <code>null</code> if the cached version is
+	 *         still valid
+	 */
+	ExtensionContainer getExtensionsIfChanged(String version);
 }
@@ -37,4 +37,6 @@ import com.google.gwt.user.client.rpc.AsyncCallback;
  */
 public interface ExtensionRPCAsync {
 	void getExtensions(AsyncCallback<ExtensionContainer> callback);
-}
\ No newline at end of file
+
+	void getExtensionsIfChanged(String version, AsyncCallback<ExtensionContainer> callback);
+}
\ No newline at end of file
@@ -30,6 +30,10 @@ import java.util.List;
 
 import org.sopeco.persistence.entities.definition.MeasurementEnvironmentDefinition;
 import org.sopeco.persistence.entities.definition.ParameterRole;
+import org.sopeco.webui.shared.entities.MEDBatchResult;
+import org.sopeco.webui.shared.entities.MEDOperation;
+import org.sopeco.webui.shared.entities.MEDefinitionResponse;
+import org.sopeco.webui.shared.entities.PortProbeResult;
 import org.sopeco.webui.shared.helper.MEControllerProtocol;
 
 import com.google.gwt.user.client.rpc.RemoteService;
@@ -60,6 +64,19 @@ public interface MEControllerRPC extends RemoteService {
 	 * The given url is not valid.
 	 */
 	int NO_VALID_MEC_URL = 3;
+	/**
+	 * Maximum number of hosts of one {@link #probePorts(long, List, List)} call.
+	 */
+	int MAX_PROBE_HOSTS = 16;
+	/**
+	 * Maximum number of ports of one {@link #probePorts(long, List, List)} call.
+	 */
+	int MAX_PROBE_PORTS = 16;
+	/**
+	 * Maximum number of host and port combinations of one
+	 * {@link #probePorts(long, List, List)} call.
+	 */
+	int MAX_PROBES = 64;
 
 	/**
 	 * Returns all existing Controller URLs.
@@ -91,6 +108,18 @@ public interface MEControllerRPC extends RemoteService {
 	 */
 	MeasurementEnvironmentDefinition getMEDefinitionFromMEC(String controllerUrl);
 
+	/**
+	 * Returns the MED of the given controller, but only if it differs from the
+	 * given version the client already knows.
+	 * 
+	 * @param controllerUrl
+	 *            controller url
+	 * @param knownVersion
+	 *            version of the MED the client has, <code>null</code> if none
+	 * @return the version and, if modified, the MED
+	 */
+	MEDefinitionResponse getMEDefinitionFromMECIfModified(String controllerUrl, String knownVersion);
+
 	/**
 	 * 
 	 * @return
@@ -99,6 +128,16 @@ public interface MEControllerRPC extends RemoteService {
 
 	MeasurementEnvironmentDefinition getCurrentMEDefinition();
 
+	/**
+	 * Returns the MED of the selected scenario, but only if it differs from the
+	 * given version the client already knows.
+	 * 
+	 * @param knownVersion
+	 *            version of the MED the client has, <code>null</code> if none
+	 * @return the version and, if modified, the MED
+	 */
+	MEDefinitionResponse getCurrentMEDefinitionIfModified(String knownVersion);
+
 	boolean addNamespace(String path);
 
 	boolean removeNamespace(String path);
@@ -113,7 +152,39 @@ public interface MEControllerRPC extends RemoteService {
 
 	boolean isPortReachable(String host, int port);
 
+	/**
+	 * Probes all combinations of the given hosts and ports in parallel. Every
+	 * result is pushed on {@link org.sopeco.webui.shared.push.PushDomain#MEC_DISCOVERY}
+	 * as soon as it is known, the returned list contains all results.<br />
+	 * A request with more than {@link #MAX_PROBE_HOSTS} hosts, {@link #MAX_PROBE_PORTS}
+	 * ports or {@link #MAX_PROBES} combinations is rejected, as well as a second
+	 * discovery of a session while its first one is still running.
+	 * 
+	 * @param discoveryId
+	 *            ID of this discovery, given back in every pushed result
+	 * @param hosts
+	 *            hosts to probe
+	 * @param ports
+	 *            ports to probe on every host
+	 * @return the results of all probes
+	 */
+	List<PortProbeResult> probePorts(long discoveryId, List<String> hosts, List<Integer> ports);
+
 	List<String> getController(MEControllerProtocol protocol, String host, int port);
 
 	boolean setMEDefinition(MeasurementEnvironmentDefinition med);
+
+	/**
+	 * Applies the given operations in order to the MED of the selected
+	 * scenario. The MED is only stored, if all operations succeeded and the
+	 * MED still has the given version. Otherwise the batch is rejected as
+	 * conflict, because the MED has been changed by someone else.
+	 * 
+	 * @param operations
+	 *            the operations to apply
+	 * @param knownVersion
+	 *            version of the MED the operations are based on
+	 * @return the result of every single operation and the new version
+	 */
+	MEDBatchResult applyMEDOperations(List<MEDOperation> operations, String knownVersion);
 }
@@ -30,6 +30,10 @@ import java.util.List;
 
 import org.sopeco.persistence.entities.definition.MeasurementEnvironmentDefinition;
 import org.sopeco.persistence.entities.definition.ParameterRole;
+import org.sopeco.webui.shared.entities.MEDBatchResult;
+import org.sopeco.webui.shared.entities.MEDOperation;
+import org.sopeco.webui.shared.entities.MEDefinitionResponse;
+import org.sopeco.webui.shared.entities.PortProbeResult;
 import org.sopeco.webui.shared.helper.MEControllerProtocol;
 
 import com.google.gwt.user.client.rpc.AsyncCallback;
@@ -49,6 +53,9 @@ public interface MEControllerRPCAsync {
 
 	void getMEDefinitionFromMEC(String controllerUrl, AsyncCallback<MeasurementEnvironmentDefinition> callback);
 
+	void getMEDefinitionFromMECIfModified(String controllerUrl, String knownVersion,
+			AsyncCallback<MEDefinitionResponse> callback);
+
 	void getBlankMEDefinition(AsyncCallback<MeasurementEnvironmentDefinition> callback);
 
 	void removeNamespace(String path, AsyncCallback<Boolean> callback);
@@ -57,6 +64,8 @@ public interface MEControllerRPCAsync {
 
 	void getCurrentMEDefinition(AsyncCallback<MeasurementEnvironmentDefinition> callback);
 
+	void getCurrentMEDefinitionIfModified(String knownVersion, AsyncCallback<MEDefinitionResponse> callback);
+
 	void renameNamespace(String namespacePath, String newName, AsyncCallback<Boolean> callback);
 
 	void addParameter(String path, String name, String type, ParameterRole role, AsyncCallback<Boolean> callback);
@@ -68,7 +77,13 @@ public interface MEControllerRPCAsync {
 
 	void isPortReachable(String host, int port, AsyncCallback<Boolean> callback);
 
+	void probePorts(long discoveryId, List<String> hosts, List<Integer> ports,
+			AsyncCallback<List<PortProbeResult>> callback);
+
 	void getController(MEControllerProtocol protocol, String host, int port, AsyncCallback<List<String>> callback);
 	
 	void setMEDefinition(MeasurementEnvironmentDefinition med, AsyncCallback<Boolean> callback);
-}
\ No newline at end of file
+
+	void applyMEDOperations(List<MEDOperation> operations, String knownVersion,
+			AsyncCallback<MEDBatchResult> callback);
+}
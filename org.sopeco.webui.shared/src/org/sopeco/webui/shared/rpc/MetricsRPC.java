@@ -24,38 +24,27 @@
  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.sopeco.webui.shared.helper;
+package org.sopeco.webui.shared.rpc;
 
-import java.util.HashMap;
+import org.sopeco.webui.shared.metrics.MetricsBatch;
+
+import com.google.gwt.user.client.rpc.RemoteService;
+import com.google.gwt.user.client.rpc.RemoteServiceRelativePath;
 
 /**
- * 
+ *
  * @author Marius Oehler
- * 
+ *
  */
-public final class Metering {
-	private static HashMap<Double, Long> map = new HashMap<Double, Long>();
-
-	private Metering() {
-	}
-
-	public static double start() {
-		double rand = Math.random();
-
-		map.put(rand, System.currentTimeMillis());
-
-		return rand;
-	}
-
-	public static void stop(double key) {
-		Exception ex = new Exception();
-		StackTraceElement stackTop = ex.getStackTrace()[1];
-
-		long duration = System.currentTimeMillis() - map.get(key);
-		map.remove(key);
-
-		String text = "Metering: " + stackTop.getClassName() + " " + stackTop.getMethodName() + "() : " + duration
-				+ "ms";
-		System.err.println(text);
-	}
+@RemoteServiceRelativePath("metricsRPC")
+public interface MetricsRPC extends RemoteService {
+
+	/**
+	 * Adds the timings and counters, which have been measured by the client,
+	 * to the metrics of the server.
+	 *
+	 * @param batch
+	 *            the values since the last report
+	 */
+	void report(MetricsBatch batch);
 }
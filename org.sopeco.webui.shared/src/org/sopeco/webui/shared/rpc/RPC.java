@@ -48,6 +48,8 @@ public final class RPC {
 	private static ResultRPCAsync resultRPC = null;
 	private static GetRPCAsync getRPC = null;
 	private static AccountManagementRPCAsync accountManagementRPC = null;
+	private static BootstrapRPCAsync bootstrapRPC = null;
+	private static MetricsRPCAsync metricsRPC = null;
 
 	/**
 	 * Returns a instance of the ScenarioManagerRPCAsync.
@@ -165,6 +167,30 @@ public final class RPC {
 		return accountManagementRPC;
 	}
 
+	/**
+	 * Returns a instance of the BootstrapRPC.
+	 * 
+	 * @return
+	 */
+	public static BootstrapRPCAsync getBootstrapRPC() {
+		if (bootstrapRPC == null) {
+			bootstrapRPC = GWT.create(BootstrapRPC.class);
+		}
+		return bootstrapRPC;
+	}
+
+	/**
+	 * Returns a instance of the MetricsRPC.
+	 * 
+	 * @return
+	 */
+	public static MetricsRPCAsync getMetricsRPC() {
+		if (metricsRPC == null) {
+			metricsRPC = GWT.create(MetricsRPC.class);
+		}
+		return metricsRPC;
+	}
+
 	/**
 	 * @param getRPC the getRPC to set
 	 */